@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.mule;
+
+import mule.dataweave.converter.DWContext;
+import mule.dataweave.converter.DWReader;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DWReader#parseScript} on the DataWeave scripts of the Mule test resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataWeaveParsingBenchmark {
+
+    @Param({"1", "10"})
+    public int scale;
+
+    private List<String> scripts;
+
+    @Setup
+    public void setup() {
+        scripts = MuleFixtures.dataWeaveScripts();
+    }
+
+    @Benchmark
+    public List<ParseTree> parseScripts() {
+        List<ParseTree> parseTrees = new ArrayList<>(scripts.size() * scale);
+        for (int i = 0; i < scale; i++) {
+            for (String script : scripts) {
+                parseTrees.add(DWReader.parseScript(script, new DWContext(new ArrayList<>())));
+            }
+        }
+        return parseTrees;
+    }
+}
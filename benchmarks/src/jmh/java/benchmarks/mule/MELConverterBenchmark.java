@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.mule;
+
+import mule.MELConverter;
+import mule.MuleToBalConverter;
+import mule.MuleXMLNavigator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MELConverter#convertMELToBal} on the MEL expressions used by the Mule block test cases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MELConverterBenchmark {
+
+    @Param({"1", "10"})
+    public int scale;
+
+    private List<String> expressions;
+
+    @Setup
+    public void setup() {
+        expressions = MuleFixtures.melExpressions();
+    }
+
+    @Benchmark
+    public List<String> convertMELToBal() {
+        // The converter records imports and helper functions in the data, so each run starts from a fresh one
+        MuleToBalConverter.Data data = new MuleToBalConverter.Data(
+                new MuleToBalConverter.SharedProjectData(new MuleXMLNavigator()));
+        List<String> converted = new ArrayList<>(expressions.size() * scale);
+        for (int i = 0; i < scale; i++) {
+            for (String expression : expressions) {
+                converted.add(MELConverter.convertMELToBal(data, expression, false));
+            }
+        }
+        return converted;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.mule;
+
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import mule.MuleToBalConverter;
+import mule.MuleXMLNavigator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MuleToBalConverter} on the block test cases and the sample project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MuleConversionBenchmark {
+
+    @Param({"1", "10"})
+    public int scale;
+
+    private List<String> blockFiles;
+    private List<String> projectFiles;
+
+    @Setup
+    public void setup() {
+        blockFiles = MuleFixtures.blockFiles().stream().map(Path::toString).toList();
+        projectFiles = MuleFixtures.projectFiles().stream().map(Path::toString).toList();
+    }
+
+    @Benchmark
+    public List<SyntaxTree> convertBlocks() {
+        List<SyntaxTree> syntaxTrees = new ArrayList<>(blockFiles.size() * scale);
+        for (int i = 0; i < scale; i++) {
+            for (String file : blockFiles) {
+                syntaxTrees.add(MuleToBalConverter.convertStandaloneXMLFileToBallerina(file));
+            }
+        }
+        return syntaxTrees;
+    }
+
+    @Benchmark
+    public List<SyntaxTree> convertProject() {
+        List<SyntaxTree> syntaxTrees = new ArrayList<>(projectFiles.size() * scale);
+        for (int i = 0; i < scale; i++) {
+            MuleXMLNavigator muleXMLNavigator = new MuleXMLNavigator();
+            MuleToBalConverter.SharedProjectData sharedProjectData =
+                    new MuleToBalConverter.SharedProjectData(muleXMLNavigator);
+            for (String file : projectFiles) {
+                syntaxTrees.add(MuleToBalConverter.convertProjectXMLFileToBallerina(muleXMLNavigator,
+                        sharedProjectData, file));
+            }
+        }
+        return syntaxTrees;
+    }
+}
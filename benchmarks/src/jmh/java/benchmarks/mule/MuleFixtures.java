@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.mule;
+
+import mule.MELConverter;
+import mule.MuleToBalConverter;
+import mule.MuleXMLNavigator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Access to the Mule test resources, so that the benchmarks run on the same inputs as the tests.
+ * <p>
+ * The test resources are also on the benchmark class path, since DataWeave scripts referred to by the blocks are
+ * loaded as class path resources.
+ */
+public final class MuleFixtures {
+
+    private static final String PROJECT_ROOT_PROPERTY = "benchmarks.projectRoot";
+    private static final String MULE_PROJECT = "muleprojectdemo";
+
+    private MuleFixtures() {
+
+    }
+
+    public static Path resourcesPath() {
+        Path root = Path.of(System.getProperty(PROJECT_ROOT_PROPERTY, ".."));
+        return root.resolve(Path.of("mule", "src", "test", "resources")).toAbsolutePath().normalize();
+    }
+
+    public static List<Path> blockFiles() {
+        return filesWithExtension(resourcesPath().resolve(Path.of("blocks", "mule3")), ".xml");
+    }
+
+    public static List<Path> projectFiles() {
+        return filesWithExtension(resourcesPath().resolve(Path.of("projects", MULE_PROJECT, "src", "main", "app")),
+                ".xml");
+    }
+
+    public static List<String> dataWeaveScripts() {
+        return filesWithExtension(resourcesPath(), ".dwl").stream().map(MuleFixtures::readString).toList();
+    }
+
+    // MEL expressions used in the blocks, limited to the ones the converter accepts
+    public static List<String> melExpressions() {
+        MuleToBalConverter.Data data = new MuleToBalConverter.Data(
+                new MuleToBalConverter.SharedProjectData(new MuleXMLNavigator()));
+        List<String> expressions = new ArrayList<>();
+        for (Path file : blockFiles()) {
+            for (String expression : findMelExpressions(readString(file))) {
+                try {
+                    MELConverter.convertMELToBal(data, expression, false);
+                    expressions.add(expression);
+                } catch (RuntimeException e) {
+                    // Not something the converter handles on its own
+                }
+            }
+        }
+        return expressions;
+    }
+
+    private static List<String> findMelExpressions(String content) {
+        List<String> expressions = new ArrayList<>();
+        int start = content.indexOf("#[");
+        while (start >= 0) {
+            int depth = 0;
+            int end = -1;
+            for (int i = start + 1; i < content.length() && end < 0; i++) {
+                char c = content.charAt(i);
+                if (c == '[') {
+                    depth++;
+                } else if (c == ']' && --depth == 0) {
+                    end = i;
+                }
+            }
+            if (end < 0) {
+                break;
+            }
+            expressions.add(content.substring(start, end + 1));
+            start = content.indexOf("#[", end);
+        }
+        return expressions;
+    }
+
+    private static List<Path> filesWithExtension(Path dir, String extension) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(extension))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list files in " + dir, e);
+        }
+    }
+
+    private static String readString(Path path) {
+        try {
+            return Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + path, e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.tibco;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tibco.TibcoModel;
+import tibco.analyzer.AnalysisPass;
+import tibco.analyzer.AnalysisResult;
+import tibco.analyzer.DefaultAnalysisPass;
+import tibco.analyzer.LoggingAnalysisPass;
+import tibco.analyzer.ModelAnalyser;
+import tibco.analyzer.ProjectAnalysisContext;
+import tibco.analyzer.ReportGenerationPass;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares running the analysis passes one after the other against running them in a single fused traversal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisPassBenchmark {
+
+    @Param({"CRUD", "RestHelloWorld", "SOAPToRest", "SimpleServiceChain"})
+    public String project;
+
+    @Param({"1", "10"})
+    public int scale;
+
+    private List<TibcoModel.Process> processes;
+
+    @Setup
+    public void setup() {
+        // LoggingAnalysisPass logs once per process, which would otherwise dominate the measurement
+        TibcoFixtures.silenceLogging();
+        processes = TibcoFixtures.parseProcesses(project, scale);
+    }
+
+    @Benchmark
+    public Map<TibcoModel.Process, AnalysisResult> sequentialPasses() {
+        return new ModelAnalyser(passes(), false).analyseProcesses(new ProjectAnalysisContext(), processes);
+    }
+
+    @Benchmark
+    public Map<TibcoModel.Process, AnalysisResult> fusedPasses() {
+        return new ModelAnalyser(passes(), true).analyseProcesses(new ProjectAnalysisContext(), processes);
+    }
+
+    private static List<AnalysisPass> passes() {
+        return List.of(new DefaultAnalysisPass(), new LoggingAnalysisPass(), new ReportGenerationPass());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.tibco;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tibco.TibcoModel;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the activities, scopes and transition groups of a project in hash maps, as the analysis and
+ * the conversion do for every activity. {@code project} varies the size of the processes and {@code scale} their
+ * number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelLookupBenchmark {
+
+    @Param({"CRUD", "RestHelloWorld", "SOAPToRest", "SimpleServiceChain"})
+    public String project;
+
+    @Param({"1", "10", "100"})
+    public int scale;
+
+    private List<Object> keys;
+    private Map<Object, Integer> index;
+
+    @Setup
+    public void setup() {
+        TibcoFixtures.silenceLogging();
+        keys = new ArrayList<>();
+        for (TibcoModel.Process process : TibcoFixtures.parseProcesses(project, scale)) {
+            if (process.scope() != null) {
+                addScope(process.scope());
+            }
+            if (process.transitionGroup() != null) {
+                addTransitionGroup(process.transitionGroup());
+            }
+        }
+        index = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            index.put(keys.get(i), i);
+        }
+    }
+
+    @Benchmark
+    public void hashKeys(Blackhole blackhole) {
+        for (Object key : keys) {
+            blackhole.consume(key.hashCode());
+        }
+    }
+
+    @Benchmark
+    public void lookUpKeys(Blackhole blackhole) {
+        for (Object key : keys) {
+            blackhole.consume(index.get(key));
+        }
+    }
+
+    @Benchmark
+    public Map<Object, Integer> buildIndex() {
+        Map<Object, Integer> result = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            result.put(keys.get(i), i);
+        }
+        return result;
+    }
+
+    private void addScope(TibcoModel.Scope scope) {
+        keys.add(scope);
+        for (TibcoModel.Scope.Flow flow : scope.flows()) {
+            flow.activities().forEach(this::addActivity);
+        }
+        for (TibcoModel.Scope.Sequence sequence : scope.sequence()) {
+            sequence.activities().forEach(this::addActivity);
+        }
+        scope.faultHandlers().forEach(this::addActivity);
+    }
+
+    private void addActivity(TibcoModel.Scope.Flow.Activity activity) {
+        keys.add(activity);
+        if (activity instanceof TibcoModel.Scope.Flow.Activity.ActivityWithScope activityWithScope) {
+            addScope(activityWithScope.scope());
+        }
+    }
+
+    private void addTransitionGroup(ExplicitTransitionGroup group) {
+        keys.add(group);
+        if (group.startActivity() != null) {
+            addInlineActivity(group.startActivity());
+        }
+        group.activities().forEach(this::addInlineActivity);
+    }
+
+    private void addInlineActivity(ExplicitTransitionGroup.InlineActivity activity) {
+        keys.add(activity);
+        if (activity instanceof ExplicitTransitionGroup.InlineActivityWithBody activityWithBody) {
+            addTransitionGroup(activityWithBody.body());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.tibco;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Element;
+import tibco.TibcoModel;
+import tibco.XmlToTibcoModelConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link XmlToTibcoModelConverter#parseProcess} on already parsed process documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessParsingBenchmark {
+
+    @Param({"CRUD", "RestHelloWorld", "SOAPToRest", "SimpleServiceChain"})
+    public String project;
+
+    @Param({"1", "10"})
+    public int scale;
+
+    private List<Element> elements;
+
+    @Setup
+    public void setup() {
+        elements = TibcoFixtures.processElements(project);
+    }
+
+    @Benchmark
+    public List<TibcoModel.Process> parseProcesses() {
+        List<TibcoModel.Process> processes = new ArrayList<>(elements.size() * scale);
+        for (int i = 0; i < scale; i++) {
+            for (Element element : elements) {
+                processes.add(XmlToTibcoModelConverter.parseProcess(element));
+            }
+        }
+        return processes;
+    }
+}
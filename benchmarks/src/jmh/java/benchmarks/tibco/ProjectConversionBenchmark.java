@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.tibco;
+
+import common.BallerinaModel;
+import common.CodeGenerator;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.tools.text.TextDocuments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tibco.TibcoModel;
+import tibco.TibcoToBalConverter;
+import tibco.analyzer.AnalysisResult;
+import tibco.analyzer.DefaultAnalysisPass;
+import tibco.analyzer.ModelAnalyser;
+import tibco.analyzer.ProjectAnalysisContext;
+import tibco.analyzer.ReportGenerationPass;
+import tibco.analyzer.TibcoAnalysisReport;
+import tibco.converter.ConversionResult;
+import tibco.converter.ProjectConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the stages that turn an analysed TIBCO project into Ballerina sources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectConversionBenchmark {
+
+    private static final BallerinaModel.DefaultPackage PACKAGE =
+            new BallerinaModel.DefaultPackage("tibco", "sample", "0.1");
+
+    @Param({"CRUD", "RestHelloWorld", "SOAPToRest", "SimpleServiceChain"})
+    public String project;
+
+    private final TibcoToBalConverter.ProjectConversionContext conversionContext =
+            new TibcoToBalConverter.ProjectConversionContext(false, false);
+    private TibcoToBalConverter.ParsedProject parsedProject;
+    private Map<TibcoModel.Process, AnalysisResult> analysisResult;
+    private List<BallerinaModel> ballerinaModels;
+    private List<SyntaxTree> generatedSyntaxTrees;
+
+    @Setup
+    public void setup() {
+        TibcoFixtures.silenceLogging();
+        parsedProject = TibcoFixtures.parseProject(project);
+        ConversionResult result = TibcoToBalConverter.convertProject(conversionContext,
+                TibcoFixtures.projectPath(project).toString());
+        // Same split as TibcoConverter, which generates a syntax tree per text document
+        ballerinaModels = result.module().textDocuments().stream()
+                .map(textDocument -> new BallerinaModel(PACKAGE,
+                        List.of(new BallerinaModel.Module(result.module().name(), List.of(textDocument)))))
+                .toList();
+        generatedSyntaxTrees = ballerinaModels.stream()
+                .map(model -> new CodeGenerator(model).generateBalCode().toSourceCode())
+                .map(source -> SyntaxTree.from(TextDocuments.from(source)))
+                .toList();
+    }
+
+    // Analysis results are not shared between conversions, hence the fresh analysis for each invocation
+    @Setup(Level.Invocation)
+    public void analyse() {
+        analysisResult = new ModelAnalyser(List.of(new DefaultAnalysisPass(), new ReportGenerationPass()))
+                .analyseProcesses(new ProjectAnalysisContext(), parsedProject.processes());
+    }
+
+    @Benchmark
+    public ConversionResult endToEnd() {
+        return TibcoToBalConverter.convertProject(conversionContext, TibcoFixtures.projectPath(project).toString());
+    }
+
+    @Benchmark
+    public ConversionResult convertProject() {
+        return ProjectConverter.convertProject(conversionContext, analysisResult, parsedProject.processes(),
+                parsedProject.types(), parsedProject.jdbcResources(), parsedProject.httpConnectionResources(),
+                parsedProject.httpClientResources(), parsedProject.httpSharedResources(),
+                parsedProject.jdbcSharedResources(), TibcoAnalysisReport.empty());
+    }
+
+    @Benchmark
+    public List<SyntaxTree> generateBalCode() {
+        List<SyntaxTree> syntaxTrees = new ArrayList<>(ballerinaModels.size());
+        for (BallerinaModel model : ballerinaModels) {
+            syntaxTrees.add(new CodeGenerator(model).generateBalCode());
+        }
+        return syntaxTrees;
+    }
+
+    @Benchmark
+    public List<SyntaxTree> generateBalCodeWithNodeFactory() {
+        List<SyntaxTree> syntaxTrees = new ArrayList<>(ballerinaModels.size());
+        for (BallerinaModel model : ballerinaModels) {
+            syntaxTrees.add(new CodeGenerator(model, CodeGenerator.Backend.NODE_FACTORY).generateBalCode());
+        }
+        return syntaxTrees;
+    }
+
+    @Benchmark
+    public List<SyntaxTree> formatSyntaxTree() {
+        List<SyntaxTree> syntaxTrees = new ArrayList<>(generatedSyntaxTrees.size());
+        for (SyntaxTree syntaxTree : generatedSyntaxTrees) {
+            syntaxTrees.add(CodeGenerator.formatSyntaxTree(syntaxTree));
+        }
+        return syntaxTrees;
+    }
+}
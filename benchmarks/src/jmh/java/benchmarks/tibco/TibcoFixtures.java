@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package benchmarks.tibco;
+
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+import tibco.ProjectFileIndex;
+import tibco.TibcoModel;
+import tibco.TibcoToBalConverter;
+import tibco.XmlToTibcoModelConverter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Access to the TIBCO projects used by the conversion tests, so that the benchmarks run on the same inputs.
+ */
+public final class TibcoFixtures {
+
+    private static final String PROJECT_ROOT_PROPERTY = "benchmarks.projectRoot";
+
+    private TibcoFixtures() {
+
+    }
+
+    public static Path projectPath(String projectName) {
+        Path root = Path.of(System.getProperty(PROJECT_ROOT_PROPERTY, ".."));
+        return root.resolve(Path.of("tibco", "src", "test", "resources", "tibco.projects", projectName))
+                .toAbsolutePath().normalize();
+    }
+
+    public static void silenceLogging() {
+        TibcoToBalConverter.logger().setLevel(Level.WARNING);
+    }
+
+    public static TibcoToBalConverter.ParsedProject parseProject(String projectName) {
+        return TibcoToBalConverter.parseProject(new TibcoToBalConverter.ProjectConversionContext(false, false),
+                projectPath(projectName).toString());
+    }
+
+    public static List<Element> processElements(String projectName) {
+        try {
+            ProjectFileIndex fileIndex = ProjectFileIndex.build(projectPath(projectName).toString());
+            List<Element> elements = new ArrayList<>();
+            for (String file : fileIndex.paths(ProjectFileIndex.ArtifactKind.PROCESS)) {
+                elements.add(TibcoToBalConverter.parseXmlFile(file));
+            }
+            return elements;
+        } catch (IOException | SAXException | ParserConfigurationException e) {
+            throw new IllegalStateException("Failed to load TIBCO project " + projectName, e);
+        }
+    }
+
+    // Each copy is parsed separately so that the scaled up project has distinct processes
+    public static List<TibcoModel.Process> parseProcesses(String projectName, int scale) {
+        List<Element> elements = processElements(projectName);
+        List<TibcoModel.Process> processes = new ArrayList<>();
+        for (int i = 0; i < scale; i++) {
+            for (Element element : elements) {
+                processes.add(XmlToTibcoModelConverter.parseProcess(element));
+            }
+        }
+        return processes;
+    }
+}
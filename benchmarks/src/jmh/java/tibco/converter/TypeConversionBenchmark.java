@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.converter;
+
+import benchmarks.tibco.TibcoFixtures;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tibco.TibcoModel;
+import tibco.TibcoToBalConverter;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TypeConverter#convertSchemas} on the schemas of a project.
+ * <p>
+ * This lives in {@code tibco.converter} since the type conversion is not part of the public API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeConversionBenchmark {
+
+    @Param({"CRUD", "RestHelloWorld", "SOAPToRest", "SimpleServiceChain"})
+    public String project;
+
+    private final TibcoToBalConverter.ProjectConversionContext conversionContext =
+            new TibcoToBalConverter.ProjectConversionContext(false, false);
+    private final TibcoToBalConverter.ProjectConversionContext parallelConversionContext =
+            new TibcoToBalConverter.ProjectConversionContext(false, false,
+                    EnumSet.of(TibcoToBalConverter.ConversionOption.PARALLEL_TYPE_CONVERSION));
+    private List<TibcoModel.Type.Schema> schemas;
+
+    @Setup
+    public void setup() {
+        TibcoFixtures.silenceLogging();
+        TibcoToBalConverter.ParsedProject parsedProject = TibcoFixtures.parseProject(project);
+        // Same set of schemas as ProjectConverter, except for the ones added while converting processes
+        schemas = new ArrayList<>(parsedProject.types());
+        for (TibcoModel.Process process : parsedProject.processes()) {
+            for (TibcoModel.Type type : process.types()) {
+                if (type instanceof TibcoModel.Type.Schema schema) {
+                    schemas.add(schema);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public SyntaxTree convertSchemas() {
+        ProjectContext cx = new ProjectContext(conversionContext, Map.of());
+        return TypeConverter.convertSchemas(cx.getTypeContext(), schemas);
+    }
+
+    @Benchmark
+    public SyntaxTree convertSchemasInParallel() {
+        ProjectContext cx = new ProjectContext(parallelConversionContext, Map.of());
+        return TypeConverter.convertSchemas(cx.getTypeContext(), schemas);
+    }
+}
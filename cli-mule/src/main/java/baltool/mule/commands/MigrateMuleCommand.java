@@ -36,7 +36,8 @@ public class MigrateMuleCommand implements BLauncherCmd {
     private final PrintStream errStream;
     private static final String CMD_NAME = "migrate-mule";
     private static final String USAGE =
-            "bal migrate-mule <source-project-directory-or-file> [--out <output-directory>]";
+            "bal migrate-mule <source-project-directory-or-file> [--out <output-directory>] [--parallel] " +
+                    "[--emit-parallelism <threads>]";
 
     public MigrateMuleCommand() {
         errStream = System.err;
@@ -49,18 +50,35 @@ public class MigrateMuleCommand implements BLauncherCmd {
     @CommandLine.Option(names = { "--out", "-o" }, description = "Output directory path")
     private String outputPath;
 
+    @CommandLine.Option(names = { "--parallel" },
+            description = "Convert the XML files of a project concurrently")
+    private boolean parallel;
+
+    @CommandLine.Option(names = { "--emit-parallelism" }, paramLabel = "<threads>",
+            description = "Number of Ballerina files to generate, format and write in parallel. Defaults to the " +
+                    "number of available processors with --parallel and 1 otherwise")
+    private Integer emitParallelism;
+
     @Override
     public void execute() {
         if (sourcePath == null) {
             errStream.println("Error: mule project directory or mule xml file path is required.");
             onInvalidInput();
         }
-        MuleConverter.migrateMuleSource(sourcePath, outputPath);
+        if (emitParallelism == null) {
+            MuleConverter.migrateMuleSource(sourcePath, outputPath, parallel);
+            return;
+        }
+        if (emitParallelism < 1) {
+            errStream.println("Error: --emit-parallelism must be a positive number.");
+            onInvalidInput();
+        }
+        MuleConverter.migrateMuleSource(sourcePath, outputPath, parallel, emitParallelism);
     }
 
     private void onInvalidInput() {
         errStream.println("Usage: bal migrate-mule <source-project-directory-or-file> " +
-                "[-o|--out <output-directory>]");
+                "[-o|--out <output-directory>] [--parallel] [--emit-parallelism <threads>]");
         System.exit(1);
     }
 
@@ -83,6 +101,8 @@ public class MigrateMuleCommand implements BLauncherCmd {
         stringBuilder.append("Examples:\n");
         stringBuilder.append("  bal migrate-mule /path/to/mule-project\n");
         stringBuilder.append("  bal migrate-mule /path/to/mule-project --out /path/to/output\n");
+        stringBuilder.append("  bal migrate-mule /path/to/mule-project --parallel\n");
+        stringBuilder.append("  bal migrate-mule /path/to/mule-project --emit-parallelism 8\n");
         stringBuilder.append("  bal migrate-mule /path/to/mule-flow.xml");
         stringBuilder.append("  bal migrate-mule /path/to/mule-flow.xml --out /path/to/output\n");
     }
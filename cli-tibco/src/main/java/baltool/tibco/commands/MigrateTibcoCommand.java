@@ -19,9 +19,12 @@ package baltool.tibco.commands;
 
 import io.ballerina.cli.BLauncherCmd;
 import picocli.CommandLine;
+import tibco.TibcoToBalConverter.ConversionOption;
 import tibco.converter.TibcoConverter;
 
 import java.io.PrintStream;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * This class represents the "migrate-tibco" bal tool command.
@@ -36,7 +39,10 @@ public class MigrateTibcoCommand implements BLauncherCmd {
     private static final String CMD_NAME = "migrate-tibco";
     private static final String USAGE =
             "bal migrate-tibco <source-project-directory-or-file> [-o|--out <output-directory>] " +
-                    "[-k|--keep-structure] [-v|--verbose] [-d|--dry-run]";
+                    "[-k|--keep-structure] [-v|--verbose] [-d|--dry-run] [--parallel-parsing] " +
+                    "[--parallel-analysis] [-i|--incremental] [--streaming-parser] [--release-documents] " +
+                    "[--streaming-output] [--emit-parallelism <threads>] [--parallel-types] [--cache-types] " +
+                    "[--concurrent-branches] [--parallel-loops] [--compile-xslt] [--hoist-constants]";
 
     public MigrateTibcoCommand() {
         errStream = System.err;
@@ -59,18 +65,124 @@ public class MigrateTibcoCommand implements BLauncherCmd {
             description = "Simulate the conversion without generating output files", defaultValue = "false")
     private boolean dryRun;
 
+    @CommandLine.Option(names = {"--parallel-parsing"},
+            description = "Parse project files in parallel using all available processors", defaultValue = "false")
+    private boolean parallelParsing;
+
+    @CommandLine.Option(names = {"--parallel-analysis"},
+            description = "Analyse processes in parallel using all available processors", defaultValue = "false")
+    private boolean parallelAnalysis;
+
+    @CommandLine.Option(names = {"--incremental", "-i"},
+            description = "Only regenerate output files affected by changes since the previous migration",
+            defaultValue = "false")
+    private boolean incremental;
+
+    @CommandLine.Option(names = {"--streaming-parser"},
+            description = "Parse process files with a streaming parser to reduce memory usage", defaultValue = "false")
+    private boolean streamingParser;
+
+    @CommandLine.Option(names = {"--release-documents"},
+            description = "Release parsed process documents once they are converted to the model to reduce memory " +
+                    "usage", defaultValue = "false")
+    private boolean releaseDocuments;
+
+    @CommandLine.Option(names = {"--streaming-output"},
+            description = "Write the output file of each process as soon as it is converted to reduce memory " +
+                    "usage. Requires --keep-structure", defaultValue = "false")
+    private boolean streamingOutput;
+
+    @CommandLine.Option(names = {"--emit-parallelism"}, paramLabel = "<threads>",
+            description = "Number of output files to generate, format and write in parallel", defaultValue = "1")
+    private int emitParallelism;
+
+    @CommandLine.Option(names = {"--parallel-types"},
+            description = "Convert independent XSD schemas to Ballerina types in parallel", defaultValue = "false")
+    private boolean parallelTypes;
+
+    @CommandLine.Option(names = {"--cache-types"},
+            description = "Cache the Ballerina types generated for XSD schemas in the output directory and reuse " +
+                    "them for unchanged schemas", defaultValue = "false")
+    private boolean cacheTypes;
+
+    @CommandLine.Option(names = {"--concurrent-branches"},
+            description = "Run activities of a process that do not depend on each other in concurrent workers",
+            defaultValue = "false")
+    private boolean concurrentBranches;
+
+    @CommandLine.Option(names = {"--parallel-loops"},
+            description = "Run the iterations of loop groups that do not depend on each other concurrently",
+            defaultValue = "false")
+    private boolean parallelLoops;
+
+    @CommandLine.Option(names = {"--compile-xslt"},
+            description = "Translate simple XSLT mappings to Ballerina instead of running them with the XSLT module",
+            defaultValue = "false")
+    private boolean compileXslt;
+
+    @CommandLine.Option(names = {"--hoist-constants"},
+            description = "Declare the XSLT stylesheets and constant XPath queries of each process once as module " +
+                    "variables instead of building them on every call", defaultValue = "false")
+    private boolean hoistConstants;
+
     @Override
     public void execute() {
         if (sourcePath == null) {
             errStream.println("Error: Source TIBCO BusinessWorks project directory or `.bwp` file path is required.");
             onInvalidInput();
         }
-        TibcoConverter.migrateTibco(sourcePath, outputPath, keepStructure, verbose, dryRun);
+        if (emitParallelism < 1) {
+            errStream.println("Error: --emit-parallelism must be a positive number.");
+            onInvalidInput();
+        }
+        Set<ConversionOption> options = EnumSet.noneOf(ConversionOption.class);
+        if (parallelParsing) {
+            options.add(ConversionOption.PARALLEL_PARSING);
+        }
+        if (parallelAnalysis) {
+            options.add(ConversionOption.PARALLEL_ANALYSIS);
+        }
+        if (incremental) {
+            options.add(ConversionOption.INCREMENTAL);
+        }
+        if (streamingParser) {
+            options.add(ConversionOption.STREAMING_PARSING);
+        }
+        if (releaseDocuments) {
+            options.add(ConversionOption.RELEASE_DOCUMENTS);
+        }
+        if (streamingOutput) {
+            options.add(ConversionOption.STREAMING_OUTPUT);
+        }
+        if (parallelTypes) {
+            options.add(ConversionOption.PARALLEL_TYPE_CONVERSION);
+        }
+        if (cacheTypes) {
+            options.add(ConversionOption.CACHE_TYPES);
+        }
+        if (concurrentBranches) {
+            options.add(ConversionOption.CONCURRENT_BRANCHES);
+        }
+        if (parallelLoops) {
+            options.add(ConversionOption.PARALLEL_LOOPS);
+        }
+        if (compileXslt) {
+            options.add(ConversionOption.COMPILE_XSLT);
+        }
+        if (hoistConstants) {
+            options.add(ConversionOption.HOIST_CONSTANTS);
+        }
+        TibcoConverter.migrateTibco(sourcePath, outputPath, keepStructure, verbose, dryRun, options,
+                emitParallelism);
     }
 
     private void onInvalidInput() {
         errStream.println("Usage: bal migrate-tibco <source-project-directory-or-file> " +
-                "[-o|--out <output-directory>] [-k|--keep-structure] [-v|--verbose] [-d|--dry-run]");
+                "[-o|--out <output-directory>] [-k|--keep-structure] [-v|--verbose] [-d|--dry-run] " +
+                "[--parallel-parsing] [--parallel-analysis] [-i|--incremental] [--streaming-parser] " +
+                "[--release-documents] [--streaming-output] [--emit-parallelism <threads>] [--parallel-types] " +
+                "[--cache-types] [--concurrent-branches] [--parallel-loops] [--compile-xslt] " +
+                "[--hoist-constants]");
         System.exit(1);
     }
 
@@ -89,6 +201,17 @@ public class MigrateTibcoCommand implements BLauncherCmd {
         stringBuilder.append("  --keep-structure, -k     Keep process structure\n");
         stringBuilder.append("  --verbose, -v            Enable verbose output during conversion\n");
         stringBuilder.append("  --dry-run, -d            Simulate the conversion without generating output files\n");
+        stringBuilder.append("  --parallel-parsing       Parse project files in parallel\n");
+        stringBuilder.append("  --parallel-analysis      Analyse processes in parallel\n");
+        stringBuilder.append("  --incremental, -i        Reuse unchanged output files from the previous migration\n");
+        stringBuilder.append("  --streaming-output       Write each process file as soon as it is converted\n");
+        stringBuilder.append("  --emit-parallelism <n>   Generate, format and write n output files in parallel\n");
+        stringBuilder.append("  --parallel-types         Convert independent XSD schemas in parallel\n");
+        stringBuilder.append("  --cache-types            Reuse the types generated for unchanged XSD schemas\n");
+        stringBuilder.append("  --concurrent-branches    Run independent activities of a process concurrently\n");
+        stringBuilder.append("  --parallel-loops         Run independent iterations of loop groups concurrently\n");
+        stringBuilder.append("  --compile-xslt           Translate simple XSLT mappings to Ballerina\n");
+        stringBuilder.append("  --hoist-constants        Declare XSLT stylesheets and XPath queries once\n");
     }
 
     @Override
@@ -107,6 +230,16 @@ public class MigrateTibcoCommand implements BLauncherCmd {
         stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp -d\n");
         stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --verbose --dry-run\n");
         stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp -v -d\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --parallel-parsing\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --parallel-parsing --parallel-analysis\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --out /path/to/output --incremental\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --emit-parallelism 8\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp -k --streaming-output\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --parallel-types --cache-types\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --concurrent-branches\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --parallel-loops\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --compile-xslt\n");
+        stringBuilder.append("  bal migrate-tibco /path/to/tibco_process.bwp --hoist-constants\n");
     }
 
     @Override
@@ -30,6 +30,7 @@ public class AnalysisReport {
     private final int unhandledElementCount;
     private final String elementType;
     private final Map<String, String> unhandledElements;
+    private final Map<String, String> statistics;
 
     private static final int BEST_CASE_ACTIVITY_TIME = 1;
     private static final int WORST_CASE_ACTIVITY_TIME = 3;
@@ -47,12 +48,25 @@ public class AnalysisReport {
      */
     public AnalysisReport(String reportTitle, int totalElementCount, int unhandledElementCount, String elementType,
                           Map<String, String> unhandledElements) {
+        this(reportTitle, totalElementCount, unhandledElementCount, elementType, unhandledElements, Map.of());
+    }
+
+    /**
+     * Create a new generic analysis report with additional statistics of the conversion.
+     *
+     * @param statistics Map containing the description of each statistic as key and its value, in the order they
+     *                   should be shown
+     * @see #AnalysisReport(String, int, int, String, Map)
+     */
+    public AnalysisReport(String reportTitle, int totalElementCount, int unhandledElementCount, String elementType,
+                          Map<String, String> unhandledElements, Map<String, String> statistics) {
         assert totalElementCount >= unhandledElementCount;
         this.reportTitle = reportTitle;
         this.totalElementCount = totalElementCount;
         this.unhandledElementCount = unhandledElementCount;
         this.elementType = elementType;
         this.unhandledElements = unhandledElements;
+        this.statistics = statistics;
     }
 
     /**
@@ -216,6 +230,29 @@ public class AnalysisReport {
                 elementType, uniqueTypeCount
         ));
 
+        // Conversion statistics table
+        if (!statistics.isEmpty()) {
+            html.append("""
+                    <div class="summary-container">
+                        <h3>Conversion Statistics</h3>
+                        <table class="blue-table">
+                            <tr>
+                                <th>Statistic</th>
+                                <th>Value</th>
+                            </tr>
+                    """);
+            statistics.forEach((statistic, value) -> html.append("""
+                                <tr>
+                                    <td>%s</td>
+                                    <td>%s</td>
+                                </tr>
+                    """.formatted(escapeHtml(statistic), escapeHtml(value))));
+            html.append("""
+                        </table>
+                    </div>
+                    """);
+        }
+
         // Unsupported elements frequency table
         if (!typeFrequencyMap.isEmpty()) {
             html.append("""
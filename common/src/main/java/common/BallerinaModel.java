@@ -241,11 +241,16 @@ public record BallerinaModel(DefaultPackage defaultPackage, List<Module> modules
     }
 
     public record ModuleVar(String name, String type, Optional<Expression> expr, boolean isConstant,
-                            boolean isConfigurable) {
+                            boolean isConfigurable, boolean isFinal) {
 
         public ModuleVar {
         }
 
+        public ModuleVar(String name, String type, Optional<Expression> expr, boolean isConstant,
+                         boolean isConfigurable) {
+            this(name, type, expr, isConstant, isConfigurable, false);
+        }
+
         public ModuleVar(String name, String type, Expression expr) {
             this(name, type, Optional.of(expr), false, false);
         }
@@ -267,6 +272,10 @@ public record BallerinaModel(DefaultPackage defaultPackage, List<Module> modules
                     true);
         }
 
+        public static ModuleVar finalVar(String name, TypeDesc typeDesc, Expression expr) {
+            return new ModuleVar(name, typeDesc.toString(), Optional.of(expr), false, false, true);
+        }
+
         @Override
         public String toString() {
             StringBuilder sb = new StringBuilder();
@@ -274,6 +283,8 @@ public record BallerinaModel(DefaultPackage defaultPackage, List<Module> modules
                 sb.append("configurable ");
             } else if (isConstant) {
                 sb.append("const ");
+            } else if (isFinal) {
+                sb.append("final ");
             }
             sb.append(type).append(" ").append(name);
             expr.map(initExpr -> sb.append(" = ").append(initExpr));
@@ -523,6 +534,14 @@ public record BallerinaModel(DefaultPackage defaultPackage, List<Module> modules
             }
         }
 
+        record Wait(Expression future) implements Expression {
+
+            @Override
+            public String toString() {
+                return "wait " + future;
+            }
+        }
+
         record Check(Expression callExpr) implements Expression {
 
             @Override
@@ -621,6 +640,13 @@ public record BallerinaModel(DefaultPackage defaultPackage, List<Module> modules
             }
         }
 
+        record ForkStatement(List<NamedWorkerDecl> workers) implements Statement {
+            @Override
+            public String toString() {
+                return String.format("fork { %s }", String.join("", workers.stream().map(Object::toString).toList()));
+            }
+        }
+
         record VarDeclStatment(TypeDesc type, String varName, Optional<Expression> expr) implements Statement {
 
             public VarDeclStatment(TypeDesc type, String varName) {
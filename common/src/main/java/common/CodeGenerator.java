@@ -57,9 +57,30 @@ import static common.BallerinaModel.TextDocument;
 
 public class CodeGenerator {
     private final BallerinaModel ballerinaModel;
+    private final Backend backend;
+
+    /**
+     * How the syntax tree is built from the model.
+     */
+    public enum Backend {
+        /**
+         * Each model element is printed to source and parsed back with {@link NodeParser}.
+         */
+        TEXT,
+        /**
+         * Model elements are built with {@link NodeFactory}. Only opaque source text in the model (statements,
+         * expressions, type names, resource paths, etc.) is parsed. See {@link SyntaxNodeBuilder}.
+         */
+        NODE_FACTORY
+    }
 
     public CodeGenerator(BallerinaModel ballerinaModel) {
+        this(ballerinaModel, Backend.TEXT);
+    }
+
+    public CodeGenerator(BallerinaModel ballerinaModel, Backend backend) {
         this.ballerinaModel = ballerinaModel;
+        this.backend = backend;
     }
 
     public SyntaxTree generateBalCode() {
@@ -71,7 +92,8 @@ public class CodeGenerator {
         for (TextDocument textDocument : module.textDocuments()) {
             List<ImportDeclarationNode> imports = new ArrayList<>();
             for (Import importDeclaration : textDocument.imports()) {
-                ImportDeclarationNode importDeclarationNode =
+                ImportDeclarationNode importDeclarationNode = backend == Backend.NODE_FACTORY ?
+                        SyntaxNodeBuilder.importDeclaration(importDeclaration) :
                         NodeParser.parseImportDeclaration(importDeclaration.toString());
                 imports.add(importDeclarationNode);
             }
@@ -80,19 +102,24 @@ public class CodeGenerator {
 
             for (ModuleTypeDef moduleTypeDef : textDocument.moduleTypeDefs()) {
                 // TODO: handle visibility qualifier properly
-                TypeDefinitionNode typeDefinitionNode = (TypeDefinitionNode) NodeParser.parseModuleMemberDeclaration(
-                        moduleTypeDef.toString());
+                TypeDefinitionNode typeDefinitionNode = backend == Backend.NODE_FACTORY ?
+                        SyntaxNodeBuilder.typeDefinition(moduleTypeDef) :
+                        (TypeDefinitionNode) NodeParser.parseModuleMemberDeclaration(moduleTypeDef.toString());
                 moduleMembers.add(typeDefinitionNode);
             }
 
             for (ModuleVar moduleVar : textDocument.moduleVars()) {
-                ModuleMemberDeclarationNode member = NodeParser.parseModuleMemberDeclaration(moduleVar.toString());
+                ModuleMemberDeclarationNode member = backend == Backend.NODE_FACTORY ?
+                        SyntaxNodeBuilder.moduleVariable(moduleVar) :
+                        NodeParser.parseModuleMemberDeclaration(moduleVar.toString());
                 moduleMembers.add(member);
             }
 
             for (Listener listener : textDocument.listeners()) {
                 // TODO: handle visibility qualifier properly
-                ModuleMemberDeclarationNode member = NodeParser.parseModuleMemberDeclaration(listener.toString());
+                ModuleMemberDeclarationNode member = backend == Backend.NODE_FACTORY ?
+                        SyntaxNodeBuilder.listenerDeclaration(listener) :
+                        NodeParser.parseModuleMemberDeclaration(listener.toString());
                 moduleMembers.add(member);
             }
 
@@ -103,16 +130,22 @@ public class CodeGenerator {
 
                 List<Node> members = new ArrayList<>();
                 for (ObjectField field : service.fields()) {
-                    ObjectFieldNode objectFieldNode = (ObjectFieldNode) NodeParser.parseObjectMember(
-                            String.format("%s %s;", field.type(), field.name()));
+                    ObjectFieldNode objectFieldNode = backend == Backend.NODE_FACTORY ?
+                            SyntaxNodeBuilder.objectField(field) :
+                            (ObjectFieldNode) NodeParser.parseObjectMember(
+                                    String.format("%s %s;", field.type(), field.name()));
                     members.add(objectFieldNode);
                 }
 
                 if (service.initFunc().isPresent()) {
-                    members.add(genFunctionDefinitionNode(service.initFunc().get()));
+                    members.add(genFunctionDefinitionNode(service.initFunc().get(), true));
                 }
 
                 for (Resource resource : service.resources()) {
+                    if (backend == Backend.NODE_FACTORY) {
+                        members.add(genResourceFunctionDefinitionNode(resource));
+                        continue;
+                    }
                     String funcParamStr = constructFunctionParameterString(resource.parameters(), false);
                     FunctionDefinitionNode resourceMethod = (FunctionDefinitionNode) NodeParser.parseObjectMember(
                             String.format("resource function %s %s(%s) %s {}",
@@ -125,7 +158,7 @@ public class CodeGenerator {
                 }
 
                 for (Function function : service.functions()) {
-                    FunctionDefinitionNode funcDefn = genFunctionDefinitionNode(function);
+                    FunctionDefinitionNode funcDefn = genFunctionDefinitionNode(function, true);
                     members.add(funcDefn);
                 }
 
@@ -135,6 +168,10 @@ public class CodeGenerator {
             }
 
             for (Function f : textDocument.functions()) {
+                if (backend == Backend.NODE_FACTORY) {
+                    moduleMembers.add(genFunctionDefinitionNode(f, false));
+                    continue;
+                }
                 String funcParamString = constructFunctionParameterString(f.parameters(), false);
                 String methodName = f.functionName();
                 FunctionDefinitionNode functionDefinitionNode;
@@ -173,7 +210,21 @@ public class CodeGenerator {
         return syntaxTrees.getFirst();
     }
 
-    private FunctionDefinitionNode genFunctionDefinitionNode(Function function) {
+    private FunctionDefinitionNode genFunctionDefinitionNode(Function function, boolean objectMethod) {
+        if (backend == Backend.NODE_FACTORY && function.body() instanceof BallerinaModel.BlockFunctionBody body) {
+            Optional<FunctionDefinitionNode> functionDefinitionNode = SyntaxNodeBuilder.functionDefinition(function,
+                    constructFunctionBodyBlock(body.statements()), objectMethod);
+            if (functionDefinitionNode.isPresent()) {
+                return functionDefinitionNode.get();
+            }
+        }
+        if (!objectMethod && function.body() instanceof BallerinaModel.BlockFunctionBody) {
+            FunctionDefinitionNode fd = (FunctionDefinitionNode) NodeParser.parseModuleMemberDeclaration(
+                    String.format("%sfunction %s(%s) %s {}", getVisibilityQualifier(function.visibilityQualifier()),
+                            function.functionName(), constructFunctionParameterString(function.parameters(), false),
+                            getReturnTypeDescriptor(function.returnType())));
+            return generateBallerinaFunction(fd, function.body());
+        }
         String funcParamString = constructFunctionParameterString(function.parameters(), false);
         FunctionDefinitionNode functionDefinitionNode;
         if (function.body() instanceof BallerinaModel.BlockFunctionBody) {
@@ -189,6 +240,17 @@ public class CodeGenerator {
         return functionDefinitionNode;
     }
 
+    private FunctionDefinitionNode genResourceFunctionDefinitionNode(Resource resource) {
+        // The resource path is opaque, so only the skeleton of the resource function is parsed
+        FunctionDefinitionNode resourceMethod = (FunctionDefinitionNode) NodeParser.parseObjectMember(
+                String.format("resource function %s %s() {}", resource.resourceMethodName(), resource.path()));
+        return resourceMethod.modify()
+                .withFunctionSignature(SyntaxNodeBuilder.functionSignature(resource.parameters(),
+                        resource.returnType()))
+                .withFunctionBody(constructFunctionBodyBlock(resource.body()))
+                .apply();
+    }
+
     private FunctionDefinitionNode generateBallerinaExternalFunction(Function f, String funcParamString,
                                                                      String methodName) {
         BallerinaModel.ExternFunctionBody body = (BallerinaModel.ExternFunctionBody) f.body();
@@ -284,7 +346,7 @@ public class CodeGenerator {
                 String.format("%s %s", p.type(), p.name())).toList());
     }
 
-    private FunctionBodyBlockNode constructFunctionBodyBlock(List<Statement> body) {
+    static FunctionBodyBlockNode constructFunctionBodyBlock(List<Statement> body) {
         List<String> stmtList = new ArrayList<>();
         for (Statement statement : body) {
             stmtList.add(statement.toString());
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates, formats and writes independent output documents on a bounded pool of worker threads.
+ * <p>
+ * Each document is handled by a single task, so the content of a document does not depend on scheduling as long as
+ * the task only reads shared state. Failures are collected per document and returned in the order of the given
+ * documents, so errors are reported in the same order as a sequential emit. With a parallelism of {@code 1} the
+ * documents are emitted one after the other on the calling thread.
+ */
+public final class ParallelDocumentEmitter implements AutoCloseable {
+
+    private final ExecutorService executor;
+
+    public ParallelDocumentEmitter(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.executor = parallelism == 1 ? null :
+                Executors.newFixedThreadPool(parallelism, new WorkerThreadFactory());
+    }
+
+    public static int defaultParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Applies {@code task} to each document and waits for all of them to complete.
+     *
+     * @param documents documents to emit
+     * @param task      task that generates, formats and writes a single document
+     * @return failed documents in the same order as {@code documents}
+     */
+    public <D> List<Failure<D>> emit(List<D> documents, DocumentTask<D> task) {
+        List<Failure<D>> failures = new ArrayList<>();
+        if (executor == null) {
+            for (D document : documents) {
+                try {
+                    task.emit(document);
+                } catch (Exception e) {
+                    failures.add(new Failure<>(document, e));
+                }
+            }
+            return failures;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(documents.size());
+        for (D document : documents) {
+            futures.add(executor.submit(() -> {
+                task.emit(document);
+                return null;
+            }));
+        }
+        for (int i = 0; i < documents.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Interrupted while emitting documents", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                failures.add(new Failure<>(documents.get(i), (Exception) cause));
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface DocumentTask<D> {
+        void emit(D document) throws Exception;
+    }
+
+    /**
+     * A document that could not be emitted.
+     *
+     * @param document document given to the task
+     * @param error    error thrown by the task
+     */
+    public record Failure<D>(D document, Exception error) {
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "document-emitter-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package common;
+
+import common.BallerinaModel.Expression;
+import common.BallerinaModel.Function;
+import common.BallerinaModel.Import;
+import common.BallerinaModel.Listener;
+import common.BallerinaModel.ModuleTypeDef;
+import common.BallerinaModel.ModuleVar;
+import common.BallerinaModel.ObjectField;
+import common.BallerinaModel.Parameter;
+import common.BallerinaModel.Statement;
+import common.BallerinaModel.TypeDesc;
+import common.BallerinaModel.TypeDesc.MapTypeDesc;
+import common.BallerinaModel.TypeDesc.RecordTypeDesc;
+import common.BallerinaModel.TypeDesc.RecordTypeDesc.Namespace;
+import common.BallerinaModel.TypeDesc.RecordTypeDesc.RecordField;
+import common.BallerinaModel.TypeDesc.StreamTypeDesc;
+import io.ballerina.compiler.syntax.tree.AnnotationNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.FunctionBodyNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.FunctionSignatureNode;
+import io.ballerina.compiler.syntax.tree.IdentifierToken;
+import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ImportPrefixNode;
+import io.ballerina.compiler.syntax.tree.MappingConstructorExpressionNode;
+import io.ballerina.compiler.syntax.tree.MappingFieldNode;
+import io.ballerina.compiler.syntax.tree.MetadataNode;
+import io.ballerina.compiler.syntax.tree.MinutiaeList;
+import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NodeFactory;
+import io.ballerina.compiler.syntax.tree.NodeList;
+import io.ballerina.compiler.syntax.tree.NodeParser;
+import io.ballerina.compiler.syntax.tree.ObjectFieldNode;
+import io.ballerina.compiler.syntax.tree.ParameterNode;
+import io.ballerina.compiler.syntax.tree.ReturnTypeDescriptorNode;
+import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.Token;
+import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
+import io.ballerina.compiler.syntax.tree.TypeDescriptorNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Builds syntax nodes for {@link BallerinaModel} elements with {@link NodeFactory}, for the
+ * {@link CodeGenerator.Backend#NODE_FACTORY} backend.
+ * <p>
+ * Only the parts of the model that are opaque source text, such as statements, expressions, type names and resource
+ * paths, are parsed. The textual form of the model ({@code toString()} of the model records) is what the
+ * {@link CodeGenerator.Backend#TEXT} backend parses, and the formatter keeps some of the line breaks in it (e.g. in
+ * record type descriptors). Tokens are therefore given the same line breaks as the textual form, so that both
+ * backends give the same source once formatted.
+ */
+final class SyntaxNodeBuilder {
+
+    private static final MinutiaeList NO_MINUTIAE = NodeFactory.createEmptyMinutiaeList();
+    private static final MinutiaeList SPACE = NodeFactory.createMinutiaeList(NodeFactory.createWhitespaceMinutiae(" "));
+    private static final MinutiaeList NEWLINE =
+            NodeFactory.createMinutiaeList(NodeFactory.createEndOfLineMinutiae("\n"));
+
+    private SyntaxNodeBuilder() {
+    }
+
+    static ImportDeclarationNode importDeclaration(Import importDeclaration) {
+        if (importDeclaration.importPrefix().filter(importPrefix -> importPrefix.equals("_")).isPresent()) {
+            // The `_` prefix is a keyword rather than an identifier
+            return NodeParser.parseImportDeclaration(importDeclaration.toString());
+        }
+        String[] nameParts = importDeclaration.moduleName().split("\\.");
+        List<Node> moduleName = new ArrayList<>();
+        for (int i = 0; i < nameParts.length; i++) {
+            if (i > 0) {
+                moduleName.add(token(SyntaxKind.DOT_TOKEN));
+            }
+            boolean isLast = i == nameParts.length - 1;
+            moduleName.add(identifier(nameParts[i],
+                    isLast && importDeclaration.importPrefix().isPresent() ? SPACE : NO_MINUTIAE));
+        }
+        ImportPrefixNode prefix = importDeclaration.importPrefix()
+                .map(importPrefix -> NodeFactory.createImportPrefixNode(token(SyntaxKind.AS_KEYWORD, SPACE),
+                        identifier(importPrefix)))
+                .orElse(null);
+        return NodeFactory.createImportDeclarationNode(token(SyntaxKind.IMPORT_KEYWORD, SPACE),
+                NodeFactory.createImportOrgNameNode(identifier(importDeclaration.orgName()),
+                        token(SyntaxKind.SLASH_TOKEN)),
+                NodeFactory.createSeparatedNodeList(moduleName.toArray(Node[]::new)), prefix,
+                token(SyntaxKind.SEMICOLON_TOKEN));
+    }
+
+    static TypeDefinitionNode typeDefinition(ModuleTypeDef moduleTypeDef) {
+        MinutiaeList leadingMinutiae = NO_MINUTIAE;
+        if (!moduleTypeDef.comments().isEmpty()) {
+            leadingMinutiae = commentMinutiae(String.join("",
+                    moduleTypeDef.comments().stream().map(Statement.Comment::toString).toList()));
+        }
+        List<AnnotationNode> annotations = new ArrayList<>();
+        if (moduleTypeDef.typeDesc() instanceof RecordTypeDesc recordTypeDesc) {
+            if (recordTypeDesc.namespace().isPresent()) {
+                annotations.add(namespaceAnnotation(recordTypeDesc.namespace().get(), leadingMinutiae));
+                leadingMinutiae = NO_MINUTIAE;
+            }
+            if (recordTypeDesc.xmlName().isPresent()) {
+                annotations.add(nameAnnotation(recordTypeDesc.xmlName().get(), leadingMinutiae));
+                leadingMinutiae = NO_MINUTIAE;
+            }
+        }
+        return NodeFactory.createTypeDefinitionNode(metadata(annotations),
+                token(SyntaxKind.PUBLIC_KEYWORD, leadingMinutiae, SPACE), token(SyntaxKind.TYPE_KEYWORD, SPACE),
+                identifier(moduleTypeDef.name(), SPACE), typeDescriptor(moduleTypeDef.typeDesc(), NO_MINUTIAE),
+                token(SyntaxKind.SEMICOLON_TOKEN));
+    }
+
+    static ModuleMemberDeclarationNode moduleVariable(ModuleVar moduleVar) {
+        TypeDescriptorNode type = NodeParser.parseTypeDescriptor(moduleVar.type() + " ");
+        Token name = identifier(moduleVar.name(), moduleVar.expr().isPresent() ? SPACE : NO_MINUTIAE);
+        Token equals = moduleVar.expr().isPresent() ? token(SyntaxKind.EQUAL_TOKEN, SPACE) : null;
+        ExpressionNode initializer = moduleVar.expr().map(SyntaxNodeBuilder::moduleVariableInitializer).orElse(null);
+        Token semicolon = token(SyntaxKind.SEMICOLON_TOKEN, NEWLINE);
+        if (moduleVar.isConstant() && !moduleVar.isConfigurable()) {
+            return NodeFactory.createConstantDeclarationNode(null, null, token(SyntaxKind.CONST_KEYWORD, SPACE),
+                    type, name, equals, initializer, semicolon);
+        }
+        NodeList<Token> qualifiers;
+        if (moduleVar.isConfigurable()) {
+            qualifiers = NodeFactory.createNodeList(token(SyntaxKind.CONFIGURABLE_KEYWORD, SPACE));
+        } else if (moduleVar.isFinal()) {
+            qualifiers = NodeFactory.createNodeList(token(SyntaxKind.FINAL_KEYWORD, SPACE));
+        } else {
+            qualifiers = NodeFactory.createEmptyNodeList();
+        }
+        return NodeFactory.createModuleVariableDeclarationNode(null, null, qualifiers,
+                NodeFactory.createTypedBindingPatternNode(type, NodeFactory.createCaptureBindingPatternNode(name)),
+                equals, initializer, semicolon);
+    }
+
+    private static ExpressionNode moduleVariableInitializer(Expression expression) {
+        String expr = expression.toString();
+        // Configurable variables without a default value
+        if (expr.equals("?")) {
+            return NodeFactory.createRequiredExpressionNode(token(SyntaxKind.QUESTION_MARK_TOKEN));
+        }
+        return NodeParser.parseExpression(expr);
+    }
+
+    static ModuleMemberDeclarationNode listenerDeclaration(Listener listener) {
+        String initializer = listener.host().equals("0.0.0.0") ? "new (%s)".formatted(listener.port()) :
+                "new (%s, {host: \"%s\"})".formatted(listener.port(), listener.host());
+        return NodeFactory.createListenerDeclarationNode(null, token(SyntaxKind.PUBLIC_KEYWORD, SPACE),
+                token(SyntaxKind.LISTENER_KEYWORD, SPACE), NodeParser.parseTypeDescriptor("http:Listener "),
+                identifier(listener.name(), SPACE), token(SyntaxKind.EQUAL_TOKEN, SPACE),
+                NodeParser.parseExpression(initializer), token(SyntaxKind.SEMICOLON_TOKEN));
+    }
+
+    static ObjectFieldNode objectField(ObjectField field) {
+        return NodeFactory.createObjectFieldNode(null, null, NodeFactory.createEmptyNodeList(),
+                typeDescriptor(field.type(), SPACE), identifier(field.name()), null, null,
+                token(SyntaxKind.SEMICOLON_TOKEN));
+    }
+
+    /**
+     * Builds the definition of a function with a block body.
+     *
+     * @param function     function to build
+     * @param body         body of the function
+     * @param objectMethod whether the function is a method of a service or a class
+     * @return function definition or {@link Optional#empty()} if the visibility qualifier is not supported
+     */
+    static Optional<FunctionDefinitionNode> functionDefinition(Function function, FunctionBodyNode body,
+                                                               boolean objectMethod) {
+        List<Token> qualifiers = new ArrayList<>();
+        if (function.visibilityQualifier().isPresent()) {
+            for (String qualifier : function.visibilityQualifier().get().trim().split("\\s+")) {
+                SyntaxKind kind = switch (qualifier) {
+                    case "public" -> SyntaxKind.PUBLIC_KEYWORD;
+                    case "isolated" -> SyntaxKind.ISOLATED_KEYWORD;
+                    case "transactional" -> SyntaxKind.TRANSACTIONAL_KEYWORD;
+                    default -> null;
+                };
+                if (kind == null) {
+                    return Optional.empty();
+                }
+                qualifiers.add(token(kind, SPACE));
+            }
+        }
+        SyntaxKind kind = objectMethod ? SyntaxKind.OBJECT_METHOD_DEFINITION : SyntaxKind.FUNCTION_DEFINITION;
+        return Optional.of(NodeFactory.createFunctionDefinitionNode(kind, null, NodeFactory.createNodeList(qualifiers),
+                token(SyntaxKind.FUNCTION_KEYWORD, SPACE), identifier(function.functionName()),
+                NodeFactory.createEmptyNodeList(), functionSignature(function.parameters(), function.returnType()),
+                body));
+    }
+
+    static FunctionSignatureNode functionSignature(List<Parameter> parameters, Optional<String> returnType) {
+        List<Node> parameterNodes = new ArrayList<>();
+        for (Parameter parameter : parameters) {
+            if (!parameterNodes.isEmpty()) {
+                parameterNodes.add(token(SyntaxKind.COMMA_TOKEN));
+            }
+            parameterNodes.add(parameter(parameter));
+        }
+        SeparatedNodeList<ParameterNode> parameterList =
+                NodeFactory.createSeparatedNodeList(parameterNodes.toArray(Node[]::new));
+        ReturnTypeDescriptorNode returnTypeDescriptor = returnType
+                .map(type -> NodeFactory.createReturnTypeDescriptorNode(token(SyntaxKind.RETURNS_KEYWORD, SPACE),
+                        NodeFactory.createEmptyNodeList(), NodeParser.parseTypeDescriptor(type + " ")))
+                .orElse(null);
+        return NodeFactory.createFunctionSignatureNode(token(SyntaxKind.OPEN_PAREN_TOKEN), parameterList,
+                token(SyntaxKind.CLOSE_PAREN_TOKEN, SPACE), returnTypeDescriptor);
+    }
+
+    private static ParameterNode parameter(Parameter parameter) {
+        TypeDescriptorNode type = typeDescriptor(parameter.type(), SPACE);
+        if (parameter.defaultExpr().isEmpty()) {
+            return NodeFactory.createRequiredParameterNode(NodeFactory.createEmptyNodeList(), type,
+                    identifier(parameter.name()));
+        }
+        return NodeFactory.createDefaultableParameterNode(NodeFactory.createEmptyNodeList(), type,
+                identifier(parameter.name(), SPACE), token(SyntaxKind.EQUAL_TOKEN, SPACE),
+                NodeParser.parseExpression(parameter.defaultExpr().get().expr()));
+    }
+
+    /**
+     * Builds the descriptor of a type.
+     *
+     * @param typeDesc         type to build
+     * @param trailingMinutiae minutiae that follows the type in its textual form, either none or a single space
+     * @return type descriptor
+     */
+    static TypeDescriptorNode typeDescriptor(TypeDesc typeDesc, MinutiaeList trailingMinutiae) {
+        return switch (typeDesc) {
+            case RecordTypeDesc recordTypeDesc when canBuild(recordTypeDesc) ->
+                    recordTypeDescriptor(recordTypeDesc, trailingMinutiae);
+            case MapTypeDesc(TypeDesc valueType) -> NodeFactory.createMapTypeDescriptorNode(
+                    token(SyntaxKind.MAP_KEYWORD), NodeFactory.createTypeParameterNode(token(SyntaxKind.LT_TOKEN),
+                            typeDescriptor(valueType, NO_MINUTIAE), token(SyntaxKind.GT_TOKEN, trailingMinutiae)));
+            case StreamTypeDesc(TypeDesc valueType, TypeDesc completionType) ->
+                    NodeFactory.createStreamTypeDescriptorNode(token(SyntaxKind.STREAM_KEYWORD),
+                            NodeFactory.createStreamTypeParamsNode(token(SyntaxKind.LT_TOKEN),
+                                    typeDescriptor(valueType, NO_MINUTIAE), token(SyntaxKind.COMMA_TOKEN, SPACE),
+                                    typeDescriptor(completionType, NO_MINUTIAE),
+                                    token(SyntaxKind.GT_TOKEN, trailingMinutiae)));
+            default -> NodeParser.parseTypeDescriptor(
+                    trailingMinutiae.isEmpty() ? typeDesc.toString() : typeDesc + " ");
+        };
+    }
+
+    // Records with other rest descriptors, or with fields that are both optional and defaultable, have no valid
+    // textual form to match, so they are parsed from their text instead
+    private static boolean canBuild(RecordTypeDesc recordTypeDesc) {
+        TypeDesc rest = recordTypeDesc.rest();
+        return (rest == TypeDesc.BuiltinType.NEVER || rest == TypeDesc.BuiltinType.ANYDATA) &&
+                recordTypeDesc.fields().stream()
+                        .noneMatch(field -> field.isOptional() && field.defaultValue().isPresent());
+    }
+
+    private static TypeDescriptorNode recordTypeDescriptor(RecordTypeDesc recordTypeDesc,
+                                                           MinutiaeList trailingMinutiae) {
+        boolean isExclusive = recordTypeDesc.rest() != TypeDesc.BuiltinType.ANYDATA;
+        List<Node> fields = new ArrayList<>();
+        for (TypeDesc inclusion : recordTypeDesc.inclusions()) {
+            fields.add(NodeFactory.createTypeReferenceNode(token(SyntaxKind.ASTERISK_TOKEN),
+                    typeDescriptor(inclusion, NO_MINUTIAE), token(SyntaxKind.SEMICOLON_TOKEN, NEWLINE)));
+        }
+        for (RecordField field : recordTypeDesc.fields()) {
+            fields.add(recordField(field));
+        }
+        return NodeFactory.createRecordTypeDescriptorNode(token(SyntaxKind.RECORD_KEYWORD, SPACE),
+                token(isExclusive ? SyntaxKind.OPEN_BRACE_PIPE_TOKEN : SyntaxKind.OPEN_BRACE_TOKEN, NEWLINE),
+                NodeFactory.createNodeList(fields), null,
+                token(isExclusive ? SyntaxKind.CLOSE_BRACE_PIPE_TOKEN : SyntaxKind.CLOSE_BRACE_TOKEN,
+                        trailingMinutiae));
+    }
+
+    private static Node recordField(RecordField field) {
+        MetadataNode metadata = field.namespace()
+                .map(namespace -> metadata(List.of(namespaceAnnotation(namespace, NO_MINUTIAE))))
+                .orElse(null);
+        TypeDescriptorNode type = typeDescriptor(field.typeDesc(), SPACE);
+        Token semicolon = token(SyntaxKind.SEMICOLON_TOKEN, NEWLINE);
+        if (field.defaultValue().isPresent()) {
+            return NodeFactory.createRecordFieldWithDefaultValueNode(metadata, null, type,
+                    identifier(field.name(), SPACE), token(SyntaxKind.EQUAL_TOKEN, SPACE),
+                    NodeParser.parseExpression(field.defaultValue().get().toString()), semicolon);
+        }
+        return NodeFactory.createRecordFieldNode(metadata, null, type, identifier(field.name()),
+                field.isOptional() ? token(SyntaxKind.QUESTION_MARK_TOKEN) : null, semicolon);
+    }
+
+    // @xmldata:Namespace { prefix: "<prefix>", uri: "<uri>" }
+    private static AnnotationNode namespaceAnnotation(Namespace namespace, MinutiaeList leadingMinutiae) {
+        List<Node> fields = new ArrayList<>();
+        namespace.prefix().ifPresent(prefix -> {
+            fields.add(stringField("prefix", prefix, NO_MINUTIAE));
+            fields.add(token(SyntaxKind.COMMA_TOKEN, SPACE));
+        });
+        fields.add(stringField("uri", namespace.uri(), SPACE));
+        return xmlDataAnnotation("Namespace", leadingMinutiae,
+                NodeFactory.createMappingConstructorExpressionNode(token(SyntaxKind.OPEN_BRACE_TOKEN, SPACE),
+                        NodeFactory.createSeparatedNodeList(fields.toArray(Node[]::new)),
+                        token(SyntaxKind.CLOSE_BRACE_TOKEN)));
+    }
+
+    // @xmldata:Name { value: "<name>" }, one field per line
+    private static AnnotationNode nameAnnotation(String name, MinutiaeList leadingMinutiae) {
+        return xmlDataAnnotation("Name", leadingMinutiae,
+                NodeFactory.createMappingConstructorExpressionNode(token(SyntaxKind.OPEN_BRACE_TOKEN, NEWLINE),
+                        NodeFactory.createSeparatedNodeList(stringField("value", name, NEWLINE)),
+                        token(SyntaxKind.CLOSE_BRACE_TOKEN, NEWLINE)));
+    }
+
+    private static AnnotationNode xmlDataAnnotation(String name, MinutiaeList leadingMinutiae,
+                                                    MappingConstructorExpressionNode value) {
+        return NodeFactory.createAnnotationNode(token(SyntaxKind.AT_TOKEN, leadingMinutiae, NO_MINUTIAE),
+                NodeFactory.createQualifiedNameReferenceNode(identifier("xmldata"), token(SyntaxKind.COLON_TOKEN),
+                        identifier(name, SPACE)),
+                value);
+    }
+
+    private static MappingFieldNode stringField(String name, String value, MinutiaeList trailingMinutiae) {
+        return NodeFactory.createSpecificFieldNode(null, identifier(name), token(SyntaxKind.COLON_TOKEN, SPACE),
+                NodeFactory.createBasicLiteralNode(SyntaxKind.STRING_LITERAL,
+                        NodeFactory.createLiteralValueToken(SyntaxKind.STRING_LITERAL_TOKEN, "\"" + value + "\"",
+                                NO_MINUTIAE, trailingMinutiae)));
+    }
+
+    private static MetadataNode metadata(List<AnnotationNode> annotations) {
+        return annotations.isEmpty() ? null :
+                NodeFactory.createMetadataNode(null, NodeFactory.createNodeList(annotations));
+    }
+
+    // Comments of the model already end with a new line
+    private static MinutiaeList commentMinutiae(String comments) {
+        return NodeParser.parseImportDeclaration(comments + "import x/y;").leadingMinutiae();
+    }
+
+    private static Token token(SyntaxKind kind) {
+        return token(kind, NO_MINUTIAE);
+    }
+
+    private static Token token(SyntaxKind kind, MinutiaeList trailingMinutiae) {
+        return token(kind, NO_MINUTIAE, trailingMinutiae);
+    }
+
+    private static Token token(SyntaxKind kind, MinutiaeList leadingMinutiae, MinutiaeList trailingMinutiae) {
+        return NodeFactory.createToken(kind, leadingMinutiae, trailingMinutiae);
+    }
+
+    private static IdentifierToken identifier(String text) {
+        return identifier(text, NO_MINUTIAE);
+    }
+
+    private static IdentifierToken identifier(String text, MinutiaeList trailingMinutiae) {
+        return NodeFactory.createIdentifierToken(text, NO_MINUTIAE, trailingMinutiae);
+    }
+}
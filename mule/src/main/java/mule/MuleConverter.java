@@ -20,6 +20,7 @@ package mule;
 
 import common.BallerinaModel;
 import common.CodeGenerator;
+import common.ParallelDocumentEmitter;
 import io.ballerina.cli.cmd.NewCommand;
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import mule.dataweave.converter.DWConversionStats;
@@ -38,12 +39,19 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Logger;
 
 import static mule.HtmlReportWriter.writeHtmlReport;
 import static mule.MuleToBalConverter.convertProjectXMLFileToBallerina;
 import static mule.MuleToBalConverter.createBallerinaModel;
 import static mule.MuleToBalConverter.createContextTypeDefns;
+import static mule.MuleToBalConverter.generateProjectBallerinaModel;
+import static mule.MuleToBalConverter.readGlobalConfigs;
+import static mule.MuleToBalConverter.readProjectXMLFile;
 
 public class MuleConverter {
     public static final String MULE_DEFAULT_APP_DIR_NAME = "app";
@@ -68,6 +76,31 @@ public class MuleConverter {
     }
 
     public static void migrateMuleSource(String inputPathArg, String outputPathArg) {
+        migrateMuleSource(inputPathArg, outputPathArg, false);
+    }
+
+    /**
+     * Migrates a Mule project directory or a standalone Mule XML file.
+     *
+     * @param inputPathArg  path of the project directory or the XML file
+     * @param outputPathArg directory to create the Ballerina package in, or {@code null} to use the input directory
+     * @param parallel      whether to convert the XML files of a project concurrently
+     */
+    public static void migrateMuleSource(String inputPathArg, String outputPathArg, boolean parallel) {
+        migrateMuleSource(inputPathArg, outputPathArg, parallel, defaultEmitParallelism(parallel));
+    }
+
+    /**
+     * Migrates a Mule project directory or a standalone Mule XML file.
+     *
+     * @param inputPathArg    path of the project directory or the XML file
+     * @param outputPathArg   directory to create the Ballerina package in, or {@code null} to use the input
+     *                        directory
+     * @param parallel        whether to read the XML files of a project concurrently
+     * @param emitParallelism number of Ballerina files of a project generated, formatted and written at the same time
+     */
+    public static void migrateMuleSource(String inputPathArg, String outputPathArg, boolean parallel,
+                                         int emitParallelism) {
         Path sourcePath = Paths.get(inputPathArg);
         if (!Files.exists(sourcePath)) {
             logger.severe("Source path does not exist: '" + sourcePath + "'");
@@ -76,7 +109,7 @@ public class MuleConverter {
 
         if (Files.isDirectory(sourcePath)) {
             validateOutputPathArg(outputPathArg);
-            convertMuleProject(inputPathArg, outputPathArg);
+            convertMuleProject(inputPathArg, outputPathArg, parallel, emitParallelism);
         } else if (Files.isRegularFile(sourcePath) && inputPathArg.endsWith(".xml")) {
             validateOutputPathArg(outputPathArg);
             convertMuleXmlFile(inputPathArg, outputPathArg);
@@ -160,6 +193,15 @@ public class MuleConverter {
     }
 
     public static void convertMuleProject(String inputPathArg, String outputPathArg) {
+        convertMuleProject(inputPathArg, outputPathArg, false);
+    }
+
+    public static void convertMuleProject(String inputPathArg, String outputPathArg, boolean parallel) {
+        convertMuleProject(inputPathArg, outputPathArg, parallel, defaultEmitParallelism(parallel));
+    }
+
+    public static void convertMuleProject(String inputPathArg, String outputPathArg, boolean parallel,
+                                          int emitParallelism) {
         Path inputPath = Paths.get(inputPathArg);
         String balPackageName = inputPath.getFileName().toString().concat(BAL_PROJECT_SUFFIX);
 
@@ -169,10 +211,33 @@ public class MuleConverter {
         } else {
             balPackageDir = inputPath.resolve(balPackageName);
         }
-        convertMuleProject(balPackageDir, inputPathArg);
+        convertMuleProject(balPackageDir, inputPathArg, parallel, emitParallelism);
     }
 
     public static void convertMuleProject(Path balPackageDir, String inputPathArg) {
+        convertMuleProject(balPackageDir, inputPathArg, false);
+    }
+
+    public static void convertMuleProject(Path balPackageDir, String inputPathArg, boolean parallel) {
+        convertMuleProject(balPackageDir, inputPathArg, parallel, defaultEmitParallelism(parallel));
+    }
+
+    // Concurrent conversions write the Ballerina files concurrently as well, unless told otherwise
+    private static int defaultEmitParallelism(boolean parallel) {
+        return parallel ? ParallelDocumentEmitter.defaultParallelism() : 1;
+    }
+
+    /**
+     * Converts a Mule project into a Ballerina package.
+     *
+     * @param balPackageDir   directory of the Ballerina package to create
+     * @param inputPathArg    path of the Mule project directory
+     * @param parallel        whether to read the XML files concurrently. The output is the same either way.
+     * @param emitParallelism number of Ballerina files generated, formatted and written at the same time. The output
+     *                        is the same for any value.
+     */
+    public static void convertMuleProject(Path balPackageDir, String inputPathArg, boolean parallel,
+                                          int emitParallelism) {
         createBallerinaPackage(balPackageDir);
 
         Path sourceFolderPath = Path.of(inputPathArg).resolve("src").resolve("main").resolve(MULE_DEFAULT_APP_DIR_NAME);
@@ -190,13 +255,31 @@ public class MuleConverter {
         MuleXMLNavigator muleXMLNavigator = new MuleXMLNavigator();
         MuleToBalConverter.SharedProjectData sharedProjectData = new MuleToBalConverter.SharedProjectData(
                 muleXMLNavigator);
+        List<Path> targetFilePaths = new ArrayList<>(xmlFiles.size());
         for (File xmlFile : xmlFiles) {
             Path relativePath = sourceFolderPath.relativize(xmlFile.toPath());
             String balFileName = relativePath.toString().replace(File.separator, ".").replace(".xml", ".bal");
             Path targetFilePath = Paths.get(targetFolderPath, balFileName);
             createDirectories(targetFilePath.getParent());
+            targetFilePaths.add(targetFilePath);
+        }
 
-            genAndWriteBalFileFromXMLFile(xmlFile, muleXMLNavigator, sharedProjectData, targetFilePath);
+        if (parallel) {
+            writeBalFiles(genBalFilesConcurrently(xmlFiles, targetFilePaths, muleXMLNavigator, sharedProjectData),
+                    emitParallelism);
+        } else if (emitParallelism > 1) {
+            List<BalFile> balFiles = new ArrayList<>(xmlFiles.size());
+            for (int i = 0; i < xmlFiles.size(); i++) {
+                genBalFileFromXMLFile(xmlFiles.get(i), muleXMLNavigator, sharedProjectData, targetFilePaths.get(i))
+                        .ifPresent(balFiles::add);
+            }
+            writeBalFiles(balFiles, emitParallelism);
+        } else {
+            // Write each file as soon as its model is generated, so only one model is held at a time
+            for (int i = 0; i < xmlFiles.size(); i++) {
+                genBalFileFromXMLFile(xmlFiles.get(i), muleXMLNavigator, sharedProjectData, targetFilePaths.get(i))
+                        .ifPresent(MuleConverter::writeBalFileOrLog);
+            }
         }
 
         genAndWriteInternalTypesBalFile(sharedProjectData, targetFolderPath);
@@ -235,32 +318,161 @@ public class MuleConverter {
     }
 
     /**
-     * Generate and write the Ballerina file from the XML file.
+     * Generate the Ballerina model of the XML file.
      *
      * @param xmlFile           xml file to be converted
      * @param muleXMLNavigator  MuleXMLNavigator instance to navigate the XML file
      * @param sharedProjectData shared project data
      * @param targetFilePath    path to the target file where the Ballerina code
      *                          will be written
+     * @return file to write or {@link Optional#empty()} if the XML file could not be converted
      */
-    private static void genAndWriteBalFileFromXMLFile(
+    private static Optional<BalFile> genBalFileFromXMLFile(
             File xmlFile, MuleXMLNavigator muleXMLNavigator, MuleToBalConverter.SharedProjectData sharedProjectData,
             Path targetFilePath) {
-        SyntaxTree syntaxTree;
         try {
-            syntaxTree = convertProjectXMLFileToBallerina(muleXMLNavigator, sharedProjectData, xmlFile.getPath());
+            MuleToBalConverter.MuleConfiguration configuration =
+                    readProjectXMLFile(muleXMLNavigator, sharedProjectData, xmlFile.getPath());
+            return Optional.of(new BalFile(xmlFile, targetFilePath, generateProjectBallerinaModel(configuration)));
         } catch (Exception e) {
             logger.severe(String.format("Error converting the file: %s%n%s", xmlFile.getName(), e.getMessage()));
-            return;
+            return Optional.empty();
         }
+    }
 
+    /**
+     * Generate the Ballerina models of the XML files concurrently, with the same output as
+     * {@link #genBalFileFromXMLFile} for each file in order.
+     * <p>
+     * The global configs of all the files are read first, skipping everything else, so that a file can refer to a
+     * config declared in any other file. The files are then read concurrently, each with its own navigator whose tag
+     * counts are added to {@code muleXMLNavigator} afterwards. Generating the Ballerina models allocates names from
+     * the counters of the shared project data, so the models are generated one at a time in the order of
+     * {@code xmlFiles}.
+     *
+     * @param xmlFiles          xml files to be converted
+     * @param targetFilePaths   paths to the target files, in the same order as {@code xmlFiles}
+     * @param muleXMLNavigator  MuleXMLNavigator instance to collect the tag counts of all the files
+     * @param sharedProjectData shared project data
+     * @return files to write, in the order of {@code xmlFiles}, skipping the files that could not be converted
+     */
+    private static List<BalFile> genBalFilesConcurrently(
+            List<File> xmlFiles, List<Path> targetFilePaths, MuleXMLNavigator muleXMLNavigator,
+            MuleToBalConverter.SharedProjectData sharedProjectData) {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
         try {
-            Files.writeString(targetFilePath, syntaxTree.toSourceCode());
-        } catch (IOException e) {
-            logger.severe("Error writing to file: " + e.getMessage());
+            List<Optional<MuleToBalConverter.Data>> globalConfigs = join(pool.submit(() -> xmlFiles.parallelStream()
+                    .map(xmlFile -> readGlobalConfigsIfValid(sharedProjectData, xmlFile))
+                    .toList()));
+            globalConfigs.forEach(data -> data.ifPresent(MuleToBalConverter::shareGlobalConfigs));
+
+            List<XmlFileReadResult> readResults = join(pool.submit(() -> xmlFiles.parallelStream()
+                    .map(xmlFile -> readXmlFile(sharedProjectData, xmlFile))
+                    .toList()));
+
+            List<BalFile> balFiles = new ArrayList<>();
+            for (int i = 0; i < xmlFiles.size(); i++) {
+                XmlFileReadResult readResult = readResults.get(i);
+                muleXMLNavigator.mergeXMLTagCountMaps(readResult.muleXMLNavigator());
+                try {
+                    if (readResult.error() != null) {
+                        throw readResult.error();
+                    }
+                    balFiles.add(new BalFile(xmlFiles.get(i), targetFilePaths.get(i),
+                            generateProjectBallerinaModel(readResult.configuration())));
+                } catch (Exception e) {
+                    logger.severe(String.format("Error converting the file: %s%n%s", xmlFiles.get(i).getName(),
+                            e.getMessage()));
+                }
+            }
+            return balFiles;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Optional<MuleToBalConverter.Data> readGlobalConfigsIfValid(
+            MuleToBalConverter.SharedProjectData sharedProjectData, File xmlFile) {
+        try {
+            return Optional.of(readGlobalConfigs(sharedProjectData, xmlFile.getPath()));
+        } catch (Exception e) {
+            // Reported when the file is read in full
+            return Optional.empty();
+        }
+    }
+
+    private static XmlFileReadResult readXmlFile(MuleToBalConverter.SharedProjectData sharedProjectData,
+                                                 File xmlFile) {
+        MuleXMLNavigator muleXMLNavigator = new MuleXMLNavigator();
+        try {
+            return new XmlFileReadResult(muleXMLNavigator,
+                    readProjectXMLFile(muleXMLNavigator, sharedProjectData, xmlFile.getPath()), null);
+        } catch (Exception e) {
+            return new XmlFileReadResult(muleXMLNavigator, null, e);
+        }
+    }
+
+    /**
+     * Generate, format and write the Ballerina files. Code generation only reads the Ballerina model of each file, so
+     * the files are emitted on {@code emitParallelism} workers. Errors are reported in the order of {@code balFiles}.
+     *
+     * @param balFiles        files to write
+     * @param emitParallelism number of files generated, formatted and written at the same time
+     */
+    private static void writeBalFiles(List<BalFile> balFiles, int emitParallelism) {
+        List<ParallelDocumentEmitter.Failure<BalFile>> failures;
+        try (ParallelDocumentEmitter emitter = new ParallelDocumentEmitter(emitParallelism)) {
+            failures = emitter.emit(balFiles, MuleConverter::writeBalFile);
+        }
+        for (ParallelDocumentEmitter.Failure<BalFile> failure : failures) {
+            logWriteFailure(failure.document(), failure.error());
+        }
+    }
+
+    private static void writeBalFileOrLog(BalFile balFile) {
+        try {
+            writeBalFile(balFile);
+        } catch (Exception e) {
+            logWriteFailure(balFile, e);
+        }
+    }
+
+    private static void logWriteFailure(BalFile balFile, Exception error) {
+        if (error instanceof IOException) {
+            logger.severe("Error writing to file: " + error.getMessage());
+        } else {
+            logger.severe(String.format("Error converting the file: %s%n%s", balFile.xmlFile().getName(),
+                    error.getMessage()));
+        }
+    }
+
+    private static void writeBalFile(BalFile balFile) throws IOException {
+        SyntaxTree syntaxTree = new CodeGenerator(balFile.ballerinaModel()).generateBalCode();
+        Files.writeString(balFile.targetFilePath(), syntaxTree.toSourceCode());
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while converting the project", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error while converting the project", e.getCause());
         }
     }
 
+    // Either the configuration or the error is set. The navigator holds the tags read until the error, if any.
+    private record XmlFileReadResult(MuleXMLNavigator muleXMLNavigator,
+                                     MuleToBalConverter.MuleConfiguration configuration, Exception error) {
+    }
+
+    private record BalFile(File xmlFile, Path targetFilePath, BallerinaModel ballerinaModel) {
+    }
+
     /**
      * Generate and write the internal-types.bal file.
      *
@@ -333,6 +545,9 @@ public class MuleConverter {
         DWConversionStats stats = muleXMLNavigator.getDwConversionStats();
         OUT.println("________________________________________________________________");
         OUT.println("Dataweave conversion percentage: " + String.format("%.2f", stats.getConversionPercentage()) + "%");
+        if (stats.getLLFallbackCount() > 0) {
+            OUT.println("Dataweave scripts parsed again with full LL prediction: " + stats.getLLFallbackCount());
+        }
         OUT.println("________________________________________________________________");
     }
 
@@ -30,13 +30,16 @@ import io.ballerina.compiler.syntax.tree.SyntaxTree;
 import mule.MuleXMLNavigator.MuleElement;
 import mule.dataweave.converter.DWConversionStats;
 import mule.dataweave.converter.DWReader;
+import mule.dataweave.converter.DWScriptCache;
 import mule.dataweave.converter.DWUtils;
 import org.w3c.dom.CDATASection;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.xml.sax.SAXException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,10 +51,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import static common.BallerinaModel.Expression.BallerinaExpression;
 import static common.BallerinaModel.Statement.BallerinaStatement;
@@ -126,6 +133,10 @@ import static mule.MuleModel.UnsupportedBlock;
 
 public class MuleToBalConverter {
 
+    private static final Set<String> GLOBAL_CONFIG_TAGS = Set.of(MuleXMLTag.HTTP_LISTENER_CONFIG.tag(),
+            MuleXMLTag.HTTP_REQUEST_CONFIG.tag(), MuleXMLTag.DB_MYSQL_CONFIG.tag(), MuleXMLTag.DB_ORACLE_CONFIG.tag(),
+            MuleXMLTag.DB_TEMPLATE_QUERY.tag());
+
     public static class Data {
         public final SharedProjectData sharedProjectData;
 
@@ -162,6 +173,19 @@ public class MuleToBalConverter {
             sharedProjectData.sharedConfigVarMap.put(configVarName, configVarDecl);
             globalConfigVarMap.put(configVarName, configVarDecl);
         }
+
+        // Global configs of this file take precedence over the ones shared by other files of the project
+        HTTPListenerConfig getHttpListenerConfig(String configRef) {
+            HTTPListenerConfig httpListenerConfig = globalHttpListenerConfigsMap.get(configRef);
+            return httpListenerConfig != null ? httpListenerConfig :
+                    sharedProjectData.sharedHttpListenerConfigsMap.get(configRef);
+        }
+
+        HTTPRequestConfig getHttpRequestConfig(String configRef) {
+            HTTPRequestConfig httpRequestConfig = globalHttpRequestConfigsMap.get(configRef);
+            return httpRequestConfig != null ? httpRequestConfig :
+                    sharedProjectData.sharedHttpRequestConfigsMap.get(configRef);
+        }
     }
 
     public static class SharedProjectData {
@@ -191,6 +215,7 @@ public class MuleToBalConverter {
         public int vmReceiveFuncCount = 0;
 
         private final DWConversionStats dwConversionStats;
+        private final DWScriptCache dwScriptCache = new DWScriptCache();
 
         public SharedProjectData(MuleXMLNavigator muleXMLNavigator) {
             this.dwConversionStats = muleXMLNavigator.getDwConversionStats();
@@ -229,6 +254,10 @@ public class MuleToBalConverter {
             return dwConversionStats;
         }
 
+        public DWScriptCache getDwScriptCache() {
+            return dwScriptCache;
+        }
+
         static class FlowInfo {
 
             final String flowName;
@@ -275,32 +304,110 @@ public class MuleToBalConverter {
     public static SyntaxTree convertProjectXMLFileToBallerina(MuleXMLNavigator muleXMLNavigator,
             SharedProjectData sharedProjectData,
             String xmlFilePath) {
-        MuleToBalConverter.Data data = new MuleToBalConverter.Data(sharedProjectData);
-        SyntaxTree syntaxTree = convertXMLFileToBallerina(muleXMLNavigator, xmlFilePath, data);
+        MuleConfiguration configuration = readProjectXMLFile(muleXMLNavigator, sharedProjectData, xmlFilePath);
+        return new CodeGenerator(generateProjectBallerinaModel(configuration)).generateBalCode();
+    }
+
+    /**
+     * Flows and sub-flows read from a Mule XML configuration file, before any code is generated for them.
+     *
+     * @param data     per file data collected while reading the file
+     * @param flows    flows of the file
+     * @param subFlows sub-flows of the file
+     */
+    record MuleConfiguration(Data data, List<Flow> flows, List<SubFlow> subFlows) {
+    }
+
+    /**
+     * Reads a project XML file without generating code for it. Reading only updates the returned data and the tag
+     * counts of the given navigator, and looks up global configs shared by the files read before, so files can be
+     * read concurrently as long as each has its own navigator.
+     *
+     * @param muleXMLNavigator  navigator to record the tag counts of the file
+     * @param sharedProjectData shared project data
+     * @param xmlFilePath       path of the file
+     * @return flows and sub-flows of the file
+     */
+    static MuleConfiguration readProjectXMLFile(MuleXMLNavigator muleXMLNavigator,
+            SharedProjectData sharedProjectData, String xmlFilePath) {
+        return readMuleXMLConfigurationFile(muleXMLNavigator, new Data(sharedProjectData), xmlFilePath,
+                MuleToBalConverter::readMuleConfiguration);
+    }
+
+    /**
+     * Generates the Ballerina model of a file read with {@link #readProjectXMLFile} and shares its global configs
+     * with the rest of the project. Generated names are allocated from the counters of the shared project data, so
+     * files must be generated one at a time, in the same order, to get the same output.
+     *
+     * @param configuration file to generate
+     * @return Ballerina model of the file
+     */
+    static BallerinaModel generateProjectBallerinaModel(MuleConfiguration configuration) {
+        Data data = configuration.data();
+        BallerinaModel ballerinaModel = generateBallerinaModel(data, configuration.flows(), configuration.subFlows());
+        shareGlobalConfigs(data);
+        return ballerinaModel;
+    }
+
+    /**
+     * Reads only the HTTP and database configs of a project XML file, skipping over flows and every other block.
+     * This is a lot cheaper than reading the whole file, and lets the configs of all the files be shared with
+     * {@link #shareGlobalConfigs} before any of the files are read in full.
+     *
+     * @param sharedProjectData shared project data
+     * @param xmlFilePath       path of the file
+     * @return data holding the global configs of the file
+     */
+    static Data readGlobalConfigs(SharedProjectData sharedProjectData, String xmlFilePath) {
+        // Configs are read again along with the rest of the file, so they must not be counted here
+        return readMuleXMLConfigurationFile(new MuleXMLNavigator(), new Data(sharedProjectData), xmlFilePath,
+                MuleToBalConverter::readGlobalConfigElements);
+    }
+
+    static void shareGlobalConfigs(Data data) {
+        SharedProjectData sharedProjectData = data.sharedProjectData;
         sharedProjectData.sharedHttpListenerConfigsMap.putAll(data.globalHttpListenerConfigsMap);
         sharedProjectData.sharedHttpRequestConfigsMap.putAll(data.globalHttpRequestConfigsMap);
         sharedProjectData.sharedDbMySQLConfigsMap.putAll(data.globalDbMySQLConfigsMap);
         sharedProjectData.sharedDbOracleConfigsMap.putAll(data.globalDbOracleConfigsMap);
         sharedProjectData.sharedDbTemplateQueryMap.putAll(data.globalDbTemplateQueryMap);
-        return syntaxTree;
     }
 
     private static SyntaxTree convertXMLFileToBallerina(MuleXMLNavigator muleXMLNavigator, String xmlFilePath,
             Data data) {
-        BallerinaModel ballerinaModel = getBallerinaModel(muleXMLNavigator, data, xmlFilePath);
+        MuleConfiguration configuration = readMuleXMLConfigurationFile(muleXMLNavigator, data, xmlFilePath,
+                MuleToBalConverter::readMuleConfiguration);
+        BallerinaModel ballerinaModel = generateBallerinaModel(data, configuration.flows(), configuration.subFlows());
         return new CodeGenerator(ballerinaModel).generateBalCode();
     }
 
-    private static BallerinaModel getBallerinaModel(MuleXMLNavigator muleXMLNavigator, Data data, String xmlFilePath) {
-        Element root;
-        try {
-            root = parseMuleXMLConfigurationFile(xmlFilePath);
-        } catch (Exception e) {
+    private static <T> T readMuleXMLConfigurationFile(MuleXMLNavigator muleXMLNavigator, Data data,
+            String xmlFilePath, BiFunction<Data, MuleElement, T> readFn) {
+        // The configuration is read with a pull parser so that only the block being converted is kept in memory
+        try (InputStream inputStream = Files.newInputStream(Path.of(xmlFilePath))) {
+            XMLStreamReader reader = openMuleXMLConfigurationFile(xmlFilePath, inputStream);
+            try {
+                Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+                return readFn.apply(data, muleXMLNavigator.createRootMuleElement(reader, document));
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException | ParserConfigurationException e) {
             throw new RuntimeException("Error while parsing the mule XML configuration file: ", e);
         }
+    }
 
-        MuleElement muleElement = muleXMLNavigator.createRootMuleElement(root);
+    private static Data readGlobalConfigElements(Data data, MuleElement muleElement) {
+        while (muleElement.peekChild() != null) {
+            MuleElement child = muleElement.consumeChild();
+            if (GLOBAL_CONFIG_TAGS.contains(child.getElement().getTagName())) {
+                readGlobalConfigElement(data, child);
+            }
+        }
+        return data;
+    }
 
+    private static MuleConfiguration readMuleConfiguration(Data data, MuleElement muleElement) {
         List<Flow> flows = new ArrayList<>();
         List<SubFlow> subFlows = new ArrayList<>();
 
@@ -322,21 +429,26 @@ public class MuleToBalConverter {
             readGlobalConfigElement(data, child);
         }
 
-        return generateBallerinaModel(data, flows, subFlows);
+        return new MuleConfiguration(data, flows, subFlows);
     }
 
-    private static Element parseMuleXMLConfigurationFile(String uri) throws ParserConfigurationException, SAXException,
-            IOException {
-        // Load the Mule XML file
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document document = builder.parse(uri);
-
-        // Normalize the XML structure
-        document.getDocumentElement().normalize();
-
-        return document.getDocumentElement();
+    // Returns a reader positioned at the start of the root element
+    private static XMLStreamReader openMuleXMLConfigurationFile(String xmlFilePath, InputStream inputStream)
+            throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        // DataWeave scripts are read from CDATA sections, so they must not be merged into the surrounding text
+        String reportCdata = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+        if (factory.isPropertySupported(reportCdata)) {
+            factory.setProperty(reportCdata, true);
+        }
+        XMLStreamReader reader = factory.createXMLStreamReader(xmlFilePath, inputStream);
+        int event = reader.next();
+        while (event != XMLStreamConstants.START_ELEMENT) {
+            event = reader.next();
+        }
+        return reader;
     }
 
     private static void readGlobalConfigElement(Data data, MuleElement muleElement) {
@@ -344,23 +456,18 @@ public class MuleToBalConverter {
         if (MuleXMLTag.HTTP_LISTENER_CONFIG.tag().equals(elementTagName)) {
             HTTPListenerConfig httpListenerConfig = readHttpListenerConfig(data, muleElement);
             data.globalHttpListenerConfigsMap.put(httpListenerConfig.name(), httpListenerConfig);
-            data.sharedProjectData.sharedHttpListenerConfigsMap.put(httpListenerConfig.name(), httpListenerConfig);
         } else if (MuleXMLTag.HTTP_REQUEST_CONFIG.tag().equals(elementTagName)) {
             HTTPRequestConfig httpRequestConfig = readHttpRequestConfig(data, muleElement);
             data.globalHttpRequestConfigsMap.put(httpRequestConfig.name(), httpRequestConfig);
-            data.sharedProjectData.sharedHttpRequestConfigsMap.put(httpRequestConfig.name(), httpRequestConfig);
         } else if (MuleXMLTag.DB_MYSQL_CONFIG.tag().equals(elementTagName)) {
             DbMSQLConfig dbMSQLConfig = readDbMySQLConfig(data, muleElement);
             data.globalDbMySQLConfigsMap.put(dbMSQLConfig.name(), dbMSQLConfig);
-            data.sharedProjectData.sharedDbMySQLConfigsMap.put(dbMSQLConfig.name(), dbMSQLConfig);
         } else if (MuleXMLTag.DB_ORACLE_CONFIG.tag().equals(elementTagName)) {
             DbOracleConfig dbOracleConfig = readDbOracleConfig(data, muleElement);
             data.globalDbOracleConfigsMap.put(dbOracleConfig.name(), dbOracleConfig);
-            data.sharedProjectData.sharedDbOracleConfigsMap.put(dbOracleConfig.name(), dbOracleConfig);
         } else if (MuleXMLTag.DB_TEMPLATE_QUERY.tag().equals(elementTagName)) {
             DbTemplateQuery dbTemplateQuery = readDbTemplateQuery(data, muleElement);
             data.globalDbTemplateQueryMap.put(dbTemplateQuery.name(), dbTemplateQuery);
-            data.sharedProjectData.sharedDbTemplateQueryMap.put(dbTemplateQuery.name(), dbTemplateQuery);
         } else if (MuleXMLTag.CATCH_EXCEPTION_STRATEGY.tag().equals(elementTagName)) {
             CatchExceptionStrategy catchExceptionStrategy = readCatchExceptionStrategy(data, muleElement);
             data.globalExceptionStrategies.add(catchExceptionStrategy);
@@ -610,7 +717,7 @@ public class MuleToBalConverter {
         String[] resourceMethodNames = httpListener.allowedMethods();
         List<String> listenerRefs = Collections.singletonList(httpListener.configRef());
         String muleBasePath = insertLeadingSlash(
-                data.sharedProjectData.sharedHttpListenerConfigsMap.get(httpListener.configRef()).basePath());
+                data.getHttpListenerConfig(httpListener.configRef()).basePath());
         String basePath = getBallerinaAbsolutePath(muleBasePath);
 
         // Add services
@@ -1391,7 +1498,7 @@ public class MuleToBalConverter {
     private static HttpRequest readHttpRequest(Data data, MuleElement muleElement) {
         Element element = muleElement.getElement();
         String configRef = element.getAttribute("config-ref");
-        HTTPRequestConfig httpRequestConfig = data.sharedProjectData.sharedHttpRequestConfigsMap.get(configRef);
+        HTTPRequestConfig httpRequestConfig = data.getHttpRequestConfig(configRef);
         String host = httpRequestConfig.host();
         String port = httpRequestConfig.port();
         String url = String.format("%s:%s", host, port);
@@ -1513,7 +1620,7 @@ public class MuleToBalConverter {
     }
 
     private static UnsupportedBlock readUnsupportedBlock(Data data, MuleElement muleElement) {
-        Element element = muleElement.getElement();
+        Element element = muleElement.getElementWithContent();
         String xmlBlock = ConversionUtils.elementToString(element);
         return new UnsupportedBlock(xmlBlock);
     }
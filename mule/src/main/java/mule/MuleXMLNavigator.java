@@ -19,11 +19,18 @@
 package mule;
 
 import mule.dataweave.converter.DWConversionStats;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
+import org.w3c.dom.Text;
 
 import java.util.LinkedHashMap;
 
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 public class MuleXMLNavigator {
     private final LinkedHashMap<String, Integer> xmlCompatibleTagCountMap;
     private final LinkedHashMap<String, Integer> xmlIncompatibleTagCountMap;
@@ -47,8 +54,27 @@ public class MuleXMLNavigator {
         return xmlIncompatibleTagCountMap;
     }
 
-    MuleElement createRootMuleElement(Element rootElement) {
-        return new MuleElement(rootElement);
+    /**
+     * Creates the root element of a configuration that is read with a pull parser instead of a DOM.
+     *
+     * @param reader   reader positioned at the start of the root element
+     * @param document document used to create the elements
+     */
+    MuleElement createRootMuleElement(XMLStreamReader reader, Document document) {
+        return new StaxMuleElement(reader, document, createElement(document, reader));
+    }
+
+    /**
+     * Adds the tag counts of a navigator that was used to read a file on its own. Merging in the order the files
+     * are converted keeps the tags in the same order as reading all the files with this navigator.
+     *
+     * @param muleXMLNavigator navigator used to read the file
+     */
+    void mergeXMLTagCountMaps(MuleXMLNavigator muleXMLNavigator) {
+        muleXMLNavigator.xmlCompatibleTagCountMap.forEach((tagName, count) ->
+                xmlCompatibleTagCountMap.merge(tagName, count, Integer::sum));
+        muleXMLNavigator.xmlIncompatibleTagCountMap.forEach((tagName, count) ->
+                xmlIncompatibleTagCountMap.merge(tagName, count, Integer::sum));
     }
 
     private void updateXMLTagCountMaps(String tagName) {
@@ -68,44 +94,173 @@ public class MuleXMLNavigator {
         }
     }
 
-    class MuleElement {
-        private final Element rootElement;
+    abstract class MuleElement {
+
+        public abstract Element getElement();
+
+        public abstract Element peekChild();
+
+        public abstract MuleElement consumeChild();
+
+        // Element along with the children that are yet to be consumed, for blocks that are not read child by child
+        public abstract Element getElementWithContent();
+    }
+
+    // Reads the configuration forward-only, so only the elements on the path to the current position are in memory.
+    // Each element only holds its attributes and its leading text, which is all the converter reads from elements
+    // that are consumed child by child.
+    private class StaxMuleElement extends MuleElement {
+        private final XMLStreamReader reader;
+        private final Document document;
+        private final Element element;
+        // Child the reader is positioned at the start of
         private Element currentChild;
+        // Last consumed child, the reader is somewhere inside it
+        private StaxMuleElement consumedChild;
+        private boolean ended;
 
-        private MuleElement(Element rootElement) {
-            this.rootElement = rootElement;
-            this.currentChild = peekFirstChild();
+        private StaxMuleElement(XMLStreamReader reader, Document document, Element element) {
+            this.reader = reader;
+            this.document = document;
+            this.element = element;
+            advance();
         }
 
+        @Override
         public Element getElement() {
-            return rootElement;
+            return element;
         }
 
+        @Override
         public Element peekChild() {
+            if (consumedChild != null) {
+                consumedChild.skipToEnd();
+                consumedChild = null;
+                advance();
+            }
             return currentChild;
         }
 
+        @Override
         public MuleElement consumeChild() {
-            updateXMLTagCountMaps(currentChild.getTagName());
-            MuleElement muleElement = new MuleElement(currentChild);
-            this.currentChild = peekNextSibling();
-            return muleElement;
+            Element child = peekChild();
+            updateXMLTagCountMaps(child.getTagName());
+            currentChild = null;
+            consumedChild = new StaxMuleElement(reader, document, child);
+            return consumedChild;
+        }
+
+        @Override
+        public Element getElementWithContent() {
+            while (peekChild() != null) {
+                Element child = currentChild;
+                currentChild = null;
+                element.appendChild(child);
+                readContent(child);
+                advance();
+            }
+            return element;
+        }
+
+        private void skipToEnd() {
+            while (peekChild() != null) {
+                currentChild = null;
+                int depth = 1;
+                while (depth > 0) {
+                    switch (next()) {
+                        case XMLStreamConstants.START_ELEMENT -> depth++;
+                        case XMLStreamConstants.END_ELEMENT -> depth--;
+                        default -> {
+                            // Content of skipped children is not needed
+                        }
+                    }
+                }
+                advance();
+            }
+        }
+
+        // Reads until the start of the next child or the end of this element
+        private void advance() {
+            while (currentChild == null && !ended) {
+                int event = next();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> currentChild = createElement(document, reader);
+                    case XMLStreamConstants.END_ELEMENT -> ended = true;
+                    default -> appendContent(element, event);
+                }
+            }
         }
 
-        private Element peekFirstChild() {
-            Node firstChild = rootElement.getFirstChild();
-            while (firstChild != null && firstChild.getNodeType() != Node.ELEMENT_NODE) {
-                firstChild = firstChild.getNextSibling();
+        // Reads the content of the child the reader is at the start of into it
+        private void readContent(Element child) {
+            Node current = child;
+            while (current != element) {
+                int event = next();
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        Element grandChild = createElement(document, reader);
+                        current.appendChild(grandChild);
+                        current = grandChild;
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> current = current.getParentNode();
+                    default -> appendContent(current, event);
+                }
             }
-            return firstChild != null ? (Element) firstChild : null;
         }
 
-        private Element peekNextSibling() {
-            Node nextSibling = currentChild.getNextSibling();
-            while (nextSibling != null && nextSibling.getNodeType() != Node.ELEMENT_NODE) {
-                nextSibling = nextSibling.getNextSibling();
+        private void appendContent(Node parent, int event) {
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE, XMLStreamConstants.ENTITY_REFERENCE -> {
+                    // Adjacent text is merged the same way Node#normalize does for the DOM
+                    String text = reader.getText();
+                    Node last = parent.getLastChild();
+                    if (last != null && last.getNodeType() == Node.TEXT_NODE) {
+                        ((Text) last).appendData(text);
+                    } else if (!text.isEmpty()) {
+                        parent.appendChild(document.createTextNode(text));
+                    }
+                }
+                case XMLStreamConstants.CDATA -> parent.appendChild(document.createCDATASection(reader.getText()));
+                case XMLStreamConstants.COMMENT -> parent.appendChild(document.createComment(reader.getText()));
+                case XMLStreamConstants.PROCESSING_INSTRUCTION -> parent.appendChild(
+                        document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                default -> {
+                    // Nothing else can appear inside an element
+                }
             }
-            return nextSibling != null ? (Element) nextSibling : null;
         }
+
+        private int next() {
+            try {
+                return reader.next();
+            } catch (XMLStreamException e) {
+                throw new RuntimeException("Error while reading the mule XML configuration file: ", e);
+            }
+        }
+    }
+
+    private static Element createElement(Document document, XMLStreamReader reader) {
+        Element element = document.createElementNS(namespaceUri(reader.getNamespaceURI()),
+                qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String name = prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE :
+                    XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(namespaceUri(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String namespaceUri(String uri) {
+        return uri == null || uri.isEmpty() ? null : uri;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
     }
 }
@@ -33,7 +33,6 @@ public class DWContext {
 
     public List<String> functionNames;
     public Map<String, String> commonArgs = new HashMap<>();
-    final Map<String, DWScriptContext> scriptCache = new HashMap<>();
     public boolean isOutputVarSet = false;
 
     public DWContext(List<BallerinaModel.Statement> statementList) {
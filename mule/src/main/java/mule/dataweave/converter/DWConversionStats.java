@@ -24,6 +24,7 @@ import java.util.Map;
 public class DWConversionStats {
     private final Map<DWConstruct, Integer> encountered = new LinkedHashMap<>();
     private final Map<DWConstruct, Integer> converted = new LinkedHashMap<>();
+    private int llFallbackCount = 0;
 
     public void record(DWConstruct construct, boolean isConverted) {
         encountered.merge(construct, 1, Integer::sum);
@@ -32,6 +33,15 @@ public class DWConversionStats {
         }
     }
 
+    // Scripts that failed to parse with SLL prediction and were parsed again with full LL prediction
+    public void recordLLFallback() {
+        llFallbackCount++;
+    }
+
+    public int getLLFallbackCount() {
+        return llFallbackCount;
+    }
+
     public int getTotalWeight() {
         return encountered.entrySet().stream()
                 .mapToInt(e -> e.getKey().weight() * e.getValue()).sum();
@@ -24,10 +24,6 @@ import mule.Constants;
 import mule.ConversionUtils;
 import mule.MuleModel;
 import mule.MuleToBalConverter;
-import mule.dataweave.parser.DataWeaveLexer;
-import mule.dataweave.parser.DataWeaveParser;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 
 import java.io.IOException;
@@ -40,57 +36,54 @@ import java.util.List;
 
 public class DWReader {
 
-    public static ParseTree readDWScriptFromFile(String filePath, DWContext context) {
+    private static final ThreadLocal<DWScriptParser> SCRIPT_PARSER = ThreadLocal.withInitial(DWScriptParser::new);
+
+    private static String readDWScript(String filePath) {
         Path path = Paths.get(filePath);
         if (Files.exists(path) && Files.isRegularFile(path)) {
-            return parseFromFile(path, context);
+            return readFromFile(path);
         }
         InputStream inputStream = DWReader.class.getClassLoader().getResourceAsStream(filePath);
         if (inputStream != null) {
-            return parseFromStream(inputStream, filePath, context);
+            return readFromStream(inputStream, filePath);
         }
         throw new RuntimeException("File not found: " + filePath);
     }
 
-    private static ParseTree parseFromFile(Path path, DWContext context) {
+    private static String readFromFile(Path path) {
         if (!path.toString().toLowerCase().endsWith(".dwl")) {
             throw new RuntimeException("Invalid file type. Expected a .dwl file: " + path);
         }
         try {
-            String script = Files.readString(path, StandardCharsets.UTF_8);
-            return parseScript(script, context);
+            return Files.readString(path, StandardCharsets.UTF_8);
         } catch (IOException e) {
             throw new RuntimeException("Failed to read file - " + path, e);
         }
     }
 
-    private static ParseTree parseFromStream(InputStream inputStream, String filePath, DWContext context) {
-        try {
-            String script = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            return parseScript(script, context);
+    private static String readFromStream(InputStream inputStream, String filePath) {
+        try (inputStream) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             throw new RuntimeException("Failed to read file from resources: " + filePath, e);
         }
     }
 
-    private static ParseTree parseScript(String script, DWContext context) {
-        DataWeaveLexer lexer = new DataWeaveLexer(CharStreams.fromString(script));
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        DataWeaveParser parser = new DataWeaveParser(tokens);
-
-        parser.removeErrorListeners();
-        lexer.removeErrorListeners();
+    public static ParseTree parseScript(String script, DWContext context) {
+        return parseScript(script, context, new DWConversionStats());
+    }
 
+    public static ParseTree parseScript(String script, DWContext context, DWConversionStats stats) {
         DWParserErrorListener errorListener = new DWParserErrorListener();
-        parser.addErrorListener(errorListener);
-        lexer.addErrorListener(errorListener);
-
-        ParseTree tree = parser.script();
+        DWScriptParser.ParseResult result = SCRIPT_PARSER.get().parse(script, errorListener);
+        if (result.usedLLFallback()) {
+            stats.recordLLFallback();
+        }
 
         if (errorListener.hasErrors()) {
             context.currentScriptContext.errors.add(errorListener.getErrors());
         }
-        return tree;
+        return result.tree();
     }
 
     public static void processDWElements(List<MuleModel.TransformMessageElement> children, MuleToBalConverter.Data data,
@@ -138,23 +131,27 @@ public class DWReader {
     private static String getFunctionStatement(String script, String resourcePath, DWContext context,
                                                MuleToBalConverter.Data data, String varName) {
         if (script != null) {
-            ParseTree tree = parseScript(script, context);
+            ParseTree tree = parseScript(script, context, data.sharedProjectData.getDwConversionStats());
             BallerinaVisitor visitor = new BallerinaVisitor(context, data,
                     data.sharedProjectData.getDwConversionStats());
             visitor.visit(tree);
             context.currentScriptContext.funcName = context.functionNames.getLast();
             return buildStatement(context, varName);
         }
-        if (context.scriptCache.containsKey(resourcePath)) {
-            context.currentScriptContext = context.scriptCache.get(resourcePath);
+        // Resources are converted once per project, references from other flows and files call the same function
+        String resourceScript = readDWScript(resourcePath.replace(Constants.CLASSPATH, Constants.CLASSPATH_DIR));
+        DWScriptCache scriptCache = data.sharedProjectData.getDwScriptCache();
+        DWScriptCache.ScriptKey key = DWScriptCache.ScriptKey.of(resourcePath, resourceScript);
+        DWContext.DWScriptContext cachedScriptContext = scriptCache.get(key);
+        if (cachedScriptContext != null) {
+            context.currentScriptContext = cachedScriptContext;
             return buildStatement(context, varName);
         }
-        ParseTree tree = readDWScriptFromFile(resourcePath.replace(Constants.CLASSPATH, Constants.CLASSPATH_DIR),
-                context);
+        ParseTree tree = parseScript(resourceScript, context, data.sharedProjectData.getDwConversionStats());
         BallerinaVisitor visitor = new BallerinaVisitor(context, data, data.sharedProjectData.getDwConversionStats());
         visitor.visit(tree);
         context.currentScriptContext.funcName = context.functionNames.getLast();
-        context.scriptCache.put(resourcePath, context.currentScriptContext);
+        scriptCache.put(key, context.currentScriptContext);
         return buildStatement(context, varName);
 
     }
@@ -173,7 +170,7 @@ public class DWReader {
             statement.append("check ");
         }
         String paramsString = DWUtils.getParamsString(context.currentScriptContext.params);
-        statement.append(context.functionNames.getLast())
+        statement.append(context.currentScriptContext.funcName)
                 .append("(")
                 .append(!paramsString.isEmpty() ? String.format("ctx.%s.toJson()", paramsString) : "")
                 .append(");");
@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package mule.dataweave.converter;
+
+import common.ContentHash;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Project wide cache of the DataWeave resources that are already converted.
+ * <p>
+ * A resource is converted to a function the first time it is referenced. Later references from any flow or file of
+ * the project reuse the converted script context and call the same function, since all files of a project are
+ * generated into the same module. Entries are keyed by the content of the resource as well as its path, so that a
+ * resource is only reused if it is read with the same content.
+ */
+public class DWScriptCache {
+    private final Map<ScriptKey, DWContext.DWScriptContext> scripts = new HashMap<>();
+
+    DWContext.DWScriptContext get(ScriptKey key) {
+        return scripts.get(key);
+    }
+
+    void put(ScriptKey key, DWContext.DWScriptContext scriptContext) {
+        scripts.put(key, scriptContext);
+    }
+
+    record ScriptKey(String resourcePath, String contentHash) {
+
+        static ScriptKey of(String resourcePath, String script) {
+            return new ScriptKey(resourcePath, ContentHash.of(script));
+        }
+    }
+}
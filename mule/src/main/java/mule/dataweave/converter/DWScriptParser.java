@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package mule.dataweave.converter;
+
+import mule.dataweave.parser.DataWeaveLexer;
+import mule.dataweave.parser.DataWeaveParser;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+/**
+ * Parses DataWeave scripts in two stages.
+ * <p>
+ * Scripts are first parsed with SLL prediction, which is much faster than full LL prediction and succeeds for almost
+ * all scripts. Only if SLL parsing fails is the script parsed again with full LL prediction, which also reports the
+ * syntax errors. The lexer and parser are reset and reused for each script, so an instance must only be used by one
+ * thread at a time. The DFA and prediction context caches of the generated parser are static, so they are shared by
+ * all parsers.
+ */
+final class DWScriptParser {
+
+    private final DataWeaveLexer lexer = new DataWeaveLexer(CharStreams.fromString(""));
+    private final CommonTokenStream tokens = new CommonTokenStream(lexer);
+    private final DataWeaveParser parser = new DataWeaveParser(tokens);
+
+    DWScriptParser() {
+        lexer.removeErrorListeners();
+        parser.removeErrorListeners();
+    }
+
+    /**
+     * Parses the script, reporting syntax errors to the given listener.
+     *
+     * @param script        DataWeave script
+     * @param errorListener listener for lexer and parser errors
+     * @return parse tree and whether the script needed the LL stage
+     */
+    ParseResult parse(String script, DWParserErrorListener errorListener) {
+        lexer.setInputStream(CharStreams.fromString(script));
+        lexer.addErrorListener(errorListener);
+        tokens.setTokenSource(lexer);
+        parser.setTokenStream(tokens);
+        try {
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            parser.setErrorHandler(new BailErrorStrategy());
+            try {
+                return new ParseResult(parser.script(), false);
+            } catch (ParseCancellationException e) {
+                // Tokens are already buffered, so lexer errors are not reported twice
+                parser.reset();
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                parser.setErrorHandler(new DefaultErrorStrategy());
+                parser.addErrorListener(errorListener);
+                return new ParseResult(parser.script(), true);
+            }
+        } finally {
+            lexer.removeErrorListeners();
+            parser.removeErrorListeners();
+        }
+    }
+
+    record ParseResult(ParseTree tree, boolean usedLLFallback) {
+    }
+}
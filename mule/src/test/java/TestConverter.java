@@ -15,7 +15,10 @@
  *  specific language governing permissions and limitations
  *  under the License.
  */
+import fixtures.mule.MuleProjectGenerator;
+import fixtures.mule.MuleProjectSpec;
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
@@ -26,7 +29,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Stream;
 
+import static mule.MuleConverter.BAL_PROJECT_SUFFIX;
+import static mule.MuleConverter.MIGRATION_REPORT_NAME;
 import static mule.MuleConverter.convertMuleProject;
 import static mule.MuleToBalConverter.convertStandaloneXMLFileToBallerina;
 
@@ -62,6 +68,131 @@ public class TestConverter {
         OUT.println("________________________________________________________________");
     }
 
+    @Test(description = "Test converting a generated mule project")
+    public void testGeneratedMuleProjectConversion() throws IOException {
+        MuleProjectSpec spec = new MuleProjectSpec(3, 4, 4, 6, 2, 5);
+        Path tempDir = Files.createTempDirectory("mule-generated-project");
+        try {
+            Path muleProjectDir = tempDir.resolve("generated");
+            new MuleProjectGenerator(spec).generate(muleProjectDir);
+            convertMuleProject(muleProjectDir.toString(), tempDir.toString());
+
+            Path balProjectDir = tempDir.resolve("generated" + BAL_PROJECT_SUFFIX);
+            for (int i = 0; i < spec.configFileCount(); i++) {
+                Path balFile = balProjectDir.resolve("config" + i + ".bal");
+                Assert.assertTrue(Files.exists(balFile), "Missing converted file: " + balFile);
+            }
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(description = "Test converting a generated mule project concurrently")
+    public void testParallelMuleProjectConversion() throws IOException {
+        MuleProjectSpec spec = new MuleProjectSpec(6, 4, 4, 12, 3, 5);
+        Path tempDir = Files.createTempDirectory("mule-parallel-project");
+        try {
+            Path muleProjectDir = tempDir.resolve("generated");
+            new MuleProjectGenerator(spec).generate(muleProjectDir);
+            Path sequentialDir = tempDir.resolve("sequential");
+            Path parallelDir = tempDir.resolve("parallel");
+            convertMuleProject(muleProjectDir.toString(), sequentialDir.toString(), false);
+            convertMuleProject(muleProjectDir.toString(), parallelDir.toString(), true);
+
+            Path sequentialBalProjectDir = sequentialDir.resolve("generated" + BAL_PROJECT_SUFFIX);
+            Path parallelBalProjectDir = parallelDir.resolve("generated" + BAL_PROJECT_SUFFIX);
+            try (Stream<Path> balFiles = Files.list(sequentialBalProjectDir)) {
+                for (Path balFile : balFiles.filter(path -> path.toString().endsWith(".bal")).toList()) {
+                    Path parallelBalFile = parallelBalProjectDir.resolve(balFile.getFileName());
+                    Assert.assertEquals(Files.readString(parallelBalFile), Files.readString(balFile),
+                            "Parallel conversion differs for " + balFile.getFileName());
+                }
+            }
+            Assert.assertEquals(Files.readString(parallelBalProjectDir.resolve(MIGRATION_REPORT_NAME)),
+                    Files.readString(sequentialBalProjectDir.resolve(MIGRATION_REPORT_NAME)));
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(description = "Test writing the files of a generated mule project concurrently")
+    public void testParallelEmitMuleProjectConversion() throws IOException {
+        MuleProjectSpec spec = new MuleProjectSpec(6, 4, 4, 12, 3, 5);
+        Path tempDir = Files.createTempDirectory("mule-parallel-emit-project");
+        try {
+            Path muleProjectDir = tempDir.resolve("generated");
+            new MuleProjectGenerator(spec).generate(muleProjectDir);
+            Path sequentialDir = tempDir.resolve("sequential");
+            Path parallelDir = tempDir.resolve("parallel");
+            convertMuleProject(muleProjectDir.toString(), sequentialDir.toString(), false, 1);
+            convertMuleProject(muleProjectDir.toString(), parallelDir.toString(), false, 4);
+
+            Path sequentialBalProjectDir = sequentialDir.resolve("generated" + BAL_PROJECT_SUFFIX);
+            Path parallelBalProjectDir = parallelDir.resolve("generated" + BAL_PROJECT_SUFFIX);
+            try (Stream<Path> balFiles = Files.list(sequentialBalProjectDir)) {
+                for (Path balFile : balFiles.filter(path -> path.toString().endsWith(".bal")).toList()) {
+                    Path parallelBalFile = parallelBalProjectDir.resolve(balFile.getFileName());
+                    Assert.assertEquals(Files.readString(parallelBalFile), Files.readString(balFile),
+                            "Parallel emit differs for " + balFile.getFileName());
+                }
+            }
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(description = "Test converting a DataWeave resource shared by multiple files of a mule project")
+    public void testSharedDataWeaveResourceConversion() throws IOException {
+        Path tempDir = Files.createTempDirectory("mule-shared-dataweave");
+        try {
+            Path muleProjectDir = tempDir.resolve("shared");
+            Path appDir = Files.createDirectories(muleProjectDir.resolve("src/main/app"));
+            Path script = Files.createDirectories(muleProjectDir.resolve("src/main/resources/dwlFiles"))
+                    .resolve("shared.dwl");
+            Files.writeString(script, """
+                    %dw 1.0
+                    %output application/json
+                    %input payload application/json
+                    ---
+                    upper "shared"
+                    """);
+            for (int i = 0; i < 2; i++) {
+                Files.writeString(appDir.resolve("config" + i + ".xml"), """
+                        <?xml version="1.0" encoding="UTF-8"?>
+
+                        <mule xmlns:http="http://www.mulesoft.org/schema/mule/http" \
+                        xmlns="http://www.mulesoft.org/schema/mule/core" \
+                        xmlns:dw="http://www.mulesoft.org/schema/mule/ee/dw">
+                            <http:listener-config name="config%1$d" host="0.0.0.0" port="%2$d" basePath="/%1$d"/>
+                            <flow name="flow%1$d">
+                                <http:listener config-ref="config%1$d" path="/" allowedMethods="GET"/>
+                                <dw:transform-message>
+                                    <dw:input-payload mimeType="application/json"/>
+                                    <dw:set-payload resource="%3$s"/>
+                                </dw:transform-message>
+                                <dw:transform-message>
+                                    <dw:input-payload mimeType="application/json"/>
+                                    <dw:set-variable variableName="shared" resource="%3$s"/>
+                                </dw:transform-message>
+                            </flow>
+                        </mule>
+                        """.formatted(i, 8081 + i, script.toAbsolutePath()));
+            }
+            convertMuleProject(muleProjectDir.toString(), tempDir.toString());
+
+            // The resource is converted once and every reference calls the same function
+            Path balProjectDir = tempDir.resolve("shared" + BAL_PROJECT_SUFFIX);
+            String config0 = Files.readString(balProjectDir.resolve("config0.bal"));
+            String config1 = Files.readString(balProjectDir.resolve("config1.bal"));
+            String sources = config0 + config1;
+            Assert.assertEquals(sources.split("function _dwMethod", -1).length - 1, 1);
+            Assert.assertTrue(config0.contains("_dwMethod0_(ctx.payload.toJson())"));
+            Assert.assertTrue(config1.contains("_dwMethod0_(ctx.payload.toJson())"));
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
     private void deleteDirectory(Path path) throws IOException {
         Files.walkFileTree(path, new SimpleFileVisitor<>() {
             @Override
@@ -18,9 +18,20 @@
 package dw.parser;
 
 import dw.parser.utils.ParserTestUtils;
+import mule.dataweave.converter.DWContext;
+import mule.dataweave.converter.DWConversionStats;
+import mule.dataweave.converter.DWReader;
+import mule.dataweave.parser.DataWeaveParser;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
 public class DataWeaveTest {
 
     @Test(dataProvider = "provideTestInput")
@@ -28,6 +39,37 @@ public class DataWeaveTest {
         ParserTestUtils.compareJson(script, expectedJsonPath);
     }
 
+    @Test(dataProvider = "provideTestInput")
+    public void testTwoStageDataWeaveParsing(String script, String expectedJsonPath) {
+        // The reused SLL/LL parser must build the same trees as a fresh full LL parser
+        ParserTestUtils.compareJson(DWReader.parseScript(script, new DWContext(new ArrayList<>())), expectedJsonPath);
+    }
+
+    @Test
+    public void testLLFallbackParsing() {
+        // The dangling operator fails the SLL stage, so the script is parsed again with full LL prediction
+        String script = """
+                %dw 2.0
+                output application/json
+                ---
+                { a: 1 + }
+                """;
+        DWContext context = new DWContext(new ArrayList<>());
+        DWConversionStats stats = new DWConversionStats();
+        ParseTree tree = DWReader.parseScript(script, context, stats);
+
+        assertEquals(stats.getLLFallbackCount(), 1);
+        assertFalse(context.currentScriptContext.errors.isEmpty());
+        DataWeaveParser.ScriptContext scriptContext = (DataWeaveParser.ScriptContext) tree;
+        assertEquals(scriptContext.header().directive().size(), 2);
+        assertTrue(scriptContext.body() != null);
+        assertEquals(ParserTestUtils.toStringTree(tree),
+                ParserTestUtils.toStringTree(ParserTestUtils.getParseTree(script)));
+
+        DWReader.parseScript(DataWeaveScripts.SCRIPT_OBJECT, new DWContext(new ArrayList<>()), stats);
+        assertEquals(stats.getLLFallbackCount(), 1);
+    }
+
     @DataProvider (name = "provideTestInput")
     public String[][] provideTestInput() {
         return new String[][]{
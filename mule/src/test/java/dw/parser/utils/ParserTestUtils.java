@@ -25,11 +25,13 @@ import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.Trees;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +41,10 @@ public class ParserTestUtils {
     private static final ObjectMapper mapper = new ObjectMapper();
 
     public static void compareJson(String dWScript, String expectedJsonFilePath) {
-        ParseTree tree = getParseTree(dWScript);
+        compareJson(getParseTree(dWScript), expectedJsonFilePath);
+    }
+
+    public static void compareJson(ParseTree tree, String expectedJsonFilePath) {
         JsonNode actualJson = getJsonFromTree(tree);
 
         try {
@@ -57,7 +62,11 @@ public class ParserTestUtils {
         }
     }
 
-    private static ParseTree getParseTree(String dwScript) {
+    public static String toStringTree(ParseTree tree) {
+        return Trees.toStringTree(tree, Arrays.asList(DataWeaveParser.ruleNames));
+    }
+
+    public static ParseTree getParseTree(String dwScript) {
         CharStream input = CharStreams.fromString(dwScript);
         DataWeaveLexer lexer = new DataWeaveLexer(input);
         CommonTokenStream tokens = new CommonTokenStream(lexer);
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package fixtures;
+
+import fixtures.mule.MuleProjectGenerator;
+import fixtures.mule.MuleProjectSpec;
+import fixtures.tibco.TibcoProjectGenerator;
+import fixtures.tibco.TibcoProjectSpec;
+import picocli.CommandLine;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+/**
+ * Command line entry point for generating large TIBCO and Mule projects to measure the migrators with.
+ * <p>
+ * Ex: {@code ./gradlew :test-fixtures:run --args="tibco --out /tmp/large-tibco --processes 10000"}
+ */
+@CommandLine.Command(name = "generate-project", mixinStandardHelpOptions = true,
+        description = "Generates synthetic projects for scale testing the migrators",
+        subcommands = {ProjectGeneratorCli.TibcoCommand.class, ProjectGeneratorCli.MuleCommand.class})
+public final class ProjectGeneratorCli implements Runnable {
+
+    private static final PrintStream OUT = System.out;
+
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec commandSpec;
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine(new ProjectGeneratorCli()).execute(args));
+    }
+
+    @Override
+    public void run() {
+        throw new CommandLine.ParameterException(commandSpec.commandLine(), "Missing project kind: tibco or mule");
+    }
+
+    @CommandLine.Command(name = "tibco", mixinStandardHelpOptions = true,
+            description = "Generates a TIBCO BusinessWorks 5 project")
+    static final class TibcoCommand implements Callable<Integer> {
+
+        @CommandLine.Option(names = {"--out", "-o"}, required = true, description = "Output project directory")
+        private Path out;
+
+        @CommandLine.Option(names = "--processes", defaultValue = "100", description = "Number of processes")
+        private int processes;
+
+        @CommandLine.Option(names = "--activities", defaultValue = "10", description = "Activities per process")
+        private int activities;
+
+        @CommandLine.Option(names = "--schemas", defaultValue = "20", description = "Number of XSD files")
+        private int schemas;
+
+        @CommandLine.Option(names = "--schema-breadth", defaultValue = "8",
+                description = "Elements in each complex type")
+        private int schemaBreadth;
+
+        @CommandLine.Option(names = "--schema-depth", defaultValue = "4",
+                description = "Nested complex types in each schema")
+        private int schemaDepth;
+
+        @CommandLine.Option(names = "--call-fan-out", defaultValue = "2",
+                description = "Maximum number of processes called by each process")
+        private int callFanOut;
+
+        @CommandLine.Option(names = "--http-resources", defaultValue = "4",
+                description = "Number of shared HTTP connections")
+        private int httpResources;
+
+        @CommandLine.Option(names = "--jdbc-resources", defaultValue = "2",
+                description = "Number of shared JDBC connections")
+        private int jdbcResources;
+
+        @Override
+        public Integer call() throws Exception {
+            TibcoProjectSpec spec = new TibcoProjectSpec(processes, activities, schemas, schemaBreadth, schemaDepth,
+                    callFanOut, httpResources, jdbcResources);
+            new TibcoProjectGenerator(spec).generate(out);
+            OUT.println("Generated TIBCO project with " + spec.artifactCount() + " artifacts at " + out);
+            return 0;
+        }
+    }
+
+    @CommandLine.Command(name = "mule", mixinStandardHelpOptions = true,
+            description = "Generates a Mule 3 application")
+    static final class MuleCommand implements Callable<Integer> {
+
+        @CommandLine.Option(names = {"--out", "-o"}, required = true, description = "Output project directory")
+        private Path out;
+
+        @CommandLine.Option(names = "--config-files", defaultValue = "50",
+                description = "Number of Mule configuration files")
+        private int configFiles;
+
+        @CommandLine.Option(names = "--flows", defaultValue = "5", description = "Flows per configuration file")
+        private int flows;
+
+        @CommandLine.Option(names = "--processors", defaultValue = "6", description = "Message processors per flow")
+        private int processors;
+
+        @CommandLine.Option(names = "--dataweave-scripts", defaultValue = "100",
+                description = "Number of DataWeave scripts")
+        private int dataWeaveScripts;
+
+        @CommandLine.Option(names = "--flow-ref-fan-out", defaultValue = "2",
+                description = "Maximum number of sub-flows referred to by each flow")
+        private int flowRefFanOut;
+
+        @CommandLine.Option(names = "--properties", defaultValue = "10",
+                description = "Number of application properties")
+        private int properties;
+
+        @Override
+        public Integer call() throws Exception {
+            MuleProjectSpec spec = new MuleProjectSpec(configFiles, flows, processors, dataWeaveScripts,
+                    flowRefFanOut, properties);
+            new MuleProjectGenerator(spec).generate(out);
+            OUT.println("Generated Mule project with " + spec.artifactCount() + " artifacts at " + out);
+            return 0;
+        }
+    }
+}
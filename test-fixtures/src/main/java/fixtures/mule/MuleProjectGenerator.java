@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package fixtures.mule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates Mule 3 applications of a given {@link MuleProjectSpec} size.
+ * <p>
+ * The layout follows {@code mule/src/test/resources/projects/muleprojectdemo}: configuration files under
+ * {@code src/main/app} and DataWeave scripts under {@code src/main/resources/dwlFiles}. Transform messages refer to the
+ * scripts by absolute path so that they can be read irrespective of the working directory of the migrator. Each
+ * configuration file declares the HTTP listener configuration its flows use, since the migrator only resolves
+ * configurations declared in files that were already converted.
+ */
+public final class MuleProjectGenerator {
+
+    static final Path APP_DIR = Path.of("src", "main", "app");
+    static final Path DATAWEAVE_DIR = Path.of("src", "main", "resources", "dwlFiles");
+    private static final String[] DATAWEAVE_BODIES = {
+            "upper \"item%d\"",
+            "[1, 2, 3, %d] map $ + 1",
+            "{s: \"Hello %d\", n: 1.23, b: true, a: [1, 2, 3], o: {name: \"Anne\"}}"
+    };
+
+    private final MuleProjectSpec spec;
+
+    public MuleProjectGenerator(MuleProjectSpec spec) {
+        this.spec = spec;
+    }
+
+    public void generate(Path projectDir) throws IOException {
+        Path appDir = Files.createDirectories(projectDir.resolve(APP_DIR));
+        Path dataWeaveDir = Files.createDirectories(projectDir.resolve(DATAWEAVE_DIR));
+        for (int i = 0; i < spec.dataWeaveScriptCount(); i++) {
+            Files.writeString(dataWeaveDir.resolve(scriptFileName(i)), dataWeaveScript(i));
+        }
+        for (int i = 0; i < spec.configFileCount(); i++) {
+            Files.writeString(appDir.resolve(configName(i) + ".xml"), configFile(i, dataWeaveDir.toAbsolutePath()));
+        }
+        Files.writeString(appDir.resolve("mule-app.properties"), properties());
+    }
+
+    static String configName(int index) {
+        return "config" + index;
+    }
+
+    private static String scriptFileName(int index) {
+        return "script" + index + ".dwl";
+    }
+
+    private String flowName(int flowIndex) {
+        return configName(flowIndex / spec.flowsPerFile()) + "Flow" + flowIndex % spec.flowsPerFile();
+    }
+
+    private String subFlowName(int flowIndex) {
+        return configName(flowIndex / spec.flowsPerFile()) + "SubFlow" + flowIndex % spec.flowsPerFile();
+    }
+
+    private static String dataWeaveScript(int index) {
+        return """
+                %%dw 1.0
+                %%output application/json
+                %%input payload application/json
+                ---
+                %s
+                """.formatted(DATAWEAVE_BODIES[index % DATAWEAVE_BODIES.length].formatted(index));
+    }
+
+    private String properties() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < spec.propertyCount(); i++) {
+            sb.append("property").append(i).append("=value").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String configFile(int index, Path dataWeaveDir) {
+        String listenerConfig = configName(index) + "ListenerConfig";
+        StringBuilder sb = new StringBuilder();
+        sb.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+
+                <mule xmlns:http="http://www.mulesoft.org/schema/mule/http" \
+                xmlns="http://www.mulesoft.org/schema/mule/core" \
+                xmlns:doc="http://www.mulesoft.org/schema/mule/documentation"
+                      xmlns:dw="http://www.mulesoft.org/schema/mule/ee/dw" \
+                xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                    <http:listener-config name="%s" host="0.0.0.0" port="%d" basePath="/%s" \
+                doc:name="HTTP Listener Configuration"/>
+                """.formatted(listenerConfig, 8081 + index, configName(index)));
+        for (int j = 0; j < spec.flowsPerFile(); j++) {
+            sb.append(flow(index * spec.flowsPerFile() + j, listenerConfig, dataWeaveDir));
+        }
+        for (int j = 0; j < spec.flowsPerFile(); j++) {
+            int flowIndex = index * spec.flowsPerFile() + j;
+            sb.append("""
+                        <sub-flow name="%s">
+                            <logger message="#['%s invoked']" level="INFO" doc:name="Logger"/>
+                        </sub-flow>
+                    """.formatted(subFlowName(flowIndex), subFlowName(flowIndex)));
+        }
+        sb.append("</mule>\n");
+        return sb.toString();
+    }
+
+    private String flow(int flowIndex, String listenerConfig, Path dataWeaveDir) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("    <flow name=\"%s\">\n".formatted(flowName(flowIndex)));
+        sb.append(("        <http:listener config-ref=\"%s\" path=\"/flow%d\" allowedMethods=\"GET\" " +
+                "doc:name=\"HTTP\"/>\n").formatted(listenerConfig, flowIndex));
+        // Only referring to sub-flows of later flows keeps the references acyclic
+        for (int ref = flowIndex + 1; ref <= flowIndex + spec.flowRefFanOut() && ref < spec.flowCount(); ref++) {
+            sb.append("        <flow-ref name=\"%s\" doc:name=\"Flow Reference\"/>\n".formatted(subFlowName(ref)));
+        }
+        for (int script = flowIndex; script < spec.dataWeaveScriptCount(); script += spec.flowCount()) {
+            sb.append("""
+                            <dw:transform-message doc:name="Transform Message">
+                                <dw:input-payload mimeType="application/json"/>
+                                <dw:set-variable variableName="script%d" resource="%s"/>
+                            </dw:transform-message>
+                    """.formatted(script, dataWeaveDir.resolve(scriptFileName(script))));
+        }
+        for (int i = 0; i < spec.processorsPerFlow(); i++) {
+            sb.append(switch (i % 3) {
+                case 0 -> "        <logger message=\"#[payload]\" level=\"INFO\" doc:name=\"Logger\"/>\n";
+                case 1 -> ("        <set-variable variableName=\"var%d\" value=\"#['value%d']\" " +
+                        "doc:name=\"Variable\"/>\n").formatted(i, i);
+                default -> "        <set-payload value=\"#['payload%d']\" doc:name=\"Set Payload\"/>\n".formatted(i);
+            });
+        }
+        sb.append("    </flow>\n");
+        return sb.toString();
+    }
+}
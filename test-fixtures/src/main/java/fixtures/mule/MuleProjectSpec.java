@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package fixtures.mule;
+
+/**
+ * Size of a generated Mule 3 application.
+ *
+ * @param configFileCount      number of Mule configuration files
+ * @param flowsPerFile         number of HTTP flows in each configuration file, each with a matching sub-flow
+ * @param processorsPerFlow    number of message processors in each flow, excluding flow references and transforms
+ * @param dataWeaveScriptCount number of DataWeave scripts, each used by a transform message in one of the flows
+ * @param flowRefFanOut        maximum number of sub-flows referred to by each flow
+ * @param propertyCount        number of properties in {@code mule-app.properties}
+ */
+public record MuleProjectSpec(int configFileCount, int flowsPerFile, int processorsPerFlow, int dataWeaveScriptCount,
+                              int flowRefFanOut, int propertyCount) {
+
+    public MuleProjectSpec {
+        requireAtLeast("configFileCount", configFileCount, 1);
+        requireAtLeast("flowsPerFile", flowsPerFile, 1);
+        requireAtLeast("processorsPerFlow", processorsPerFlow, 0);
+        requireAtLeast("dataWeaveScriptCount", dataWeaveScriptCount, 0);
+        requireAtLeast("flowRefFanOut", flowRefFanOut, 0);
+        requireAtLeast("propertyCount", propertyCount, 0);
+    }
+
+    public int flowCount() {
+        return configFileCount * flowsPerFile;
+    }
+
+    public int artifactCount() {
+        return configFileCount + dataWeaveScriptCount;
+    }
+
+    private static void requireAtLeast(String name, int value, int min) {
+        if (value < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min + " but was " + value);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package fixtures.tibco;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates TIBCO BusinessWorks 5 projects of a given {@link TibcoProjectSpec} size.
+ * <p>
+ * Generated processes only use activities that the migrator handles (HTTP receiver and response, log, mapper, JDBC
+ * and call process) and are laid out the same way as the projects under {@code tibco/src/test/resources}. The output
+ * only depends on the spec, so the same spec always gives the same project.
+ */
+public final class TibcoProjectGenerator {
+
+    static final String PROCESS_DIR = "Processes";
+    static final String SCHEMA_DIR = "Schemas";
+    static final String SHARED_RESOURCE_DIR = "SharedResources";
+    private static final String[] FIELD_TYPES = {"xsd:string", "xsd:int", "xsd:boolean", "xsd:decimal",
+            "xsd:dateTime"};
+
+    private final TibcoProjectSpec spec;
+
+    public TibcoProjectGenerator(TibcoProjectSpec spec) {
+        this.spec = spec;
+    }
+
+    public void generate(Path projectDir) throws IOException {
+        Path processDir = Files.createDirectories(projectDir.resolve(PROCESS_DIR));
+        Path schemaDir = Files.createDirectories(projectDir.resolve(SCHEMA_DIR));
+        Path sharedResourceDir = Files.createDirectories(projectDir.resolve(SHARED_RESOURCE_DIR));
+        for (int i = 0; i < spec.httpResourceCount(); i++) {
+            Files.writeString(sharedResourceDir.resolve(httpResourceName(i) + ".sharedhttp"), httpResource(i));
+        }
+        for (int i = 0; i < spec.jdbcResourceCount(); i++) {
+            Files.writeString(sharedResourceDir.resolve(jdbcResourceName(i) + ".sharedjdbc"), jdbcResource(i));
+        }
+        for (int i = 0; i < spec.schemaCount(); i++) {
+            Files.writeString(schemaDir.resolve(schemaName(i) + ".xsd"), schema(i));
+        }
+        for (int i = 0; i < spec.processCount(); i++) {
+            Files.writeString(processDir.resolve(processName(i) + ".process"), process(i));
+        }
+    }
+
+    static String processName(int index) {
+        return "Process" + index;
+    }
+
+    static String schemaName(int index) {
+        return "Schema" + index;
+    }
+
+    private static String httpResourceName(int index) {
+        return "HttpConnection" + index;
+    }
+
+    private static String jdbcResourceName(int index) {
+        return "JDBCConnection" + index;
+    }
+
+    private static String httpResource(int index) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <ns0:httpSharedResource xmlns:ns0="www.tibco.com/shared/HTTPConnection">
+                    <config>
+                        <Host>localhost</Host>
+                        <serverType>Tomcat</serverType>
+                        <Port>%d</Port>
+                    </config>
+                </ns0:httpSharedResource>
+                """.formatted(9000 + index);
+    }
+
+    private static String jdbcResource(int index) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <BWSharedResource>
+                    <name>%s</name>
+                    <resourceType>ae.shared.JDBCSharedResource</resourceType>
+                    <config>
+                        <location>jdbc:h2:~/path/to/database%d</location>
+                    </config>
+                </BWSharedResource>
+                """.formatted(jdbcResourceName(index), index);
+    }
+
+    // Each level has schemaBreadth elements, the first of which (except at the last level) refers to the next level
+    private String schema(int index) {
+        String name = schemaName(index);
+        StringBuilder sb = new StringBuilder();
+        sb.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <xsd:schema xmlns:xsd="http://www.w3.org/2001/XMLSchema" xmlns:tns="%1$s" targetNamespace="%1$s"
+                            elementFormDefault="qualified">
+                    <xsd:element name="%2$sRoot" type="tns:%2$sLevel0"/>
+                """.formatted("http://xmlns.example.com/generated/" + name, name));
+        for (int level = 0; level < spec.schemaDepth(); level++) {
+            sb.append("    <xsd:complexType name=\"%sLevel%d\">\n".formatted(name, level));
+            sb.append("        <xsd:sequence>\n");
+            for (int field = 0; field < spec.schemaBreadth(); field++) {
+                boolean nested = field == 0 && level < spec.schemaDepth() - 1;
+                String type = nested ? "tns:%sLevel%d".formatted(name, level + 1) :
+                        FIELD_TYPES[(level + field) % FIELD_TYPES.length];
+                sb.append("            <xsd:element name=\"field%d\" type=\"%s\"%s/>\n".formatted(field, type,
+                        field % 2 == 1 ? " minOccurs=\"0\"" : ""));
+            }
+            sb.append("        </xsd:sequence>\n");
+            sb.append("    </xsd:complexType>\n");
+        }
+        sb.append("</xsd:schema>\n");
+        return sb.toString();
+    }
+
+    private String process(int index) {
+        String name = processName(index);
+        List<String> activityNames = new ArrayList<>();
+        StringBuilder activities = new StringBuilder();
+        int callCount = Math.min(spec.callFanOut(), spec.processCount() - index - 1);
+        for (int slot = 0; slot < spec.activitiesPerProcess(); slot++) {
+            String activityName;
+            if (slot < callCount) {
+                // Only calling processes with a higher index keeps the call graph acyclic
+                activityName = "Call " + processName(index + slot + 1);
+                activities.append(callProcessActivity(activityName, index + slot + 1));
+            } else {
+                activityName = switch ((slot - callCount) % (spec.jdbcResourceCount() > 0 ? 3 : 2)) {
+                    case 0 -> {
+                        String logName = "Log" + slot;
+                        activities.append(logActivity(logName, slot));
+                        yield logName;
+                    }
+                    case 1 -> {
+                        String mapperName = "Mapper" + slot;
+                        activities.append(mapperActivity(mapperName, slot));
+                        yield mapperName;
+                    }
+                    default -> {
+                        String queryName = "Query" + slot;
+                        activities.append(jdbcActivity(queryName, index, slot));
+                        yield queryName;
+                    }
+                };
+            }
+            activityNames.add(activityName);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <pd:ProcessDefinition xmlns:pd="http://xmlns.tibco.com/bw/process/2003" \
+                xmlns:xsl="http://www.w3.org/1999/XSL/Transform" xmlns:ns="http://www.tibco.com/pe/EngineTypes" \
+                xmlns:xsd="http://www.w3.org/2001/XMLSchema">
+                    <pd:name>%s/%s.process</pd:name>
+                    <pd:startName>HTTP Receiver</pd:startName>
+                    <pd:returnBindings/>
+                """.formatted(PROCESS_DIR, name));
+        sb.append(httpReceiver(httpResourceName(index % spec.httpResourceCount())));
+        sb.append("""
+                    <pd:endName>End</pd:endName>
+                    <pd:errorSchemas/>
+                """);
+        sb.append(activities);
+        sb.append(httpResponse(activityNames.isEmpty() ? "post" : activityNames.getLast().replace(' ', '-')));
+        sb.append("    <pd:targetNamespace>http://xmlns.example.com/generated/%s</pd:targetNamespace>\n"
+                .formatted(name));
+        List<String> chain = new ArrayList<>();
+        chain.add("Start");
+        chain.add("HTTP Receiver");
+        chain.addAll(activityNames);
+        chain.add("HTTP Response");
+        chain.add("End");
+        for (int i = 0; i < chain.size() - 1; i++) {
+            sb.append(transition(chain.get(i), chain.get(i + 1)));
+        }
+        sb.append("</pd:ProcessDefinition>\n");
+        return sb.toString();
+    }
+
+    private static String httpReceiver(String httpResource) {
+        return """
+                    <pd:starter name="HTTP Receiver">
+                        <pd:type>com.tibco.plugin.http.HTTPEventSource</pd:type>
+                        <pd:resourceType>httppalette.httpEventSource</pd:resourceType>
+                        <config>
+                            <outputMode>String</outputMode>
+                            <defaultEncoding>ISO8859_1</defaultEncoding>
+                            <inputOutputVersion>5.3.0</inputOutputVersion>
+                            <newMimeSupport>true</newMimeSupport>
+                            <sharedChannel>/%s/%s.sharedhttp</sharedChannel>
+                            <parsePostData>true</parsePostData>
+                            <Headers>
+                                <xsd:element name="root">
+                                    <xsd:complexType>
+                                        <xsd:sequence>
+                                            <xsd:element name="Accept" type="xsd:string" minOccurs="0"/>
+                                            <xsd:element name="Content-Type" type="xsd:string" minOccurs="0"/>
+                                        </xsd:sequence>
+                                    </xsd:complexType>
+                                </xsd:element>
+                            </Headers>
+                        </config>
+                        <pd:inputBindings/>
+                    </pd:starter>
+                """.formatted(SHARED_RESOURCE_DIR, httpResource);
+    }
+
+    private static String logActivity(String name, int slot) {
+        return """
+                    <pd:activity name="%s">
+                        <pd:type>com.tibco.pe.core.WriteToLogActivity</pd:type>
+                        <pd:resourceType>ae.activities.log</pd:resourceType>
+                        <config>
+                            <role>User</role>
+                        </config>
+                        <pd:inputBindings>
+                            <ns:ActivityInput>
+                                <message>Step %d received <xsl:value-of select="$post"/></message>
+                            </ns:ActivityInput>
+                        </pd:inputBindings>
+                    </pd:activity>
+                """.formatted(name, slot);
+    }
+
+    private static String mapperActivity(String name, int slot) {
+        return """
+                    <pd:activity name="%1$s">
+                        <pd:type>com.tibco.plugin.mapper.MapperActivity</pd:type>
+                        <pd:resourceType>ae.activities.MapperActivity</pd:resourceType>
+                        <config>
+                            <element>
+                                <xsd:element name="Mapped%2$d" type="xsd:string"/>
+                            </element>
+                        </config>
+                        <pd:inputBindings>
+                            <Mapped%2$d>
+                                <xsl:value-of select="$post/item/value%2$d"/>
+                            </Mapped%2$d>
+                        </pd:inputBindings>
+                    </pd:activity>
+                """.formatted(name, slot);
+    }
+
+    private String jdbcActivity(String name, int processIndex, int slot) {
+        String resource = jdbcResourceName((processIndex + slot) % spec.jdbcResourceCount());
+        return """
+                    <pd:activity name="%s">
+                        <pd:type>com.tibco.plugin.jdbc.JDBCGeneralActivity</pd:type>
+                        <pd:resourceType>ae.activities.JDBCGeneralActivity</pd:resourceType>
+                        <config>
+                            <jdbcSharedConfig>/%s/%s.sharedjdbc</jdbcSharedConfig>
+                        </config>
+                        <pd:inputBindings>
+                            <jdbcGeneralActivityInput>
+                                <statement>
+                                    SELECT * FROM TABLE_%d WHERE ID=<xsl:value-of select="$post//id"/>
+                                </statement>
+                            </jdbcGeneralActivityInput>
+                        </pd:inputBindings>
+                    </pd:activity>
+                """.formatted(name, SHARED_RESOURCE_DIR, resource, slot);
+    }
+
+    private static String callProcessActivity(String name, int calleeIndex) {
+        return """
+                    <pd:activity name="%s">
+                        <pd:type>com.tibco.pe.core.CallProcessActivity</pd:type>
+                        <pd:resourceType>ae.process.subprocess</pd:resourceType>
+                        <config>
+                            <processName>%s.process</processName>
+                        </config>
+                        <pd:inputBindings>
+                            <InvokeProcessInput>
+                                <options>
+                                    <xsl:value-of select="$post/item/req"/>
+                                </options>
+                            </InvokeProcessInput>
+                        </pd:inputBindings>
+                    </pd:activity>
+                """.formatted(name, processName(calleeIndex));
+    }
+
+    private static String httpResponse(String lastActivity) {
+        return """
+                    <pd:activity name="HTTP Response">
+                        <pd:type>com.tibco.plugin.http.HTTPResponseActivity</pd:type>
+                        <pd:resourceType>httppalette.httpResponseActivity</pd:resourceType>
+                        <config>
+                            <responseHeader>
+                                <header name="Content-Type">text/xml; charset=UTF-8</header>
+                            </responseHeader>
+                            <httpResponseCode>200</httpResponseCode>
+                        </config>
+                        <pd:inputBindings>
+                            <ResponseActivityInput>
+                                <asciiContent>
+                                    <Response>
+                                        <xsl:value-of select="$%s"/>
+                                    </Response>
+                                </asciiContent>
+                            </ResponseActivityInput>
+                        </pd:inputBindings>
+                    </pd:activity>
+                """.formatted(lastActivity);
+    }
+
+    private static String transition(String from, String to) {
+        return """
+                    <pd:transition>
+                        <pd:from>%s</pd:from>
+                        <pd:to>%s</pd:to>
+                        <pd:lineType>Default</pd:lineType>
+                        <pd:lineColor>-16777216</pd:lineColor>
+                        <pd:conditionType>always</pd:conditionType>
+                    </pd:transition>
+                """.formatted(from, to);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package fixtures.tibco;
+
+/**
+ * Size of a generated TIBCO BusinessWorks project.
+ *
+ * @param processCount         number of processes
+ * @param activitiesPerProcess number of activities in each process, excluding the HTTP receiver and response
+ * @param schemaCount          number of XSD files
+ * @param schemaBreadth        number of elements in each complex type of a schema
+ * @param schemaDepth          number of nested complex types in each schema
+ * @param callFanOut           maximum number of other processes called by each process
+ * @param httpResourceCount    number of shared HTTP connections, shared by the processes in round-robin order
+ * @param jdbcResourceCount    number of shared JDBC connections, shared by the processes in round-robin order
+ */
+public record TibcoProjectSpec(int processCount, int activitiesPerProcess, int schemaCount, int schemaBreadth,
+                               int schemaDepth, int callFanOut, int httpResourceCount, int jdbcResourceCount) {
+
+    public TibcoProjectSpec {
+        requireAtLeast("processCount", processCount, 1);
+        requireAtLeast("activitiesPerProcess", activitiesPerProcess, 0);
+        requireAtLeast("schemaCount", schemaCount, 0);
+        requireAtLeast("schemaBreadth", schemaBreadth, 1);
+        requireAtLeast("schemaDepth", schemaDepth, 1);
+        requireAtLeast("callFanOut", callFanOut, 0);
+        // Every process starts with an HTTP receiver, which needs a shared HTTP connection
+        requireAtLeast("httpResourceCount", httpResourceCount, 1);
+        requireAtLeast("jdbcResourceCount", jdbcResourceCount, 0);
+    }
+
+    public int artifactCount() {
+        return processCount + schemaCount + httpResourceCount + jdbcResourceCount;
+    }
+
+    private static void requireAtLeast(String name, int value, int min) {
+        if (value < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min + " but was " + value);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Parses project files on a bounded pool of worker threads. Each worker reuses its own {@link DocumentBuilder} and
+ * results are always returned in the order of the given files, so the output does not depend on scheduling.
+ */
+final class ParallelXmlParser implements AutoCloseable {
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+    private final ExecutorService executor;
+
+    ParallelXmlParser(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.executor = Executors.newFixedThreadPool(parallelism, new WorkerThreadFactory());
+    }
+
+    static int defaultParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Parses each file and applies {@code parsingFn} to its root element on a worker thread.
+     *
+     * @param files     files to parse
+     * @param parsingFn function that accepts the file path and the root element of the file
+     * @return parsed values in the same order as {@code files}
+     */
+    <E> List<E> parse(Collection<String> files, BiFunction<String, Element, E> parsingFn)
+            throws IOException, SAXException, ParserConfigurationException {
+        return parseFiles(files, file -> parsingFn.apply(file, parseXmlFile(file)));
+    }
+
+    /**
+     * Applies {@code fileParser} to each file on a worker thread, for parsers that read the file on their own.
+     *
+     * @param files      files to parse
+     * @param fileParser function that accepts the file path
+     * @return parsed values in the same order as {@code files}
+     */
+    <E> List<E> parseFiles(Collection<String> files, FileParser<E> fileParser)
+            throws IOException, SAXException, ParserConfigurationException {
+        List<Future<E>> futures = new ArrayList<>(files.size());
+        for (String file : files) {
+            futures.add(executor.submit(() -> fileParser.parse(file)));
+        }
+        List<E> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<E> future : futures) {
+                results.add(await(future));
+            }
+        } finally {
+            if (results.size() != futures.size()) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static Element parseXmlFile(String xmlFilePath)
+            throws IOException, SAXException, ParserConfigurationException {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        if (builder == null) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            builder = factory.newDocumentBuilder();
+            DOCUMENT_BUILDER.set(builder);
+        }
+        try {
+            Document document = builder.parse(xmlFilePath);
+            document.getDocumentElement().normalize();
+            return document.getDocumentElement();
+        } finally {
+            builder.reset();
+        }
+    }
+
+    private static <E> E await(Future<E> future) throws IOException, SAXException, ParserConfigurationException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing project files", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            switch (cause) {
+                case IOException ioException -> throw ioException;
+                case SAXException saxException -> throw saxException;
+                case ParserConfigurationException configurationException -> throw configurationException;
+                case RuntimeException runtimeException -> throw runtimeException;
+                case Error error -> throw error;
+                default -> throw new IllegalStateException("Unexpected error while parsing project files", cause);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface FileParser<E> {
+        E parse(String file) throws IOException, SAXException, ParserConfigurationException;
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "tibco-xml-parser-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the files in a TIBCO project, built with a single walk over the project directory. Files are bucketed by
+ * extension and by {@link ArtifactKind}, and keep the order in which they were visited.
+ */
+public final class ProjectFileIndex {
+
+    private final Path root;
+    private final Map<String, List<FileEntry>> filesByExtension;
+    private final Map<ArtifactKind, List<FileEntry>> filesByKind;
+    private final Map<Path, FileEntry> filesByPath;
+
+    private ProjectFileIndex(Path root, Map<String, List<FileEntry>> filesByExtension,
+                             Map<ArtifactKind, List<FileEntry>> filesByKind, Map<Path, FileEntry> filesByPath) {
+        this.root = root;
+        this.filesByExtension = filesByExtension;
+        this.filesByKind = filesByKind;
+        this.filesByPath = filesByPath;
+    }
+
+    public static ProjectFileIndex build(String projectPath) throws IOException {
+        Path root = Paths.get(projectPath);
+        Map<String, List<FileEntry>> filesByExtension = new HashMap<>();
+        Map<Path, FileEntry> filesByPath = new HashMap<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Optional<BasicFileAttributes> attributes = regularFileAttributes(file, attrs);
+                if (attributes.isEmpty()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                FileEntry entry = new FileEntry(file, attributes.get().size(), attributes.get().lastModifiedTime());
+                filesByExtension.computeIfAbsent(entry.extension(), ignored -> new ArrayList<>()).add(entry);
+                filesByPath.put(file, entry);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Map<ArtifactKind, List<FileEntry>> filesByKind = new EnumMap<>(ArtifactKind.class);
+        for (ArtifactKind kind : ArtifactKind.values()) {
+            List<FileEntry> files = new ArrayList<>();
+            for (String extension : kind.extensions) {
+                files.addAll(filesByExtension.getOrDefault(extension, List.of()));
+            }
+            filesByKind.put(kind, Collections.unmodifiableList(files));
+        }
+        return new ProjectFileIndex(root, filesByExtension, filesByKind, filesByPath);
+    }
+
+    // Symbolic links are resolved so that links to regular files are indexed like the files themselves
+    private static Optional<BasicFileAttributes> regularFileAttributes(Path file, BasicFileAttributes attrs) {
+        if (attrs.isRegularFile()) {
+            return Optional.of(attrs);
+        }
+        if (!attrs.isSymbolicLink()) {
+            return Optional.empty();
+        }
+        try {
+            BasicFileAttributes target = Files.readAttributes(file, BasicFileAttributes.class);
+            return target.isRegularFile() ? Optional.of(target) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    public List<FileEntry> files(ArtifactKind kind) {
+        return filesByKind.get(kind);
+    }
+
+    public List<String> paths(ArtifactKind kind) {
+        return files(kind).stream().map(entry -> entry.path().toString()).toList();
+    }
+
+    public List<FileEntry> filesWithExtension(String extension) {
+        return Collections.unmodifiableList(filesByExtension.getOrDefault(extension, List.of()));
+    }
+
+    public Optional<FileEntry> entry(Path path) {
+        return Optional.ofNullable(filesByPath.get(path));
+    }
+
+    public int size() {
+        return filesByPath.size();
+    }
+
+    /**
+     * Returns a copy of this index in which the files of the given kind are narrowed down to the ones accepted by
+     * {@code filter}. Files of other kinds are kept.
+     */
+    public ProjectFileIndex retainFiles(ArtifactKind kind, Predicate<Path> filter) {
+        List<FileEntry> removed = files(kind).stream().filter(entry -> !filter.test(entry.path())).toList();
+        if (removed.isEmpty()) {
+            return this;
+        }
+        Set<Path> removedPaths = removed.stream().map(FileEntry::path).collect(Collectors.toSet());
+        Map<String, List<FileEntry>> retainedByExtension = new HashMap<>();
+        filesByExtension.forEach((extension, entries) -> retainedByExtension.put(extension,
+                entries.stream().filter(entry -> !removedPaths.contains(entry.path())).toList()));
+        Map<ArtifactKind, List<FileEntry>> retainedByKind = new EnumMap<>(ArtifactKind.class);
+        filesByKind.forEach((each, entries) -> retainedByKind.put(each,
+                entries.stream().filter(entry -> !removedPaths.contains(entry.path())).toList()));
+        Map<Path, FileEntry> retainedByPath = new HashMap<>(filesByPath);
+        retainedByPath.keySet().removeAll(removedPaths);
+        return new ProjectFileIndex(root, retainedByExtension, retainedByKind, retainedByPath);
+    }
+
+    public record FileEntry(Path path, long size, FileTime lastModified) {
+
+        public String extension() {
+            String fileName = path.getFileName().toString();
+            int index = fileName.lastIndexOf('.');
+            return index < 0 ? "" : fileName.substring(index + 1);
+        }
+    }
+
+    public enum ArtifactKind {
+        PROCESS("bwp", "process"),
+        SCHEMA("xsd"),
+        JDBC_RESOURCE("jdbcResource"),
+        SHARED_JDBC_RESOURCE("sharedjdbc"),
+        HTTP_CONNECTION_RESOURCE("httpConnResource"),
+        HTTP_CLIENT_RESOURCE("httpClientResource"),
+        HTTP_SHARED_RESOURCE("sharedhttp");
+
+        private final List<String> extensions;
+
+        ArtifactKind(String... extensions) {
+            this.extensions = List.of(extensions);
+        }
+
+        public List<String> extensions() {
+            return extensions;
+        }
+    }
+}
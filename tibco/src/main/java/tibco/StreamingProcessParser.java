@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Parses TIBCO process files with a StAX reader instead of building a DOM for the whole file.
+ * <p>
+ * Each child of the process root is read into a document of its own and handed to
+ * {@link XmlToTibcoModelConverter.ProcessBuilder} before the next child is read. Model records only keep the elements
+ * they were created from, so the rest of the file (transitions, process info, whitespace between activities, etc.)
+ * can be collected as soon as it is parsed, instead of being kept alive by the shared owner document. The elements
+ * are identical to the ones built by {@link TibcoToBalConverter#parseXmlFile} and the result of the conversion is
+ * the same.
+ */
+final class StreamingProcessParser {
+
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY =
+            ThreadLocal.withInitial(StreamingProcessParser::createInputFactory);
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+
+    private StreamingProcessParser() {
+    }
+
+    static TibcoModel.Process parseProcess(String xmlFilePath)
+            throws IOException, SAXException, ParserConfigurationException {
+        return parseProcess(xmlFilePath, false);
+    }
+
+    static TibcoModel.Process parseProcess(String xmlFilePath, boolean detachElements)
+            throws IOException, SAXException, ParserConfigurationException {
+        DocumentBuilder builder = documentBuilder();
+        try (InputStream in = Files.newInputStream(Path.of(xmlFilePath))) {
+            XMLStreamReader reader = INPUT_FACTORY.get().createXMLStreamReader(xmlFilePath, in);
+            try {
+                return parseProcess(builder, reader, detachElements);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new SAXException("Error while parsing the XML file: " + xmlFilePath, e);
+        }
+    }
+
+    private static TibcoModel.Process parseProcess(DocumentBuilder builder, XMLStreamReader reader,
+                                                   boolean detachElements) throws XMLStreamException {
+        int event = reader.next();
+        while (event != XMLStreamConstants.START_ELEMENT) {
+            event = reader.next();
+        }
+        Document rootDocument = builder.newDocument();
+        Element root = createElement(rootDocument, reader);
+        rootDocument.appendChild(root);
+        XmlToTibcoModelConverter.ProcessBuilder processBuilder = new XmlToTibcoModelConverter.ProcessBuilder(root,
+                detachElements);
+        while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                // Text and comments directly under the root are not part of the model
+                continue;
+            }
+            // Each child gets a shallow copy of the root as its parent so that namespace prefixes declared on the
+            // root still resolve
+            Document document = builder.newDocument();
+            Node parent = document.appendChild(document.importNode(root, false));
+            processBuilder.accept(readElement(document, parent, reader));
+        }
+        return processBuilder.build();
+    }
+
+    // Reads the element at the current START_ELEMENT event and its content into parent
+    private static Element readElement(Document document, Node parent, XMLStreamReader reader)
+            throws XMLStreamException {
+        Element element = createElement(document, reader);
+        parent.appendChild(element);
+        Node current = element;
+        while (current != parent) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    Element child = createElement(document, reader);
+                    current.appendChild(child);
+                    current = child;
+                }
+                case XMLStreamConstants.END_ELEMENT -> current = current.getParentNode();
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE,
+                     XMLStreamConstants.ENTITY_REFERENCE -> appendText(document, current, reader.getText());
+                case XMLStreamConstants.CDATA -> current.appendChild(document.createCDATASection(reader.getText()));
+                case XMLStreamConstants.COMMENT -> current.appendChild(document.createComment(reader.getText()));
+                case XMLStreamConstants.PROCESSING_INSTRUCTION -> current.appendChild(
+                        document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                default -> {
+                    // Nothing else can appear inside an element
+                }
+            }
+        }
+        return element;
+    }
+
+    // Adjacent text is merged the same way Node#normalize does for the DOM parser
+    private static void appendText(Document document, Node parent, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        Node last = parent.getLastChild();
+        if (last != null && last.getNodeType() == Node.TEXT_NODE) {
+            ((Text) last).appendData(text);
+        } else {
+            parent.appendChild(document.createTextNode(text));
+        }
+    }
+
+    private static Element createElement(Document document, XMLStreamReader reader) {
+        Element element = document.createElementNS(namespaceUri(reader.getNamespaceURI()),
+                qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String name = prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE :
+                    XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(namespaceUri(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String namespaceUri(String uri) {
+        return uri == null || uri.isEmpty() ? null : uri;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static DocumentBuilder documentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        if (builder == null) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            builder = factory.newDocumentBuilder();
+            DOCUMENT_BUILDER.set(builder);
+        }
+        return builder;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        // Keep CDATA sections apart from the surrounding text as the DOM parser does
+        String reportCdata = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+        if (factory.isPropertySupported(reportCdata)) {
+            factory.setProperty(reportCdata, true);
+        }
+        return factory;
+    }
+}
@@ -22,6 +22,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -29,6 +30,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -36,6 +38,12 @@ import java.util.stream.Stream;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
 
 public class TibcoModel {
 
@@ -142,6 +150,12 @@ public class TibcoModel {
                 transitions = Collections.unmodifiableList(transitions);
             }
 
+            @Override
+            public int hashCode() {
+                // The start activity is hashed by its element, see Scope.Flow.Activity
+                return 31 * Objects.hashCode(startActivity) + activities.size();
+            }
+
             ExplicitTransitionGroup append(InlineActivity activity) {
                 List<InlineActivity> newActivities = new ArrayList<>(activities);
                 newActivities.add(activity);
@@ -169,7 +183,7 @@ public class TibcoModel {
             }
 
             public sealed interface NestedGroup extends InlineActivityWithBody {
-                record LoopGroup(Element element, String name, InputBinding inputBinding, SourceExpression over,
+                record LoopGroup(SourceElement element, String name, InputBinding inputBinding, SourceExpression over,
                         Optional<String> elementSlot, Optional<String> indexSlot,
                         Optional<String> activityOutputName, boolean accumulateOutput,
                         ExplicitTransitionGroup body) implements NestedGroup {
@@ -194,6 +208,10 @@ public class TibcoModel {
                         }
                     }
 
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
             }
 
@@ -279,7 +297,7 @@ public class TibcoModel {
                     }
                 }
 
-                record JDBC(Element element, String name, InputBinding inputBinding,
+                record JDBC(SourceElement element, String name, InputBinding inputBinding,
                             String connection) implements InlineActivity {
                     public JDBC {
                         assert inputBinding != null;
@@ -294,9 +312,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record JSONRender(Element element, String name, InputBinding inputBinding,
+                record JSONRender(SourceElement element, String name, InputBinding inputBinding,
                                   XSD targetType) implements InlineActivity {
                     public JSONRender {
                         assert inputBinding != null;
@@ -311,9 +334,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record JSONParser(Element element, String name, InputBinding inputBinding,
+                record JSONParser(SourceElement element, String name, InputBinding inputBinding,
                                   XSD targetType) implements InlineActivity {
                     public JSONParser {
                         assert inputBinding != null;
@@ -328,9 +356,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record REST(Element element, String name, InputBinding inputBinding,
+                record REST(SourceElement element, String name, InputBinding inputBinding,
                         Method method, ResponseType responseType, String url) implements InlineActivity {
 
                     public enum ResponseType {
@@ -372,9 +405,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return inputBinding != null;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record CallProcess(Element element, String name, InputBinding inputBinding,
+                record CallProcess(SourceElement element, String name, InputBinding inputBinding,
                         String processName) implements InlineActivity {
                     public CallProcess {
                         assert inputBinding != null;
@@ -389,9 +427,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record FileRead(Element element, String name, InputBinding inputBinding,
+                record FileRead(SourceElement element, String name, InputBinding inputBinding,
                         String encoding) implements InlineActivity {
                     public FileRead {
                         assert inputBinding != null;
@@ -406,9 +449,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record FileWrite(Element element, String name, InputBinding inputBinding, String encoding,
+                record FileWrite(SourceElement element, String name, InputBinding inputBinding, String encoding,
                         boolean append) implements InlineActivity {
                     public FileWrite {
                         assert inputBinding != null;
@@ -423,9 +471,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record XMLParseActivity(Element element, String name,
+                record XMLParseActivity(SourceElement element, String name,
                         InputBinding inputBinding) implements InlineActivity {
                     public XMLParseActivity {
                         assert inputBinding != null;
@@ -440,9 +493,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record XMLRenderActivity(Element element, String name,
+                record XMLRenderActivity(SourceElement element, String name,
                         InputBinding inputBinding) implements InlineActivity {
                     public XMLRenderActivity {
                         assert inputBinding != null;
@@ -457,9 +515,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record SOAPSendReply(Element element, String name,
+                record SOAPSendReply(SourceElement element, String name,
                         InputBinding inputBinding) implements InlineActivity {
                     public SOAPSendReply {
                         assert inputBinding != null;
@@ -474,9 +537,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record SOAPSendReceive(Element element, String name, InputBinding inputBinding,
+                record SOAPSendReceive(SourceElement element, String name, InputBinding inputBinding,
                         Optional<String> soapAction, String endpointURL) implements InlineActivity {
 
                     @Override
@@ -488,13 +556,18 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return inputBinding != null;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 sealed interface ErrorHandlerInlineActivity {
 
                 }
 
-                record Catch(Element element, String name,
+                record Catch(SourceElement element, String name,
                              InputBinding inputBinding) implements InlineActivity, ErrorHandlerInlineActivity {
 
                     @Override
@@ -506,9 +579,15 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return inputBinding != null;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record WriteLog(Element element, String name, InputBinding inputBinding) implements InlineActivity {
+                record WriteLog(SourceElement element, String name, InputBinding inputBinding)
+                        implements InlineActivity {
                     public WriteLog {
                         assert inputBinding != null;
                     }
@@ -522,9 +601,15 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record HTTPResponse(Element element, String name, InputBinding inputBinding) implements InlineActivity {
+                record HTTPResponse(SourceElement element, String name, InputBinding inputBinding)
+                        implements InlineActivity {
                     public HTTPResponse {
                         assert inputBinding != null;
                     }
@@ -538,9 +623,15 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record NullActivity(Element element, String name, InputBinding inputBinding) implements InlineActivity {
+                record NullActivity(SourceElement element, String name, InputBinding inputBinding)
+                        implements InlineActivity {
 
                     @Override
                     public InlineActivityType type() {
@@ -551,9 +642,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return inputBinding != null;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record UnhandledInlineActivity(Element element, String name, String activityType,
+                record UnhandledInlineActivity(SourceElement element, String name, String activityType,
                         InputBinding inputBinding) implements InlineActivity {
 
                     @Override
@@ -565,9 +661,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return inputBinding != null;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record MapperActivity(Element element, String name,
+                record MapperActivity(SourceElement element, String name,
                         Scope.Flow.Activity.InputBinding inputBinding) implements InlineActivity {
                     public MapperActivity {
                         assert inputBinding != null;
@@ -582,9 +683,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return true;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record AssignActivity(Element element, String name, String variableName,
+                record AssignActivity(SourceElement element, String name, String variableName,
                         InputBinding inputBinding) implements InlineActivity {
 
                     @Override
@@ -596,9 +702,14 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return inputBinding != null;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record HttpEventSource(Element element, String name, String sharedChannel,
+                record HttpEventSource(SourceElement element, String name, String sharedChannel,
                         Scope.Flow.Activity.InputBinding inputBinding) implements InlineActivity {
 
                     @Override
@@ -610,6 +721,11 @@ public class TibcoModel {
                     public boolean hasInputBinding() {
                         return inputBinding != null;
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
             }
@@ -875,6 +991,13 @@ public class TibcoModel {
     public record Scope(String name, Collection<Flow> flows, Collection<Sequence> sequence,
             Collection<FaultHandler> faultHandlers) {
 
+        // Scopes are rebuilt by NestedScope#scope, so they can't be compared by identity. The name is enough to tell
+        // the scopes of a process apart without hashing all their activities.
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name);
+        }
+
         public sealed interface FaultHandler extends Flow.Activity {
             Scope scope();
         }
@@ -895,9 +1018,14 @@ public class TibcoModel {
 
             }
 
+            /**
+             * Activities are used as map keys throughout the analysis and conversion. Each activity comes from an
+             * element of its own, so activity records hash their {@link #element()} only, instead of every component
+             * down to the stylesheets of their bindings and their nested scopes.
+             */
             public sealed interface Activity {
 
-                Element element();
+                SourceElement element();
 
                 sealed interface ActivityWithSources extends Activity {
 
@@ -959,7 +1087,7 @@ public class TibcoModel {
 
                 record NestedScope(String name, List<Source> sources, Collection<Target> targets,
                         Collection<Sequence> sequences, Collection<Flow> flows,
-                        Collection<FaultHandler> faultHandlers, Element element) implements Activity,
+                        Collection<FaultHandler> faultHandlers, SourceElement element) implements Activity,
                         ActivityWithSources, ActivityWithTargets, ActivityWithScope, ActivityWithName {
                     public Scope scope() {
                         return new Scope(name, flows, sequences, faultHandlers);
@@ -969,57 +1097,93 @@ public class TibcoModel {
                     public Optional<String> getName() {
                         return Optional.of(name);
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record CatchAll(Scope scope,
-                        Element element) implements FaultHandler, ActivityWithScope, StartActivity {
+                        SourceElement element) implements FaultHandler, ActivityWithScope, StartActivity {
 
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record UnhandledActivity(String reason, List<Source> sources,
                         Collection<Target> targets,
-                        Element element) implements Activity, ActivityWithSources,
+                        SourceElement element) implements Activity, ActivityWithSources,
                         ActivityWithTargets {
 
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record Assign(List<Source> sources, Collection<Target> targets, Copy operation,
-                        Element element) implements Activity, ActivityWithSources, ActivityWithTargets {
+                        SourceElement element) implements Activity, ActivityWithSources, ActivityWithTargets {
                     public record Copy(ValueSource from, ValueSource.VarRef to) {
 
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record Foreach(String counterName, Scope scope, ValueSource startCounterValue,
-                        ValueSource finalCounterValue, Element element) implements Activity, ActivityWithScope {
+                        ValueSource finalCounterValue, SourceElement element) implements Activity, ActivityWithScope {
 
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record Reply(String name, Method operation, String partnerLink, String portType,
-                        List<InputBinding> inputBindings, Collection<Target> targets, Element element)
+                        List<InputBinding> inputBindings, Collection<Target> targets, SourceElement element)
                         implements Activity, ActivityWithTargets, ActivityWithName {
 
                     @Override
                     public Optional<String> getName() {
                         return Optional.of(name);
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record Throw(List<InputBinding> inputBindings, Collection<Target> targets, Element element)
+                record Throw(List<InputBinding> inputBindings, Collection<Target> targets, SourceElement element)
                         implements Activity, ActivityWithTargets {
 
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
-                record Empty(String name, Element element) implements Activity, ActivityWithName {
+                record Empty(String name, SourceElement element) implements Activity, ActivityWithName {
 
                     @Override
                     public Optional<String> getName() {
                         return Optional.of(name);
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record Pick(boolean createInstance, OnMessage onMessage,
-                        Element element) implements Activity, ActivityWithScope, StartActivity {
+                        SourceElement element) implements Activity, ActivityWithScope, StartActivity {
 
                     @Override
                     public Scope scope() {
@@ -1030,21 +1194,30 @@ public class TibcoModel {
                             Scope scope) {
 
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record ReceiveEvent(boolean createInstance, float eventTimeout, Optional<String> variable,
-                        List<Source> sources, Element element) implements Activity, ActivityWithSources {
+                        List<Source> sources, SourceElement element) implements Activity, ActivityWithSources {
                     public ReceiveEvent(boolean createInstance, float eventTimeout, String variable,
-                            List<Source> sources, Element element) {
+                            List<Source> sources, SourceElement element) {
                         this(createInstance, eventTimeout,
                                 variable.isEmpty() ? Optional.empty() : Optional.of(variable), sources, element);
                     }
 
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record ExtActivity(Optional<Expression> expression, String inputVariable, String outputVariable,
                         List<Source> sources, List<Target> targets, List<InputBinding> inputBindings,
-                        CallProcess callProcess, Element element) implements Activity,
+                        CallProcess callProcess, SourceElement element) implements Activity,
                         ActivityWithSources, ActivityWithTargets, ActivityWithOutput {
 
                     public ExtActivity {
@@ -1064,12 +1237,17 @@ public class TibcoModel {
                     public record CallProcess(String subprocessName) {
 
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record ActivityExtension(Optional<String> name, Optional<String> inputVariable,
                         Optional<String> outputVariable, Collection<Target> targets,
                         List<Source> sources, List<InputBinding> inputBindings, Config config,
-                        Element element) implements Activity, ActivityWithTargets, ActivityWithSources,
+                        SourceElement element) implements Activity, ActivityWithTargets, ActivityWithSources,
                         ActivityWithName, ActivityWithOutput {
 
                     @Override
@@ -1264,17 +1442,26 @@ public class TibcoModel {
                         }
                     }
 
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record Invoke(String inputVariable, String outputVariable, Method operation, String partnerLink,
                         List<InputBinding> inputBindings, Collection<Target> targets, List<Source> sources,
-                        Element element)
+                        SourceElement element)
                         implements Activity, ActivityWithSources, ActivityWithTargets, ActivityWithOutput {
 
                     @Override
                     public Optional<String> outVariableName() {
                         return Optional.of(outputVariable);
                     }
+
+                    @Override
+                    public int hashCode() {
+                        return Objects.hashCode(element);
+                    }
                 }
 
                 record Target(String linkName) {
@@ -1345,6 +1532,114 @@ public class TibcoModel {
         }
     }
 
+    /**
+     * Source of a model element, which converters only need to report the element or to emit it as a comment.
+     * <p>
+     * An element keeps the whole document it was parsed from reachable. Once {@link #detach() detached}, only the
+     * serialized element is kept so that the document can be collected as soon as the model is built. Sources are
+     * equal if they are of the same element.
+     */
+    public static final class SourceElement {
+
+        // Creating a transformer is much more expensive than serializing a typical element with it
+        private static final ThreadLocal<Transformer> ELEMENT_TRANSFORMER = new ThreadLocal<>();
+
+        private final int hash;
+        private volatile Element element;
+        private String source;
+
+        private SourceElement(Element element) {
+            this.element = element;
+            this.hash = System.identityHashCode(element);
+        }
+
+        private SourceElement(String source) {
+            this.source = source;
+            this.hash = System.identityHashCode(this);
+        }
+
+        public static SourceElement of(Element element) {
+            return new SourceElement(Objects.requireNonNull(element));
+        }
+
+        /**
+         * Returns a source element that only has the serialized form of an element, such as one kept by an earlier
+         * migration. It is only equal to itself.
+         *
+         * @param source serialized element
+         * @return detached source element
+         */
+        public static SourceElement ofXmlString(String source) {
+            return new SourceElement(Objects.requireNonNull(source));
+        }
+
+        /**
+         * Returns the element serialized with {@link #serialize}.
+         *
+         * @return serialized element
+         */
+        public synchronized String toXmlString() {
+            if (source == null) {
+                source = serialize(element);
+            }
+            return source;
+        }
+
+        /**
+         * Serializes the element without an XML declaration and with indentation.
+         *
+         * @param element element to serialize
+         * @return serialized element
+         */
+        public static String serialize(Element element) {
+            try {
+                Transformer transformer = ELEMENT_TRANSFORMER.get();
+                if (transformer == null) {
+                    TransformerFactory factory = TransformerFactory.newInstance();
+                    transformer = factory.newTransformer();
+                    // Configure the transformer for clean output
+                    transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+                    transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+                    ELEMENT_TRANSFORMER.set(transformer);
+                }
+
+                DOMSource source = new DOMSource(element);
+                StringWriter writer = new StringWriter();
+                StreamResult result = new StreamResult(writer);
+
+                transformer.transform(source, result);
+                return writer.toString();
+            } catch (TransformerException e) {
+                throw new RuntimeException("Failed to convertTypes element to string", e);
+            }
+        }
+
+        /**
+         * Serializes the element and drops the reference to it.
+         */
+        synchronized void detach() {
+            toXmlString();
+            element = null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SourceElement other)) {
+                return false;
+            }
+            Element current = element;
+            return current != null && current == other.element;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     public record XSD(Element type, org.w3c.dom.Element element) {
         public Type.Schema toSchema() throws ParserConfigurationException {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
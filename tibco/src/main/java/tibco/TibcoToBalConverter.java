@@ -18,9 +18,11 @@
 
 package tibco;
 
+import common.BallerinaModel;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
+import tibco.ProjectFileIndex.ArtifactKind;
 import tibco.analyzer.AnalysisResult;
 import tibco.analyzer.DefaultAnalysisPass;
 import tibco.analyzer.LoggingAnalysisPass;
@@ -29,24 +31,23 @@ import tibco.analyzer.ProjectAnalysisContext;
 import tibco.analyzer.ReportGenerationPass;
 import tibco.analyzer.TibcoAnalysisReport;
 import tibco.converter.ConversionResult;
+import tibco.converter.ProcessBindings;
 import tibco.converter.ProjectConverter;
 import tibco.converter.TibcoConverter;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Logger;
-import java.util.stream.Stream;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -59,63 +60,178 @@ public class TibcoToBalConverter {
     }
 
     public static ConversionResult convertProject(ProjectConversionContext cx, String projectPath) {
-        Set<TibcoModel.Process> processes;
-        Set<TibcoModel.Type.Schema> types;
-        Set<TibcoModel.Resource.JDBCResource> jdbcResources;
-        Set<TibcoModel.Resource.HTTPConnectionResource> httpConnectionResources;
-        Set<TibcoModel.Resource.HTTPClientResource> httpClientResources;
-        Set<TibcoModel.Resource.HTTPSharedResource> httpSharedResources;
-        Set<TibcoModel.Resource.JDBCSharedResource> jdbcSharedResource;
+        return convertProject(cx, projectPath, Optional.empty());
+    }
+
+    /**
+     * Converts the project, optionally handing over the document of each process as soon as it is converted. See
+     * {@link ProjectConverter#convertProject}.
+     *
+     * @param processDocumentSink consumer of the process documents
+     */
+    public static ConversionResult convertProject(ProjectConversionContext cx, String projectPath,
+                                                  Optional<Consumer<BallerinaModel.TextDocument>> processDocumentSink) {
+        return convertProject(cx, parseProject(cx, projectPath), Set.of(), processDocumentSink);
+    }
+
+    /**
+     * Converts the processes of an already parsed project. Processes in {@code referencedProcesses} are analysed and
+     * set up so that the converted processes can call them, but their documents are not generated. They are not part
+     * of the report either.
+     *
+     * @param referencedProcesses processes called by the converted processes whose documents are kept as they are
+     */
+    public static ConversionResult convertProject(ProjectConversionContext cx, ParsedProject project,
+                                                  Set<TibcoModel.Process> referencedProcesses,
+                                                  Optional<Consumer<BallerinaModel.TextDocument>> processDocumentSink) {
+        Set<TibcoModel.Process> analysedProcesses = new LinkedHashSet<>(project.processes());
+        analysedProcesses.addAll(referencedProcesses);
+        Map<TibcoModel.Process, AnalysisResult> analysisResult = analyseProcesses(cx, analysedProcesses);
+        TibcoAnalysisReport report = project.processes().stream()
+                .map(analysisResult::get)
+                .map(AnalysisResult::getReport)
+                .flatMap(Optional::stream)
+                .reduce(TibcoAnalysisReport.empty(), TibcoAnalysisReport::combine);
+        if (cx.dryRun()) {
+            return new ConversionResult(null, null, report);
+        }
+        return ProjectConverter.convertProject(cx, analysisResult, project.processes(), referencedProcesses,
+                project.types(), project.jdbcResources(), project.httpConnectionResources(),
+                project.httpClientResources(), project.httpSharedResources(), project.jdbcSharedResources(), report,
+                processDocumentSink);
+    }
+
+    public static ParsedProject parseProject(ProjectConversionContext cx, String projectPath) {
+        ProjectFileIndex fileIndex;
         try {
-            processes = PROCESS_PARSING_UNIT.parse(projectPath);
-            types = XSD_PARSING_UNIT.parse(projectPath);
-            jdbcResources = JDBC_RESOURCE_PARSING_UNIT.parse(projectPath);
-            httpConnectionResources = HTTP_CONN_RESOURCE_PARSING_UNIT.parse(projectPath);
-            httpClientResources = HTTP_CLIENT_RESOURCE_PARSING_UNIT.parse(projectPath);
+            fileIndex = ProjectFileIndex.build(projectPath);
+        } catch (IOException e) {
+            logger().severe("Unrecoverable error while parsing project file: " + projectPath);
+            throw new RuntimeException("Error while parsing the XML file: ", e);
+        }
+        return parseProject(cx, fileIndex);
+    }
+
+    /**
+     * Parses the files of the index. An index narrowed with {@link ProjectFileIndex#retainFiles} parses only part of
+     * the project.
+     */
+    public static ParsedProject parseProject(ProjectConversionContext cx, ProjectFileIndex fileIndex) {
+        Optional<ParallelXmlParser> parallelParser = cx.isEnabled(ConversionOption.PARALLEL_PARSING) ?
+                Optional.of(new ParallelXmlParser(ParallelXmlParser.defaultParallelism())) : Optional.empty();
+        try {
+            Set<TibcoModel.Process> processes = parse(processParsingUnit(cx), fileIndex, parallelParser);
+            Set<TibcoModel.Type.Schema> types = parse(XSD_PARSING_UNIT, fileIndex, parallelParser);
+            Set<TibcoModel.Resource.JDBCResource> jdbcResources =
+                    parse(JDBC_RESOURCE_PARSING_UNIT, fileIndex, parallelParser);
+            Set<TibcoModel.Resource.HTTPConnectionResource> httpConnectionResources =
+                    parse(HTTP_CONN_RESOURCE_PARSING_UNIT, fileIndex, parallelParser);
+            Set<TibcoModel.Resource.HTTPClientResource> httpClientResources =
+                    parse(HTTP_CLIENT_RESOURCE_PARSING_UNIT, fileIndex, parallelParser);
             var httpSharedResourceParser = new HTTPSharedResourceParsingUnit();
-            httpSharedResources = httpSharedResourceParser.parse(projectPath);
-            jdbcSharedResource = SHARED_JDBC_RESOURCE_PARSING_UNIT.parse(projectPath);
+            Set<TibcoModel.Resource.HTTPSharedResource> httpSharedResources =
+                    parse(httpSharedResourceParser, fileIndex, parallelParser);
+            Set<TibcoModel.Resource.JDBCSharedResource> jdbcSharedResources =
+                    parse(SHARED_JDBC_RESOURCE_PARSING_UNIT, fileIndex, parallelParser);
+            return new ParsedProject(processes, types, jdbcResources, httpConnectionResources, httpClientResources,
+                    httpSharedResources, jdbcSharedResources);
         } catch (IOException | SAXException | ParserConfigurationException e) {
-            logger().severe("Unrecoverable error while parsing project file: " + projectPath);
+            logger().severe("Unrecoverable error while parsing project file: " + fileIndex.root());
             throw new RuntimeException("Error while parsing the XML file: ", e);
+        } finally {
+            parallelParser.ifPresent(ParallelXmlParser::close);
+        }
+    }
+
+    /**
+     * Parses the process files of the index, keeping track of the file each process comes from.
+     *
+     * @return processes keyed by their file, in the order of the index
+     */
+    public static Map<Path, TibcoModel.Process> parseProcesses(ProjectConversionContext cx,
+                                                               ProjectFileIndex fileIndex) {
+        ParsingUnit<TibcoModel.Process> parsingUnit = processParsingUnit(cx);
+        List<String> files = fileIndex.paths(ArtifactKind.PROCESS);
+        Map<Path, TibcoModel.Process> processes = new LinkedHashMap<>();
+        try {
+            if (cx.isEnabled(ConversionOption.PARALLEL_PARSING) && files.size() > 1) {
+                try (ParallelXmlParser parser = new ParallelXmlParser(ParallelXmlParser.defaultParallelism())) {
+                    List<TibcoModel.Process> parsed = parser.parseFiles(files, parsingUnit::parseFile);
+                    for (int i = 0; i < files.size(); i++) {
+                        processes.put(Path.of(files.get(i)), parsed.get(i));
+                    }
+                }
+            } else {
+                for (String file : files) {
+                    processes.put(Path.of(file), parsingUnit.parseFile(file));
+                }
+            }
+        } catch (IOException | SAXException | ParserConfigurationException e) {
+            logger().severe("Unrecoverable error while parsing project file: " + fileIndex.root());
+            throw new RuntimeException("Error while parsing the XML file: ", e);
+        }
+        return processes;
+    }
+
+    private static Map<TibcoModel.Process, AnalysisResult> analyseProcesses(ProjectConversionContext cx,
+                                                                            Set<TibcoModel.Process> processes) {
+        if (cx.isEnabled(ConversionOption.PARALLEL_ANALYSIS)) {
+            return ModelAnalyser.analyseProcessesConcurrently(
+                    new ProjectAnalysisContext(cx.processBindings().reservedNames()), processes,
+                    List.of(DefaultAnalysisPass::new, LoggingAnalysisPass::new, ReportGenerationPass::new),
+                    Runtime.getRuntime().availableProcessors());
         }
         ModelAnalyser analyser = new ModelAnalyser(List.of(
                 new DefaultAnalysisPass(),
                 new LoggingAnalysisPass(),
                 new ReportGenerationPass()));
-        Map<TibcoModel.Process, AnalysisResult> analysisResult =
-                analyser.analyseProcesses(new ProjectAnalysisContext(), processes);
-        TibcoAnalysisReport report = analysisResult.values().stream()
-                .map(AnalysisResult::getReport)
-                .flatMap(Optional::stream)
-                .reduce(TibcoAnalysisReport.empty(), TibcoAnalysisReport::combine);
-        if (cx.dryRun()) {
-            return new ConversionResult(null, null, report);
+        return analyser.analyseProcesses(new ProjectAnalysisContext(cx.processBindings().reservedNames()), processes);
+    }
+
+    private static ParsingUnit<TibcoModel.Process> processParsingUnit(ProjectConversionContext cx) {
+        boolean releaseDocuments = cx.isEnabled(ConversionOption.RELEASE_DOCUMENTS);
+        if (cx.isEnabled(ConversionOption.STREAMING_PARSING)) {
+            return releaseDocuments ? RELEASING_STREAMING_PROCESS_PARSING_UNIT : STREAMING_PROCESS_PARSING_UNIT;
         }
-        return ProjectConverter.convertProject(cx, analysisResult, processes, types, jdbcResources,
-                httpConnectionResources, httpClientResources, httpSharedResources, jdbcSharedResource, report);
+        return releaseDocuments ? RELEASING_PROCESS_PARSING_UNIT : PROCESS_PARSING_UNIT;
     }
 
     private static final ParsingUnit<TibcoModel.Process> PROCESS_PARSING_UNIT = new ParsingUnit.SimpleParsingUnit<>(
-            TibcoToBalConverter::getBwpFiles, XmlToTibcoModelConverter::parseProcess);
+            ArtifactKind.PROCESS, XmlToTibcoModelConverter::parseProcess);
+    private static final ParsingUnit<TibcoModel.Process> RELEASING_PROCESS_PARSING_UNIT =
+            new ParsingUnit.SimpleParsingUnit<>(ArtifactKind.PROCESS,
+                    root -> XmlToTibcoModelConverter.parseProcess(root, true));
+    private static final ParsingUnit<TibcoModel.Process> STREAMING_PROCESS_PARSING_UNIT =
+            new StreamingProcessParsingUnit(false);
+    private static final ParsingUnit<TibcoModel.Process> RELEASING_STREAMING_PROCESS_PARSING_UNIT =
+            new StreamingProcessParsingUnit(true);
     private static final ParsingUnit<TibcoModel.Type.Schema> XSD_PARSING_UNIT = new ParsingUnit.SimpleParsingUnit<>(
-            TibcoToBalConverter::getXSDFiles, XmlToTibcoModelConverter::parseSchema);
+            ArtifactKind.SCHEMA, XmlToTibcoModelConverter::parseSchema);
     private static final ParsingUnit<TibcoModel.Resource.JDBCResource> JDBC_RESOURCE_PARSING_UNIT =
             new ParsingUnit.SimpleParsingUnit<>(
-            TibcoToBalConverter::getJDBCResourceFiles, XmlToTibcoModelConverter::parseJDBCResource);
+            ArtifactKind.JDBC_RESOURCE, XmlToTibcoModelConverter::parseJDBCResource);
     private static final ParsingUnit<TibcoModel.Resource.JDBCSharedResource> SHARED_JDBC_RESOURCE_PARSING_UNIT =
             new ParsingUnit.SimpleParsingUnit<>(
-                    (String projectPath) -> getFilesWithExtension(projectPath, "sharedjdbc"),
+                    ArtifactKind.SHARED_JDBC_RESOURCE,
                     XmlToTibcoModelConverter::parseSharedJDBCResource);
     private static final ParsingUnit<TibcoModel.Resource.HTTPConnectionResource> HTTP_CONN_RESOURCE_PARSING_UNIT =
             new ParsingUnit.SimpleParsingUnit<>(
-                    TibcoToBalConverter::getHTTPConnectionResourceFiles,
+                    ArtifactKind.HTTP_CONNECTION_RESOURCE,
                     XmlToTibcoModelConverter::parseHTTPConnectionResource);
     private static final ParsingUnit<TibcoModel.Resource.HTTPClientResource> HTTP_CLIENT_RESOURCE_PARSING_UNIT =
             new ParsingUnit.SimpleParsingUnit<>(
-                    TibcoToBalConverter::getHTTPClientResourceFiles,
+                    ArtifactKind.HTTP_CLIENT_RESOURCE,
                     XmlToTibcoModelConverter::parseHTTPClientResource);
 
+    private static <E> Set<E> parse(ParsingUnit<E> parsingUnit, ProjectFileIndex fileIndex,
+                                    Optional<ParallelXmlParser> parallelParser)
+            throws IOException, ParserConfigurationException, SAXException {
+        if (parallelParser.isPresent()) {
+            return parsingUnit.parse(fileIndex, parallelParser.get());
+        }
+        return parsingUnit.parse(fileIndex);
+    }
+
     public static Logger logger() {
         return TibcoConverter.logger();
     }
@@ -124,10 +240,10 @@ public class TibcoToBalConverter {
     static final class HTTPSharedResourceParsingUnit implements ParsingUnit<TibcoModel.Resource.HTTPSharedResource> {
 
         @Override
-        public Set<TibcoModel.Resource.HTTPSharedResource> parse(String projectPath) throws
+        public Set<TibcoModel.Resource.HTTPSharedResource> parse(ProjectFileIndex fileIndex) throws
                 IOException, ParserConfigurationException, SAXException {
             Set<TibcoModel.Resource.HTTPSharedResource> result = new LinkedHashSet<>();
-            for (String file : getHTTPSharedResourceFiles(projectPath)) {
+            for (String file : fileIndex.paths(ArtifactKind.HTTP_SHARED_RESOURCE)) {
                 Element element = parseXmlFile(file);
                 Path filePath = Path.of(file);
                 String fileName = filePath.getFileName().toString();
@@ -135,68 +251,90 @@ public class TibcoToBalConverter {
             }
             return result;
         }
+
+        @Override
+        public Set<TibcoModel.Resource.HTTPSharedResource> parse(ProjectFileIndex fileIndex, ParallelXmlParser parser)
+                throws IOException, ParserConfigurationException, SAXException {
+            return new LinkedHashSet<>(parser.parse(fileIndex.paths(ArtifactKind.HTTP_SHARED_RESOURCE),
+                    (file, element) -> XmlToTibcoModelConverter.parseHTTPSharedResource(
+                            Path.of(file).getFileName().toString(), element)));
+        }
+
+        @Override
+        public TibcoModel.Resource.HTTPSharedResource parseFile(String file)
+                throws IOException, ParserConfigurationException, SAXException {
+            return XmlToTibcoModelConverter.parseHTTPSharedResource(Path.of(file).getFileName().toString(),
+                    parseXmlFile(file));
+        }
     }
 
-    interface ParsingUnit<E> {
-        Set<E> parse(String projectPath) throws IOException, ParserConfigurationException, SAXException;
+    static final class StreamingProcessParsingUnit implements ParsingUnit<TibcoModel.Process> {
 
-        record SimpleParsingUnit<E>(FileFinder fileFinder,
-                                    Function<Element, E> parsingFn) implements ParsingUnit<E> {
+        private final boolean detachElements;
 
-            @Override
-            public Set<E> parse(String projectPath) throws IOException, ParserConfigurationException, SAXException {
-                Set<E> elements = new HashSet<>();
-                for (String s : fileFinder.findFiles(projectPath)) {
-                    Element element = parseXmlFile(s);
-                    E parsedElement = parsingFn.apply(element);
-                    elements.add(parsedElement);
-                }
-                return elements;
+        StreamingProcessParsingUnit(boolean detachElements) {
+            this.detachElements = detachElements;
+        }
+
+        @Override
+        public Set<TibcoModel.Process> parse(ProjectFileIndex fileIndex)
+                throws IOException, ParserConfigurationException, SAXException {
+            Set<TibcoModel.Process> processes = new LinkedHashSet<>();
+            for (String file : fileIndex.paths(ArtifactKind.PROCESS)) {
+                processes.add(StreamingProcessParser.parseProcess(file, detachElements));
             }
+            return processes;
         }
-    }
 
-    @FunctionalInterface
-    private interface FileFinder {
+        @Override
+        public Set<TibcoModel.Process> parse(ProjectFileIndex fileIndex, ParallelXmlParser parser)
+                throws IOException, ParserConfigurationException, SAXException {
+            return new LinkedHashSet<>(parser.parseFiles(fileIndex.paths(ArtifactKind.PROCESS),
+                    file -> StreamingProcessParser.parseProcess(file, detachElements)));
+        }
 
-        Collection<String> findFiles(String projectPath) throws IOException;
+        @Override
+        public TibcoModel.Process parseFile(String file)
+                throws IOException, ParserConfigurationException, SAXException {
+            return StreamingProcessParser.parseProcess(file, detachElements);
+        }
     }
 
-    private static List<String> getJDBCResourceFiles(String projectPath) throws IOException {
-        return getFilesWithExtension(projectPath, "jdbcResource");
-    }
+    interface ParsingUnit<E> {
+        Set<E> parse(ProjectFileIndex fileIndex) throws IOException, ParserConfigurationException, SAXException;
 
-    private static List<String> getHTTPClientResourceFiles(String projectPath) throws IOException {
-        return getFilesWithExtension(projectPath, "httpClientResource");
-    }
+        // Result order follows the file order so that parallel runs are reproducible
+        Set<E> parse(ProjectFileIndex fileIndex, ParallelXmlParser parser)
+                throws IOException, ParserConfigurationException, SAXException;
 
-    private static List<String> getHTTPSharedResourceFiles(String projectPath) throws IOException {
-        return getFilesWithExtension(projectPath, "sharedhttp");
-    }
+        E parseFile(String file) throws IOException, ParserConfigurationException, SAXException;
 
-    private static List<String> getHTTPConnectionResourceFiles(String projectPath) throws IOException {
-        return getFilesWithExtension(projectPath, "httpConnResource");
-    }
+        record SimpleParsingUnit<E>(ArtifactKind artifactKind,
+                                    Function<Element, E> parsingFn) implements ParsingUnit<E> {
 
-    private static List<String> getXSDFiles(String projectPath) throws IOException {
-        return getFilesWithExtension(projectPath, "xsd");
-    }
+            @Override
+            public Set<E> parse(ProjectFileIndex fileIndex)
+                    throws IOException, ParserConfigurationException, SAXException {
+                Set<E> elements = new LinkedHashSet<>();
+                for (String s : fileIndex.paths(artifactKind)) {
+                    Element element = parseXmlFile(s);
+                    E parsedElement = parsingFn.apply(element);
+                    elements.add(parsedElement);
+                }
+                return elements;
+            }
 
-    private static List<String> getBwpFiles(String projectPath) throws IOException {
-        List<String> bwpFiles = getFilesWithExtension(projectPath, "bwp");
-        List<String> processFiles = getFilesWithExtension(projectPath, "process");
-        return Stream.concat(bwpFiles.stream(), processFiles.stream())
-                .toList();
-    }
+            @Override
+            public Set<E> parse(ProjectFileIndex fileIndex, ParallelXmlParser parser)
+                    throws IOException, ParserConfigurationException, SAXException {
+                return new LinkedHashSet<>(parser.parse(fileIndex.paths(artifactKind),
+                        (file, element) -> parsingFn.apply(element)));
+            }
 
-    private static List<String> getFilesWithExtension(String projectPath, String extension) throws IOException {
-        String extensionWithDot = "." + extension;
-        try (var pathStream = Files.walk(Paths.get(projectPath))) {
-            return pathStream
-                    .filter(Files::isRegularFile)
-                    .map(Path::toString)
-                    .filter(string -> string.endsWith(extensionWithDot))
-                    .toList();
+            @Override
+            public E parseFile(String file) throws IOException, ParserConfigurationException, SAXException {
+                return parsingFn.apply(parseXmlFile(file));
+            }
         }
     }
 
@@ -213,6 +351,15 @@ public class TibcoToBalConverter {
         return document.getDocumentElement();
     }
 
+    public record ParsedProject(Set<TibcoModel.Process> processes, Set<TibcoModel.Type.Schema> types,
+                                Set<TibcoModel.Resource.JDBCResource> jdbcResources,
+                                Set<TibcoModel.Resource.HTTPConnectionResource> httpConnectionResources,
+                                Set<TibcoModel.Resource.HTTPClientResource> httpClientResources,
+                                Set<TibcoModel.Resource.HTTPSharedResource> httpSharedResources,
+                                Set<TibcoModel.Resource.JDBCSharedResource> jdbcSharedResources) {
+
+    }
+
     public enum JavaDependencies {
         JDBC("""
                 [[platform.java17.dependency]]
@@ -228,11 +375,76 @@ public class TibcoToBalConverter {
         }
     }
 
-    public record ProjectConversionContext(boolean verbose, boolean dryRun, List<JavaDependencies> javaDependencies) {
+    public enum ConversionOption {
+        // Parse project files on a bounded worker pool
+        PARALLEL_PARSING,
+        // Analyse processes concurrently
+        PARALLEL_ANALYSIS,
+        // Reuse the output of the previous migration in the target directory for unchanged documents
+        INCREMENTAL,
+        // Parse process files with a StAX reader instead of building a DOM for the whole file
+        STREAMING_PARSING,
+        // Release the parsed documents once the model of each process is built
+        RELEASE_DOCUMENTS,
+        // Write the document of each process as soon as it is converted, instead of once the whole project is
+        // converted. Only applies when the process structure is kept.
+        STREAMING_OUTPUT,
+        // Convert independent groups of XSD schemas concurrently
+        PARALLEL_TYPE_CONVERSION,
+        // Reuse the record definitions generated for unchanged groups of XSD schemas in previous migrations
+        CACHE_TYPES,
+        // Run activities of a flow that are not connected by links in concurrent Ballerina workers
+        CONCURRENT_BRANCHES,
+        // Run the iterations of loop groups that do not depend on each other concurrently
+        PARALLEL_LOOPS,
+        // Translate simple XSLT mappings to Ballerina, leaving the rest to the XSLT module
+        COMPILE_XSLT,
+        // Declare the stylesheets and constant XPath queries of a process once as final module variables
+        HOIST_CONSTANTS
+    }
 
+    /**
+     * @param emitParallelism number of output documents generated, formatted and written at the same time
+     * @param typeCacheDir    directory in which the record definitions generated for XSD schemas are cached
+     * @param processBindings ports and clients of processes kept from a previous incremental migration
+     */
+    public record ProjectConversionContext(boolean verbose, boolean dryRun, Set<ConversionOption> options,
+                                           List<JavaDependencies> javaDependencies, int emitParallelism,
+                                           Optional<Path> typeCacheDir, ProcessBindings processBindings) {
+
+        public ProjectConversionContext {
+            options = options.isEmpty() ? EnumSet.noneOf(ConversionOption.class) : EnumSet.copyOf(options);
+            if (emitParallelism < 1) {
+                throw new IllegalArgumentException("Emit parallelism must be positive: " + emitParallelism);
+            }
+        }
 
         public ProjectConversionContext(boolean verbose, boolean dryRun) {
-            this(verbose, dryRun, new ArrayList<>());
+            this(verbose, dryRun, EnumSet.noneOf(ConversionOption.class));
+        }
+
+        public ProjectConversionContext(boolean verbose, boolean dryRun, Set<ConversionOption> options) {
+            this(verbose, dryRun, options, 1);
+        }
+
+        public ProjectConversionContext(boolean verbose, boolean dryRun, Set<ConversionOption> options,
+                                        int emitParallelism) {
+            this(verbose, dryRun, options, emitParallelism, Optional.empty());
+        }
+
+        public ProjectConversionContext(boolean verbose, boolean dryRun, Set<ConversionOption> options,
+                                        int emitParallelism, Optional<Path> typeCacheDir) {
+            this(verbose, dryRun, options, emitParallelism, typeCacheDir, new ProcessBindings());
+        }
+
+        public ProjectConversionContext(boolean verbose, boolean dryRun, Set<ConversionOption> options,
+                                        int emitParallelism, Optional<Path> typeCacheDir,
+                                        ProcessBindings processBindings) {
+            this(verbose, dryRun, options, new ArrayList<>(), emitParallelism, typeCacheDir, processBindings);
+        }
+
+        public boolean isEnabled(ConversionOption option) {
+            return options.contains(option);
         }
     }
 }
@@ -19,6 +19,7 @@
 package tibco;
 
 import org.jetbrains.annotations.NotNull;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
@@ -34,6 +35,7 @@ import tibco.TibcoModel.Scope;
 import tibco.TibcoModel.Scope.Flow;
 import tibco.TibcoModel.Scope.Flow.Activity.ActivityExtension.Config;
 import tibco.TibcoModel.Scope.Flow.Activity.ActivityExtension.Config.AccumulateEnd;
+import tibco.TibcoModel.SourceElement;
 import tibco.TibcoModel.Type;
 import tibco.TibcoModel.XSD;
 import tibco.converter.ConversionUtils;
@@ -138,32 +140,68 @@ public final class XmlToTibcoModelConverter {
     }
 
     public static TibcoModel.Process parseProcess(Element root) {
-        return parseProcessInner(new ParseContext(), root);
+        return parseProcess(root, false);
     }
 
-    // TODO: parse context to all methods
-    private static TibcoModel.@NotNull Process parseProcessInner(ParseContext cx, Element root) {
-        String name = root.getAttribute("name");
-        if (name.isBlank()) {
-            name = tryGetFirstChildWithTag(root, "name").map(Node::getTextContent)
-                    .orElseGet(cx::getNextAnonymousProcessName);
-        }
-        Collection<Type> types = null;
-        TibcoModel.ProcessInfo processInfo = null;
-        Collection<PartnerLink> partnerLinks = null;
-        Collection<TibcoModel.Variable> variables = null;
-        Scope scope = null;
-        Optional<TibcoModel.ProcessInterface> processInterface = Optional.empty();
-        Optional<TibcoModel.ProcessTemplateConfigurations> processTemplateConfigurations = Optional.empty();
-        TibcoModel.Process.ExplicitTransitionGroup transitionGroup = new TibcoModel.Process.ExplicitTransitionGroup();
+    /**
+     * @param root           root element of the process
+     * @param detachElements if {@code true} model records don't keep any references to the document of the process,
+     *                       so that it can be collected as soon as the process is built
+     */
+    public static TibcoModel.Process parseProcess(Element root, boolean detachElements) {
+        ProcessBuilder builder = new ProcessBuilder(root, detachElements);
         for (Element element : new ElementIterable(root)) {
+            builder.accept(element);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds a {@link TibcoModel.Process} from the child elements of the process root, one child at a time. This lets
+     * the streaming front end ({@link StreamingProcessParser}) hand over each child as soon as it is read.
+     */
+    static final class ProcessBuilder {
+
+        private final ParseContext cx = new ParseContext();
+        private final Element root;
+        private final boolean detachElements;
+        private String nameTag = null;
+        private Collection<Type> types = null;
+        private TibcoModel.ProcessInfo processInfo = null;
+        private Collection<PartnerLink> partnerLinks = null;
+        private Collection<TibcoModel.Variable> variables = null;
+        private Scope scope = null;
+        private Optional<TibcoModel.ProcessInterface> processInterface = Optional.empty();
+        private Optional<TibcoModel.ProcessTemplateConfigurations> processTemplateConfigurations = Optional.empty();
+        private TibcoModel.Process.ExplicitTransitionGroup transitionGroup =
+                new TibcoModel.Process.ExplicitTransitionGroup();
+
+        // Only the attributes of the root are used, so its children need not be present
+        ProcessBuilder(Element root) {
+            this(root, false);
+        }
+
+        ProcessBuilder(Element root, boolean detachElements) {
+            this.root = root;
+            this.detachElements = detachElements;
+        }
+
+        void accept(Element element) {
             String tag = getTagNameWithoutNameSpace(element);
             switch (tag) {
+                case "name" -> {
+                    if (nameTag == null) {
+                        nameTag = element.getTextContent();
+                    }
+                }
                 case "Types" -> {
                     if (types != null) {
                         throw new ParserException("Multiple Types elements found in the XML", root);
                     }
                     types = parseTypes(element);
+                    if (detachElements) {
+                        types = types.stream().map(ProcessBuilder::detachSchema).toList();
+                    }
                 }
                 case "ProcessInfo" -> {
                     if (processInfo != null) {
@@ -219,13 +257,69 @@ public final class XmlToTibcoModelConverter {
                 }
             }
         }
-        transitionGroup = transitionGroup.resolve();
-        Collection<TibcoModel.NameSpace> nameSpaces = getNamespaces(root).entrySet().stream()
-                .map(each -> new TibcoModel.NameSpace(each.getKey(), each.getValue()))
-                .toList();
-        return new TibcoModel.Process(name, nameSpaces, types, processInfo, processInterface,
-                processTemplateConfigurations,
-                partnerLinks, variables, scope, transitionGroup);
+
+        TibcoModel.Process build() {
+            String name = root.getAttribute("name");
+            if (name.isBlank()) {
+                name = nameTag != null ? nameTag : cx.getNextAnonymousProcessName();
+            }
+            Collection<TibcoModel.NameSpace> nameSpaces = getNamespaces(root).entrySet().stream()
+                    .map(each -> new TibcoModel.NameSpace(each.getKey(), each.getValue()))
+                    .toList();
+            TibcoModel.Process.ExplicitTransitionGroup resolvedTransitionGroup = transitionGroup.resolve();
+            if (detachElements) {
+                detachSourceElements(scope);
+                detachSourceElements(resolvedTransitionGroup);
+            }
+            return new TibcoModel.Process(name, nameSpaces, types, processInfo, processInterface,
+                    processTemplateConfigurations,
+                    partnerLinks, variables, scope, resolvedTransitionGroup);
+        }
+
+        private static Type detachSchema(Type type) {
+            return type instanceof Type.Schema schema ? new Type.Schema(copyToOwnDocument(schema.element())) : type;
+        }
+
+        private static void detachSourceElements(Scope scope) {
+            if (scope == null) {
+                return;
+            }
+            for (Flow flow : scope.flows()) {
+                flow.activities().forEach(ProcessBuilder::detachSourceElements);
+            }
+            for (Scope.Sequence sequence : scope.sequence()) {
+                sequence.activities().forEach(ProcessBuilder::detachSourceElements);
+            }
+            scope.faultHandlers().forEach(ProcessBuilder::detachSourceElements);
+        }
+
+        private static void detachSourceElements(TibcoModel.Process.ExplicitTransitionGroup group) {
+            if (group == null) {
+                return;
+            }
+            group.activities().forEach(ProcessBuilder::detachSourceElements);
+            if (group.startActivity() != null) {
+                detachSourceElements(group.startActivity());
+            }
+        }
+
+        private static void detachSourceElements(Flow.Activity activity) {
+            activity.element().detach();
+            if (activity instanceof Flow.Activity.ActivityWithScope activityWithScope) {
+                detachSourceElements(activityWithScope.scope());
+            }
+            if (activity instanceof InlineActivity.InlineActivityWithBody activityWithBody) {
+                detachSourceElements(activityWithBody.body());
+            }
+        }
+    }
+
+    // Copies the element into a document of its own so that it doesn't keep the document it was parsed from alive
+    private static Element copyToOwnDocument(Element element) {
+        Document document = element.getOwnerDocument().getImplementation().createDocument(null, null, null);
+        Element copy = (Element) document.importNode(element, true);
+        document.appendChild(copy);
+        return copy;
     }
 
     private static Flow.Activity.Expression.XSLT parseReturnBindings(ParseContext cx, Element element) {
@@ -242,20 +336,20 @@ public final class XmlToTibcoModelConverter {
         return switch (type) {
             case ASSIGN -> parseAssignActivity(name, inputBinding, element);
             case HTTP_EVENT_SOURCE -> parseHttpEventSource(name, inputBinding, element);
-            case HTTP_RESPONSE -> new InlineActivity.HTTPResponse(element, name, inputBinding);
-            case UNHANDLED -> new InlineActivity.UnhandledInlineActivity(element, name, typeString, inputBinding);
-            case NULL -> new InlineActivity.NullActivity(element, name, inputBinding);
-            case WRITE_LOG -> new InlineActivity.WriteLog(element, name, inputBinding);
+            case HTTP_RESPONSE -> new InlineActivity.HTTPResponse(SourceElement.of(element), name, inputBinding);
+            case UNHANDLED -> new InlineActivity.UnhandledInlineActivity(SourceElement.of(element), name, typeString, inputBinding);
+            case NULL -> new InlineActivity.NullActivity(SourceElement.of(element), name, inputBinding);
+            case WRITE_LOG -> new InlineActivity.WriteLog(SourceElement.of(element), name, inputBinding);
             case CALL_PROCESS -> parseCallProcess(element, name, inputBinding);
             case FILE_WRITE -> parseFileWrite(element, name, inputBinding);
             case FILE_READ -> parseFileRead(element, name, inputBinding);
             case XML_RENDER_ACTIVITY -> parseXmlRenderActivity(element, name, inputBinding);
             case XML_PARSE_ACTIVITY -> parseXmlParseActivity(element, name, inputBinding);
             case SOAP_SEND_RECEIVE -> parseSoapSendReceive(element, name, inputBinding);
-            case SOAP_SEND_REPLY -> new InlineActivity.SOAPSendReply(element, name, inputBinding);
+            case SOAP_SEND_REPLY -> new InlineActivity.SOAPSendReply(SourceElement.of(element), name, inputBinding);
             case LOOP_GROUP -> parseLoopGroup(cx, element, name, inputBinding);
             case REST -> parseREST(element, name, inputBinding);
-            case CATCH -> new InlineActivity.Catch(element, name, inputBinding);
+            case CATCH -> new InlineActivity.Catch(SourceElement.of(element), name, inputBinding);
             case JSON_PARSER_ACTIVITY -> parseJSONParserActivity(element, name, inputBinding);
             case JSON_RENDER_ACTIVITY -> parseJSONRenderActivity(element, name, inputBinding);
             case JDBC -> parseJDBCActivity(element, name, inputBinding);
@@ -271,16 +365,16 @@ public final class XmlToTibcoModelConverter {
         String suffix = ".sharedjdbc";
         connection = connection.endsWith(suffix) ? connection.substring(0, connection.length() - suffix.length())
                 : connection;
-        return new InlineActivity.JDBC(element, name, inputBinding, connection);
+        return new InlineActivity.JDBC(SourceElement.of(element), name, inputBinding, connection);
     }
 
     private static InlineActivity.JSONRender parseJSONRenderActivity(Element element, String name, Flow.Activity.InputBinding inputBinding) {
-        return new InlineActivity.JSONRender(element, name, inputBinding, getJSONActivityTarget(element));
+        return new InlineActivity.JSONRender(SourceElement.of(element), name, inputBinding, getJSONActivityTarget(element));
     }
 
 
     private static InlineActivity.JSONParser parseJSONParserActivity(Element element, String name, Flow.Activity.InputBinding inputBinding) {
-        return new InlineActivity.JSONParser(element, name, inputBinding, getJSONActivityTarget(element));
+        return new InlineActivity.JSONParser(SourceElement.of(element), name, inputBinding, getJSONActivityTarget(element));
     }
 
     private static @NotNull XSD getJSONActivityTarget(Element element) {
@@ -291,7 +385,7 @@ public final class XmlToTibcoModelConverter {
     }
 
     private static XSD parseXSD(Element element) {
-        return new XSD(parseXSDXElement(element), element);
+        return new XSD(parseXSDXElement(element), copyToOwnDocument(element));
     }
 
     private static XSD.Element parseXSDXElement(Element element) {
@@ -323,7 +417,7 @@ public final class XmlToTibcoModelConverter {
             Flow.Activity.InputBinding inputBinding) {
         String endpointURL = getInlineActivityConfigValue(element, "endpointURL");
         Optional<String> soapAction = tryGetInlineActivityConfigValue(element, "soapAction");
-        return new InlineActivity.SOAPSendReceive(element, name, inputBinding, soapAction, endpointURL);
+        return new InlineActivity.SOAPSendReceive(SourceElement.of(element), name, inputBinding, soapAction, endpointURL);
     }
 
     private static LoopGroup parseLoopGroup(ParseContext cx, Element element, String name,
@@ -356,7 +450,7 @@ public final class XmlToTibcoModelConverter {
             }
         }
         transitionGroup = transitionGroup.resolve();
-        return new LoopGroup(element, name, inputBinding, overExpr, iterationElementSlot, indexSlot,
+        return new LoopGroup(SourceElement.of(element), name, inputBinding, overExpr, iterationElementSlot, indexSlot,
                 activityOutputName, accumulateOutput, transitionGroup);
     }
 
@@ -389,13 +483,13 @@ public final class XmlToTibcoModelConverter {
         InlineActivity.REST.ResponseType responseType = InlineActivity.REST.ResponseType.from(
                 getInlineActivityConfigValue(element, "restResponseType"));
         String url = getInlineActivityConfigValue(element, "restURI");
-        return new InlineActivity.REST(element, name, inputBinding, method, responseType, url);
+        return new InlineActivity.REST(SourceElement.of(element), name, inputBinding, method, responseType, url);
     }
 
     private static InlineActivity.CallProcess parseCallProcess(Element element, String name,
             Flow.Activity.InputBinding inputBinding) {
         String processName = getInlineActivityConfigValue(element, "processName");
-        return new InlineActivity.CallProcess(element, name, inputBinding, processName);
+        return new InlineActivity.CallProcess(SourceElement.of(element), name, inputBinding, processName);
     }
 
     private static InlineActivity.FileRead parseFileRead(
@@ -405,7 +499,7 @@ public final class XmlToTibcoModelConverter {
         if (!encoding.equals("text")) {
             throw new ParserException("Unsupported encoding" + encoding, element);
         }
-        return new InlineActivity.FileRead(element, name, inputBinding, encoding);
+        return new InlineActivity.FileRead(SourceElement.of(element), name, inputBinding, encoding);
     }
 
     private static XMLParseActivity parseXmlParseActivity(Element element, String name,
@@ -415,7 +509,7 @@ public final class XmlToTibcoModelConverter {
         if (!inputStyle.equalsIgnoreCase("text")) {
             throw new ParserException("Unsupported inputStyle value: " + inputStyle, element);
         }
-        return new XMLParseActivity(element, name, inputBinding);
+        return new XMLParseActivity(SourceElement.of(element), name, inputBinding);
     }
 
     private static XMLRenderActivity parseXmlRenderActivity(Element element, String name,
@@ -426,7 +520,7 @@ public final class XmlToTibcoModelConverter {
         if (!renderAsText.equalsIgnoreCase("text")) {
             throw new ParserException("Unsupported renderAsText value: " + renderAsText, element);
         }
-        return new XMLRenderActivity(element, name, inputBinding);
+        return new XMLRenderActivity(SourceElement.of(element), name, inputBinding);
     }
 
     private static InlineActivity.FileWrite parseFileWrite(
@@ -438,13 +532,13 @@ public final class XmlToTibcoModelConverter {
         }
         boolean append = getFirstChildWithTag(config, "append").getTextContent()
                 .equalsIgnoreCase("true");
-        return new InlineActivity.FileWrite(element, name, inputBinding, encoding, append);
+        return new InlineActivity.FileWrite(SourceElement.of(element), name, inputBinding, encoding, append);
     }
 
     private static InlineActivity.AssignActivity parseAssignActivity(
             String name, Flow.Activity.InputBinding inputBinding, Element element) {
         String variableName = getInlineActivityConfigValue(element, "variableName");
-        return new InlineActivity.AssignActivity(element, name, variableName, inputBinding);
+        return new InlineActivity.AssignActivity(SourceElement.of(element), name, variableName, inputBinding);
     }
 
     private static Optional<String> tryGetInlineActivityConfigValue(Element element, String name) {
@@ -463,13 +557,13 @@ public final class XmlToTibcoModelConverter {
             Flow.Activity.InputBinding inputBinding,
             Element element) {
         String sharedChannel = getInlineActivityConfigValue(element, "sharedChannel");
-        return new InlineActivity.HttpEventSource(element, name, sharedChannel, inputBinding);
+        return new InlineActivity.HttpEventSource(SourceElement.of(element), name, sharedChannel, inputBinding);
     }
 
     private static InlineActivity.MapperActivity parseMapperActivity(String name,
             Flow.Activity.InputBinding inputBinding,
             Element element) {
-        return new InlineActivity.MapperActivity(element, name, inputBinding);
+        return new InlineActivity.MapperActivity(SourceElement.of(element), name, inputBinding);
     }
 
     private static Flow.Activity.InputBinding.CompleteBinding parseInlineActivityInputBinding(
@@ -482,13 +576,13 @@ public final class XmlToTibcoModelConverter {
     }
 
     private static boolean isEmpty(Element element) {
-        String content = ElementIterable.of(element).stream().map(ConversionUtils::elementToString)
+        String content = ElementIterable.of(element).stream().map(SourceElement::serialize)
                 .collect(Collectors.joining());
         return content.isBlank();
     }
 
     private static Flow.Activity.Expression.@NotNull XSLT parseXSLTTag(ParseContext cx, Element element) {
-        String content = ElementIterable.of(element).stream().map(ConversionUtils::elementToString)
+        String content = ElementIterable.of(element).stream().map(SourceElement::serialize)
                 .collect(Collectors.joining());
         String xslt = """
                 <?xml version="1.0" encoding="UTF-8"?>
@@ -552,7 +646,7 @@ public final class XmlToTibcoModelConverter {
         if (!getTagNameWithoutNameSpace(scope).equals("scope")) {
             throw new ParserException("Expected a scope", element);
         }
-        return new Flow.Activity.CatchAll(parseScope(scope), element);
+        return new Flow.Activity.CatchAll(parseScope(scope), SourceElement.of(element));
     }
 
     private static Flow parseFlow(Element flow) {
@@ -611,7 +705,7 @@ public final class XmlToTibcoModelConverter {
                 getFirstChildWithTag(element, "finalCounterValue"));
         Scope scope = parseScope(getFirstChildWithTag(element, "scope"));
         return new Flow.Activity.Foreach(counterName, scope, startCounterValue, finalCounterValue,
-                element);
+                SourceElement.of(element));
     }
 
     private static Flow.Activity.Assign parseAssign(Element element) {
@@ -622,7 +716,7 @@ public final class XmlToTibcoModelConverter {
                 .filter(each -> getTagNameWithoutNameSpace(each).equals("sources"))
                 .map(XmlToTibcoModelConverter::parseSources).flatMap(Collection::stream).toList();
         Flow.Activity.Assign.Copy copy = parseCopy(getFirstChildWithTag(element, "copy"));
-        return new Flow.Activity.Assign(sources, targets, copy, element);
+        return new Flow.Activity.Assign(sources, targets, copy, SourceElement.of(element));
     }
 
     private static Flow.Activity.Assign.Copy parseCopy(Element element) {
@@ -671,7 +765,7 @@ public final class XmlToTibcoModelConverter {
                 .filter(each -> getTagNameWithoutNameSpace(each).equals("sources"))
                 .map(XmlToTibcoModelConverter::parseSources).flatMap(Collection::stream).toList();
         return new Flow.Activity.NestedScope(name, sources, targets, sequences, flows,
-                faultHandlers, element);
+                faultHandlers, SourceElement.of(element));
     }
 
     private static Scope.Sequence parseSequence(Element element) {
@@ -683,7 +777,7 @@ public final class XmlToTibcoModelConverter {
 
     private static Flow.Activity.Throw parseThrow(Element element) {
         ActivityInputOutput result = getActivityInputOutput(element);
-        return new Flow.Activity.Throw(result.inputBindings(), result.targets(), element);
+        return new Flow.Activity.Throw(result.inputBindings(), result.targets(), SourceElement.of(element));
     }
 
     private static @NotNull ActivityInputOutput getActivityInputOutput(Element element) {
@@ -721,7 +815,7 @@ public final class XmlToTibcoModelConverter {
             }
         }
 
-        return new Flow.Activity.UnhandledActivity(" FIXME: " + reason, sources, targets, element);
+        return new Flow.Activity.UnhandledActivity(" FIXME: " + reason, sources, targets, SourceElement.of(element));
     }
 
     private static Flow.Activity.Reply parseReply(Element element) {
@@ -732,19 +826,19 @@ public final class XmlToTibcoModelConverter {
         String portType = element.getAttribute("portType");
         ActivityInputOutput result = getActivityInputOutput(element);
         return new Flow.Activity.Reply(name, operation, partnerLink, portType, result.inputBindings,
-                result.targets, element);
+                result.targets, SourceElement.of(element));
     }
 
     private static Flow.Activity.Empty parseEmpty(Element element) {
         String name = element.getAttribute("name");
-        return new Flow.Activity.Empty(name, element);
+        return new Flow.Activity.Empty(name, SourceElement.of(element));
     }
 
     private static Flow.Activity.Pick parsePick(Element element) {
         boolean createInstance = expectBooleanAttribute(element, "createInstance");
         Flow.Activity.Pick.OnMessage onMessage = parseOnMessage(
                 getFirstChildWithTag(element, "onMessage"));
-        return new Flow.Activity.Pick(createInstance, onMessage, element);
+        return new Flow.Activity.Pick(createInstance, onMessage, SourceElement.of(element));
     }
 
     private static Flow.Activity.Pick.OnMessage parseOnMessage(Element element) {
@@ -791,7 +885,7 @@ public final class XmlToTibcoModelConverter {
             }
         }
         return new Flow.Activity.Invoke(inputVariable, outputVariable, operation, partnerLink,
-                inputBindings, targets, sources, element);
+                inputBindings, targets, sources, SourceElement.of(element));
     }
 
     private static List<? extends Flow.Activity.InputBinding> parseInputBindings(Element element) {
@@ -918,7 +1012,7 @@ public final class XmlToTibcoModelConverter {
             targets = List.of();
         }
         return new Flow.Activity.ExtActivity(expression, inputVariable, outputVariable, sources,
-                targets, inputBindings, callProcess, element);
+                targets, inputBindings, callProcess, SourceElement.of(element));
     }
 
     private static Flow.Activity.ExtActivity.CallProcess parseCallProcesses(Element element) {
@@ -946,7 +1040,7 @@ public final class XmlToTibcoModelConverter {
         inputBindingElement.ifPresent(elem -> inputBindings.addAll(parseInputBindings(elem)));
         Config config = parseActivityExtensionConfig(getFirstChildWithTag(activity, "config"));
         return new Flow.Activity.ActivityExtension(name, inputVariable, outputVariable, targets,
-                sources, inputBindings, config, activity);
+                sources, inputBindings, config, SourceElement.of(activity));
     }
 
     private static Collection<Flow.Activity.Target> parseTargets(Element each) {
@@ -1047,7 +1141,7 @@ public final class XmlToTibcoModelConverter {
                 .map(XmlToTibcoModelConverter::parseSource).toList();
 
         return new Flow.Activity.ReceiveEvent(createInstance, eventTimeout, variable, sources,
-                activity);
+                SourceElement.of(activity));
     }
 
     private static Flow.Activity.Source parseSource(Element element) {
@@ -1555,7 +1649,7 @@ public final class XmlToTibcoModelConverter {
     static class ParserException extends RuntimeException {
 
         public ParserException(String message, Element element) {
-            super("[ParseError] : " + message + "\n" + ConversionUtils.elementToString(element));
+            super("[ParseError] : " + message + "\n" + SourceElement.serialize(element));
         }
 
     }
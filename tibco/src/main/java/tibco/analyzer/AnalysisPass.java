@@ -22,34 +22,31 @@ import org.jetbrains.annotations.NotNull;
 import tibco.TibcoModel;
 
 import java.util.Collection;
-import java.util.stream.Stream;
-
+import java.util.List;
+
+/**
+ * Base class for analysis passes over a {@link TibcoModel.Process}.
+ * <p>
+ * The traversal itself is done by {@link AnalysisTraversal}, which calls the hooks of this class in the same order for
+ * every pass. Passes only need to override the hooks they are interested in. Since the traversal is shared, several
+ * passes can be run over a process in a single traversal (see {@link AnalysisTraversal#analyseProcess}).
+ */
 public class AnalysisPass {
     public void analyseProcess(ProcessAnalysisContext cx, TibcoModel.Process process) {
-        analyseTypes(cx, process.types());
-        analysePartnerLinks(cx, process.partnerLinks());
-        analyzeVariables(cx, process.variables());
-        if (process.scope() != null) {
-            analyseScope(cx, process.scope());
-        }
-        if (process.transitionGroup() != null) {
-            analyseExplicitTransitionGroup(cx, process.transitionGroup());
-        }
+        AnalysisTraversal.analyseProcess(process, List.of(new AnalysisTraversal.PassState(this, cx)));
     }
 
     public @NotNull AnalysisResult getResult(ProcessAnalysisContext cx, TibcoModel.Process process) {
         return AnalysisResult.empty();
     }
 
-    protected void analyseExplicitTransitionGroup(
+    // Whether the scopes of activities with a scope (ex: loops) should be visited by this pass
+    protected boolean analyseNestedScopes() {
+        return true;
+    }
+
+    protected void enterExplicitTransitionGroup(
             ProcessAnalysisContext cx, TibcoModel.Process.ExplicitTransitionGroup explicitTransitionGroup) {
-        explicitTransitionGroup.transitions().forEach(each -> analyseTransition(cx, explicitTransitionGroup, each));
-        explicitTransitionGroup.activities().forEach(each -> analyseActivity(cx, each));
-        explicitTransitionGroup.activities().stream()
-                .flatMap(each ->
-                        each instanceof TibcoModel.Process.ExplicitTransitionGroup.NestedGroup nestedGroup ?
-                                Stream.of(nestedGroup.body()) : Stream.empty())
-                .forEach(each -> analyseExplicitTransitionGroup(cx, each));
     }
 
     protected void analyseTransition(
@@ -57,6 +54,12 @@ public class AnalysisPass {
             TibcoModel.Process.ExplicitTransitionGroup.Transition transition) {
     }
 
+    protected void analyseTransitionGroupActivity(
+            ProcessAnalysisContext cx, TibcoModel.Process.ExplicitTransitionGroup explicitTransitionGroup,
+            TibcoModel.Process.ExplicitTransitionGroup.InlineActivity activity) {
+        analyseActivity(cx, activity);
+    }
+
     protected void analyzeVariables(ProcessAnalysisContext cx, Collection<TibcoModel.Variable> variables) {
 
     }
@@ -78,25 +81,30 @@ public class AnalysisPass {
 
     }
 
-    protected void analyseScope(ProcessAnalysisContext cx, TibcoModel.Scope scope) {
-        scope.flows().forEach(flow -> analyseFlow(cx, flow));
-        scope.faultHandlers().forEach(faultHandler -> analyseActivity(cx, faultHandler));
-        scope.sequence().forEach(sequence -> analyseSequence(cx, sequence));
+    protected void enterScope(ProcessAnalysisContext cx, TibcoModel.Scope scope) {
     }
 
-    protected void analyseSequence(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence) {
-        sequence.activities().forEach(each -> analyseActivity(cx, each));
+    protected void exitScope(ProcessAnalysisContext cx, TibcoModel.Scope scope) {
     }
 
-    protected void analyseFlow(ProcessAnalysisContext cx, TibcoModel.Scope.Flow flow) {
-        flow.links().forEach(link -> analyseLink(cx, link));
-        flow.activities().forEach(activity -> analyseActivity(cx, activity));
+    protected void enterSequence(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence) {
     }
 
+    // Called before analysing the activity at the given index of the sequence
+    protected void analyseSequenceStep(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence, int index) {
+    }
+
+    protected void exitSequence(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence) {
+    }
+
+    protected void enterFlow(ProcessAnalysisContext cx, TibcoModel.Scope.Flow flow) {
+    }
+
+    protected void exitFlow(ProcessAnalysisContext cx, TibcoModel.Scope.Flow flow) {
+    }
+
+    // Nested scopes of the activity are visited after this by the traversal
     protected void analyseActivity(ProcessAnalysisContext cx, TibcoModel.Scope.Flow.Activity activity) {
-        if (activity instanceof TibcoModel.Scope.Flow.Activity.ActivityWithScope activityWithScope) {
-            analyseScope(cx, activityWithScope.scope());
-        }
 
     }
 
@@ -189,6 +189,26 @@ public final class AnalysisResult {
         return sortedActivitiesInner(dependencyGraph);
     }
 
+    /**
+     * Activities of the scope grouped into levels that can run one after the other. Activities of the same level are
+     * not connected by links, so they can run concurrently once the activities of the earlier levels are done.
+     */
+    public Stream<List<TibcoModel.Scope.Flow.Activity>> concurrentActivities(TibcoModel.Scope scope) {
+        Graph<GraphNode> dependencyGraph = dependencyGraphs.get(scope);
+        if (dependencyGraph == null) {
+            throw new IllegalArgumentException("No dependency graph found for scope: " + scope);
+        }
+        return activityLevels(dependencyGraph);
+    }
+
+    public Stream<List<TibcoModel.Scope.Flow.Activity>> concurrentActivities(ExplicitTransitionGroup group) {
+        Graph<GraphNode> dependencyGraph = explicitTransitionGroupDependencies.get(group);
+        if (dependencyGraph == null) {
+            throw new IllegalArgumentException("No dependency graph found for group: " + group);
+        }
+        return activityLevels(dependencyGraph);
+    }
+
     public Stream<TibcoModel.Scope.Flow.Activity> sortedErrorHandlerActivities(ExplicitTransitionGroup group) {
         Graph<GraphNode> dependencyGraph = explicitTransitionGroupDependencies.get(group);
         if (dependencyGraph == null) {
@@ -222,6 +242,17 @@ public final class AnalysisResult {
                 .map(node -> (TibcoModel.Scope.Flow.Activity) node.data);
     }
 
+    private static @NotNull Stream<List<TibcoModel.Scope.Flow.Activity>> activityLevels(
+            Graph<GraphNode> dependencyGraph) {
+        return dependencyGraph.levels().stream()
+                .map(level -> level.stream()
+                        .filter(node -> node.kind == GraphNode.Kind.ACTIVITY ||
+                                node.kind == GraphNode.Kind.INLINE_ACTIVITY)
+                        .map(node -> (TibcoModel.Scope.Flow.Activity) node.data)
+                        .toList())
+                .filter(level -> !level.isEmpty());
+    }
+
     public Collection<TibcoModel.Scope> scopes(TibcoModel.Process process) {
         return Objects.requireNonNull(scopes.get(process));
     }
@@ -266,6 +297,34 @@ public final class AnalysisResult {
         return result;
     }
 
+    /**
+     * Returns a copy of this result where the function names allocated for activities, scopes and transition groups
+     * are replaced with the given names. Entries without a replacement keep their current name.
+     */
+    AnalysisResult withFunctionNames(Map<TibcoModel.Scope.Flow.Activity, String> activityNames,
+                                     Map<TibcoModel.Scope, String> scopeNames,
+                                     Map<ExplicitTransitionGroup, String> transitionGroupNames) {
+        Map<TibcoModel.Scope.Flow.Activity, ActivityData> renamedActivityData = new HashMap<>(activityData.size());
+        activityData.forEach((activity, data) -> renamedActivityData.put(activity,
+                new ActivityData(activityNames.getOrDefault(activity, data.functionName()), data.argumentType(),
+                        data.returnType())));
+        var result = new AnalysisResult(destinationMap, sourceMap, Collections.unmodifiableMap(renamedActivityData),
+                partnerLinkBindings, queryIndex, inputTypeNames, outputTypeName, variableTypes, dependencyGraphs,
+                renameControlFlowFunctions(controlFlowFunctions, scopeNames), scopes, activityByName,
+                explicitTransitionGroupDependencies,
+                renameControlFlowFunctions(explicitTransitionGroupControlFlowFunctions, transitionGroupNames));
+        result.report = report;
+        return result;
+    }
+
+    private static <K> Map<K, ControlFlowFunctions> renameControlFlowFunctions(
+            Map<K, ControlFlowFunctions> controlFlowFunctions, Map<K, String> names) {
+        Map<K, ControlFlowFunctions> renamed = new HashMap<>(controlFlowFunctions.size());
+        controlFlowFunctions.forEach((key, functions) -> renamed.put(key,
+                names.containsKey(key) ? ControlFlowFunctions.fromBaseName(names.get(key)) : functions));
+        return Collections.unmodifiableMap(renamed);
+    }
+
     private static <K, V> Map<K, V> combineMap(Map<K, V> map1, Map<K, V> map2) {
         Map<K, V> map = new HashMap<>(map1.size() + map2.size());
         map.putAll(map1);
@@ -300,6 +359,10 @@ public final class AnalysisResult {
     }
 
     public record ControlFlowFunctions(String scopeFn, String activityRunner, String errorHandler) {
+
+        static ControlFlowFunctions fromBaseName(String name) {
+            return new ControlFlowFunctions(name + "ScopeFn", name + "ActivityRunner", name + "FaultHandler");
+        }
     }
 
     /**
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.analyzer;
+
+import tibco.TibcoModel;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup;
+
+import java.util.List;
+
+/**
+ * Walks a {@link TibcoModel.Process} once and dispatches each node to every registered {@link AnalysisPass}.
+ * <p>
+ * Each pass is paired with its own {@link ProcessAnalysisContext} so that the passes don't see each other's state.
+ * Passes are called in registration order at every node, which gives each pass the same sequence of hooks it would
+ * see if it traversed the process on its own.
+ */
+public final class AnalysisTraversal {
+
+    private AnalysisTraversal() {
+
+    }
+
+    public record PassState(AnalysisPass pass, ProcessAnalysisContext cx) {
+
+    }
+
+    public static void analyseProcess(TibcoModel.Process process, List<PassState> passes) {
+        passes.forEach(each -> each.pass().analyzeVariables(each.cx(), process.variables()));
+        passes.forEach(each -> each.pass().analysePartnerLinks(each.cx(), process.partnerLinks()));
+        passes.forEach(each -> each.pass().analyseTypes(each.cx(), process.types()));
+        if (process.scope() != null) {
+            analyseScope(process.scope(), passes);
+        }
+        process.processInterface().ifPresent(processInterface ->
+                passes.forEach(each -> each.pass().analyzeProcessInterface(each.cx(), processInterface)));
+        if (process.transitionGroup() != null) {
+            analyseExplicitTransitionGroup(process.transitionGroup(), passes);
+        }
+    }
+
+    private static void analyseScope(TibcoModel.Scope scope, List<PassState> passes) {
+        passes.forEach(each -> each.pass().enterScope(each.cx(), scope));
+        for (TibcoModel.Scope.Flow flow : scope.flows()) {
+            analyseFlow(flow, passes);
+        }
+        for (TibcoModel.Scope.Flow.Activity faultHandler : scope.faultHandlers()) {
+            analyseActivity(faultHandler, passes);
+        }
+        for (TibcoModel.Scope.Sequence sequence : scope.sequence()) {
+            analyseSequence(sequence, passes);
+        }
+        passes.forEach(each -> each.pass().exitScope(each.cx(), scope));
+    }
+
+    private static void analyseFlow(TibcoModel.Scope.Flow flow, List<PassState> passes) {
+        passes.forEach(each -> each.pass().enterFlow(each.cx(), flow));
+        for (TibcoModel.Scope.Flow.Link link : flow.links()) {
+            passes.forEach(each -> each.pass().analyseLink(each.cx(), link));
+        }
+        for (TibcoModel.Scope.Flow.Activity activity : flow.activities()) {
+            analyseActivity(activity, passes);
+        }
+        passes.forEach(each -> each.pass().exitFlow(each.cx(), flow));
+    }
+
+    private static void analyseSequence(TibcoModel.Scope.Sequence sequence, List<PassState> passes) {
+        passes.forEach(each -> each.pass().enterSequence(each.cx(), sequence));
+        List<TibcoModel.Scope.Flow.Activity> activities = sequence.activities();
+        for (int i = 0; i < activities.size(); i++) {
+            int index = i;
+            passes.forEach(each -> each.pass().analyseSequenceStep(each.cx(), sequence, index));
+            analyseActivity(activities.get(i), passes);
+        }
+        passes.forEach(each -> each.pass().exitSequence(each.cx(), sequence));
+    }
+
+    private static void analyseActivity(TibcoModel.Scope.Flow.Activity activity, List<PassState> passes) {
+        passes.forEach(each -> each.pass().analyseActivity(each.cx(), activity));
+        analyseNestedScope(activity, passes);
+    }
+
+    private static void analyseNestedScope(TibcoModel.Scope.Flow.Activity activity, List<PassState> passes) {
+        if (!(activity instanceof TibcoModel.Scope.Flow.Activity.ActivityWithScope activityWithScope)) {
+            return;
+        }
+        List<PassState> nestedPasses = passes.stream().filter(each -> each.pass().analyseNestedScopes()).toList();
+        if (!nestedPasses.isEmpty()) {
+            analyseScope(activityWithScope.scope(), nestedPasses);
+        }
+    }
+
+    private static void analyseExplicitTransitionGroup(ExplicitTransitionGroup explicitTransitionGroup,
+                                                       List<PassState> passes) {
+        passes.forEach(each -> each.pass().enterExplicitTransitionGroup(each.cx(), explicitTransitionGroup));
+        for (ExplicitTransitionGroup.Transition transition : explicitTransitionGroup.transitions()) {
+            passes.forEach(each -> each.pass().analyseTransition(each.cx(), explicitTransitionGroup, transition));
+        }
+        for (ExplicitTransitionGroup.InlineActivity activity : explicitTransitionGroup.activities()) {
+            passes.forEach(each ->
+                    each.pass().analyseTransitionGroupActivity(each.cx(), explicitTransitionGroup, activity));
+            analyseNestedScope(activity, passes);
+        }
+        for (ExplicitTransitionGroup.InlineActivity activity : explicitTransitionGroup.activities()) {
+            if (activity instanceof ExplicitTransitionGroup.InlineActivityWithBody inlineActivityWithBody) {
+                analyseExplicitTransitionGroup(inlineActivityWithBody.body(), passes);
+            }
+        }
+    }
+}
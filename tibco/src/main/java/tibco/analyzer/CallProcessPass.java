@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.analyzer;
+
+import tibco.TibcoModel;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup.InlineActivity;
+import tibco.TibcoModel.Scope.Flow.Activity.ExtActivity;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects the names of the processes called by a process, in the order the calls appear in the process.
+ */
+public final class CallProcessPass extends AnalysisPass {
+
+    private final Set<String> calleeNames = new LinkedHashSet<>();
+
+    public static Set<String> calleeNames(TibcoModel.Process process) {
+        CallProcessPass pass = new CallProcessPass();
+        pass.analyseProcess(new ProcessAnalysisContext(new ProjectAnalysisContext()), process);
+        return Collections.unmodifiableSet(pass.calleeNames);
+    }
+
+    @Override
+    protected void analyseActivity(ProcessAnalysisContext cx, TibcoModel.Scope.Flow.Activity activity) {
+        switch (activity) {
+            case InlineActivity.CallProcess callProcess -> calleeNames.add(callProcess.processName());
+            case ExtActivity extActivity -> calleeNames.add(extActivity.callProcess().subprocessName());
+            default -> {
+            }
+        }
+    }
+}
@@ -38,11 +38,6 @@ public final class DefaultAnalysisPass extends AnalysisPass {
 
     }
 
-    @Override
-    public void analyseProcess(ProcessAnalysisContext cx, TibcoModel.Process process) {
-        analyseProcessInner(cx, process);
-    }
-
     @Override
     public @NotNull AnalysisResult getResult(ProcessAnalysisContext cx, TibcoModel.Process process) {
         Map<TibcoModel.Scope.Flow.Activity, AnalysisResult.ActivityData> activityData = cx.activityData();
@@ -67,21 +62,8 @@ public final class DefaultAnalysisPass extends AnalysisPass {
                 cx.getExplicitTransitionGroupDependencyGraph(), cx.getTransitionGroupControlFlowFunctions());
     }
 
-    private void analyseProcessInner(ProcessAnalysisContext cx, TibcoModel.Process process) {
-        analyzeVariables(cx, process.variables());
-        analysePartnerLinks(cx, process.partnerLinks());
-        analyseTypes(cx, process.types());
-        if (process.scope() != null) {
-            analyseScope(cx, process.scope());
-        }
-        process.processInterface().ifPresent(i -> analyzeProcessInterface(cx, i));
-        if (process.transitionGroup() != null) {
-            analyseExplicitTransitionGroup(cx, process.transitionGroup());
-        }
-    }
-
     @Override
-    protected void analyseExplicitTransitionGroup(
+    protected void enterExplicitTransitionGroup(
             ProcessAnalysisContext cx, ExplicitTransitionGroup explicitTransitionGroup) {
         cx.allocateControlFlowFunctionsIfNeeded(explicitTransitionGroup);
         Graph<AnalysisResult.GraphNode> graph = cx.getExplicitTransitionGroupGraph(explicitTransitionGroup);
@@ -94,21 +76,16 @@ public final class DefaultAnalysisPass extends AnalysisPass {
         ExplicitTransitionGroup.InlineActivity startActivity = explicitTransitionGroup.startActivity();
         activityNodes.put(startActivity.name(), cx.activityNode(startActivity));
         graph.addRoot(activityNodes.get(startActivity.name()));
-        explicitTransitionGroup.transitions().forEach(transition -> {
-            analyseTransition(cx, explicitTransitionGroup, transition);
-        });
+        // Transitions only add edges between the nodes created above, so names can be allocated before them
         cx.allocateActivityNameIfNeeded(startActivity);
         explicitTransitionGroup.activities().forEach(cx::allocateActivityNameIfNeeded);
-        explicitTransitionGroup.activities().stream()
-                .flatMap(each -> {
-                    if (each instanceof ExplicitTransitionGroup.InlineActivityWithBody inlineActivityWithBody) {
-                        return Stream.of(inlineActivityWithBody);
-                    } else {
-                        return Stream.empty();
-                    }
-                })
-                .map(ExplicitTransitionGroup.InlineActivityWithBody::body)
-                .forEach(each -> analyseExplicitTransitionGroup(cx, each));
+    }
+
+    @Override
+    protected void analyseTransitionGroupActivity(
+            ProcessAnalysisContext cx, ExplicitTransitionGroup explicitTransitionGroup,
+            ExplicitTransitionGroup.InlineActivity activity) {
+        // Names for these are allocated when entering the group
     }
 
     @Override
@@ -218,43 +195,49 @@ public final class DefaultAnalysisPass extends AnalysisPass {
 
 
     @Override
-    protected void analyseScope(ProcessAnalysisContext cx, TibcoModel.Scope scope) {
+    protected void enterScope(ProcessAnalysisContext cx, TibcoModel.Scope scope) {
         cx.allocateControlFlowFunctionsIfNeeded(scope);
         cx.pushScope(scope);
-        scope.flows().forEach(flow -> analyseFlow(cx, flow));
-        scope.faultHandlers().forEach(faultHandler -> analyseActivity(cx, faultHandler));
-        scope.sequence().forEach(sequence -> analyseSequence(cx, sequence));
-        cx.popScope();
     }
 
+    @Override
+    protected void exitScope(ProcessAnalysisContext cx, TibcoModel.Scope scope) {
+        cx.popScope();
+    }
 
     @Override
-    protected void analyseSequence(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence) {
+    protected void enterSequence(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence) {
         cx.getInSequence().push(true);
+    }
+
+    @Override
+    protected void analyseSequenceStep(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence, int index) {
         List<TibcoModel.Scope.Flow.Activity> activities = sequence.activities();
-        for (int i = 0; i < activities.size(); i++) {
-            TibcoModel.Scope.Flow.Activity activity = activities.get(i);
-            if (i == 0) {
-                cx.addStartActivity(activity);
-            } else {
-                cx.addDestination(activities.get(i - 1), activity);
-            }
-            if (i == activities.size() - 1) {
-                cx.addEndActivity(activity);
-            }
-            analyseActivity(cx, activity);
+        TibcoModel.Scope.Flow.Activity activity = activities.get(index);
+        if (index == 0) {
+            cx.addStartActivity(activity);
+        } else {
+            cx.addDestination(activities.get(index - 1), activity);
+        }
+        if (index == activities.size() - 1) {
+            cx.addEndActivity(activity);
         }
+    }
+
+    @Override
+    protected void exitSequence(ProcessAnalysisContext cx, TibcoModel.Scope.Sequence sequence) {
         cx.getInSequence().pop();
     }
 
     @Override
-    protected void analyseFlow(ProcessAnalysisContext cx, TibcoModel.Scope.Flow flow) {
+    protected void enterFlow(ProcessAnalysisContext cx, TibcoModel.Scope.Flow flow) {
         cx.getInSequence().push(false);
-        flow.links().forEach(link -> analyseLink(cx, link));
-        flow.activities().forEach(activity -> analyseActivity(cx, activity));
-        cx.getInSequence().pop();
     }
 
+    @Override
+    protected void exitFlow(ProcessAnalysisContext cx, TibcoModel.Scope.Flow flow) {
+        cx.getInSequence().pop();
+    }
 
     @Override
     protected void analyseLink(ProcessAnalysisContext cx, TibcoModel.Scope.Flow.Link link) {
@@ -291,8 +274,8 @@ public final class DefaultAnalysisPass extends AnalysisPass {
     }
 
     private void analyseActivityInner(ProcessAnalysisContext cx, TibcoModel.Scope.Flow.Activity activity) {
-        if (activity instanceof TibcoModel.Scope.Flow.Activity.ActivityWithScope activityWithScope) {
-            analyseScope(cx, activityWithScope.scope());
+        if (activity instanceof TibcoModel.Scope.Flow.Activity.ActivityWithScope) {
+            // The scope itself is visited by the traversal
             return;
         }
 
@@ -66,6 +66,28 @@ class Graph<E> {
         return result;
     }
 
+    /**
+     * Groups the nodes reachable from the roots by the length of the longest path that reaches them. There is no path
+     * between two nodes of the same level, and every parent of a node is in an earlier level. Nodes of a level keep
+     * their order in {@link #topologicalSort()}.
+     */
+    List<List<E>> levels() {
+        List<E> sorted = topologicalSort();
+        Map<E, Integer> depths = new HashMap<>();
+        List<List<E>> levels = new ArrayList<>();
+        for (E node : sorted) {
+            int depth = depths.getOrDefault(node, 0);
+            while (levels.size() <= depth) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(depth).add(node);
+            for (E child : children.getOrDefault(node, List.of())) {
+                depths.merge(child, depth + 1, Math::max);
+            }
+        }
+        return levels;
+    }
+
     private boolean dfsVisit(E node, Set<E> visited, Set<E> temp, List<E> result) {
         if (temp.contains(node)) {
             return false; // Cycle detected
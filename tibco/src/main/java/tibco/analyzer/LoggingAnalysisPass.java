@@ -29,6 +29,11 @@ public class LoggingAnalysisPass extends AnalysisPass {
     private int totalActivityCount = 0;
     private int unhandledActivityCount = 0;
 
+    @Override
+    protected boolean analyseNestedScopes() {
+        return false;
+    }
+
     @Override
     protected void analyseActivity(ProcessAnalysisContext cx, TibcoModel.Scope.Flow.Activity activity) {
         totalActivityCount++;
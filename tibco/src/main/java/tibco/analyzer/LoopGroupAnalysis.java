@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.analyzer;
+
+import tibco.TibcoModel.Process.ExplicitTransitionGroup;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup.InlineActivity;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup.InlineActivityWithBody;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup.NestedGroup.LoopGroup;
+import tibco.TibcoModel.Scope.Flow.Activity.Expression;
+import tibco.TibcoModel.Scope.Flow.Activity.InputBinding;
+import tibco.xslt.XsltDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decides whether the iterations of a {@link LoopGroup} can run concurrently.
+ * <p>
+ * Each iteration of a concurrent loop runs against its own copy of the context, with the index and element slots set
+ * for that iteration, and the copy of the last iteration is written back to the context once all of them are done.
+ * So iterations are independent unless the body carries state from one iteration to the next. That is the case when
+ * the input bindings of an activity of the body read the accumulated output of the loop, or an activity assigns a
+ * process variable that later iterations and the rest of the process can read. Activities that could not be
+ * converted are assumed to do either.
+ */
+public final class LoopGroupAnalysis {
+
+    private LoopGroupAnalysis() {
+    }
+
+    public static boolean hasIndependentIterations(LoopGroup loop) {
+        // Names with spaces are referred to with dashes in XPath expressions
+        Optional<String> outputName = loop.activityOutputName()
+                .filter(name -> !name.isEmpty())
+                .map(name -> name.replace(' ', '-'));
+        for (InlineActivity activity : bodyActivities(loop.body())) {
+            if (activity instanceof InlineActivity.AssignActivity ||
+                    activity instanceof InlineActivity.UnhandledInlineActivity) {
+                return false;
+            }
+            if (outputName.isPresent() && referencedNames(activity).contains(outputName.get())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Names of the variables and activity outputs read by the expressions of the activity
+    private static Set<String> referencedNames(InlineActivity activity) {
+        Stream<String> names = activity.hasInputBinding() ? bindingExpressions(activity.inputBinding())
+                .flatMap(expression -> referencedNames(expression).stream()) : Stream.empty();
+        if (activity instanceof LoopGroup nested) {
+            Stream<String> over = Stream.concat(Stream.of(nested.over().variableName()),
+                    nested.over().xPath().stream().flatMap(
+                            xPath -> XsltDocument.referencedParametersOfXPath(xPath).stream()));
+            Stream<String> returned = nested.body().returnBindings().stream()
+                    .flatMap(expression -> referencedNames(expression).stream());
+            names = Stream.of(names, over, returned).flatMap(each -> each);
+        }
+        return names.collect(Collectors.toSet());
+    }
+
+    private static Stream<Expression> bindingExpressions(InputBinding inputBinding) {
+        return switch (inputBinding) {
+            case InputBinding.CompleteBinding completeBinding -> Stream.of(completeBinding.expression());
+            case InputBinding.PartialBindings partialBindings -> partialBindings.expressions().stream();
+        };
+    }
+
+    private static Set<String> referencedNames(Expression expression) {
+        return switch (expression) {
+            case Expression.XSLT xslt -> XsltDocument.referencedParameters(xslt.expression());
+            case Expression.XPath xPath -> XsltDocument.referencedParametersOfXPath(xPath.expression());
+        };
+    }
+
+    // Activities of the body, including the ones in nested groups
+    private static List<InlineActivity> bodyActivities(ExplicitTransitionGroup body) {
+        List<InlineActivity> activities = new ArrayList<>();
+        addBodyActivities(body, activities);
+        return activities;
+    }
+
+    private static void addBodyActivities(ExplicitTransitionGroup body, List<InlineActivity> accum) {
+        if (body.startActivity() != null) {
+            accum.add(body.startActivity());
+        }
+        for (InlineActivity activity : body.activities()) {
+            accum.add(activity);
+            if (activity instanceof InlineActivityWithBody withBody) {
+                addBodyActivities(withBody.body(), accum);
+            }
+        }
+    }
+}
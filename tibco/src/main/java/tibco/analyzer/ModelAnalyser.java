@@ -19,35 +19,133 @@
 package tibco.analyzer;
 
 import tibco.TibcoModel;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 public class ModelAnalyser {
 
     private final List<AnalysisPass> passes;
+    private final boolean fused;
 
     public ModelAnalyser(List<AnalysisPass> passes) {
+        this(passes, true);
+    }
+
+    /**
+     * @param passes passes to run on each process, in the order they should run
+     * @param fused  if {@code true} all passes are run in a single traversal of each process, otherwise each pass
+     *               traverses the process on its own
+     */
+    public ModelAnalyser(List<AnalysisPass> passes, boolean fused) {
         this.passes = passes;
+        this.fused = fused;
     }
 
     public Map<TibcoModel.Process, AnalysisResult> analyseProcesses(ProjectAnalysisContext cx,
                                                                     Collection<TibcoModel.Process> processes) {
         Map<TibcoModel.Process, AnalysisResult> analysisResults = new HashMap<>();
         for (TibcoModel.Process process : processes) {
-            AnalysisResult combined = AnalysisResult.empty();
-            for (AnalysisPass pass : passes) {
-                ProcessAnalysisContext analysisContext = new ProcessAnalysisContext(cx);
-                pass.analyseProcess(analysisContext, process);
-                AnalysisResult result = pass.getResult(analysisContext, process);
-                combined = combined.combine(result);
+            analysisResults.put(process, analyseProcess(cx, process, passes, fused));
+        }
+        return Collections.unmodifiableMap(analysisResults);
+    }
+
+    /**
+     * Analyses the processes concurrently on a {@link ForkJoinPool}.
+     * <p>
+     * Since passes keep state while visiting a process, each process gets its own pass instances from
+     * {@code passFactories}. Each process is analysed against an isolated {@link ProjectAnalysisContext}, and the
+     * function names it allocated are then allocated again in the shared context following the iteration order of
+     * {@code processes}. This gives the same names as {@link #analyseProcesses} irrespective of scheduling.
+     *
+     * @param cx            shared project analysis context
+     * @param processes     processes to analyse
+     * @param passFactories factories for the passes to run on each process, in the order they should run
+     * @param parallelism   number of worker threads to use
+     * @return analysis results in the iteration order of {@code processes}
+     */
+    public static Map<TibcoModel.Process, AnalysisResult> analyseProcessesConcurrently(
+            ProjectAnalysisContext cx, Collection<TibcoModel.Process> processes,
+            List<Supplier<? extends AnalysisPass>> passFactories, int parallelism) {
+        List<IsolatedAnalysis> analyses;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            analyses = pool.submit(() -> processes.parallelStream()
+                    .map(process -> analyseInIsolation(process, passFactories))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while analysing processes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-            analysisResults.put(process, combined);
+            throw new IllegalStateException("Error while analysing processes", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<TibcoModel.Process, AnalysisResult> analysisResults = new LinkedHashMap<>();
+        for (IsolatedAnalysis analysis : analyses) {
+            analysisResults.put(analysis.process(), analysis.allocateNames(cx));
         }
         return Collections.unmodifiableMap(analysisResults);
     }
 
+    private static IsolatedAnalysis analyseInIsolation(TibcoModel.Process process,
+                                                       List<Supplier<? extends AnalysisPass>> passFactories) {
+        ProjectAnalysisContext isolatedContext = new ProjectAnalysisContext(true);
+        List<AnalysisPass> passes = passFactories.stream().<AnalysisPass>map(Supplier::get).toList();
+        return new IsolatedAnalysis(process, analyseProcess(isolatedContext, process, passes, true),
+                isolatedContext);
+    }
+
+    private static AnalysisResult analyseProcess(ProjectAnalysisContext cx, TibcoModel.Process process,
+                                                 List<AnalysisPass> passes, boolean fused) {
+        List<AnalysisTraversal.PassState> states = passes.stream()
+                .map(pass -> new AnalysisTraversal.PassState(pass, new ProcessAnalysisContext(cx)))
+                .toList();
+        if (fused) {
+            AnalysisTraversal.analyseProcess(process, states);
+        } else {
+            states.forEach(state -> state.pass().analyseProcess(state.cx(), process));
+        }
+        AnalysisResult combined = AnalysisResult.empty();
+        for (AnalysisTraversal.PassState state : states) {
+            AnalysisResult result = state.pass().getResult(state.cx(), process);
+            combined = combined.combine(result);
+        }
+        return combined;
+    }
+
+    private record IsolatedAnalysis(TibcoModel.Process process, AnalysisResult result,
+                                    ProjectAnalysisContext isolatedContext) {
+
+        AnalysisResult allocateNames(ProjectAnalysisContext cx) {
+            Map<TibcoModel.Scope.Flow.Activity, String> activityNames = new HashMap<>();
+            Map<TibcoModel.Scope, String> scopeNames = new HashMap<>();
+            Map<ExplicitTransitionGroup, String> transitionGroupNames = new HashMap<>();
+            for (ProjectAnalysisContext.NameAllocation allocation : isolatedContext.allocations()) {
+                switch (allocation) {
+                    case ProjectAnalysisContext.NameAllocation.ActivityName(var activity, var requestedName) ->
+                            activityNames.put(activity, cx.allocateActivityFunctionName(activity, requestedName));
+                    case ProjectAnalysisContext.NameAllocation.ScopeName(var scope, var requestedName) ->
+                            scopeNames.put(scope, cx.allocateControlFlowFunctionName(scope, requestedName));
+                    case ProjectAnalysisContext.NameAllocation.TransitionGroupName(var group, var requestedName) ->
+                            transitionGroupNames.put(group, cx.allocateControlFlowFunctionName(group,
+                                    requestedName));
+                }
+            }
+            return result.withFunctionNames(activityNames, scopeNames, transitionGroupNames);
+        }
+    }
 }
@@ -180,9 +180,7 @@ public class ProcessAnalysisContext {
             }
             case ExplicitTransitionGroup.InlineActivity inlineActivity -> inlineActivity.name();
         };
-        String activityName = ConversionUtils.getSanitizedUniqueName(prefix,
-                activityFunctionNames.values());
-        activityFunctionNames.put(activity, activityName);
+        projectAnalysisContext.allocateActivityFunctionName(activity, prefix);
         activities.add(activity);
     }
 
@@ -256,11 +254,8 @@ public class ProcessAnalysisContext {
         if (name.isEmpty()) {
             name = "anonScope";
         }
-        Set<String> controlFlowFunctionNames = projectAnalysisContext.controlFlowFunctionNames();
-        name = ConversionUtils.getSanitizedUniqueName(name, controlFlowFunctionNames);
-        controlFlowFunctionNames.add(name);
-        controlFlowFunctions.put(scope, new AnalysisResult.ControlFlowFunctions(name + "ScopeFn",
-                name + "ActivityRunner", name + "FaultHandler"));
+        name = projectAnalysisContext.allocateControlFlowFunctionName(scope, name);
+        controlFlowFunctions.put(scope, AnalysisResult.ControlFlowFunctions.fromBaseName(name));
     }
 
 
@@ -269,14 +264,9 @@ public class ProcessAnalysisContext {
             return;
         }
         String name = "scope" + transitionGroupControlFlowFunctions.size();
-        Set<String> controlFlowFunctionNames = projectAnalysisContext.controlFlowFunctionNames();
-        name = ConversionUtils.getSanitizedUniqueName(name, controlFlowFunctionNames);
-        controlFlowFunctionNames.add(name);
+        name = projectAnalysisContext.allocateControlFlowFunctionName(transitionGroup, name);
         transitionGroupControlFlowFunctions.put(transitionGroup,
-                new AnalysisResult.ControlFlowFunctions(
-                        name + "ScopeFn",
-                        name + "ActivityRunner",
-                        name + "FaultHandler"));
+                AnalysisResult.ControlFlowFunctions.fromBaseName(name));
     }
 
     public String getOutputTypeName() {
@@ -19,9 +19,16 @@
 package tibco.analyzer;
 
 import tibco.TibcoModel;
+import tibco.TibcoModel.Process.ExplicitTransitionGroup;
+import tibco.converter.ConversionUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -30,8 +37,30 @@ public class ProjectAnalysisContext {
     private final Set<String> controlFlowFunctionNames = new LinkedHashSet<>();
     private final Map<TibcoModel.Scope.Flow.Activity, String> activityFunctionNames =
             new ConcurrentHashMap<>();
+    // Allocation requests in the order they were made, used to replay the allocations of an isolated analysis
+    private final Optional<List<NameAllocation>> allocations;
+    // Names defined outside the processes being analysed, which are never allocated
+    private final Set<String> reservedNames;
 
     public ProjectAnalysisContext() {
+        this(Set.of());
+    }
+
+    /**
+     * @param reservedNames module level names that must not be allocated, such as the names defined by the documents
+     *                      an incremental migration reuses
+     */
+    public ProjectAnalysisContext(Set<String> reservedNames) {
+        this(false, reservedNames);
+    }
+
+    ProjectAnalysisContext(boolean recordAllocations) {
+        this(recordAllocations, Set.of());
+    }
+
+    private ProjectAnalysisContext(boolean recordAllocations, Set<String> reservedNames) {
+        this.allocations = recordAllocations ? Optional.of(new ArrayList<>()) : Optional.empty();
+        this.reservedNames = Set.copyOf(reservedNames);
     }
 
     public Set<String> controlFlowFunctionNames() {
@@ -41,4 +70,62 @@ public class ProjectAnalysisContext {
     public Map<TibcoModel.Scope.Flow.Activity, String> activityFunctionNames() {
         return activityFunctionNames;
     }
+
+    synchronized String allocateActivityFunctionName(TibcoModel.Scope.Flow.Activity activity, String prefix) {
+        String allocatedName = activityFunctionNames.get(activity);
+        if (allocatedName != null) {
+            return allocatedName;
+        }
+        allocatedName = uniqueName(prefix, activityFunctionNames.values());
+        activityFunctionNames.put(activity, allocatedName);
+        allocations.ifPresent(each -> each.add(new NameAllocation.ActivityName(activity, prefix)));
+        return allocatedName;
+    }
+
+    synchronized String allocateControlFlowFunctionName(TibcoModel.Scope scope, String name) {
+        String allocatedName = allocateControlFlowFunctionName(name);
+        allocations.ifPresent(each -> each.add(new NameAllocation.ScopeName(scope, name)));
+        return allocatedName;
+    }
+
+    synchronized String allocateControlFlowFunctionName(ExplicitTransitionGroup transitionGroup, String name) {
+        String allocatedName = allocateControlFlowFunctionName(name);
+        allocations.ifPresent(each -> each.add(new NameAllocation.TransitionGroupName(transitionGroup, name)));
+        return allocatedName;
+    }
+
+    private String allocateControlFlowFunctionName(String name) {
+        String allocatedName = uniqueName(name, controlFlowFunctionNames);
+        controlFlowFunctionNames.add(allocatedName);
+        return allocatedName;
+    }
+
+    private String uniqueName(String name, Collection<String> allocatedNames) {
+        String uniqueName = ConversionUtils.getSanitizedUniqueName(name, allocatedNames);
+        for (int suffix = allocatedNames.size() + 1; reservedNames.contains(uniqueName); suffix++) {
+            String candidate = ConversionUtils.sanitizes(name) + "_" + suffix;
+            if (!allocatedNames.contains(candidate)) {
+                uniqueName = candidate;
+            }
+        }
+        return uniqueName;
+    }
+
+    List<NameAllocation> allocations() {
+        return allocations.map(Collections::unmodifiableList).orElse(List.of());
+    }
+
+    sealed interface NameAllocation {
+
+        record ActivityName(TibcoModel.Scope.Flow.Activity activity, String requestedName)
+                implements NameAllocation {
+        }
+
+        record ScopeName(TibcoModel.Scope scope, String requestedName) implements NameAllocation {
+        }
+
+        record TransitionGroupName(ExplicitTransitionGroup transitionGroup, String requestedName)
+                implements NameAllocation {
+        }
+    }
 }
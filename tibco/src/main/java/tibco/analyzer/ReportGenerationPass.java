@@ -33,6 +33,11 @@ public class ReportGenerationPass extends AnalysisPass {
     Collection<TibcoAnalysisReport.UnhandledActivityElement> reportElements = new ArrayList<>();
     int totalActivities = 0;
 
+    @Override
+    protected boolean analyseNestedScopes() {
+        return false;
+    }
+
     @Override
     protected void analyseActivity(ProcessAnalysisContext cx, TibcoModel.Scope.Flow.Activity activity) {
         totalActivities++;
@@ -19,34 +19,64 @@
 package tibco.analyzer;
 
 import common.AnalysisReport;
-import org.w3c.dom.Element;
+import tibco.TibcoModel.SourceElement;
 import tibco.analyzer.TibcoAnalysisReport.UnhandledActivityElement.NamedUnhandledActivityElement;
-import tibco.converter.ConversionUtils;
+import tibco.analyzer.TibcoAnalysisReport.UnhandledActivityElement.UnNamedUnhandledActivityElement;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+/**
+ * @param xsltTransformCount         number of XSLT transformations in the converted code
+ * @param compiledXsltTransformCount number of XSLT transformations that were translated to Ballerina instead of being
+ *                                   left to the XSLT module
+ */
 public record TibcoAnalysisReport(int totalActivityCount, int unhandledActivityCount,
-                                  Collection<UnhandledActivityElement> unhandledActivityElements) {
+                                  Collection<UnhandledActivityElement> unhandledActivityElements,
+                                  int xsltTransformCount, int compiledXsltTransformCount) {
     private static final String REPORT_TITLE = "Migration Assessment";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String NAMED_ELEMENT = "N";
+    private static final String UNNAMED_ELEMENT = "U";
 
     public TibcoAnalysisReport {
         assert totalActivityCount >= unhandledActivityCount;
+        assert xsltTransformCount >= compiledXsltTransformCount;
         unhandledActivityElements = Collections.unmodifiableCollection(unhandledActivityElements);
     }
 
+    public TibcoAnalysisReport(int totalActivityCount, int unhandledActivityCount,
+                               Collection<UnhandledActivityElement> unhandledActivityElements) {
+        this(totalActivityCount, unhandledActivityCount, unhandledActivityElements, 0, 0);
+    }
+
+    /**
+     * @return a copy of this report with the given XSLT transformation counts, which are only known once the project
+     *         is converted
+     */
+    public TibcoAnalysisReport withXsltTransformCounts(int xsltTransformCount, int compiledXsltTransformCount) {
+        return new TibcoAnalysisReport(totalActivityCount, unhandledActivityCount, unhandledActivityElements,
+                xsltTransformCount, compiledXsltTransformCount);
+    }
+
     sealed interface UnhandledActivityElement {
-        Element element();
+        SourceElement element();
 
         record NamedUnhandledActivityElement(String name, String type,
-                                             Element element) implements UnhandledActivityElement {
+                                             SourceElement element) implements UnhandledActivityElement {
 
         }
 
-        record UnNamedUnhandledActivityElement(Element element) implements UnhandledActivityElement {
+        record UnNamedUnhandledActivityElement(SourceElement element) implements UnhandledActivityElement {
 
         }
     }
@@ -74,14 +104,14 @@ public record TibcoAnalysisReport(int totalActivityCount, int unhandledActivityC
 
         // Add the representative elements for named types as strings
         for (Map.Entry<String, NamedUnhandledActivityElement> entry : namedTypeRepresentatives.entrySet()) {
-            elementsMap.put(entry.getKey(), ConversionUtils.elementToString(entry.getValue().element()));
+            elementsMap.put(entry.getKey(), entry.getValue().element().toXmlString());
         }
 
         // Add unnamed elements with unique keys as strings
         for (UnhandledActivityElement element : unhandledActivityElements) {
-            if (element instanceof UnhandledActivityElement.UnNamedUnhandledActivityElement) {
+            if (element instanceof UnNamedUnhandledActivityElement) {
                 elementsMap.put("unnamed-activity-" + (++unnamedCounter),
-                        ConversionUtils.elementToString(element.element()));
+                        element.element().toXmlString());
             }
         }
 
@@ -94,7 +124,71 @@ public record TibcoAnalysisReport(int totalActivityCount, int unhandledActivityC
         return new TibcoAnalysisReport(
                 report1.totalActivityCount() + report2.totalActivityCount(),
                 unhandledActivities.size(),
-                unhandledActivities);
+                unhandledActivities,
+                report1.xsltTransformCount() + report2.xsltTransformCount(),
+                report1.compiledXsltTransformCount() + report2.compiledXsltTransformCount());
+    }
+
+    /**
+     * Encodes the report as a single line of text, from which {@link #decode} restores an equivalent report. The
+     * source elements of unhandled activities are kept as their serialized form.
+     *
+     * @return the encoded report
+     */
+    public String encode() {
+        List<String> fields = new ArrayList<>(List.of(Integer.toString(totalActivityCount),
+                Integer.toString(unhandledActivityCount), Integer.toString(xsltTransformCount),
+                Integer.toString(compiledXsltTransformCount)));
+        for (UnhandledActivityElement element : unhandledActivityElements) {
+            if (element instanceof NamedUnhandledActivityElement named) {
+                fields.addAll(List.of(NAMED_ELEMENT, encodeText(named.name()), encodeText(named.type())));
+            } else {
+                fields.add(UNNAMED_ELEMENT);
+            }
+            fields.add(encodeText(element.element().toXmlString()));
+        }
+        return String.join(FIELD_SEPARATOR, fields);
+    }
+
+    /**
+     * @param encoded report encoded with {@link #encode}
+     * @return the decoded report, or {@link Optional#empty()} if {@code encoded} is not a valid encoded report
+     */
+    public static Optional<TibcoAnalysisReport> decode(String encoded) {
+        String[] fields = encoded.split(FIELD_SEPARATOR, -1);
+        if (fields.length < 4) {
+            return Optional.empty();
+        }
+        try {
+            List<UnhandledActivityElement> elements = new ArrayList<>();
+            int index = 4;
+            while (index < fields.length) {
+                String kind = fields[index++];
+                if (NAMED_ELEMENT.equals(kind) && index + 3 <= fields.length) {
+                    elements.add(new NamedUnhandledActivityElement(decodeText(fields[index]),
+                            decodeText(fields[index + 1]), SourceElement.ofXmlString(decodeText(fields[index + 2]))));
+                    index += 3;
+                } else if (UNNAMED_ELEMENT.equals(kind) && index + 1 <= fields.length) {
+                    elements.add(new UnNamedUnhandledActivityElement(
+                            SourceElement.ofXmlString(decodeText(fields[index]))));
+                    index++;
+                } else {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(new TibcoAnalysisReport(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                    elements, Integer.parseInt(fields[2]), Integer.parseInt(fields[3])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String encodeText(String text) {
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeText(String text) {
+        return new String(Base64.getDecoder().decode(text), StandardCharsets.UTF_8);
     }
 
     public static TibcoAnalysisReport empty() {
@@ -111,13 +205,23 @@ public record TibcoAnalysisReport(int totalActivityCount, int unhandledActivityC
         // Create a map of unhandled elements as strings
         Map<String, String> unhandledElementsMap = createUnhandledElementsMap();
 
+        Map<String, String> statistics = new LinkedHashMap<>();
+        if (xsltTransformCount > 0) {
+            statistics.put("XSLT transformations translated to Ballerina", "%d of %d (%.0f%%)".formatted(
+                    compiledXsltTransformCount, xsltTransformCount,
+                    100.0 * compiledXsltTransformCount / xsltTransformCount));
+            statistics.put("XSLT transformations left to the XSLT module",
+                    Integer.toString(xsltTransformCount - compiledXsltTransformCount));
+        }
+
         // Create and use a generic AnalysisReport
         AnalysisReport report = new AnalysisReport(
                 REPORT_TITLE,
                 totalActivityCount,
                 unhandledActivityCount,
                 "Activity",
-                unhandledElementsMap
+                unhandledElementsMap,
+                statistics
         );
 
         return report.toHTML();
@@ -39,7 +39,6 @@ import common.BallerinaModel.Statement.VarDeclStatment;
 import common.BallerinaModel.TypeDesc.StreamTypeDesc;
 import common.BallerinaModel.TypeDesc.UnionTypeDesc;
 import org.jetbrains.annotations.NotNull;
-import org.w3c.dom.Element;
 import tibco.TibcoModel;
 import tibco.TibcoModel.Process.ExplicitTransitionGroup.InlineActivity.AssignActivity;
 import tibco.TibcoModel.Process.ExplicitTransitionGroup.InlineActivity.CallProcess;
@@ -69,7 +68,9 @@ import tibco.TibcoModel.Scope.Flow.Activity.ReceiveEvent;
 import tibco.TibcoModel.Scope.Flow.Activity.Reply;
 import tibco.TibcoModel.Scope.Flow.Activity.Throw;
 import tibco.TibcoModel.Scope.Flow.Activity.UnhandledActivity;
+import tibco.TibcoToBalConverter;
 import tibco.analyzer.AnalysisResult;
+import tibco.analyzer.LoopGroupAnalysis;
 import tibco.xslt.AddMissingParameters;
 import tibco.xslt.IgnoreRootWrapper;
 import tibco.xslt.ReplaceDotAccessWithXPath;
@@ -101,6 +102,8 @@ import static tibco.converter.BallerinaSQLConstants.PARAMETERIZED_QUERY_TYPE;
 final class ActivityConverter {
 
     private static final TransformPipeline xsltTransformer = createXsltTransformer();
+    // Number of iterations of a concurrent loop that are started before waiting for them
+    private static final int LOOP_BATCH_SIZE = 8;
 
     private ActivityConverter() {
     }
@@ -114,6 +117,10 @@ final class ActivityConverter {
         return xsltTransformer;
     }
 
+    static TransformPipeline xsltTransformer() {
+        return xsltTransformer;
+    }
+
     public static BallerinaModel.Function convertActivity(ProcessContext cx, Activity activity) {
         return convertActivity(new ActivityContext(cx, activity), activity);
     }
@@ -328,17 +335,26 @@ final class ActivityConverter {
         if (loopGroup.over().xPath().isPresent()) {
             String xPath = loopGroup.over().xPath().get();
             cx.addLibraryImport(Library.XML_DATA);
+            BallerinaModel.Expression query = cx.projectContext().isEnabled(
+                    TibcoToBalConverter.ConversionOption.HOIST_CONSTANTS) ?
+                    cx.processContext.hoistXPath(xPath) : exprFrom("`%s`".formatted(xPath));
             body.add(new Statement.VarAssignStatement(loopSequence.ref(),
                     new Check(
                             new FunctionCall(XMLDataConstants.X_PATH_FUNCTION,
-                                    List.of(loopSequence.ref(),
-                                            exprFrom("`%s`".formatted(xPath)))))));
+                                    List.of(loopSequence.ref(), query)))));
+        }
+        if (cx.processContext.getProjectContext().isEnabled(TibcoToBalConverter.ConversionOption.PARALLEL_LOOPS) &&
+                LoopGroupAnalysis.hasIndependentIterations(loopGroup)) {
+            loopGroup.elementSlot().map(elementSlot -> addToContext(cx, defaultEmptyXml(), elementSlot))
+                    .ifPresent(body::add);
+            body.addAll(concurrentLoopBody(cx, loopGroup, loopSequence.ref(), resultValue.ref()));
+        } else {
+            VarDeclStatment indexValue = new VarDeclStatment(INT, cx.getAnnonVarName(), exprFrom("-1"));
+            body.add(indexValue);
+            loopGroup.elementSlot().map(elementSlot -> addToContext(cx, defaultEmptyXml(), elementSlot))
+                    .ifPresent(body::add);
+            body.add(loopBody(cx, loopGroup, loopSequence.ref(), resultValue.ref(), indexValue.varName()));
         }
-        VarDeclStatment indexValue = new VarDeclStatment(INT, cx.getAnnonVarName(), exprFrom("-1"));
-        body.add(indexValue);
-        loopGroup.elementSlot().map(elementSlot -> addToContext(cx, defaultEmptyXml(), elementSlot))
-                .ifPresent(body::add);
-        body.add(loopBody(cx, loopGroup, loopSequence.ref(), resultValue.ref(), indexValue.varName()));
         loopGroup.activityOutputName()
                 .map(name -> addToContext(cx, resultValue.ref(), name)).ifPresent(body::add);
         return new ActivityExtensionConfigConversion(resultValue.ref(), body);
@@ -371,6 +387,76 @@ final class ActivityConverter {
         return stmtFrom(sb.toString());
     }
 
+    /**
+     * Runs the iterations of the loop in batches of {@link #LOOP_BATCH_SIZE} strands. Each iteration gets a copy of
+     * the context with its own index and element slots, see {@link LoopGroupAnalysis#hasIndependentIterations}.
+     * <p>
+     * Iterations of a batch may finish in any order, but their results are collected in the order of the loop
+     * sequence. So the accumulated output is concatenated in that order, and otherwise the output is the result of
+     * the last item of the sequence, as in {@link #loopBody}. Once all the iterations are done, the context of the
+     * last one is written back, so the slots and the outputs of the body hold the values of the last iteration, as
+     * they do after {@link #loopBody}.
+     */
+    private static List<Statement> concurrentLoopBody(ActivityContext cx, LoopGroup loop,
+                                                      VariableReference loopSequence, VariableReference result) {
+        List<Statement> body = new ArrayList<>();
+        VarDeclStatment items = new VarDeclStatment(typeFrom("xml[]"), cx.getAnnonVarName(),
+                exprFrom("from xml item in %s select item".formatted(loopSequence)));
+        body.add(items);
+        VarDeclStatment results = new VarDeclStatment(typeFrom("xml[]"), cx.getAnnonVarName(), exprFrom("[]"));
+        body.add(results);
+        VarDeclStatment batchStart = new VarDeclStatment(INT, cx.getAnnonVarName(), exprFrom("0"));
+        body.add(batchStart);
+        VarDeclStatment lastContext = new VarDeclStatment(typeFrom("map<xml>"), cx.getAnnonVarName(),
+                cx.contextVarRef());
+        body.add(lastContext);
+
+        String batch = cx.getAnnonVarName();
+        String index = cx.getAnnonVarName();
+        VariableReference iterationContext = new VariableReference(cx.getAnnonVarName());
+        String scopeFn = cx.processContext.getAnalysisResult().getControlFlowFunctions(loop.body()).scopeFn();
+        StringBuilder sb = new StringBuilder();
+        sb.append("while %s < %s.length() {".formatted(batchStart.ref(), items.ref()));
+        sb.append("future<xml>[] %s = [];".formatted(batch));
+        sb.append("foreach int %1$s in %2$s ..< int:min(%2$s + %3$d, %4$s.length()) {"
+                .formatted(index, batchStart.ref(), LOOP_BATCH_SIZE, items.ref()));
+        sb.append("map<xml> %s = {...%s};".formatted(iterationContext, cx.contextVarRef()));
+        loop.indexSlot().map(indexSlot -> addToContext(cx, iterationContext,
+                        new XMLTemplate("<root>${%s}</root>".formatted(index)), indexSlot))
+                .ifPresent(sb::append);
+        loop.elementSlot().map(elementSlot -> addToContext(cx, iterationContext,
+                        exprFrom("%s[%s]".formatted(items.ref(), index)), elementSlot))
+                .ifPresent(sb::append);
+        sb.append("if %s == %s.length() - 1 { %s = %s; }".formatted(index, items.ref(), lastContext.ref(),
+                iterationContext));
+        String iteration = cx.getAnnonVarName();
+        sb.append("future<xml> %s = start %s(%s);".formatted(iteration, scopeFn, iterationContext));
+        sb.append("%s.push(%s);".formatted(batch, iteration));
+        sb.append("}");
+        String each = cx.getAnnonVarName();
+        String iterationResult = cx.getAnnonVarName();
+        sb.append("foreach future<xml> %s in %s {".formatted(each, batch));
+        sb.append("xml|error %s = wait %s;".formatted(iterationResult, each));
+        sb.append("%s.push(check %s);".formatted(results.ref(), iterationResult));
+        sb.append("}");
+        sb.append("%s += %d;".formatted(batchStart.ref(), LOOP_BATCH_SIZE));
+        sb.append("}");
+        body.add(stmtFrom(sb.toString()));
+        String key = cx.getAnnonVarName();
+        String value = cx.getAnnonVarName();
+        body.add(stmtFrom("foreach [string, xml] [%s, %s] in %s.entries() { %s[%s] = %s; }"
+                .formatted(key, value, lastContext.ref(), cx.contextVarRef(), key, value)));
+
+        if (loop.accumulateOutput()) {
+            body.add(new Statement.VarAssignStatement(result,
+                    exprFrom("%1$s + xml:concat(...%2$s)".formatted(result, results.ref()))));
+        } else {
+            body.add(stmtFrom("if %1$s.length() > 0 { %2$s = %1$s[%1$s.length() - 1]; }"
+                    .formatted(results.ref(), result)));
+        }
+        return body;
+    }
+
     private static ActivityExtensionConfigConversion convertREST(
             ActivityContext cx, VariableReference input, REST rest) {
         if (rest.method() == REST.Method.GET) {
@@ -668,8 +754,8 @@ final class ActivityConverter {
                 new Return<>(inputXml));
     }
 
-    private static Comment elementAsComment(Element element) {
-        return new Comment(ConversionUtils.elementToString(element));
+    private static Comment elementAsComment(TibcoModel.SourceElement element) {
+        return new Comment(element.toXmlString());
     }
 
     private static List<Statement> convertReply(ActivityContext cx, Reply reply) {
@@ -1136,10 +1222,20 @@ final class ActivityConverter {
 
     private static BallerinaModel.Expression xsltTransform(ActivityContext cx, VariableReference inputVariable,
                                                            Activity.Expression.XSLT xslt) {
+        String styleSheet = cx.projectContext().xsltTransformCache().apply(cx, xslt.expression());
+        Optional<BallerinaModel.Expression> compiled =
+                cx.projectContext().isEnabled(TibcoToBalConverter.ConversionOption.COMPILE_XSLT) ?
+                        XsltTemplateConverter.convert(cx, inputVariable, styleSheet) : Optional.empty();
+        cx.processContext.recordXsltTransform(compiled.isPresent());
+        if (compiled.isPresent()) {
+            return compiled.get();
+        }
         cx.addLibraryImport(Library.XSLT);
-        String styleSheet = xsltTransformer.apply(cx, xslt.expression());
+        BallerinaModel.Expression styleSheetExpr =
+                cx.projectContext().isEnabled(TibcoToBalConverter.ConversionOption.HOIST_CONSTANTS) ?
+                        cx.processContext.hoistStyleSheet(styleSheet) : new XMLTemplate(styleSheet);
         return new Check(new FunctionCall(XSLTConstants.XSLT_TRANSFORM_FUNCTION,
-                List.of(inputVariable, new XMLTemplate(styleSheet), cx.contextVarRef())));
+                List.of(inputVariable, styleSheetExpr, cx.contextVarRef())));
     }
 
     private static XMLTemplate defaultEmptyXml() {
@@ -1152,10 +1248,15 @@ final class ActivityConverter {
     }
 
     private static Statement addToContext(ActivityContext cx, BallerinaModel.Expression value, String key) {
+        return addToContext(cx, cx.contextVarRef(), value, key);
+    }
+
+    private static Statement addToContext(ActivityContext cx, VariableReference context,
+                                          BallerinaModel.Expression value, String key) {
         assert !key.isEmpty();
         String addToContextFn = cx.getAddToContextFn();
         return new CallStatement(new FunctionCall(addToContextFn,
-                List.of(cx.contextVarRef(), new StringConstant(key.replace(' ', '-')), value)));
+                List.of(context, new StringConstant(key.replace(' ', '-')), value)));
     }
 
     private record ActivityExtensionConfigConversion(VariableReference result, List<Statement> body) {
@@ -20,8 +20,19 @@ package tibco.converter;
 
 import common.BallerinaModel;
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import tibco.TibcoModel;
 import tibco.analyzer.TibcoAnalysisReport;
 
-public record ConversionResult(BallerinaModel.Module module, SyntaxTree types, TibcoAnalysisReport report) {
+import java.util.Map;
 
+/**
+ * @param report         report of the converted processes
+ * @param processReports report of each converted process, in the order in which they were converted
+ */
+public record ConversionResult(BallerinaModel.Module module, SyntaxTree types, TibcoAnalysisReport report,
+                               Map<TibcoModel.Process, TibcoAnalysisReport> processReports) {
+
+    public ConversionResult(BallerinaModel.Module module, SyntaxTree types, TibcoAnalysisReport report) {
+        this(module, types, report, Map.of());
+    }
 }
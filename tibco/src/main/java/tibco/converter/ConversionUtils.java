@@ -24,19 +24,17 @@ import common.BallerinaModel.Statement.VarDeclStatment;
 import org.w3c.dom.Element;
 import tibco.TibcoModel;
 import tibco.TibcoModel.Scope.Flow.Activity.ActivityExtension.Config.SQL;
+import tibco.TibcoToBalConverter;
 
-import java.io.StringWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
 import static common.BallerinaModel.TypeDesc.BuiltinType.ANYDATA;
 import static common.BallerinaModel.TypeDesc.BuiltinType.BOOLEAN;
 import static common.BallerinaModel.TypeDesc.BuiltinType.BuiltinType;
@@ -142,21 +140,27 @@ public final class ConversionUtils {
     }
 
     public static String elementToString(Element element) {
+        return TibcoModel.SourceElement.serialize(element);
+    }
+
+    /**
+     * Returns the version of the code the class is loaded from. When the manifest has no implementation version, the
+     * location of the jar or class directory and its modification time are used instead.
+     */
+    static String codeVersion(Class<?> type) {
+        String version = type.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "";
+        }
+        String location = codeSource.getLocation().toString();
         try {
-            TransformerFactory factory = TransformerFactory.newInstance();
-            Transformer transformer = factory.newTransformer();
-            // Configure the transformer for clean output
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-
-            DOMSource source = new DOMSource(element);
-            StringWriter writer = new StringWriter();
-            StreamResult result = new StreamResult(writer);
-
-            transformer.transform(source, result);
-            return writer.toString();
-        } catch (TransformerException e) {
-            throw new RuntimeException("Failed to convertTypes element to string", e);
+            return location + "@" + Files.getLastModifiedTime(Path.of(codeSource.getLocation().toURI())).toMillis();
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return location;
         }
     }
 
@@ -176,7 +180,14 @@ public final class ConversionUtils {
     static Expression xPath(ProcessContext cx, Expression value, Expression.VariableReference context,
                             TibcoModel.Scope.Flow.Activity.Expression.XPath predicate) {
         String predicateTestFn = cx.getXPathFunction();
-        Expression xPathExpr = templateExpression(predicate, context);
+        Expression xPathExpr;
+        if (cx.getProjectContext().isEnabled(TibcoToBalConverter.ConversionOption.HOIST_CONSTANTS) &&
+                predicate.expression().indexOf('$') < 0) {
+            xPathExpr = cx.hoistXPath(predicate.expression());
+        } else {
+            // Queries referring to variables are interpolated from the context on each evaluation
+            xPathExpr = templateExpression(predicate, context);
+        }
         return new Expression.FunctionCall(predicateTestFn, List.of(value, xPathExpr));
     }
 
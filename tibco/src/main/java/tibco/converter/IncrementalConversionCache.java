@@ -0,0 +1,328 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.converter;
+
+import common.BallerinaModel;
+import common.ContentHash;
+import tibco.ProjectFileIndex;
+import tibco.analyzer.TibcoAnalysisReport;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Persistent state of incremental migrations, stored in the output directory.
+ * <p>
+ * Input files are tracked by size, modification time and content hash, while each generated document is tracked by
+ * a fingerprint of its model together with the hash of the file that was written for it. A document is only
+ * generated again when its model changes or when its output file was modified since the last run. Since the
+ * fingerprint covers the whole document model, processes that call a changed process are regenerated only if their
+ * own output is affected.
+ * <p>
+ * When only process files changed, processes can also be reused without converting them at all. Each process is
+ * recorded with a key covering its own file and the files of the processes it calls, directly or not, so a change to
+ * a process invalidates the process and the processes that call it, but nothing else. The report entries of each
+ * process are recorded as well, so that the report of a partial run still covers the reused processes.
+ * <p>
+ * The whole cache is discarded when the converter, or the XSD converter it uses, is not the one of the previous run.
+ */
+final class IncrementalConversionCache {
+
+    static final String CACHE_FILE_NAME = ".tibco-migration-cache";
+    private static final String FORMAT_VERSION = "3";
+    private static final String CONVERTER_VERSION =
+            ConversionUtils.codeVersion(TibcoConverter.class) + "|" + SchemaConversionEngine.XSD_CONVERTER_VERSION;
+    private static final String CONFIGURATION_KEY = "configuration";
+    private static final String INPUT_PREFIX = "input.";
+    private static final String DOCUMENT_PREFIX = "document.";
+    private static final String OUTPUT_PREFIX = "output.";
+    private static final String PROCESS_PREFIX = "process.";
+    private static final String REPORT_PREFIX = "report.";
+    private static final String DEPENDENCIES_KEY = "dependencies";
+    private static final String SEPARATOR = ":";
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private final Path targetDir;
+    private final Properties previous;
+    private final Properties current = new Properties();
+    private boolean inputsChanged = false;
+    private boolean nonProcessInputsChanged = false;
+    private final Set<String> changedProcessInputs = new HashSet<>();
+
+    private IncrementalConversionCache(Path targetDir, Properties previous) {
+        this.targetDir = targetDir;
+        this.previous = previous;
+    }
+
+    static IncrementalConversionCache load(Path targetDir, String configuration) {
+        Properties previous = new Properties();
+        Path cacheFile = targetDir.resolve(CACHE_FILE_NAME);
+        if (Files.exists(cacheFile)) {
+            try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+                previous.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                TibcoConverter.logger().warning("Ignoring unreadable conversion cache: " + cacheFile);
+                previous.clear();
+            }
+        }
+        String fullConfiguration = FORMAT_VERSION + SEPARATOR + CONVERTER_VERSION + SEPARATOR + configuration;
+        if (!fullConfiguration.equals(previous.getProperty(CONFIGURATION_KEY))) {
+            previous.clear();
+        }
+        IncrementalConversionCache cache = new IncrementalConversionCache(targetDir, previous);
+        cache.current.setProperty(CONFIGURATION_KEY, fullConfiguration);
+        return cache;
+    }
+
+    /**
+     * Records the content hash of every project file and checks them against the previous run. Files whose size and
+     * modification time did not change are not read again.
+     */
+    void recordInputs(ProjectFileIndex fileIndex) throws IOException {
+        Set<String> seen = new HashSet<>();
+        for (ProjectFileIndex.ArtifactKind kind : ProjectFileIndex.ArtifactKind.values()) {
+            for (ProjectFileIndex.FileEntry entry : fileIndex.files(kind)) {
+                String key = INPUT_PREFIX + fileIndex.root().relativize(entry.path());
+                String stamp = entry.size() + SEPARATOR + entry.lastModified().toMillis();
+                Optional<String[]> recorded = split(previous.getProperty(key), 3);
+                String hash = recorded.isPresent() && stamp.equals(recorded.get()[0] + SEPARATOR + recorded.get()[1])
+                        ? recorded.get()[2] : ContentHash.ofFile(entry.path());
+                if (recorded.isEmpty() || !hash.equals(recorded.get()[2])) {
+                    inputsChanged = true;
+                    if (kind == ProjectFileIndex.ArtifactKind.PROCESS) {
+                        changedProcessInputs.add(key.substring(INPUT_PREFIX.length()));
+                    } else {
+                        nonProcessInputsChanged = true;
+                    }
+                    TibcoConverter.logger().info("Changed input file: " + entry.path());
+                }
+                current.setProperty(key, stamp + SEPARATOR + hash);
+                seen.add(key);
+            }
+        }
+        for (String key : previous.stringPropertyNames()) {
+            if (key.startsWith(INPUT_PREFIX) && !seen.contains(key)) {
+                inputsChanged = true;
+                String fileName = key.substring(INPUT_PREFIX.length());
+                if (!isProcessFile(fileName)) {
+                    nonProcessInputsChanged = true;
+                }
+                TibcoConverter.logger().info("Removed input file: " + fileName);
+            }
+        }
+    }
+
+    /**
+     * Returns true if no input changed since the last run and every file written by that run is still intact.
+     */
+    boolean isUpToDate() throws IOException {
+        if (inputsChanged || previous.isEmpty()) {
+            return false;
+        }
+        for (String key : previous.stringPropertyNames()) {
+            if (key.startsWith(OUTPUT_PREFIX) &&
+                    !isIntact(key.substring(OUTPUT_PREFIX.length()), previous.getProperty(key))) {
+                return false;
+            }
+            if (key.startsWith(DOCUMENT_PREFIX)) {
+                Optional<String[]> recorded = split(previous.getProperty(key), 2);
+                if (recorded.isEmpty() || !isIntact(key.substring(DOCUMENT_PREFIX.length()), recorded.get()[1])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if processes of the previous run can be reused, i.e. if the previous run recorded its processes
+     * and only process files changed since.
+     */
+    boolean canReuseProcesses() {
+        return !nonProcessInputsChanged &&
+                previous.stringPropertyNames().stream().anyMatch(key -> key.startsWith(PROCESS_PREFIX));
+    }
+
+    boolean isChangedInput(String fileName) {
+        return changedProcessInputs.contains(fileName);
+    }
+
+    /**
+     * Returns the content hash recorded for the input file in this run.
+     */
+    Optional<String> inputHash(String fileName) {
+        return split(current.getProperty(INPUT_PREFIX + fileName), 3).map(values -> values[2]);
+    }
+
+    Optional<ProcessRecord> previousProcess(String fileName) {
+        String value = previous.getProperty(PROCESS_PREFIX + fileName);
+        if (value == null) {
+            return Optional.empty();
+        }
+        String[] fields = value.split(FIELD_SEPARATOR, -1);
+        if (fields.length < 5) {
+            return Optional.empty();
+        }
+        return Optional.of(new ProcessRecord(fields[0], fields[1], fields[2], fields[3], fields[4],
+                List.of(fields).subList(5, fields.length)));
+    }
+
+    /**
+     * Returns true if the document recorded by the previous run is still as it was written.
+     */
+    boolean isDocumentIntact(String documentName) throws IOException {
+        Optional<String[]> recorded = split(previous.getProperty(DOCUMENT_PREFIX + documentName), 2);
+        return recorded.isPresent() && isIntact(documentName, recorded.get()[1]);
+    }
+
+    /**
+     * Returns the report entries recorded for the process by the previous run.
+     */
+    Optional<TibcoAnalysisReport> previousReport(String fileName) {
+        return Optional.ofNullable(previous.getProperty(REPORT_PREFIX + fileName)).flatMap(TibcoAnalysisReport::decode);
+    }
+
+    /**
+     * Carries the process, its document and its report entries over to the new cache without converting it again.
+     */
+    void reuseProcess(String fileName, ProcessRecord process) {
+        current.setProperty(PROCESS_PREFIX + fileName, previous.getProperty(PROCESS_PREFIX + fileName));
+        String documentKey = DOCUMENT_PREFIX + process.documentName();
+        current.setProperty(documentKey, previous.getProperty(documentKey));
+        String report = previous.getProperty(REPORT_PREFIX + fileName);
+        if (report != null) {
+            current.setProperty(REPORT_PREFIX + fileName, report);
+        }
+    }
+
+    void recordProcess(String fileName, ProcessRecord process) {
+        List<String> fields = new ArrayList<>(List.of(process.key(), process.name(), process.documentName(),
+                process.port(), process.client()));
+        fields.addAll(process.calleeNames());
+        current.setProperty(PROCESS_PREFIX + fileName, String.join(FIELD_SEPARATOR, fields));
+    }
+
+    void recordReport(String fileName, TibcoAnalysisReport report) {
+        current.setProperty(REPORT_PREFIX + fileName, report.encode());
+    }
+
+    List<String> previousDependencies() {
+        String value = previous.getProperty(DEPENDENCIES_KEY, "");
+        return value.isEmpty() ? List.of() : List.of(value.split(SEPARATOR));
+    }
+
+    void recordDependencies(Collection<String> dependencies) {
+        current.setProperty(DEPENDENCIES_KEY, String.join(SEPARATOR, dependencies));
+    }
+
+    static String fingerprint(BallerinaModel.TextDocument textDocument) {
+        return ContentHash.of(textDocument.toString());
+    }
+
+    /**
+     * Checks whether the output of the document can be reused. If so, the document is carried over to the new cache.
+     */
+    boolean reuseDocument(String documentName, String fingerprint) throws IOException {
+        String key = DOCUMENT_PREFIX + documentName;
+        Optional<String[]> recorded = split(previous.getProperty(key), 2);
+        if (recorded.isEmpty() || !recorded.get()[0].equals(fingerprint) ||
+                !isIntact(documentName, recorded.get()[1])) {
+            return false;
+        }
+        current.setProperty(key, previous.getProperty(key));
+        return true;
+    }
+
+    void recordDocument(String documentName, String fingerprint) throws IOException {
+        current.setProperty(DOCUMENT_PREFIX + documentName,
+                fingerprint + SEPARATOR + ContentHash.ofFile(targetDir.resolve(documentName)));
+    }
+
+    void recordOutput(String fileName) throws IOException {
+        Path file = targetDir.resolve(fileName);
+        if (Files.isRegularFile(file)) {
+            current.setProperty(OUTPUT_PREFIX + fileName, ContentHash.ofFile(file));
+        }
+    }
+
+    /**
+     * Deletes documents generated by the previous run that are no longer produced, unless they were edited since.
+     */
+    void removeStaleDocuments() throws IOException {
+        for (String key : previous.stringPropertyNames()) {
+            if (!key.startsWith(DOCUMENT_PREFIX) || current.containsKey(key)) {
+                continue;
+            }
+            String documentName = key.substring(DOCUMENT_PREFIX.length());
+            Optional<String[]> recorded = split(previous.getProperty(key), 2);
+            if (recorded.isPresent() && isIntact(documentName, recorded.get()[1])) {
+                Files.delete(targetDir.resolve(documentName));
+                TibcoConverter.logger().info("Removed stale output file: " + documentName);
+            }
+        }
+    }
+
+    void save() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(targetDir.resolve(CACHE_FILE_NAME), StandardCharsets.UTF_8)) {
+            current.store(writer, "TIBCO migration cache. Do not edit.");
+        }
+    }
+
+    private static boolean isProcessFile(String fileName) {
+        return ProjectFileIndex.ArtifactKind.PROCESS.extensions().stream()
+                .anyMatch(extension -> fileName.endsWith("." + extension));
+    }
+
+    private boolean isIntact(String fileName, String expectedHash) throws IOException {
+        Path file = targetDir.resolve(fileName);
+        return Files.isRegularFile(file) && ContentHash.ofFile(file).equals(expectedHash);
+    }
+
+    private static Optional<String[]> split(String value, int parts) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String[] values = value.split(SEPARATOR, parts);
+        return values.length == parts ? Optional.of(values) : Optional.empty();
+    }
+
+    /**
+     * A converted process as recorded in the cache.
+     *
+     * @param key          hash of the file of the process and of the files of the processes it calls
+     * @param port         port of the listener of the process, or empty if it has none
+     * @param client       name of the client variable of the process, or empty if it has none
+     * @param calleeNames  names of the processes called by the process
+     */
+    record ProcessRecord(String key, String name, String documentName, String port, String client,
+                         List<String> calleeNames) {
+
+    }
+}
@@ -227,6 +227,60 @@ public enum Intrinsics {
                     }
                     """
     ),
+    XSLT_DOCUMENT(
+            "xsltDocument",
+            """
+                    function xsltDocument(xml? children) returns xml:Element {
+                        return xml:createElement("document", {}, children ?: xml ``);
+                    }
+                    """
+    ),
+    XSLT_CHILDREN(
+            "xsltChildren",
+            """
+                    function xsltChildren(xml nodes, string... names) returns xml {
+                        xml selected = nodes;
+                        foreach string name in names {
+                            selected = selected.children().elements(name);
+                        }
+                        return selected;
+                    }
+                    """
+    ),
+    XSLT_DESCENDANTS(
+            "xsltDescendants",
+            """
+                    function xsltDescendants(xml nodes, string name) returns xml {
+                        xml descendants = xml ``;
+                        foreach xml:Element element in nodes.children().elements() {
+                            if element.getName() == name {
+                                descendants += element;
+                            }
+                            descendants += xsltDescendants(element, name);
+                        }
+                        return descendants;
+                    }
+                    """
+    ),
+    XSLT_VALUE_OF(
+            "xsltValueOf",
+            """
+                    function xsltValueOf(xml nodes) returns string {
+                        return string:'join(" ", ...from xml node in nodes select node.data());
+                    }
+                    """
+    ),
+    XSLT_FIRST_VALUE_OF(
+            "xsltFirstValueOf",
+            """
+                    function xsltFirstValueOf(xml nodes) returns string {
+                        foreach xml node in nodes {
+                            return node.data();
+                        }
+                        return "";
+                    }
+                    """
+    ),
     TRANSFORM_XSLT(
             "transformXSLT",
             """
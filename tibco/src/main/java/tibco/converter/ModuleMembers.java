@@ -0,0 +1,214 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.converter;
+
+import common.CodeGenerator;
+import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.ClassDefinitionNode;
+import io.ballerina.compiler.syntax.tree.ConstantDeclarationNode;
+import io.ballerina.compiler.syntax.tree.EnumDeclarationNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.IdentifierToken;
+import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ListenerDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.ModuleVariableDeclarationNode;
+import io.ballerina.compiler.syntax.tree.NodeFactory;
+import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
+import io.ballerina.tools.text.TextDocuments;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Module level declarations of generated Ballerina sources, used by incremental migrations to combine the project
+ * documents of a partial run with the ones of the previous run.
+ */
+final class ModuleMembers {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[\\p{L}_][\\p{L}\\p{N}_]*");
+
+    private ModuleMembers() {
+    }
+
+    /**
+     * Returns the names of the functions, types, constants, variables, listeners and classes defined by the source.
+     */
+    static Set<String> definedNames(String source) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ModuleMemberDeclarationNode member : parse(source).members()) {
+            definedName(member).ifPresent(names::add);
+        }
+        return names;
+    }
+
+    /**
+     * Adds the declarations of the previous run that the current run does not define to the project files of the
+     * current run. A named declaration of the previous run is only kept while it is referenced by a current file, by
+     * one of {@code referencingSources} or by another kept declaration, so declarations of removed or changed
+     * processes don't pile up. Unnamed declarations are compared by their source.
+     * <p>
+     * References are found by the identifiers in the source, including the ones in comments and templates, so a
+     * declaration is only dropped when nothing mentions its name.
+     *
+     * @param currentFiles       content of the project files written by the current run, by file name
+     * @param previousFiles      content of the project files of the previous run, by file name
+     * @param referencingSources content of the other documents of the module
+     * @return merged content of each file of {@code previousFiles}
+     */
+    static Map<String, String> merge(Map<String, String> currentFiles, Map<String, String> previousFiles,
+                                     Collection<String> referencingSources) {
+        Map<String, ModulePartNode> currentModules = new HashMap<>();
+        Set<String> currentNames = new HashSet<>();
+        Set<String> referenced = new HashSet<>();
+        for (String source : referencingSources) {
+            referenced.addAll(identifiers(source));
+        }
+        for (String fileName : previousFiles.keySet()) {
+            String current = currentFiles.getOrDefault(fileName, "");
+            ModulePartNode currentModule = parse(current);
+            currentModules.put(fileName, currentModule);
+            for (ModuleMemberDeclarationNode member : currentModule.members()) {
+                definedName(member).map(ModuleMembers::unquoted).ifPresent(currentNames::add);
+            }
+            referenced.addAll(identifiers(current));
+        }
+
+        Map<String, ModulePartNode> previousModules = new HashMap<>();
+        Map<String, List<ModuleMemberDeclarationNode>> candidates = new HashMap<>();
+        previousFiles.forEach((fileName, previous) -> {
+            ModulePartNode previousModule = parse(previous);
+            previousModules.put(fileName, previousModule);
+            for (ModuleMemberDeclarationNode member : previousModule.members()) {
+                definedName(member).map(ModuleMembers::unquoted)
+                        .filter(name -> !currentNames.contains(name))
+                        .ifPresent(name -> candidates.computeIfAbsent(name, ignored -> new ArrayList<>()).add(member));
+            }
+        });
+        Set<String> keptNames = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(referenced);
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            if (candidates.containsKey(name) && keptNames.add(name)) {
+                for (ModuleMemberDeclarationNode member : candidates.get(name)) {
+                    pending.addAll(identifiers(member.toSourceCode()));
+                }
+            }
+        }
+
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (String fileName : previousFiles.keySet()) {
+            merged.put(fileName, merge(currentModules.get(fileName), previousModules.get(fileName), keptNames));
+        }
+        return merged;
+    }
+
+    private static String merge(ModulePartNode currentModule, ModulePartNode previousModule, Set<String> keptNames) {
+        Map<String, ImportDeclarationNode> imports = new LinkedHashMap<>();
+        List<ModuleMemberDeclarationNode> members = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (ImportDeclarationNode importDeclaration : currentModule.imports()) {
+            imports.putIfAbsent(importDeclaration.toSourceCode().strip(), importDeclaration);
+        }
+        for (ModuleMemberDeclarationNode member : currentModule.members()) {
+            if (keys.add(key(member))) {
+                members.add(member);
+            }
+        }
+        Set<String> previousReferences = new HashSet<>();
+        for (ModuleMemberDeclarationNode member : previousModule.members()) {
+            boolean kept = definedName(member).map(name -> keptNames.contains(unquoted(name))).orElse(true);
+            if (kept && keys.add(key(member))) {
+                members.add(member);
+                previousReferences.addAll(identifiers(member.toSourceCode()));
+            }
+        }
+        // Unused imports are compile errors, so the imports of the previous run are only kept for the kept declarations
+        for (ImportDeclarationNode importDeclaration : previousModule.imports()) {
+            if (previousReferences.contains(unquoted(prefix(importDeclaration)))) {
+                imports.putIfAbsent(importDeclaration.toSourceCode().strip(), importDeclaration);
+            }
+        }
+        ModulePartNode modulePart = NodeFactory.createModulePartNode(NodeFactory.createNodeList(imports.values()),
+                NodeFactory.createNodeList(members), currentModule.eofToken());
+        SyntaxTree syntaxTree = SyntaxTree.from(TextDocuments.from(""));
+        return CodeGenerator.formatSyntaxTree(syntaxTree.modifyWith(modulePart)).toSourceCode();
+    }
+
+    private static String prefix(ImportDeclarationNode importDeclaration) {
+        if (importDeclaration.prefix().isPresent()) {
+            return importDeclaration.prefix().get().prefix().text();
+        }
+        SeparatedNodeList<IdentifierToken> moduleName = importDeclaration.moduleName();
+        return moduleName.get(moduleName.size() - 1).text();
+    }
+
+    private static Set<String> identifiers(String source) {
+        Set<String> identifiers = new HashSet<>();
+        Matcher matcher = IDENTIFIER.matcher(source);
+        while (matcher.find()) {
+            identifiers.add(matcher.group());
+        }
+        return identifiers;
+    }
+
+    // Quoted identifiers are the same as the plain ones
+    private static String unquoted(String name) {
+        return name.startsWith("'") ? name.substring(1) : name;
+    }
+
+    private static ModulePartNode parse(String source) {
+        return SyntaxTree.from(TextDocuments.from(source)).rootNode();
+    }
+
+    private static String key(ModuleMemberDeclarationNode member) {
+        return definedName(member).orElseGet(() -> member.toSourceCode().strip());
+    }
+
+    private static Optional<String> definedName(ModuleMemberDeclarationNode member) {
+        return switch (member) {
+            case FunctionDefinitionNode function -> Optional.of(function.functionName().text());
+            case TypeDefinitionNode typeDefinition -> Optional.of(typeDefinition.typeName().text());
+            case EnumDeclarationNode enumDeclaration -> Optional.of(enumDeclaration.identifier().text());
+            case ConstantDeclarationNode constantDeclaration ->
+                    Optional.of(constantDeclaration.variableName().text());
+            case ModuleVariableDeclarationNode variable ->
+                    variable.typedBindingPattern().bindingPattern() instanceof CaptureBindingPatternNode capture ?
+                            Optional.of(capture.variableName().text()) : Optional.empty();
+            case ListenerDeclarationNode listener -> Optional.of(listener.variableName().text());
+            case ClassDefinitionNode classDefinition -> Optional.of(classDefinition.className().text());
+            default -> Optional.empty();
+        };
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Listener ports and client variables of processes, which must stay the same across incremental migrations.
+ * <p>
+ * When an incremental migration regenerates only some of the processes, the documents of the other processes are
+ * reused as they are. Those documents refer to the ports and clients of the processes they call, so a regenerated
+ * process keeps the ones it had, and new ports and names are allocated around them. Regenerated processes also must
+ * not define any of the module level names the reused documents define, which are given as reserved names.
+ */
+public final class ProcessBindings {
+
+    private final Map<String, String> ports;
+    private final Map<String, String> clients;
+    private final Set<String> reservedNames;
+
+    public ProcessBindings() {
+        this(Map.of(), Map.of(), Set.of());
+    }
+
+    /**
+     * @param ports         listener ports of processes, keyed by process name
+     * @param clients       client variables of processes, keyed by process name
+     * @param reservedNames module level names defined by the reused documents
+     */
+    ProcessBindings(Map<String, String> ports, Map<String, String> clients, Set<String> reservedNames) {
+        this.ports = new HashMap<>(ports);
+        this.clients = new HashMap<>(clients);
+        this.reservedNames = Set.copyOf(reservedNames);
+    }
+
+    public Set<String> reservedNames() {
+        return reservedNames;
+    }
+
+    synchronized String port(String processName, Supplier<String> allocator) {
+        return ports.computeIfAbsent(processName, ignored -> allocator.get());
+    }
+
+    synchronized boolean isPortTaken(String port) {
+        return ports.containsValue(port);
+    }
+
+    synchronized String client(String processName, Supplier<String> allocator) {
+        return clients.computeIfAbsent(processName, ignored -> allocator.get());
+    }
+
+    /**
+     * @return {@code true} if the name is defined by a reused document or bound to the client of a process
+     */
+    synchronized boolean isTaken(String name) {
+        return reservedNames.contains(name) || clients.containsValue(name);
+    }
+
+    synchronized Optional<String> port(String processName) {
+        return Optional.ofNullable(ports.get(processName));
+    }
+
+    synchronized Optional<String> client(String processName) {
+        return Optional.ofNullable(clients.get(processName));
+    }
+}
@@ -53,8 +53,12 @@ public class ProcessContext implements ContextWithFile {
     public final ProjectContext projectContext;
     private final Map<TibcoModel.Scope.Flow.Activity.Source.Predicate, String> predicateToFunctionMap = new HashMap<>();
     private final Map<String, String> propertyVariableToResourceMap = new HashMap<>();
+    private final Map<String, String> hoistedStyleSheets = new HashMap<>();
+    private final Map<String, String> hoistedXPaths = new HashMap<>();
 
     private DefaultClientDetails processClient;
+    private int xsltTransformCount = 0;
+    private int compiledXsltTransformCount = 0;
     final Set<TibcoModel.Scope> handledScopes = new HashSet<>();
     final Set<String> intrinsics = new HashSet<>();
 
@@ -63,6 +67,25 @@ public class ProcessContext implements ContextWithFile {
         this.process = process;
     }
 
+    /**
+     * @param compiled {@code true} if the transformation was translated to Ballerina instead of being left to the
+     *                 XSLT module
+     */
+    void recordXsltTransform(boolean compiled) {
+        xsltTransformCount++;
+        if (compiled) {
+            compiledXsltTransformCount++;
+        }
+    }
+
+    int xsltTransformCount() {
+        return xsltTransformCount;
+    }
+
+    int compiledXsltTransformCount() {
+        return compiledXsltTransformCount;
+    }
+
     static BallerinaModel.TypeDesc contextType() {
         return new BallerinaModel.TypeDesc.MapTypeDesc(XML);
     }
@@ -128,6 +151,48 @@ public class ProcessContext implements ContextWithFile {
         constants.put(name, var);
     }
 
+    /**
+     * Declares the stylesheet as a final module variable of the process, so that it is built once instead of on every
+     * transformation. Identical stylesheets of the process share the same variable. The value is read-only, so that
+     * concurrent workers can use it. A stylesheet interpolating configurable variables is copied into a read-only
+     * value explicitly, instead of relying on the template being constructed as one.
+     *
+     * @param styleSheet content of the stylesheet
+     * @return reference to the variable holding the stylesheet
+     */
+    Expression.VariableReference hoistStyleSheet(String styleSheet) {
+        Expression template = new Expression.XMLTemplate(styleSheet);
+        return hoist(hoistedStyleSheets, "_styleSheet", new BallerinaModel.TypeDesc.BallerinaType("xml & readonly"),
+                styleSheet.contains("${") ? exprFrom("%s.cloneReadOnly()".formatted(template)) : template,
+                styleSheet);
+    }
+
+    /**
+     * Declares the XPath query as a final, read-only module variable of the process. Identical queries of the process
+     * share the same variable. The query must not contain interpolations, since it is evaluated once for the whole
+     * module.
+     *
+     * @param xPath query to be passed to {@link #getXPathFunction()}
+     * @return reference to the variable holding the query
+     */
+    Expression.VariableReference hoistXPath(String xPath) {
+        addLibraryImport(Library.XML_DATA);
+        return hoist(hoistedXPaths, "_xPath",
+                new BallerinaModel.TypeDesc.BallerinaType("xmldata:XPathRawTemplate & readonly"),
+                exprFrom("`%s`".formatted(xPath)), xPath);
+    }
+
+    private Expression.VariableReference hoist(Map<String, String> hoisted, String suffix,
+                                               BallerinaModel.TypeDesc type, Expression expr, String content) {
+        String name = hoisted.get(content);
+        if (name == null) {
+            name = ConversionUtils.sanitizes(process.name()) + suffix + hoisted.size();
+            hoisted.put(content, name);
+            declareModuleVar(name, BallerinaModel.ModuleVar.finalVar(name, type, expr));
+        }
+        return new Expression.VariableReference(name);
+    }
+
     void registerProcessClient(String name) {
         projectContext.registerProcessClient(baseName(process.name()).toLowerCase(), name);
     }
@@ -151,7 +216,7 @@ public class ProcessContext implements ContextWithFile {
             addLibraryImport(Library.HTTP);
             String listenerRef = ConversionUtils.sanitizes(process.name()) + "_listener";
             defaultListener = new BallerinaModel.Listener(BallerinaModel.ListenerType.HTTP, listenerRef,
-                    Integer.toString(projectContext.allocatePort()), "localhost");
+                    Integer.toString(projectContext.allocatePort(process.name())), "localhost");
         }
         return defaultListener.name();
     }
@@ -361,7 +426,7 @@ public class ProcessContext implements ContextWithFile {
         }
     }
 
-    String getAnonName() {
-        return projectContext.getAnonName();
+    String processClientName() {
+        return projectContext.processClientName(process.name());
     }
 }
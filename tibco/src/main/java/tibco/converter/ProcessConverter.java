@@ -29,10 +29,13 @@ import common.BallerinaModel.Expression.StringConstant;
 import common.BallerinaModel.Expression.TernaryExpression;
 import common.BallerinaModel.Expression.TypeCheckExpression;
 import common.BallerinaModel.Expression.VariableReference;
+import common.BallerinaModel.Expression.Wait;
 import common.BallerinaModel.Expression.XMLTemplate;
 import common.BallerinaModel.Parameter;
 import common.BallerinaModel.Statement;
 import common.BallerinaModel.Statement.CallStatement;
+import common.BallerinaModel.Statement.ForkStatement;
+import common.BallerinaModel.Statement.NamedWorkerDecl;
 import common.BallerinaModel.Statement.Return;
 import common.BallerinaModel.Statement.VarAssignStatement;
 import common.BallerinaModel.Statement.VarDeclStatment;
@@ -43,6 +46,7 @@ import tibco.TibcoModel.Process.ExplicitTransitionGroup.InlineActivity.HttpEvent
 import tibco.TibcoModel.Process.ExplicitTransitionGroup.InlineActivityWithBody;
 import tibco.TibcoModel.Scope.Flow.Activity;
 import tibco.TibcoModel.Scope.Flow.Activity.Expression.XPath;
+import tibco.TibcoToBalConverter;
 import tibco.analyzer.AnalysisResult;
 
 import java.util.ArrayList;
@@ -98,7 +102,7 @@ public class ProcessConverter {
                 .orElseThrow(() -> new RuntimeException("Failed to find http source for " + name));
         String path = http.host() + ":" + http.port();
         cx.addLibraryImport(Library.HTTP);
-        BallerinaModel.ModuleVar moduleVar = new BallerinaModel.ModuleVar(cx.getAnonName(), "http:Client",
+        BallerinaModel.ModuleVar moduleVar = new BallerinaModel.ModuleVar(cx.processClientName(), "http:Client",
                 Optional.of(new CheckPanic(exprFrom("new (\"%s\")".formatted(path)))),
                 false, false);
         cx.addOnDemandModuleVar(moduleVar.name(), moduleVar);
@@ -254,8 +258,12 @@ public class ProcessConverter {
     private static BallerinaModel.Function generateExplicitTransitionBlockActivityFunction(
             ProcessContext cx, TibcoModel.Process.ExplicitTransitionGroup group) {
         AnalysisResult analysisResult = cx.getAnalysisResult();
-        List<Activity> activities = analysisResult.sortedActivities(group).toList();
         String activityRunnerFunction = analysisResult.getControlFlowFunctions(group).activityRunner();
+        if (concurrentBranches(cx)) {
+            return generateConcurrentActivityFlowFunction(cx, analysisResult.concurrentActivities(group).toList(),
+                    analysisResult.sortedActivities(group).reduce((first, second) -> second), activityRunnerFunction);
+        }
+        List<Activity> activities = analysisResult.sortedActivities(group).toList();
         return generateActivityFlowFunctionInner(cx, activities, activityRunnerFunction, UnionTypeDesc.of(XML, ERROR),
                 Check::new, List.of(new Parameter("cx", new TypeDesc.MapTypeDesc(XML))));
     }
@@ -404,12 +412,74 @@ public class ProcessConverter {
 
     private static BallerinaModel.Function generateActivityFlowFunction(ProcessContext cx, TibcoModel.Scope scope) {
         AnalysisResult analysisResult = cx.getAnalysisResult();
-        List<Activity> activities = analysisResult.sortedActivities(scope).toList();
         String activityRunnerFunction = analysisResult.getControlFlowFunctions(scope).activityRunner();
+        if (concurrentBranches(cx)) {
+            return generateConcurrentActivityFlowFunction(cx, analysisResult.concurrentActivities(scope).toList(),
+                    analysisResult.sortedActivities(scope).reduce((first, second) -> second), activityRunnerFunction);
+        }
+        List<Activity> activities = analysisResult.sortedActivities(scope).toList();
         return generateActivityFlowFunctionInner(cx, activities, activityRunnerFunction, UnionTypeDesc.of(XML, ERROR),
                 Check::new, List.of(new Parameter("cx", new TypeDesc.MapTypeDesc(XML))));
     }
 
+    private static boolean concurrentBranches(ProcessContext cx) {
+        return cx.getProjectContext().isEnabled(TibcoToBalConverter.ConversionOption.CONCURRENT_BRANCHES);
+    }
+
+    /**
+     * Generates an activity runner that runs the activities of each level given by
+     * {@link AnalysisResult#concurrentActivities} in named workers of a fork statement, and waits for all of them
+     * before moving on to the next level. Levels with a single activity are called directly, as in
+     * {@link #generateActivityFlowFunctionInner}.
+     * <p>
+     * Workers of the fork share the context map. Since the runner is not isolated, the workers run on the same thread
+     * and only interleave while an activity is waiting, e.g. for a response of an HTTP call. When an activity of a
+     * level is skipped because none of its incoming transitions are taken, its result is the result of the previous
+     * level.
+     * <p>
+     * The runner returns the result of {@code lastActivity}, the activity that the sequential runner runs last, which
+     * need not be in the last level.
+     */
+    private static BallerinaModel.Function generateConcurrentActivityFlowFunction(
+            ProcessContext cx, List<List<Activity>> levels, Optional<Activity> lastActivity, String functionName) {
+        List<Statement> body = new ArrayList<>();
+        VariableReference context = new VariableReference("cx");
+        VariableReference input = new VariableReference("input");
+        Map<Activity, VariableReference> activityResults = new HashMap<>();
+        int index = 0;
+        for (List<Activity> level : levels) {
+            if (level.size() == 1) {
+                Activity activity = level.getFirst();
+                VarDeclStatment result = generateActivityFunctionCall(cx, activityResults, activity,
+                        "result" + index++, Check::new, body, input, context);
+                activityResults.put(activity, result.ref());
+                input = result.ref();
+                continue;
+            }
+            List<NamedWorkerDecl> workers = new ArrayList<>();
+            List<VarDeclStatment> results = new ArrayList<>();
+            for (Activity activity : level) {
+                String varName = "result" + index++;
+                List<Statement> workerBody = new ArrayList<>();
+                VarDeclStatment result = generateActivityFunctionCall(cx, activityResults, activity, "result",
+                        Check::new, workerBody, input, context);
+                workerBody.add(new Return<>(result.ref()));
+                String workerName = varName + "Worker";
+                workers.add(new NamedWorkerDecl(workerName, Optional.of(UnionTypeDesc.of(XML, ERROR)), workerBody));
+                results.add(new VarDeclStatment(XML, varName, new Check(new Wait(new VariableReference(workerName)))));
+            }
+            body.add(new ForkStatement(workers));
+            for (int i = 0; i < level.size(); i++) {
+                body.add(results.get(i));
+                activityResults.put(level.get(i), results.get(i).ref());
+            }
+            input = results.getLast().ref();
+        }
+        body.add(new Return<>(lastActivity.map(activityResults::get).orElse(input)));
+        return new BallerinaModel.Function(functionName, List.of(new Parameter(context.varName(),
+                new TypeDesc.MapTypeDesc(XML))), UnionTypeDesc.of(XML, ERROR), body);
+    }
+
     private static BallerinaModel.@NotNull Function generateActivityFlowFunctionInner(
             ProcessContext cx, List<Activity> activities, String functionName, TypeDesc returnType,
             Function<FunctionCall, Expression> callHandler, List<Parameter> parameters) {
@@ -519,7 +589,9 @@ public class ProcessConverter {
     private static Expression xsltTransform(ProcessContext cx, VariableReference inputVariable,
                                                            Activity.Expression.XSLT xslt) {
         cx.addLibraryImport(Library.XSLT);
+        Expression styleSheet = cx.getProjectContext().isEnabled(TibcoToBalConverter.ConversionOption.HOIST_CONSTANTS) ?
+                cx.hoistStyleSheet(xslt.expression()) : new XMLTemplate(xslt.expression());
         return new CheckPanic(new FunctionCall(ActivityConverter.XSLTConstants.XSLT_TRANSFORM_FUNCTION,
-                List.of(inputVariable, new XMLTemplate(xslt.expression()))));
+                List.of(inputVariable, styleSheet)));
     }
 }
@@ -0,0 +1,305 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.converter;
+
+import common.ContentHash;
+import tibco.ProjectFileIndex;
+import tibco.ProjectFileIndex.ArtifactKind;
+import tibco.TibcoModel;
+import tibco.TibcoToBalConverter;
+import tibco.TibcoToBalConverter.ParsedProject;
+import tibco.analyzer.CallProcessPass;
+import tibco.analyzer.TibcoAnalysisReport;
+import tibco.converter.IncrementalConversionCache.ProcessRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static tibco.converter.ConversionUtils.baseName;
+
+/**
+ * Decides which processes an incremental migration converts and which ones it reuses from the previous run.
+ * <p>
+ * A process is converted again if its key, which covers its own file and the files of every process it calls
+ * directly or not, differs from the recorded one, or if its document was modified since. Processes it calls are parsed
+ * as well so that calls to them can be converted, but their documents are kept. Only the process files that changed
+ * are parsed to find the processes they call, the others are taken from the cache.
+ */
+final class ProcessReusePlan {
+
+    private final Map<Path, String> fileNames;
+    private final Map<Path, String> processNames;
+    private final Map<Path, List<String>> calleeNames;
+    private final Map<Path, String> keys;
+    private final Map<Path, ProcessRecord> reusedProcesses;
+    private final Map<Path, TibcoModel.Process> convertedProcesses;
+    private final Set<TibcoModel.Process> referencedProcesses;
+    private final ProcessBindings bindings;
+
+    private ProcessReusePlan(Map<Path, String> fileNames, Map<Path, String> processNames,
+                             Map<Path, List<String>> calleeNames, Map<Path, String> keys,
+                             Map<Path, ProcessRecord> reusedProcesses, Map<Path, TibcoModel.Process> convertedProcesses,
+                             Set<TibcoModel.Process> referencedProcesses, ProcessBindings bindings) {
+        this.fileNames = fileNames;
+        this.processNames = processNames;
+        this.calleeNames = calleeNames;
+        this.keys = keys;
+        this.reusedProcesses = reusedProcesses;
+        this.convertedProcesses = convertedProcesses;
+        this.referencedProcesses = referencedProcesses;
+        this.bindings = bindings;
+    }
+
+    /**
+     * Plans the migration of the process files of the index. If processes of the previous run can't be reused, every
+     * process is converted as in a full migration.
+     */
+    static ProcessReusePlan create(TibcoToBalConverter.ProjectConversionContext cx,
+                                   IncrementalConversionCache conversionCache, ProjectFileIndex fileIndex,
+                                   Path targetDir) throws IOException {
+        boolean reuse = conversionCache.canReuseProcesses();
+        Map<Path, String> fileNames = new LinkedHashMap<>();
+        Map<Path, ProcessRecord> records = new HashMap<>();
+        for (ProjectFileIndex.FileEntry entry : fileIndex.files(ArtifactKind.PROCESS)) {
+            String fileName = fileIndex.root().relativize(entry.path()).toString();
+            fileNames.put(entry.path(), fileName);
+            if (reuse && !conversionCache.isChangedInput(fileName)) {
+                conversionCache.previousProcess(fileName).ifPresent(record -> records.put(entry.path(), record));
+            }
+        }
+
+        Map<Path, TibcoModel.Process> parsed = new HashMap<>(TibcoToBalConverter.parseProcesses(cx,
+                fileIndex.retainFiles(ArtifactKind.PROCESS, file -> !records.containsKey(file))));
+        Map<Path, String> processNames = new HashMap<>();
+        Map<Path, List<String>> calleeNames = new HashMap<>();
+        for (Path file : fileNames.keySet()) {
+            ProcessRecord record = records.get(file);
+            if (record != null) {
+                processNames.put(file, record.name());
+                calleeNames.put(file, record.calleeNames());
+            } else {
+                TibcoModel.Process process = parsed.get(file);
+                processNames.put(file, process.name());
+                calleeNames.put(file, List.copyOf(CallProcessPass.calleeNames(process)));
+            }
+        }
+
+        CallGraph callGraph = CallGraph.build(processNames, calleeNames);
+        Map<Path, String> keys = new HashMap<>();
+        Set<Path> changed = new LinkedHashSet<>();
+        for (Path file : fileNames.keySet()) {
+            String key = key(conversionCache, fileNames, callGraph, file);
+            keys.put(file, key);
+            ProcessRecord record = records.get(file);
+            if (record == null || !record.key().equals(key) ||
+                    !conversionCache.isDocumentIntact(record.documentName())) {
+                changed.add(file);
+            }
+        }
+
+        Set<Path> needed = new HashSet<>();
+        for (Path file : changed) {
+            needed.addAll(callGraph.reachable(file));
+        }
+        List<Path> unparsed = needed.stream().filter(file -> !parsed.containsKey(file)).toList();
+        parsed.putAll(TibcoToBalConverter.parseProcesses(cx,
+                fileIndex.retainFiles(ArtifactKind.PROCESS, unparsed::contains)));
+
+        Map<Path, ProcessRecord> reusedProcesses = new LinkedHashMap<>();
+        Map<Path, TibcoModel.Process> convertedProcesses = new LinkedHashMap<>();
+        Set<TibcoModel.Process> referencedProcesses = new LinkedHashSet<>();
+        Set<String> reservedNames = new HashSet<>();
+        for (Path file : fileNames.keySet()) {
+            if (changed.contains(file)) {
+                convertedProcesses.put(file, parsed.get(file));
+                continue;
+            }
+            ProcessRecord record = records.get(file);
+            reusedProcesses.put(file, record);
+            reservedNames.addAll(ModuleMembers.definedNames(
+                    Files.readString(targetDir.resolve(record.documentName()))));
+            if (needed.contains(file)) {
+                referencedProcesses.add(parsed.get(file));
+            }
+        }
+
+        Map<String, String> ports = new HashMap<>();
+        Map<String, String> clients = new HashMap<>();
+        if (reuse) {
+            for (String fileName : fileNames.values()) {
+                conversionCache.previousProcess(fileName).ifPresent(record -> {
+                    if (!record.port().isEmpty()) {
+                        ports.put(record.name(), record.port());
+                    }
+                    if (!record.client().isEmpty()) {
+                        clients.put(record.name(), record.client());
+                    }
+                });
+            }
+        }
+        return new ProcessReusePlan(fileNames, processNames, calleeNames, keys, reusedProcesses,
+                convertedProcesses, referencedProcesses, new ProcessBindings(ports, clients, reservedNames));
+    }
+
+    // Hash of the files of the process and of the processes it calls. Calls to unknown processes are part of the key
+    // so that adding the called process invalidates the caller.
+    private static String key(IncrementalConversionCache conversionCache, Map<Path, String> fileNames,
+                              CallGraph callGraph, Path file) {
+        Set<String> entries = new TreeSet<>();
+        for (Path reachable : callGraph.reachable(file)) {
+            String fileName = fileNames.get(reachable);
+            entries.add(fileName + ":" + conversionCache.inputHash(fileName).orElse(""));
+            for (String unresolved : callGraph.unresolvedCallees(reachable)) {
+                entries.add("?" + unresolved);
+            }
+        }
+        return ContentHash.of(String.join("\n", entries));
+    }
+
+    ProcessBindings bindings() {
+        return bindings;
+    }
+
+    boolean reusesProcesses() {
+        return !reusedProcesses.isEmpty();
+    }
+
+    Set<TibcoModel.Process> referencedProcesses() {
+        return referencedProcesses;
+    }
+
+    /**
+     * Returns the project to convert, made of the processes that are converted again and the other artifacts.
+     */
+    ParsedProject project(ParsedProject otherArtifacts) {
+        return new ParsedProject(new LinkedHashSet<>(convertedProcesses.values()), otherArtifacts.types(),
+                otherArtifacts.jdbcResources(), otherArtifacts.httpConnectionResources(),
+                otherArtifacts.httpClientResources(), otherArtifacts.httpSharedResources(),
+                otherArtifacts.jdbcSharedResources());
+    }
+
+    void logPlan() {
+        for (ProcessRecord record : reusedProcesses.values()) {
+            TibcoConverter.logger().info("Reusing unchanged process: " + record.name());
+        }
+        for (TibcoModel.Process process : convertedProcesses.values()) {
+            TibcoConverter.logger().info("Converting process: " + process.name());
+        }
+    }
+
+    /**
+     * Returns the report of the whole project, made of the report of the converted processes and the report entries
+     * recorded for the reused processes by the previous run.
+     */
+    TibcoAnalysisReport report(IncrementalConversionCache conversionCache, TibcoAnalysisReport convertedReport) {
+        TibcoAnalysisReport report = convertedReport;
+        for (Path file : reusedProcesses.keySet()) {
+            Optional<TibcoAnalysisReport> previousReport = conversionCache.previousReport(fileNames.get(file));
+            if (previousReport.isPresent()) {
+                report = TibcoAnalysisReport.combine(report, previousReport.get());
+            } else {
+                TibcoConverter.logger().warning("No report entries recorded for reused process: " +
+                        processNames.get(file));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Records every process of the plan in the cache, once the converted processes have been written.
+     *
+     * @param processReports reports of the converted processes
+     */
+    void record(IncrementalConversionCache conversionCache,
+                Map<TibcoModel.Process, TibcoAnalysisReport> processReports) {
+        reusedProcesses.forEach((file, record) -> conversionCache.reuseProcess(fileNames.get(file), record));
+        for (Map.Entry<Path, TibcoModel.Process> entry : convertedProcesses.entrySet()) {
+            Path file = entry.getKey();
+            String name = processNames.get(file);
+            conversionCache.recordProcess(fileNames.get(file), new ProcessRecord(keys.get(file), name,
+                    ConversionUtils.sanitizes(name) + ".bal",
+                    bindings.port(name).orElse(""), bindings.client(name).orElse(""), calleeNames.get(file)));
+            TibcoAnalysisReport report = processReports.get(entry.getValue());
+            if (report != null) {
+                conversionCache.recordReport(fileNames.get(file), report);
+            }
+        }
+    }
+
+    /**
+     * Calls between the process files of the project. Called processes are resolved by name, or by file name like
+     * {@link ProcessContext#getProcessClient} does.
+     */
+    private record CallGraph(Map<Path, Set<Path>> callees, Map<Path, Set<String>> unresolved) {
+
+        static CallGraph build(Map<Path, String> processNames, Map<Path, List<String>> calleeNames) {
+            Map<String, Path> byName = new HashMap<>();
+            Map<String, Path> byBaseName = new HashMap<>();
+            processNames.forEach((file, name) -> {
+                byName.put(name, file);
+                byBaseName.putIfAbsent(baseName(name).toLowerCase(), file);
+            });
+            Map<Path, Set<Path>> callees = new HashMap<>();
+            Map<Path, Set<String>> unresolved = new HashMap<>();
+            calleeNames.forEach((file, names) -> {
+                Set<Path> resolved = new LinkedHashSet<>();
+                for (String name : names) {
+                    Optional<Path> callee = Optional.ofNullable(byName.get(name))
+                            .or(() -> Optional.ofNullable(byBaseName.get(baseName(name).toLowerCase())));
+                    if (callee.isPresent()) {
+                        resolved.add(callee.get());
+                    } else {
+                        unresolved.computeIfAbsent(file, ignored -> new TreeSet<>()).add(name);
+                    }
+                }
+                callees.put(file, resolved);
+            });
+            return new CallGraph(callees, unresolved);
+        }
+
+        // The process and every process it calls, directly or not
+        Set<Path> reachable(Path file) {
+            Set<Path> reachable = new LinkedHashSet<>();
+            Deque<Path> pending = new ArrayDeque<>(List.of(file));
+            while (!pending.isEmpty()) {
+                Path next = pending.pop();
+                if (reachable.add(next)) {
+                    pending.addAll(callees.getOrDefault(next, Set.of()));
+                }
+            }
+            return reachable;
+        }
+
+        Set<String> unresolvedCallees(Path file) {
+            return unresolved.getOrDefault(file, Set.of());
+        }
+    }
+}
@@ -27,6 +27,7 @@ import tibco.TibcoModel;
 import tibco.TibcoToBalConverter;
 import tibco.XmlToTibcoModelConverter;
 import tibco.analyzer.AnalysisResult;
+import tibco.xslt.StyleSheetCache;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -60,6 +61,7 @@ import static tibco.converter.Library.XML_DATA;
 
 public class ProjectContext {
 
+    static final String MODULE_NAME = "tibco";
     private final Map<TibcoModel.Process, ProcessContext> processContextMap = new HashMap<>();
 
     private final List<BallerinaModel.Function> utilityFunctions = new ArrayList<>();
@@ -87,6 +89,8 @@ public class ProjectContext {
     private final Map<String, String> renderJsonAsXMLFunction = new HashMap<>();
     private final Map<TibcoModel.Process, AnalysisResult> analysisResult;
     private Collection<TibcoModel.Type.Schema> schemas = new ArrayList<>();
+    // Identical stylesheets are common across the activities of a project
+    private final StyleSheetCache xsltTransformCache = new StyleSheetCache(ActivityConverter.xsltTransformer());
 
     ProjectContext(TibcoToBalConverter.ProjectConversionContext conversionContext,
                    Map<TibcoModel.Process, AnalysisResult> analysisResult) {
@@ -94,19 +98,65 @@ public class ProjectContext {
         this.analysisResult = analysisResult;
     }
 
+    Optional<TibcoToBalConverter.ProjectConversionContext> conversionContext() {
+        return conversionContext;
+    }
+
+    boolean isEnabled(TibcoToBalConverter.ConversionOption option) {
+        return conversionContext.map(each -> each.isEnabled(option)).orElse(false);
+    }
+
+    StyleSheetCache xsltTransformCache() {
+        return xsltTransformCache;
+    }
+
+    int xsltTransformCount() {
+        return processContextMap.values().stream().mapToInt(ProcessContext::xsltTransformCount).sum();
+    }
+
+    int compiledXsltTransformCount() {
+        return processContextMap.values().stream().mapToInt(ProcessContext::compiledXsltTransformCount).sum();
+    }
+
     ProcessContext getProcessContext(TibcoModel.Process process) {
         return processContextMap.computeIfAbsent(process, p -> new ProcessContext(this, p));
     }
 
-    int allocatePort() {
-        return nextPort++;
+    /**
+     * Returns the listener port of the process. Ports kept from a previous incremental migration are reused and never
+     * allocated to other processes.
+     */
+    int allocatePort(String processName) {
+        return Integer.parseInt(processBindings().port(processName, () -> {
+            while (processBindings().isPortTaken(Integer.toString(nextPort))) {
+                nextPort++;
+            }
+            return Integer.toString(nextPort++);
+        }));
+    }
+
+    /**
+     * Returns the name of the client variable of the process, keeping the name given by a previous incremental
+     * migration if there is one.
+     */
+    String processClientName(String processName) {
+        return processBindings().client(processName, this::getAnonName);
+    }
+
+    private ProcessBindings processBindings() {
+        return conversionContext.map(TibcoToBalConverter.ProjectConversionContext::processBindings)
+                .orElseGet(ProcessBindings::new);
     }
 
     BallerinaModel.Module serialize(Collection<BallerinaModel.TextDocument> textDocuments) {
         List<BallerinaModel.TextDocument> combinedTextDocuments = Stream.concat(textDocuments.stream(),
                 Stream.of(typesFile(), utilsFile())).toList();
         logger.info(String.format("Type Statistics - Total Types: %d", typeCount));
-        return new BallerinaModel.Module("tibco", combinedTextDocuments);
+        logger.info(String.format("XSLT Statistics - Rewritten: %d, Reused: %d", xsltTransformCache.misses(),
+                xsltTransformCache.hits()));
+        logger.info(String.format("XSLT Statistics - Compiled: %d, Fallback: %d", compiledXsltTransformCount,
+                xsltTransformCount - compiledXsltTransformCount));
+        return new BallerinaModel.Module(MODULE_NAME, combinedTextDocuments);
     }
 
     String getToXmlFunction() {
@@ -387,7 +437,11 @@ public class ProjectContext {
     }
 
     public String getAnonName() {
-        return "proj_annon_var" + annonVarCount++;
+        String name = "proj_annon_var" + annonVarCount++;
+        while (processBindings().isTaken(name)) {
+            name = "proj_annon_var" + annonVarCount++;
+        }
+        return name;
     }
 
     public VariableReference getProcessClient(String processName) {
@@ -464,6 +518,31 @@ public class ProjectContext {
         return Intrinsics.ADD_TO_CONTEXT.name;
     }
 
+    String getXsltDocumentFn() {
+        utilityIntrinsics.add(Intrinsics.XSLT_DOCUMENT);
+        return Intrinsics.XSLT_DOCUMENT.name;
+    }
+
+    String getXsltChildrenFn() {
+        utilityIntrinsics.add(Intrinsics.XSLT_CHILDREN);
+        return Intrinsics.XSLT_CHILDREN.name;
+    }
+
+    String getXsltDescendantsFn() {
+        utilityIntrinsics.add(Intrinsics.XSLT_DESCENDANTS);
+        return Intrinsics.XSLT_DESCENDANTS.name;
+    }
+
+    String getXsltValueOfFn() {
+        utilityIntrinsics.add(Intrinsics.XSLT_VALUE_OF);
+        return Intrinsics.XSLT_VALUE_OF.name;
+    }
+
+    String getXsltFirstValueOfFn() {
+        utilityIntrinsics.add(Intrinsics.XSLT_FIRST_VALUE_OF);
+        return Intrinsics.XSLT_FIRST_VALUE_OF.name;
+    }
+
     public String getNamespaceFixFn() {
         utilityIntrinsics.add(Intrinsics.XML_PARSER_RESULT);
         utilityIntrinsics.add(Intrinsics.XML_PARSER);
@@ -27,9 +27,12 @@ import tibco.analyzer.TibcoAnalysisReport;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -44,6 +47,52 @@ public class ProjectConverter {
             Set<TibcoModel.Resource.HTTPClientResource> httpClientResources,
             Set<TibcoModel.Resource.HTTPSharedResource> httpSharedResources,
             Set<TibcoModel.Resource.JDBCSharedResource> jdbcSharedResource, TibcoAnalysisReport report) {
+        return convertProject(conversionContext, analysisResult, processes, types, jdbcResources,
+                httpConnectionResources, httpClientResources, httpSharedResources, jdbcSharedResource, report,
+                Optional.empty());
+    }
+
+    /**
+     * Converts the project, optionally handing over the document of each process as soon as it is converted.
+     * <p>
+     * Process documents are snapshots of their process context, so a document does not change once it is handed
+     * over. When {@code processDocumentSink} is present, the documents are not kept and the module of the result only
+     * has the documents that need the whole project, i.e. {@code types.bal} and {@code utils.bal}.
+     *
+     * @param processDocumentSink consumer of the process documents, in the iteration order of {@code processes}
+     */
+    public static ConversionResult convertProject(
+            TibcoToBalConverter.ProjectConversionContext conversionContext,
+            Map<TibcoModel.Process, AnalysisResult> analysisResult,
+            Collection<TibcoModel.Process> processes, Collection<TibcoModel.Type.Schema> types,
+            Collection<TibcoModel.Resource.JDBCResource> jdbcResources,
+            Collection<TibcoModel.Resource.HTTPConnectionResource> httpConnectionResources,
+            Set<TibcoModel.Resource.HTTPClientResource> httpClientResources,
+            Set<TibcoModel.Resource.HTTPSharedResource> httpSharedResources,
+            Set<TibcoModel.Resource.JDBCSharedResource> jdbcSharedResource, TibcoAnalysisReport report,
+            Optional<Consumer<BallerinaModel.TextDocument>> processDocumentSink) {
+        return convertProject(conversionContext, analysisResult, processes, List.of(), types, jdbcResources,
+                httpConnectionResources, httpClientResources, httpSharedResources, jdbcSharedResource, report,
+                processDocumentSink);
+    }
+
+    /**
+     * Converts the project as above, except that the processes in {@code referencedProcesses} only get their services
+     * and clients set up, so that the converted processes can call them. No document is generated for them.
+     *
+     * @param referencedProcesses processes called by {@code processes} whose documents are not generated
+     */
+    public static ConversionResult convertProject(
+            TibcoToBalConverter.ProjectConversionContext conversionContext,
+            Map<TibcoModel.Process, AnalysisResult> analysisResult,
+            Collection<TibcoModel.Process> processes, Collection<TibcoModel.Process> referencedProcesses,
+            Collection<TibcoModel.Type.Schema> types,
+            Collection<TibcoModel.Resource.JDBCResource> jdbcResources,
+            Collection<TibcoModel.Resource.HTTPConnectionResource> httpConnectionResources,
+            Set<TibcoModel.Resource.HTTPClientResource> httpClientResources,
+            Set<TibcoModel.Resource.HTTPSharedResource> httpSharedResources,
+            Set<TibcoModel.Resource.JDBCSharedResource> jdbcSharedResource, TibcoAnalysisReport report,
+            Optional<Consumer<BallerinaModel.TextDocument>> processDocumentSink) {
         ProjectContext cx = new ProjectContext(conversionContext, analysisResult);
         convertResources(cx, jdbcResources, httpConnectionResources, httpClientResources, httpSharedResources,
                 jdbcSharedResource);
@@ -52,7 +101,7 @@ public class ProjectConverter {
 
         }
         List<ProcessResult> results =
-                processes.stream()
+                Stream.concat(processes.stream(), referencedProcesses.stream())
                         .map(process -> new ProcessResult(process,
                                 ProcessConverter.convertTypes(cx.getProcessContext(process), process)))
                         .map(processResult -> {
@@ -74,14 +123,25 @@ public class ProjectConverter {
         for (TibcoModel.Process each : processes) {
             accumSchemas(each, schemas);
         }
-        List<BallerinaModel.TextDocument> textDocuments = results.stream()
-                .map(result -> {
-                    TibcoModel.Process process = result.process();
-                    return ProcessConverter.convertBody(cx.getProcessContext(process), process, result.result());
-                }).toList();
+        List<BallerinaModel.TextDocument> textDocuments = new ArrayList<>();
+        Consumer<BallerinaModel.TextDocument> sink = processDocumentSink.orElse(textDocuments::add);
+        for (ProcessResult result : results.subList(0, processes.size())) {
+            TibcoModel.Process process = result.process();
+            sink.accept(ProcessConverter.convertBody(cx.getProcessContext(process), process, result.result()));
+        }
         schemas.addAll(cx.getXSDSchemas());
         SyntaxTree typeSyntaxTree = convertTypes(cx, schemas);
-        return new ConversionResult(cx.serialize(textDocuments), typeSyntaxTree, report);
+        Map<TibcoModel.Process, TibcoAnalysisReport> processReports = new LinkedHashMap<>();
+        for (TibcoModel.Process process : processes) {
+            ProcessContext processContext = cx.getProcessContext(process);
+            processReports.put(process, analysisResult.get(process).getReport()
+                    .orElseGet(TibcoAnalysisReport::empty)
+                    .withXsltTransformCounts(processContext.xsltTransformCount(),
+                            processContext.compiledXsltTransformCount()));
+        }
+        return new ConversionResult(cx.serialize(textDocuments), typeSyntaxTree,
+                report.withXsltTransformCounts(cx.xsltTransformCount(), cx.compiledXsltTransformCount()),
+                processReports);
     }
 
     private static void accumSchemas(TibcoModel.Process process, Collection<TibcoModel.Type.Schema> accum) {
@@ -0,0 +1,371 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.converter;
+
+import common.CodeGenerator;
+import common.ContentHash;
+import io.ballerina.compiler.syntax.tree.ConstantDeclarationNode;
+import io.ballerina.compiler.syntax.tree.EnumDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.NodeFactory;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.xsd.core.XSDToRecord;
+import io.ballerina.xsd.core.response.NodeResponse;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import tibco.TibcoModel;
+import tibco.TibcoToBalConverter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.xml.XMLConstants;
+
+import static io.ballerina.xsd.core.XSDToRecord.generateNodes;
+
+/**
+ * Converts XSD schemas to Ballerina record definitions.
+ * <p>
+ * Without parallelism or a cache, all the schemas are converted in a single call, as they are given. Otherwise
+ * schemas are first deduplicated by the hash of their canonical content, since the same schema is often declared by
+ * many processes. The remaining schemas are split into groups that do not depend on each other: schemas are put in
+ * the same group if they share a target namespace (which covers includes and redefines) or if one imports or declares
+ * the target namespace of the other. Each group is converted with a call of its own, concurrently if a parallelism
+ * above {@code 1} is given, and the result of each group can be cached on disk between runs, keyed by the hashes of
+ * its schemas and the version of the XSD converter. Cached results that a run does not use are removed at the end of
+ * it. The groups are merged in the order of their first schema, so the output does not depend on scheduling.
+ * <p>
+ * The XSD converter resolves clashing type names within a single call only. If two groups define the same name, all
+ * the schemas are converted again in a single call.
+ */
+final class SchemaConversionEngine {
+
+    private static final Logger logger = ProjectConverter.logger();
+    private static final String CACHE_FILE_EXTENSION = ".types";
+    // Bump when the cached content changes
+    private static final String CACHE_FORMAT_VERSION = "1";
+    // Cached types are only valid for the XSD converter that generated them
+    static final String XSD_CONVERTER_VERSION = ConversionUtils.codeVersion(XSDToRecord.class);
+    private static final Pattern WHITESPACE_BETWEEN_TAGS = Pattern.compile(">\\s+<");
+
+    private final int parallelism;
+    private final Optional<Path> cacheDir;
+    private final Set<Path> usedCacheFiles = ConcurrentHashMap.newKeySet();
+
+    SchemaConversionEngine(int parallelism, Optional<Path> cacheDir) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.cacheDir = cacheDir;
+    }
+
+    static SchemaConversionEngine forProject(ProjectContext cx) {
+        Optional<TibcoToBalConverter.ProjectConversionContext> conversionContext = cx.conversionContext();
+        int parallelism = conversionContext
+                .filter(each -> each.isEnabled(TibcoToBalConverter.ConversionOption.PARALLEL_TYPE_CONVERSION))
+                .map(ignored -> Runtime.getRuntime().availableProcessors())
+                .orElse(1);
+        return new SchemaConversionEngine(parallelism,
+                conversionContext.flatMap(TibcoToBalConverter.ProjectConversionContext::typeCacheDir));
+    }
+
+    SyntaxTree convert(Collection<TibcoModel.Type.Schema> schemas) throws Exception {
+        ModulePartNode modulePart;
+        if (parallelism == 1 && cacheDir.isEmpty()) {
+            modulePart = convertAll(schemas.stream()
+                    .map(schema -> ConversionUtils.elementToString(schema.element())).toArray(String[]::new));
+        } else {
+            List<SchemaSource> sources = deduplicate(schemas);
+            modulePart = convertGroups(sources, group(sources));
+            cacheDir.ifPresent(this::pruneCache);
+        }
+        SyntaxTree syntaxTree = SyntaxTree.from(TextDocuments.from(""));
+        syntaxTree = syntaxTree.modifyWith(modulePart);
+        return CodeGenerator.formatSyntaxTree(syntaxTree);
+    }
+
+    private ModulePartNode convertGroups(List<SchemaSource> sources, List<List<SchemaSource>> groups)
+            throws Exception {
+        List<GroupResult> results;
+        if (parallelism == 1 || groups.size() == 1) {
+            results = new ArrayList<>(groups.size());
+            for (List<SchemaSource> group : groups) {
+                results.add(convertCachedGroup(group));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                results = pool.submit(() -> groups.parallelStream().map(this::convertCachedGroupUnchecked).toList())
+                        .get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while converting schemas", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } finally {
+                pool.shutdown();
+            }
+        }
+        results.forEach(result -> result.response().ifPresent(TypeConverter::logTypeConversionErrors));
+        Optional<ModulePartNode> merged = merge(results);
+        if (merged.isPresent()) {
+            return merged.get();
+        }
+        logger.fine("Schema groups define clashing type names, converting all the schemas together");
+        return convertAll(sources.stream().map(SchemaSource::content).toArray(String[]::new));
+    }
+
+    private static ModulePartNode convertAll(String[] content) throws Exception {
+        NodeResponse response = generateNodes(content);
+        TypeConverter.logTypeConversionErrors(response);
+        return response.types();
+    }
+
+    private GroupResult convertCachedGroupUnchecked(List<SchemaSource> group) {
+        try {
+            return convertCachedGroup(group);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Schema conversion failed", e);
+        }
+    }
+
+    private GroupResult convertCachedGroup(List<SchemaSource> group) throws Exception {
+        if (cacheDir.isEmpty()) {
+            return convertGroup(group);
+        }
+        StringBuilder key = new StringBuilder(CACHE_FORMAT_VERSION).append(':').append(XSD_CONVERTER_VERSION);
+        for (SchemaSource source : group) {
+            key.append(':').append(source.hash());
+        }
+        Path cacheFile = cacheDir.get().resolve(ContentHash.of(key.toString()) + CACHE_FILE_EXTENSION);
+        usedCacheFiles.add(cacheFile);
+        Optional<String> cached = readCacheFile(cacheFile);
+        if (cached.isPresent()) {
+            ModulePartNode modulePart = SyntaxTree.from(TextDocuments.from(cached.get())).rootNode();
+            return new GroupResult(modulePart, Optional.empty());
+        }
+        GroupResult result = convertGroup(group);
+        // Conversions with errors are not cached so that the errors are reported on every run
+        if (result.response().map(response -> response.diagnostics().isEmpty()).orElse(true)) {
+            writeCacheFile(cacheFile, result.modulePart().toSourceCode());
+        }
+        return result;
+    }
+
+    private static GroupResult convertGroup(List<SchemaSource> group) throws Exception {
+        String[] content = group.stream().map(SchemaSource::content).toArray(String[]::new);
+        NodeResponse response = generateNodes(content);
+        return new GroupResult(response.types(), Optional.of(response));
+    }
+
+    private static Optional<String> readCacheFile(Path cacheFile) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readString(cacheFile));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error reading cached types, converting the schemas again: " + cacheFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void writeCacheFile(Path cacheFile, String content) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            // Written to a temporary file first so that a concurrent or interrupted run never reads a partial file
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), "types", ".tmp");
+            Files.writeString(tempFile, content);
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error caching converted types: " + cacheFile, e);
+        }
+    }
+
+    private void pruneCache(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(file -> file.toString().endsWith(CACHE_FILE_EXTENSION)).toList()) {
+                if (!usedCacheFiles.contains(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error removing unused cached types: " + dir, e);
+        }
+    }
+
+    /**
+     * Merges the results of the groups, or returns {@link Optional#empty()} if two groups define the same name.
+     */
+    private static Optional<ModulePartNode> merge(List<GroupResult> results) {
+        if (results.size() == 1) {
+            return Optional.of(results.getFirst().modulePart());
+        }
+        Map<String, ImportDeclarationNode> imports = new LinkedHashMap<>();
+        List<ModuleMemberDeclarationNode> members = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (GroupResult result : results) {
+            for (ImportDeclarationNode importDeclaration : result.modulePart().imports()) {
+                imports.putIfAbsent(importDeclaration.toSourceCode().strip(), importDeclaration);
+            }
+            for (ModuleMemberDeclarationNode member : result.modulePart().members()) {
+                Optional<String> name = definedName(member);
+                if (name.isPresent() && !names.add(name.get())) {
+                    return Optional.empty();
+                }
+                members.add(member);
+            }
+        }
+        return Optional.of(NodeFactory.createModulePartNode(NodeFactory.createNodeList(imports.values()),
+                NodeFactory.createNodeList(members), results.getFirst().modulePart().eofToken()));
+    }
+
+    private static Optional<String> definedName(ModuleMemberDeclarationNode member) {
+        return switch (member) {
+            case TypeDefinitionNode typeDefinition -> Optional.of(typeDefinition.typeName().text());
+            case EnumDeclarationNode enumDeclaration -> Optional.of(enumDeclaration.identifier().text());
+            case ConstantDeclarationNode constantDeclaration ->
+                    Optional.of(constantDeclaration.variableName().text());
+            default -> Optional.empty();
+        };
+    }
+
+    private static List<SchemaSource> deduplicate(Collection<TibcoModel.Type.Schema> schemas) {
+        Map<String, SchemaSource> sources = new LinkedHashMap<>();
+        for (TibcoModel.Type.Schema schema : schemas) {
+            String content = ConversionUtils.elementToString(schema.element());
+            String hash = ContentHash.of(WHITESPACE_BETWEEN_TAGS.matcher(content.strip()).replaceAll("><"));
+            sources.computeIfAbsent(hash, ignored -> SchemaSource.from(schema.element(), content, hash));
+        }
+        return List.copyOf(sources.values());
+    }
+
+    /**
+     * Splits the schemas into groups that do not refer to each other, in the order of their first schema.
+     */
+    static List<List<SchemaSource>> group(List<SchemaSource> sources) {
+        int[] parents = new int[sources.size()];
+        Map<String, Integer> namespaceOwners = new HashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            parents[i] = i;
+            Integer owner = namespaceOwners.putIfAbsent(sources.get(i).targetNamespace(), i);
+            if (owner != null) {
+                union(parents, owner, i);
+            }
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            for (String namespace : sources.get(i).referencedNamespaces()) {
+                Integer owner = namespaceOwners.get(namespace);
+                if (owner != null) {
+                    union(parents, owner, i);
+                }
+            }
+        }
+        Map<Integer, List<SchemaSource>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            groups.computeIfAbsent(find(parents, i), ignored -> new ArrayList<>()).add(sources.get(i));
+        }
+        return List.copyOf(groups.values());
+    }
+
+    private static int find(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parents, int a, int b) {
+        int rootA = find(parents, a);
+        int rootB = find(parents, b);
+        // The smaller index is kept as the root so that groups are ordered by their first schema
+        if (rootA < rootB) {
+            parents[rootB] = rootA;
+        } else {
+            parents[rootA] = rootB;
+        }
+    }
+
+    /**
+     * @param content              serialized schema
+     * @param hash                 hash of the canonical content of the schema
+     * @param targetNamespace      target namespace of the schema, empty if there is none
+     * @param referencedNamespaces namespaces the schema imports or declares a prefix for
+     */
+    record SchemaSource(String content, String hash, String targetNamespace, Set<String> referencedNamespaces) {
+
+        static SchemaSource from(Element schema, String content, String hash) {
+            Set<String> referencedNamespaces = new LinkedHashSet<>();
+            NamedNodeMap attributes = schema.getAttributes();
+            for (int i = 0; i < attributes.getLength(); i++) {
+                Attr attribute = (Attr) attributes.item(i);
+                if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                    referencedNamespaces.add(attribute.getValue());
+                }
+            }
+            NodeList children = schema.getChildNodes();
+            for (int i = 0; i < children.getLength(); i++) {
+                if (children.item(i).getNodeType() == Node.ELEMENT_NODE &&
+                        "import".equals(children.item(i).getLocalName())) {
+                    referencedNamespaces.add(((Element) children.item(i)).getAttribute("namespace"));
+                }
+            }
+            referencedNamespaces.remove(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            return new SchemaSource(content, hash, schema.getAttribute("targetNamespace"),
+                    Set.copyOf(referencedNamespaces));
+        }
+    }
+
+    // The response is empty for results read from the cache
+    private record GroupResult(ModulePartNode modulePart, Optional<NodeResponse> response) {
+    }
+}
@@ -21,24 +21,58 @@ package tibco.converter;
 import common.BICodeConverter;
 import common.BallerinaModel;
 import common.CodeGenerator;
+import common.ParallelDocumentEmitter;
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import tibco.ProjectFileIndex;
 import tibco.TibcoToBalConverter;
+import tibco.TibcoToBalConverter.ConversionOption;
 import tibco.analyzer.TibcoAnalysisReport;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 public class TibcoConverter {
+    private static final String REPORT_FILE_NAME = "report.html";
+    private static final String TOML_FILE_NAME = "Ballerina.toml";
+    private static final String TYPES_FILE_NAME = "types.bal";
+    private static final String UTILS_FILE_NAME = "utils.bal";
+    // Documents assembled from the whole project, which are written on every run instead of being tracked by the
+    // conversion cache
+    private static final List<String> PROJECT_FILE_NAMES = List.of(TYPES_FILE_NAME, UTILS_FILE_NAME);
+    private static final String TYPE_CACHE_DIR_NAME = ".type-cache";
+    private static final String LOGGER_NAME = "migrate-tibco";
     private static Logger logger;
 
     public static void migrateTibco(String sourcePath, String outputPath, boolean preserverStructure, boolean verbose,
                                     boolean dryRun) {
-        logger = verbose ? createDefaultLogger("migrate-tibco") : createSilentLogger("migrate-tibco");
+        migrateTibco(sourcePath, outputPath, preserverStructure, verbose, dryRun,
+                EnumSet.noneOf(ConversionOption.class));
+    }
+
+    public static void migrateTibco(String sourcePath, String outputPath, boolean preserverStructure, boolean verbose,
+                                    boolean dryRun, Set<ConversionOption> options) {
+        migrateTibco(sourcePath, outputPath, preserverStructure, verbose, dryRun, options, 1);
+    }
+
+    /**
+     * @param emitParallelism number of output documents generated, formatted and written at the same time
+     */
+    public static void migrateTibco(String sourcePath, String outputPath, boolean preserverStructure, boolean verbose,
+                                    boolean dryRun, Set<ConversionOption> options, int emitParallelism) {
+        logger = verbose ? createDefaultLogger(LOGGER_NAME) : createSilentLogger(LOGGER_NAME);
         Path inputPath = null;
         try {
             inputPath = Paths.get(sourcePath).toRealPath();
@@ -50,10 +84,12 @@ public class TibcoConverter {
         if (Files.isRegularFile(inputPath)) {
             String inputRootDirectory = inputPath.getParent().toString();
             String targetPath = outputPath != null ? outputPath : inputRootDirectory + "_converted";
-            migrateTibcoProject(inputRootDirectory, targetPath, preserverStructure, verbose, dryRun);
+            migrateTibcoProject(inputRootDirectory, targetPath, preserverStructure, verbose, dryRun, options,
+                    emitParallelism);
         } else if (Files.isDirectory(inputPath)) {
             String targetPath = outputPath != null ? outputPath : inputPath + "_converted";
-            migrateTibcoProject(inputPath.toString(), targetPath, preserverStructure, verbose, dryRun);
+            migrateTibcoProject(inputPath.toString(), targetPath, preserverStructure, verbose, dryRun, options,
+                    emitParallelism);
         } else {
             // I don't think this can ever happen but just in case
             logger().severe("Invalid path: " + inputPath);
@@ -63,7 +99,18 @@ public class TibcoConverter {
 
     static void migrateTibcoProject(String projectPath, String targetPath, boolean preserverStructure, boolean verbose,
                                     boolean dryRun) {
-        logger = verbose ? createDefaultLogger("migrate-tibco") : createSilentLogger("migrate-tibco");
+        migrateTibcoProject(projectPath, targetPath, preserverStructure, verbose, dryRun,
+                EnumSet.noneOf(ConversionOption.class));
+    }
+
+    static void migrateTibcoProject(String projectPath, String targetPath, boolean preserverStructure, boolean verbose,
+                                    boolean dryRun, Set<ConversionOption> options) {
+        migrateTibcoProject(projectPath, targetPath, preserverStructure, verbose, dryRun, options, 1);
+    }
+
+    static void migrateTibcoProject(String projectPath, String targetPath, boolean preserverStructure, boolean verbose,
+                                    boolean dryRun, Set<ConversionOption> options, int emitParallelism) {
+        logger = verbose ? createDefaultLogger(LOGGER_NAME) : createSilentLogger(LOGGER_NAME);
         Path targetDir = Paths.get(targetPath);
         try {
             createTargetDirectoryIfNeeded(targetDir);
@@ -72,18 +119,70 @@ public class TibcoConverter {
             System.exit(1);
             return;
         }
-        TibcoToBalConverter.ProjectConversionContext cx =
-                new TibcoToBalConverter.ProjectConversionContext(verbose, dryRun);
+        Optional<Path> typeCacheDir = options.contains(ConversionOption.CACHE_TYPES) && !dryRun ?
+                Optional.of(targetDir.resolve(TYPE_CACHE_DIR_NAME)) : Optional.empty();
+        TibcoToBalConverter.ProjectConversionContext cx = new TibcoToBalConverter.ProjectConversionContext(verbose,
+                dryRun, options, emitParallelism, typeCacheDir);
+        Optional<IncrementalConversionCache> conversionCache =
+                loadConversionCache(cx, projectPath, targetDir, preserverStructure);
+        if (conversionCache.isPresent() && isUpToDate(conversionCache.get())) {
+            logger().info("No changes detected since the last migration of: " + projectPath);
+            return;
+        }
+        // Processes are only reused when the process structure is kept, since the default layout combines them
+        Optional<ProcessReusePlan> reusePlan = Optional.empty();
+        if (preserverStructure && conversionCache.isPresent()) {
+            reusePlan = planProcessReuse(cx, conversionCache.get(), projectPath, targetDir);
+        }
+        Map<String, String> previousProjectFiles = Map.of();
+        if (reusePlan.isPresent()) {
+            cx = new TibcoToBalConverter.ProjectConversionContext(verbose, dryRun, options, emitParallelism,
+                    typeCacheDir, reusePlan.get().bindings());
+            reusePlan.get().logPlan();
+        }
+        if (reusePlan.isPresent() && reusePlan.get().reusesProcesses()) {
+            // Project files of the run only have the declarations needed by the converted processes, so they are
+            // merged with the ones of the previous run
+            previousProjectFiles = readProjectFiles(targetDir);
+            for (String dependency : conversionCache.get().previousDependencies()) {
+                cx.javaDependencies().add(TibcoToBalConverter.JavaDependencies.valueOf(dependency));
+            }
+        }
+        BallerinaModel.DefaultPackage balPackage = new BallerinaModel.DefaultPackage("tibco", "sample", "0.1");
+        if (conversionCache.isPresent()) {
+            // types.bal is assembled by prepending to the existing file, so it is always generated from scratch
+            try {
+                Files.deleteIfExists(targetDir.resolve(TYPES_FILE_NAME));
+            } catch (IOException e) {
+                logger().log(Level.SEVERE, "Error removing previous types file", e);
+            }
+        }
+        Optional<Consumer<BallerinaModel.TextDocument>> processDocumentSink = Optional.empty();
+        if (cx.isEnabled(ConversionOption.STREAMING_OUTPUT) && !cx.dryRun()) {
+            if (preserverStructure) {
+                processDocumentSink = Optional.of(textDocument -> streamTextDocument(conversionCache, balPackage,
+                        textDocument, targetDir));
+            } else {
+                // Files of the default layout are assembled from the documents of all the processes
+                logger().warning("Streaming output needs the process structure to be kept, " +
+                        "output files are written once the whole project is converted");
+            }
+        }
         ConversionResult result;
         try {
-            result = TibcoToBalConverter.convertProject(cx, projectPath);
+            result = reusePlan.isPresent() ?
+                    convertPlannedProcesses(cx, reusePlan.get(), projectPath, processDocumentSink) :
+                    TibcoToBalConverter.convertProject(cx, projectPath, processDocumentSink);
         } catch (Exception e) {
             logger().severe("Unrecoverable error while converting project");
             System.exit(1);
             return;
         }
+        // The report of a partial run only covers the converted processes
+        TibcoAnalysisReport report = reusePlan.isPresent() ?
+                reusePlan.get().report(conversionCache.get(), result.report()) : result.report();
         try {
-            writeAnalysisReport(targetDir, result.report());
+            writeAnalysisReport(targetDir, report);
         } catch (IOException e) {
             logger().log(Level.SEVERE, "Error creating analysis report", e);
         }
@@ -97,36 +196,221 @@ public class TibcoConverter {
             BallerinaModel.Module biModule = new BICodeConverter().convert(result.module());
             textDocuments = biModule.textDocuments();
         }
-        BallerinaModel.DefaultPackage balPackage = new BallerinaModel.DefaultPackage("tibco", "sample", "0.1");
-        for (BallerinaModel.TextDocument textDocument : textDocuments) {
+        writeTextDocuments(cx, conversionCache, balPackage, textDocuments, targetDir);
+        try {
+            addProjectArtifacts(cx, targetPath);
+        } catch (IOException e) {
+            logger().log(Level.SEVERE, "Error adding project artifacts", e);
+        }
+        try {
+            appendASTToFile(targetDir, TYPES_FILE_NAME, result.types());
+        } catch (IOException e) {
+            logger().log(Level.SEVERE, "Error creating types files", e);
+        }
+        if (conversionCache.isPresent()) {
+            if (reusePlan.isPresent()) {
+                reusePlan.get().record(conversionCache.get(), result.processReports());
+            }
+            // Documents of removed processes must not keep their declarations in the project files alive
+            removeStaleDocuments(conversionCache.get());
+        }
+        mergeProjectFiles(targetDir, previousProjectFiles);
+        if (conversionCache.isPresent()) {
+            conversionCache.get().recordDependencies(cx.javaDependencies().stream()
+                    .map(Enum::name)
+                    .distinct()
+                    .toList());
+            saveConversionCache(conversionCache.get());
+        }
+    }
+
+    private static Optional<ProcessReusePlan> planProcessReuse(TibcoToBalConverter.ProjectConversionContext cx,
+                                                               IncrementalConversionCache conversionCache,
+                                                               String projectPath, Path targetDir) {
+        try {
+            return Optional.of(ProcessReusePlan.create(cx, conversionCache, ProjectFileIndex.build(projectPath),
+                    targetDir));
+        } catch (IOException e) {
+            logger().log(Level.WARNING, "Error reading previous migration output, converting every process", e);
+            return Optional.empty();
+        }
+    }
+
+    private static ConversionResult convertPlannedProcesses(
+            TibcoToBalConverter.ProjectConversionContext cx, ProcessReusePlan reusePlan, String projectPath,
+            Optional<Consumer<BallerinaModel.TextDocument>> processDocumentSink) throws IOException {
+        ProjectFileIndex fileIndex = ProjectFileIndex.build(projectPath)
+                .retainFiles(ProjectFileIndex.ArtifactKind.PROCESS, ignored -> false);
+        TibcoToBalConverter.ParsedProject otherArtifacts = TibcoToBalConverter.parseProject(cx, fileIndex);
+        return TibcoToBalConverter.convertProject(cx, reusePlan.project(otherArtifacts),
+                reusePlan.referencedProcesses(), processDocumentSink);
+    }
+
+    private static Map<String, String> readProjectFiles(Path targetDir) {
+        Map<String, String> projectFiles = new HashMap<>();
+        for (String fileName : PROJECT_FILE_NAMES) {
+            Path file = targetDir.resolve(fileName);
             try {
-                writeTextDocument(result.module(), balPackage, textDocument, targetDir);
+                if (Files.isRegularFile(file)) {
+                    projectFiles.put(fileName, Files.readString(file));
+                }
             } catch (IOException e) {
-                logger().log(Level.SEVERE, "Failed to create output file" + textDocument.documentName(), e);
+                logger().log(Level.WARNING, "Error reading previous project file: " + fileName, e);
             }
         }
+        return projectFiles;
+    }
+
+    /**
+     * Merges the project files of a partial run with the ones of the previous run, keeping the declarations of the
+     * previous run that the documents of the module still refer to.
+     */
+    private static void mergeProjectFiles(Path targetDir, Map<String, String> previousProjectFiles) {
+        if (previousProjectFiles.isEmpty()) {
+            return;
+        }
+        Map<String, String> currentProjectFiles = readProjectFiles(targetDir);
+        List<String> referencingSources = new ArrayList<>();
+        try (Stream<Path> files = Files.list(targetDir)) {
+            for (Path file : files.filter(TibcoConverter::isModuleDocument).toList()) {
+                referencingSources.add(Files.readString(file));
+            }
+        } catch (IOException e) {
+            logger().log(Level.WARNING, "Error reading module documents, keeping every previous declaration", e);
+            referencingSources = List.copyOf(previousProjectFiles.values());
+        }
+        ModuleMembers.merge(currentProjectFiles, previousProjectFiles, referencingSources)
+                .forEach((fileName, content) -> {
+                    try {
+                        Files.writeString(targetDir.resolve(fileName), content);
+                    } catch (IOException e) {
+                        logger().log(Level.SEVERE, "Error merging project file: " + fileName, e);
+                    }
+                });
+    }
+
+    private static boolean isModuleDocument(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.endsWith(".bal") && !PROJECT_FILE_NAMES.contains(fileName) && Files.isRegularFile(file);
+    }
+
+    /**
+     * Writes each text document to a file of its own. Documents are independent, so they are generated, formatted and
+     * written on {@link TibcoToBalConverter.ProjectConversionContext#emitParallelism()} workers, and failures are
+     * reported in the order of {@code textDocuments}.
+     */
+    private static void writeTextDocuments(TibcoToBalConverter.ProjectConversionContext cx,
+                                           Optional<IncrementalConversionCache> conversionCache,
+                                           BallerinaModel.DefaultPackage balPackage,
+                                           List<BallerinaModel.TextDocument> textDocuments, Path targetDir) {
+        List<ParallelDocumentEmitter.Failure<BallerinaModel.TextDocument>> failures;
+        try (ParallelDocumentEmitter emitter = new ParallelDocumentEmitter(cx.emitParallelism())) {
+            failures = emitter.emit(textDocuments,
+                    textDocument -> emitTextDocument(conversionCache, balPackage, textDocument, targetDir));
+        }
+        for (ParallelDocumentEmitter.Failure<BallerinaModel.TextDocument> failure : failures) {
+            logger().log(Level.SEVERE, "Failed to create output file " + failure.document().documentName(),
+                    failure.error());
+        }
+    }
+
+    /**
+     * Writes the document of a process as soon as it is converted, so that the document and its syntax tree can be
+     * collected before the next process is converted.
+     */
+    private static void streamTextDocument(Optional<IncrementalConversionCache> conversionCache,
+                                           BallerinaModel.DefaultPackage balPackage,
+                                           BallerinaModel.TextDocument textDocument, Path targetDir) {
         try {
-            addProjectArtifacts(cx, targetPath);
+            emitTextDocument(conversionCache, balPackage, textDocument, targetDir);
+        } catch (Exception e) {
+            logger().log(Level.SEVERE, "Failed to create output file " + textDocument.documentName(), e);
+        }
+    }
+
+    private static void emitTextDocument(Optional<IncrementalConversionCache> conversionCache,
+                                         BallerinaModel.DefaultPackage balPackage,
+                                         BallerinaModel.TextDocument textDocument, Path targetDir)
+            throws IOException {
+        if (conversionCache.isPresent() && !PROJECT_FILE_NAMES.contains(textDocument.documentName())) {
+            writeTextDocumentIfChanged(conversionCache.get(), balPackage, textDocument, targetDir);
+        } else {
+            writeTextDocument(balPackage, textDocument, targetDir);
+        }
+    }
+
+    private static Optional<IncrementalConversionCache> loadConversionCache(
+            TibcoToBalConverter.ProjectConversionContext cx, String projectPath, Path targetDir,
+            boolean preserverStructure) {
+        if (!cx.isEnabled(ConversionOption.INCREMENTAL) || cx.dryRun()) {
+            return Optional.empty();
+        }
+        Set<ConversionOption> outputOptions = EnumSet.noneOf(ConversionOption.class);
+        outputOptions.addAll(cx.options());
+        outputOptions.remove(ConversionOption.INCREMENTAL);
+        String configuration = "keepStructure=" + preserverStructure + ";options=" + outputOptions;
+        IncrementalConversionCache conversionCache = IncrementalConversionCache.load(targetDir, configuration);
+        try {
+            conversionCache.recordInputs(ProjectFileIndex.build(projectPath));
         } catch (IOException e) {
-            logger().log(Level.SEVERE, "Error adding project artifacts", e);
+            logger().log(Level.WARNING, "Error reading project files, falling back to a full migration", e);
+            return Optional.empty();
         }
+        return Optional.of(conversionCache);
+    }
+
+    private static boolean isUpToDate(IncrementalConversionCache conversionCache) {
         try {
-            appendASTToFile(targetDir, "types.bal", result.types());
+            return conversionCache.isUpToDate();
         } catch (IOException e) {
-            logger().log(Level.SEVERE, "Error creating types files", e);
+            logger().log(Level.WARNING, "Error checking previous migration output", e);
+            return false;
+        }
+    }
+
+    private static void writeTextDocumentIfChanged(IncrementalConversionCache conversionCache,
+                                                   BallerinaModel.DefaultPackage balPackage,
+                                                   BallerinaModel.TextDocument textDocument, Path targetDir)
+            throws IOException {
+        String documentName = textDocument.documentName();
+        String fingerprint = IncrementalConversionCache.fingerprint(textDocument);
+        if (conversionCache.reuseDocument(documentName, fingerprint)) {
+            logger().info("Reusing unchanged output file: " + documentName);
+            return;
+        }
+        writeTextDocument(balPackage, textDocument, targetDir);
+        conversionCache.recordDocument(documentName, fingerprint);
+    }
+
+    private static void saveConversionCache(IncrementalConversionCache conversionCache) {
+        try {
+            for (String fileName : List.of(REPORT_FILE_NAME, TOML_FILE_NAME, TYPES_FILE_NAME, UTILS_FILE_NAME)) {
+                conversionCache.recordOutput(fileName);
+            }
+            conversionCache.save();
+        } catch (IOException e) {
+            logger().log(Level.WARNING, "Error saving the conversion cache", e);
+        }
+    }
+
+    private static void removeStaleDocuments(IncrementalConversionCache conversionCache) {
+        try {
+            conversionCache.removeStaleDocuments();
+        } catch (IOException e) {
+            logger().log(Level.WARNING, "Error removing stale output files", e);
         }
     }
 
     private static void writeAnalysisReport(Path targetDir, TibcoAnalysisReport report) throws IOException {
-        Path reportFilePath = targetDir.resolve("report.html");
+        Path reportFilePath = targetDir.resolve(REPORT_FILE_NAME);
         String htmlContent = report.toHTML();
         Files.writeString(reportFilePath, htmlContent);
         logger().info("Created analysis report at: " + reportFilePath);
     }
 
-    private static void writeTextDocument(BallerinaModel.Module module, BallerinaModel.DefaultPackage balPackage,
+    private static void writeTextDocument(BallerinaModel.DefaultPackage balPackage,
                                           BallerinaModel.TextDocument textDocument, Path targetDir) throws IOException {
-        BallerinaModel.Module tmpModule = new BallerinaModel.Module(module.name(), List.of(textDocument));
+        BallerinaModel.Module tmpModule = new BallerinaModel.Module(ProjectContext.MODULE_NAME, List.of(textDocument));
         BallerinaModel ballerinaModel = new BallerinaModel(balPackage, List.of(tmpModule));
         String fileName = textDocument.documentName();
         SyntaxTree st = new CodeGenerator(ballerinaModel).generateBalCode();
@@ -168,7 +452,7 @@ public class TibcoConverter {
         String version = "0.1.0";
         String distribution = "2201.12.0";
 
-        Path tomlPath = Paths.get(targetPath, "Ballerina.toml");
+        Path tomlPath = Paths.get(targetPath, TOML_FILE_NAME);
         StringBuilder tomlContent = new StringBuilder("""
                 [package]
                 org = "%s"
@@ -187,7 +471,14 @@ public class TibcoConverter {
         logger().info("Created Ballerina.toml file at: " + tomlPath);
     }
 
+    /**
+     * Returns the logger of the current migration. Code run outside a migration, such as the benchmarks, gets a silent
+     * logger.
+     */
     public static Logger logger() {
+        if (logger == null) {
+            logger = createSilentLogger(LOGGER_NAME);
+        }
         return logger;
     }
 
@@ -199,6 +490,9 @@ public class TibcoConverter {
     }
 
     public static Logger createDefaultLogger(String name) {
-        return Logger.getLogger(name);
+        Logger defaultLogger = Logger.getLogger(name);
+        // Loggers are shared, so the filter of an earlier silent logger of the same name is removed
+        defaultLogger.setFilter(null);
+        return defaultLogger;
     }
 }
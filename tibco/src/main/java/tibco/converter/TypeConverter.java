@@ -28,9 +28,7 @@ import common.BallerinaModel.Statement.IfElseStatement;
 import common.BallerinaModel.Statement.Return;
 import common.BallerinaModel.Statement.VarDeclStatment;
 import common.BallerinaModel.TypeDesc.MapTypeDesc;
-import common.CodeGenerator;
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
-import io.ballerina.tools.text.TextDocuments;
 import io.ballerina.xsd.core.response.NodeResponse;
 import org.jetbrains.annotations.NotNull;
 import tibco.TibcoModel;
@@ -52,7 +50,6 @@ import java.util.stream.Stream;
 import static common.BallerinaModel.TypeDesc.BuiltinType.ERROR;
 import static common.BallerinaModel.TypeDesc.BuiltinType.XML;
 import static common.ConversionUtils.exprFrom;
-import static io.ballerina.xsd.core.XSDToRecord.generateNodes;
 
 class TypeConverter {
 
@@ -61,24 +58,17 @@ class TypeConverter {
     }
 
     static SyntaxTree convertSchemas(ContextWithFile cx, Collection<TibcoModel.Type.Schema> schemas) {
-        String[] content = schemas.stream().map(TibcoModel.Type.Schema::element).map(ConversionUtils::elementToString)
-                .toArray(String[]::new);
-
-        for (int i = 0; i < content.length; i++) {
+        for (int i = 0; i < schemas.size(); i++) {
             cx.getProjectContext().incrementTypeCount();
         }
         try {
-            NodeResponse response = generateNodes(content);
-            logTypeConversionErrors(response);
-            SyntaxTree syntaxTree = SyntaxTree.from(TextDocuments.from(""));
-            syntaxTree = syntaxTree.modifyWith(response.types());
-            return CodeGenerator.formatSyntaxTree(syntaxTree);
+            return SchemaConversionEngine.forProject(cx.getProjectContext()).convert(schemas);
         } catch (Exception e) {
             throw new RuntimeException("Type conversion failed due to: " + e.getMessage(), e);
         }
     }
 
-    private static void logTypeConversionErrors(NodeResponse response) {
+    static void logTypeConversionErrors(NodeResponse response) {
         if (response.diagnostics().isEmpty()) {
             return;
         }
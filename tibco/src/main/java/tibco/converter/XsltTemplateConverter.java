@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.converter;
+
+import common.BallerinaModel;
+import common.BallerinaModel.Expression.VariableReference;
+import common.BallerinaModel.Expression.XMLTemplate;
+import tibco.xslt.XsltCompiler;
+import tibco.xslt.XsltCompiler.ContextItem;
+import tibco.xslt.XsltCompiler.CopyOf;
+import tibco.xslt.XsltCompiler.ForEach;
+import tibco.xslt.XsltCompiler.Input;
+import tibco.xslt.XsltCompiler.Literal;
+import tibco.xslt.XsltCompiler.LiteralElement;
+import tibco.xslt.XsltCompiler.Parameter;
+import tibco.xslt.XsltCompiler.Path;
+import tibco.xslt.XsltCompiler.Step;
+import tibco.xslt.XsltCompiler.TemplateNode;
+import tibco.xslt.XsltCompiler.Text;
+import tibco.xslt.XsltCompiler.ValueOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Translates the stylesheets recognised by {@link XsltCompiler} to XML templates, so that the transformation does not
+ * need an XSLT processor at runtime.
+ * <p>
+ * Documents (parameters and the input) are represented by an element wrapping their content, which lets paths from a
+ * document and paths from an element be evaluated the same way.
+ */
+final class XsltTemplateConverter {
+
+    private static final String ITEM_VAR_NAME = "item";
+
+    private final ActivityContext cx;
+    private final VariableReference input;
+
+    private XsltTemplateConverter(ActivityContext cx, VariableReference input) {
+        this.cx = cx;
+        this.input = input;
+    }
+
+    /**
+     * @param input      input of the transformation
+     * @param styleSheet rewritten stylesheet
+     * @return an expression giving the result of the transformation, or {@link Optional#empty()} if the stylesheet
+     *         is not recognised
+     */
+    static Optional<BallerinaModel.Expression> convert(ActivityContext cx, VariableReference input,
+                                                       String styleSheet) {
+        return cx.projectContext().xsltTransformCache().compile(styleSheet)
+                .map(template -> new XMLTemplate(new XsltTemplateConverter(cx, input).template(template)));
+    }
+
+    private String template(List<TemplateNode> nodes) {
+        StringBuilder sb = new StringBuilder();
+        for (TemplateNode node : nodes) {
+            // The body of the template is trimmed, so text at the top level is added as a string
+            if (node instanceof Text text) {
+                sb.append("${").append(stringLiteral(text.value())).append("}");
+            } else {
+                appendNode(sb, node, 0);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void appendNodes(StringBuilder sb, List<TemplateNode> nodes, int depth) {
+        for (TemplateNode node : nodes) {
+            appendNode(sb, node, depth);
+        }
+    }
+
+    // depth is the number of enclosing for-each instructions
+    private void appendNode(StringBuilder sb, TemplateNode node, int depth) {
+        switch (node) {
+            case LiteralElement element -> {
+                sb.append("<").append(element.name());
+                element.attributes().forEach((attribute, value) ->
+                        sb.append(" ").append(attribute).append("=\"").append(escape(value, true)).append("\""));
+                if (element.children().isEmpty()) {
+                    sb.append("/>");
+                    return;
+                }
+                sb.append(">");
+                appendNodes(sb, element.children(), depth);
+                sb.append("</").append(element.name()).append(">");
+            }
+            case Text text -> sb.append(escape(text.value(), false));
+            case ValueOf valueOf -> {
+                if (valueOf.select() instanceof Literal literal) {
+                    sb.append(escape(literal.value(), false));
+                } else {
+                    String valueOfFn = valueOf.firstNode() ? cx.projectContext().getXsltFirstValueOfFn() :
+                            cx.projectContext().getXsltValueOfFn();
+                    sb.append("${").append(valueOfFn).append("(")
+                            .append(path((Path) valueOf.select(), depth)).append(")}");
+                }
+            }
+            case CopyOf copyOf -> {
+                if (copyOf.select() instanceof Literal literal) {
+                    sb.append(escape(literal.value(), false));
+                    return;
+                }
+                // Copying a document copies its content
+                Path path = (Path) copyOf.select();
+                String value = path.isDocument() ? path(path, depth) + ".children()" : path(path, depth);
+                sb.append("${").append(value).append("}");
+            }
+            case ForEach forEach -> {
+                if (forEach.children().isEmpty()) {
+                    return;
+                }
+                String item = itemVarName(depth + 1);
+                sb.append("${xml:concat(...from xml ").append(item).append(" in ")
+                        .append(path(forEach.select(), depth)).append(" select xml `");
+                appendNodes(sb, forEach.children(), depth + 1);
+                sb.append("`)}");
+            }
+        }
+    }
+
+    private String path(Path path, int depth) {
+        String value = switch (path.base()) {
+            case Parameter parameter -> cx.projectContext().getXsltDocumentFn() + "(" +
+                    cx.contextVarRef().varName() + "[" + stringLiteral(parameter.name()) + "])";
+            case Input ignored -> cx.projectContext().getXsltDocumentFn() + "(" + input.varName() + ")";
+            case ContextItem ignored -> itemVarName(depth);
+        };
+        List<String> childNames = new ArrayList<>();
+        for (Step step : path.steps()) {
+            if (!step.descendant()) {
+                childNames.add(stringLiteral(step.name()));
+                continue;
+            }
+            value = children(value, childNames);
+            childNames.clear();
+            value = cx.projectContext().getXsltDescendantsFn() + "(" + value + ", " + stringLiteral(step.name()) +
+                    ")";
+        }
+        return children(value, childNames);
+    }
+
+    private String children(String nodes, List<String> names) {
+        if (names.isEmpty()) {
+            return nodes;
+        }
+        return cx.projectContext().getXsltChildrenFn() + "(" + nodes + ", " + String.join(", ", names) + ")";
+    }
+
+    private static String itemVarName(int depth) {
+        return depth == 1 ? ITEM_VAR_NAME : ITEM_VAR_NAME + depth;
+    }
+
+    // Escapes text or an attribute value for an XML template
+    private static String escape(String value, boolean attribute) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append(attribute ? "&quot;" : "\"");
+                case '`' -> sb.append("${\"`\"}");
+                case '$' -> sb.append(i + 1 < value.length() && value.charAt(i + 1) == '{' ? "${\"$\"}" : "$");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String stringLiteral(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '"' -> sb.append("\\\"");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> sb.append(c);
+            }
+        }
+        return sb.append("\"").toString();
+    }
+}
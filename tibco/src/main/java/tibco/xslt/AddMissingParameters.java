@@ -25,19 +25,41 @@ public class AddMissingParameters implements Transform {
 
     @Override
     public String transform(TransformContext cx, String content) {
-        Set<String> parameters = cx.parameters().collect(Collectors.toSet());
-        Set<String> missingParameters = cx.parameterUsages()
-                .map(each -> each.substring(1))
-                .filter(Predicate.not(parameters::contains))
-                .collect(Collectors.toSet());
+        Set<String> missingParameters = missingParameters(cx);
         if (missingParameters.isEmpty()) {
             return content;
         }
+        int index = styleSheetTagEnd(content);
         StringBuilder sb = new StringBuilder();
+        sb.append(content, 0, index + 1);
+        sb.append(parameterDeclarations(missingParameters));
+        sb.append(content, index + 2, content.length());
+        return sb.toString();
+    }
+
+    @Override
+    public void transform(TransformContext cx, XsltDocument document) {
+        Set<String> missingParameters = missingParameters(cx);
+        if (missingParameters.isEmpty()) {
+            return;
+        }
+        int index = styleSheetTagEnd(document.content());
+        document.replace(index + 1, index + 2, parameterDeclarations(missingParameters));
+    }
+
+    private static Set<String> missingParameters(TransformContext cx) {
+        Set<String> parameters = cx.parameters().collect(Collectors.toSet());
+        return cx.parameterUsages()
+                .map(each -> each.substring(1))
+                .filter(Predicate.not(parameters::contains))
+                .collect(Collectors.toSet());
+    }
+
+    private static int styleSheetTagEnd(String content) {
         boolean inStyleSheet = false;
         int index = 0;
         while (index < content.length() && !inStyleSheet) {
-            if (content.substring(index).startsWith("stylesheet")) {
+            if (content.startsWith("stylesheet", index)) {
                 while (content.charAt(index) != '>') {
                     index++;
                 }
@@ -47,11 +69,14 @@ public class AddMissingParameters implements Transform {
             }
         }
         assert content.charAt(index) == '>';
-        sb.append(content, 0, index + 1);
+        return index;
+    }
+
+    private static String parameterDeclarations(Set<String> missingParameters) {
+        StringBuilder sb = new StringBuilder();
         for (String each : missingParameters) {
             sb.append("<xsl:param name=\"%s\"/>".formatted(each));
         }
-        sb.append(content, index + 2, content.length());
         return sb.toString();
     }
 
@@ -25,6 +25,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 record AnalysisResult(Collection<Chunk> parameters, Collection<Chunk> paths, Collection<Chunk> parameterUsage) {
 
@@ -36,6 +38,9 @@ record AnalysisResult(Collection<Chunk> parameters, Collection<Chunk> paths, Col
 
     record Chunk(String value, int startPos, int endPos) {
 
+        Chunk shift(int offset) {
+            return new Chunk(value, startPos + offset, endPos + offset);
+        }
     }
 
     private record ParseResult(Collection<Chunk> paths, Collection<Chunk> parameterUsage) {
@@ -49,6 +54,9 @@ record AnalysisResult(Collection<Chunk> parameters, Collection<Chunk> paths, Col
 
     private static final Collection<String> XPATH_ATTRIBUTES =
             Set.of("select", "test", "match", "xpath", "from", "count");
+    private static final Pattern PARAMETER_DECLARATION = Pattern.compile("<\\w+:param\\s+name=[\"'](.*?)[\"']");
+    private static final Pattern PARAMETER_DECLARATION_START = Pattern.compile("<\\w+:param\\s+name=[\"']");
+    static final AnalysisResult EMPTY = new AnalysisResult(List.of(), List.of(), List.of());
 
     static AnalysisResult analyse(String xsltContent) {
         Collection<Chunk> parameters = parameters(xsltContent);
@@ -56,10 +64,37 @@ record AnalysisResult(Collection<Chunk> parameters, Collection<Chunk> paths, Col
         return new AnalysisResult(parameters, result.paths(), result.parameterUsage());
     }
 
+    boolean isEmpty() {
+        return parameters.isEmpty() && paths.isEmpty() && parameterUsage.isEmpty();
+    }
+
+    /**
+     * Analyses a single tag, as delimited by {@link #analyse}, with chunk positions relative to the start of the tag.
+     *
+     * @param tag tag including the enclosing {@code <} and {@code >}
+     * @return the analysis of the tag, or {@link Optional#empty()} if a parameter declaration in the tag may continue
+     *         past its end, in which case the tag can't be analysed on its own
+     */
+    static Optional<AnalysisResult> analyseTag(String tag) {
+        Collection<Chunk> parameters = parameters(tag);
+        if (parameters.isEmpty() && PARAMETER_DECLARATION_START.matcher(tag).find()) {
+            return Optional.empty();
+        }
+        ParseResult result = parseTag(tag, 0);
+        return Optional.of(new AnalysisResult(parameters, result.paths(), result.parameterUsage()));
+    }
+
+    /**
+     * @param xPath XPath expression
+     * @return the parameter usages of the expression, with positions relative to its start
+     */
+    static Collection<Chunk> parameterUsages(String xPath) {
+        return parseXPath(xPath, 0).parameterUsage();
+    }
+
     static Collection<Chunk> parameters(String xsltContent) {
-        List<Chunk> parameterChunks = new java.util.ArrayList<>();
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("<\\w+:param\\s+name=[\"'](.*?)[\"']");
-        java.util.regex.Matcher matcher = pattern.matcher(xsltContent);
+        List<Chunk> parameterChunks = new ArrayList<>();
+        Matcher matcher = PARAMETER_DECLARATION.matcher(xsltContent);
         while (matcher.find()) {
             parameterChunks.add(new Chunk(matcher.group(1), matcher.start(1), matcher.end(1)));
         }
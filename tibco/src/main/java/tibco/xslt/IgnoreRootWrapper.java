@@ -30,4 +30,9 @@ public class IgnoreRootWrapper implements Transform {
         }
         return path;
     }
+
+    @Override
+    public void transform(TransformContext cx, XsltDocument document) {
+        // Only rewrites paths
+    }
 }
@@ -43,4 +43,9 @@ public class ReplaceDotAccessWithXPath implements Transform {
 
         return parameterUsage.replaceAll("\\.", "/");
     }
+
+    @Override
+    public void transform(TransformContext cx, XsltDocument document) {
+        // Only rewrites parameters and their usages
+    }
 }
@@ -18,12 +18,19 @@
 
 package tibco.xslt;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 public class ReplaceVariableReference implements Transform {
 
+    private static final Pattern MODULE_PROPERTY = Pattern.compile("bw:getModuleProperty\\('([^']+)'\\)");
+
     @Override
     public String transform(TransformContext cx, String content) {
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("bw:getModuleProperty\\('([^']+)'\\)");
-        java.util.regex.Matcher matcher = pattern.matcher(content);
+        Matcher matcher = MODULE_PROPERTY.matcher(content);
         StringBuilder result = new StringBuilder();
 
         while (matcher.find()) {
@@ -34,4 +41,20 @@ public class ReplaceVariableReference implements Transform {
         matcher.appendTail(result);
         return result.toString();
     }
+
+    @Override
+    public void transform(TransformContext cx, XsltDocument document) {
+        Matcher matcher = MODULE_PROPERTY.matcher(document.content());
+        List<MatchResult> matches = new ArrayList<>();
+        List<String> replacements = new ArrayList<>();
+        // Config variables are allocated in the order of the references
+        while (matcher.find()) {
+            matches.add(matcher.toMatchResult());
+            replacements.add("${" + cx.getConfigVarName(matcher.group(1)) + "}");
+        }
+        // Replaced from the end so that the positions of the remaining matches stay valid
+        for (int i = matches.size() - 1; i >= 0; i--) {
+            document.replace(matches.get(i).start(), matches.get(i).end(), replacements.get(i));
+        }
+    }
 }
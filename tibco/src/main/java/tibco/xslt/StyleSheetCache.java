@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.xslt;
+
+import common.ContentHash;
+import tibco.converter.ActivityContext;
+import tibco.xslt.XsltCompiler.TemplateNode;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Memoizes {@link TransformPipeline#apply} for stylesheets that appear verbatim in many activities.
+ * <p>
+ * Entries are keyed by the hash of the stylesheet. The only input a rewrite takes from the activity is the name of
+ * the configurable variable each module property refers to, so each entry also records the names that were looked up.
+ * An entry is only reused if the same lookups give the same names for the activity at hand. The templates
+ * {@link XsltCompiler#compile} recognises in the rewritten stylesheets are kept alongside, keyed by the hash of the
+ * rewritten stylesheet. At most {@code capacity} stylesheets of each kind are kept, evicting the least recently used
+ * one.
+ */
+public final class StyleSheetCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final TransformPipeline pipeline;
+    private final Map<String, Entry> entries;
+    private final Map<String, Optional<List<TemplateNode>>> templates;
+    private long hits = 0;
+    private long misses = 0;
+
+    public StyleSheetCache(TransformPipeline pipeline) {
+        this(pipeline, DEFAULT_CAPACITY);
+    }
+
+    public StyleSheetCache(TransformPipeline pipeline, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.pipeline = pipeline;
+        this.entries = leastRecentlyUsed(capacity);
+        this.templates = leastRecentlyUsed(capacity);
+    }
+
+    private static <V> Map<String, V> leastRecentlyUsed(int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public String apply(ActivityContext cx, String xsltContent) {
+        return apply(propertyName -> cx.getConfigVarName(propertyName), xsltContent);
+    }
+
+    /**
+     * Same as {@link TransformPipeline#apply(Function, String)}, reusing the result for a stylesheet rewritten before
+     * with the same configurable variables.
+     */
+    public String apply(Function<String, String> configVarNames, String xsltContent) {
+        String key = ContentHash.of(xsltContent);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.matches(configVarNames)) {
+            synchronized (this) {
+                hits++;
+            }
+            return entry.result();
+        }
+        Map<String, String> lookups = new LinkedHashMap<>();
+        String result = pipeline.apply(propertyName -> lookups.computeIfAbsent(propertyName, configVarNames),
+                xsltContent);
+        synchronized (this) {
+            misses++;
+            entries.put(key, new Entry(Map.copyOf(lookups), result));
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link XsltCompiler#compile}, reusing the result for a stylesheet compiled before.
+     *
+     * @param styleSheet stylesheet, as returned by {@link #apply}
+     */
+    public Optional<List<TemplateNode>> compile(String styleSheet) {
+        String key = ContentHash.of(styleSheet);
+        Optional<List<TemplateNode>> template;
+        synchronized (this) {
+            template = templates.get(key);
+        }
+        if (template != null) {
+            return template;
+        }
+        template = XsltCompiler.compile(styleSheet);
+        synchronized (this) {
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return number of stylesheets that were reused instead of being rewritten
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * @return number of stylesheets that were rewritten
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * @param configVarNames configurable variable names looked up while rewriting the stylesheet, by property name
+     * @param result         rewritten stylesheet
+     */
+    private record Entry(Map<String, String> configVarNames, String result) {
+
+        boolean matches(Function<String, String> lookup) {
+            for (Map.Entry<String, String> each : configVarNames.entrySet()) {
+                if (!Objects.equals(lookup.apply(each.getKey()), each.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
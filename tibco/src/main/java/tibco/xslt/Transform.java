@@ -35,4 +35,16 @@ public interface Transform {
     default String transform(TransformContext cx, String content) {
         return content;
     }
+
+    /**
+     * Same as {@link #transform(TransformContext, String)}, for a stylesheet that is edited in place. Transforms that
+     * only change parts of the stylesheet should override this so that the rest of it is not analysed again.
+     */
+    default void transform(TransformContext cx, XsltDocument document) {
+        String content = document.content();
+        String result = transform(cx, content);
+        if (!result.equals(content)) {
+            document.replaceAll(result);
+        }
+    }
 }
@@ -18,19 +18,22 @@
 
 package tibco.xslt;
 
-import tibco.converter.ActivityContext;
-
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class TransformContext {
 
-    private final ActivityContext activityContext;
+    private final Function<String, String> configVarNames;
 
     private final AnalysisResult analysisResult;
 
-    TransformContext(ActivityContext acx, String xsltContext) {
-        this.analysisResult = AnalysisResult.analyse(xsltContext);
-        this.activityContext = acx;
+    TransformContext(Function<String, String> configVarNames, String xsltContext) {
+        this(configVarNames, AnalysisResult.analyse(xsltContext));
+    }
+
+    TransformContext(Function<String, String> configVarNames, AnalysisResult analysisResult) {
+        this.analysisResult = analysisResult;
+        this.configVarNames = configVarNames;
     }
 
     public Stream<String> parameters() {
@@ -42,7 +45,7 @@ public class TransformContext {
     }
 
     public String getConfigVarName(String propertyName) {
-        return activityContext.getConfigVarName(propertyName);
+        return configVarNames.apply(propertyName);
     }
 
     public Stream<String> parameterUsages() {
@@ -24,29 +24,80 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class TransformPipeline {
 
     List<Transform> transforms = new ArrayList<>();
+    private final boolean fused;
+
+    public TransformPipeline() {
+        this(true);
+    }
+
+    /**
+     * @param fused if {@code true} the stylesheet is split into tags once and each transform edits it in place, so
+     *              only the tags changed by a transform are analysed again. Otherwise each transform analyses and
+     *              rebuilds the whole stylesheet.
+     */
+    public TransformPipeline(boolean fused) {
+        this.fused = fused;
+    }
 
     public void append(Transform transform) {
         transforms.add(transform);
     }
 
     public String apply(ActivityContext cx, String xsltContent) {
+        return apply(propertyName -> cx.getConfigVarName(propertyName), xsltContent);
+    }
+
+    /**
+     * @param configVarNames names of the configurable variables that module properties are read from, by property
+     *                       name
+     * @param xsltContent    stylesheet to rewrite
+     */
+    public String apply(Function<String, String> configVarNames, String xsltContent) {
+        if (!fused) {
+            return applySequentially(configVarNames, xsltContent, transforms);
+        }
+        XsltDocument document = new XsltDocument(xsltContent);
+        for (int i = 0; i < transforms.size(); i++) {
+            Optional<AnalysisResult> analysisResult = document.analyse();
+            if (analysisResult.isEmpty()) {
+                // The stylesheet can't be split into tags exactly, so the remaining transforms rewrite it as a whole
+                return applySequentially(configVarNames, document.content(),
+                        transforms.subList(i, transforms.size()));
+            }
+            Transform transform = transforms.get(i);
+            TransformContext tcx = new TransformContext(configVarNames, analysisResult.get());
+            document.rewriteChunks(tcx, transform);
+            transform.transform(tcx, document);
+        }
+        return document.content();
+    }
+
+    private static String applySequentially(Function<String, String> configVarNames, String xsltContent,
+                                            List<Transform> transforms) {
         String result = xsltContent;
         for (Transform transform : transforms) {
-            result = apply(cx, result, transform);
+            result = apply(configVarNames, result, transform);
         }
         return result;
     }
 
-    private static String apply(ActivityContext acx, String xsltContent, Transform transform) {
-        TransformContext cx = new TransformContext(acx, xsltContent);
-        AnalysisResult analysisResult = cx.getAnalysisResult();
+    private static String apply(Function<String, String> configVarNames, String xsltContent, Transform transform) {
+        TransformContext cx = new TransformContext(configVarNames, xsltContent);
+        String result = rewriteChunks(cx, xsltContent, cx.getAnalysisResult(), transform);
+        return transform.transform(cx, result);
+    }
+
+    static String rewriteChunks(TransformContext cx, String content, AnalysisResult analysisResult,
+                                Transform transform) {
         StringBuilder sb = new StringBuilder();
         Collection<ChunkData> paths = analysisResult.paths().stream()
                 .map(path -> new ChunkData(path, transform::transformPath))
@@ -57,11 +108,10 @@ public class TransformPipeline {
         Collection<ChunkData> parameters = analysisResult.parameters().stream()
                 .map(path -> new ChunkData(path, transform::transformParameter))
                 .toList();
-        for (Segment segment : segments(xsltContent, paths, parameterUsages, parameters)) {
+        for (Segment segment : segments(content, paths, parameterUsages, parameters)) {
             sb.append(segment.transformFn.apply(cx, segment.value));
         }
-        String result = sb.toString();
-        return transform.transform(cx, result);
+        return sb.toString();
     }
 
     record ChunkData(AnalysisResult.Chunk chunk, BiFunction<TransformContext, String, String> fn) {
@@ -0,0 +1,456 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.xslt;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Recognises stylesheets simple enough to be translated to native code instead of being run by an XSLT processor.
+ * <p>
+ * A stylesheet is recognised if it only declares parameters and a single template matching the document root, and
+ * that template is made of literal result elements, text, {@code xsl:text}, and {@code xsl:value-of},
+ * {@code xsl:copy-of} and {@code xsl:for-each} instructions whose {@code select} is either a string literal or a
+ * path of child ({@code /}) and descendant ({@code //}) name tests starting from a parameter, the input document or
+ * the context item, with a descendant step only at the end. Anything else, including attribute value templates and
+ * XPath functions, is left to the XSLT processor. Only stylesheets of versions 1.0, 2.0 and 3.0 are recognised, since
+ * {@code xsl:value-of} gives the value of the first selected node in version 1.0 and the values of all of them in
+ * later versions.
+ */
+public final class XsltCompiler {
+
+    private static final String XSL_NAMESPACE = "http://www.w3.org/1999/XSL/Transform";
+    private static final Pattern NAME_TEST = Pattern.compile("(?:[A-Za-z_][\\w.-]*:)?[A-Za-z_][\\w.-]*");
+    private static final Pattern PARAMETER_NAME = Pattern.compile("[A-Za-z_][\\w.-]*");
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+
+    private XsltCompiler() {
+    }
+
+    /**
+     * Content of the template of a recognised stylesheet.
+     */
+    public sealed interface TemplateNode {
+
+    }
+
+    /**
+     * @param name       qualified name as written in the stylesheet
+     * @param attributes attributes, including the namespace declarations the element needs in the result, by
+     *                   qualified name
+     */
+    public record LiteralElement(String name, Map<String, String> attributes, List<TemplateNode> children)
+            implements TemplateNode {
+
+    }
+
+    public record Text(String value) implements TemplateNode {
+
+    }
+
+    /**
+     * @param select    nodes whose string value is output
+     * @param firstNode {@code true} if only the value of the first node is output, as in XSLT 1.0, {@code false} if
+     *                  the values of all the nodes are output separated by spaces, as in XSLT 2.0 and later
+     */
+    public record ValueOf(Select select, boolean firstNode) implements TemplateNode {
+
+    }
+
+    public record CopyOf(Select select) implements TemplateNode {
+
+    }
+
+    /**
+     * @param select   nodes to iterate, never a document
+     * @param children template evaluated with each node as the context item
+     */
+    public record ForEach(Path select, List<TemplateNode> children) implements TemplateNode {
+
+    }
+
+    public sealed interface Select {
+
+    }
+
+    public record Literal(String value) implements Select {
+
+    }
+
+    /**
+     * @param base  node the path starts from
+     * @param steps name tests applied to the base in order
+     */
+    public record Path(Base base, List<Step> steps) implements Select {
+
+        /**
+         * @return {@code true} if the path selects a document node instead of elements
+         */
+        public boolean isDocument() {
+            return steps.isEmpty() && !(base instanceof ContextItem);
+        }
+    }
+
+    public sealed interface Base {
+
+    }
+
+    public record Parameter(String name) implements Base {
+
+    }
+
+    public record Input() implements Base {
+
+    }
+
+    public record ContextItem() implements Base {
+
+    }
+
+    /**
+     * @param descendant {@code true} for the descendant axis, {@code false} for the child axis
+     * @param name       expanded name of the elements to select, i.e. {@code {namespace}local} or {@code local}
+     */
+    public record Step(boolean descendant, String name) {
+
+    }
+
+    /**
+     * @param styleSheet stylesheet
+     * @return the content of the template of the stylesheet, or {@link Optional#empty()} if it is not recognised
+     */
+    public static Optional<List<TemplateNode>> compile(String styleSheet) {
+        Document document;
+        try {
+            document = documentBuilder().parse(new InputSource(new StringReader(styleSheet)));
+        } catch (SAXException | IOException | ParserConfigurationException e) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(compileStyleSheet(document.getDocumentElement()));
+        } catch (UnsupportedStyleSheetException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static List<TemplateNode> compileStyleSheet(Element root) {
+        if (!isInstruction(root, "stylesheet") && !isInstruction(root, "transform")) {
+            throw new UnsupportedStyleSheetException();
+        }
+        checkAttributes(root, "version");
+        boolean firstNode = switch (root.getAttribute("version").strip()) {
+            case "1.0" -> true;
+            case "2.0", "3.0" -> false;
+            default -> throw new UnsupportedStyleSheetException();
+        };
+        Element template = null;
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE -> {
+                    Element element = (Element) child;
+                    if (isInstruction(element, "param")) {
+                        // Parameters are read from the context, which holds an empty sequence for missing entries
+                        checkAttributes(element, "name");
+                        checkEmpty(element);
+                    } else if (isInstruction(element, "template") && template == null &&
+                            "/".equals(element.getAttribute("match"))) {
+                        checkAttributes(element, "match", "name");
+                        template = element;
+                    } else {
+                        throw new UnsupportedStyleSheetException();
+                    }
+                }
+                case Node.TEXT_NODE -> checkWhitespace(child);
+                default -> {
+                    // Comments and processing instructions don't affect the result
+                }
+            }
+        }
+        if (template == null) {
+            throw new UnsupportedStyleSheetException();
+        }
+        return compileChildren(template, false, Map.of(), firstNode);
+    }
+
+    // declared has the namespace declarations made by the enclosing literal result element in the result
+    private static List<TemplateNode> compileChildren(Element parent, boolean inForEach,
+                                                      Map<String, String> declared, boolean firstNode) {
+        List<TemplateNode> children = new ArrayList<>();
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE -> children.add(
+                        compileElement((Element) child, inForEach, declared, firstNode));
+                // Whitespace only text is stripped from stylesheets
+                case Node.TEXT_NODE, Node.CDATA_SECTION_NODE -> {
+                    String text = child.getNodeValue();
+                    if (!text.isBlank()) {
+                        children.add(new Text(text));
+                    }
+                }
+                default -> {
+                    // Comments and processing instructions don't affect the result
+                }
+            }
+        }
+        return children;
+    }
+
+    private static TemplateNode compileElement(Element element, boolean inForEach, Map<String, String> declared,
+                                               boolean firstNode) {
+        if (!XSL_NAMESPACE.equals(element.getNamespaceURI())) {
+            return compileLiteralElement(element, inForEach, declared, firstNode);
+        }
+        return switch (element.getLocalName()) {
+            case "value-of" -> {
+                checkAttributes(element, "select");
+                checkEmpty(element);
+                yield new ValueOf(compileSelect(element, inForEach), firstNode);
+            }
+            case "copy-of" -> {
+                checkAttributes(element, "select");
+                checkEmpty(element);
+                yield new CopyOf(compileSelect(element, inForEach));
+            }
+            case "for-each" -> {
+                checkAttributes(element, "select");
+                if (!(compileSelect(element, inForEach) instanceof Path path) || path.isDocument()) {
+                    throw new UnsupportedStyleSheetException();
+                }
+                // The body of each iteration is a template of its own, so it has to declare its namespaces again
+                yield new ForEach(path, compileChildren(element, true, Map.of(), firstNode));
+            }
+            case "text" -> {
+                checkAttributes(element);
+                StringBuilder text = new StringBuilder();
+                for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    switch (child.getNodeType()) {
+                        case Node.TEXT_NODE, Node.CDATA_SECTION_NODE -> text.append(child.getNodeValue());
+                        case Node.COMMENT_NODE, Node.PROCESSING_INSTRUCTION_NODE -> {
+                            // Comments and processing instructions are not part of the text
+                        }
+                        default -> throw new UnsupportedStyleSheetException();
+                    }
+                }
+                yield new Text(text.toString());
+            }
+            default -> throw new UnsupportedStyleSheetException();
+        };
+    }
+
+    private static LiteralElement compileLiteralElement(Element element, boolean inForEach,
+                                                        Map<String, String> declared, boolean firstNode) {
+        // Literal result elements copy the namespaces in scope in the stylesheet, except the XSLT namespace
+        Map<String, String> inScope = inScopeNamespaces(element);
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (Map.Entry<String, String> namespace : inScope.entrySet()) {
+            if (!namespace.getValue().equals(declared.get(namespace.getKey()))) {
+                attributes.put(namespace.getKey().isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE :
+                        XMLConstants.XMLNS_ATTRIBUTE + ":" + namespace.getKey(), namespace.getValue());
+            }
+        }
+        NamedNodeMap attributeNodes = element.getAttributes();
+        for (int i = 0; i < attributeNodes.getLength(); i++) {
+            Attr attribute = (Attr) attributeNodes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                continue;
+            }
+            String value = attribute.getValue();
+            // Attribute value templates and attributes such as xsl:use-attribute-sets need the XSLT processor
+            if (XSL_NAMESPACE.equals(attribute.getNamespaceURI()) || value.indexOf('{') >= 0 ||
+                    value.indexOf('}') >= 0) {
+                throw new UnsupportedStyleSheetException();
+            }
+            attributes.put(attribute.getName(), value);
+        }
+        return new LiteralElement(element.getTagName(), attributes, compileChildren(element, inForEach, inScope,
+                firstNode));
+    }
+
+    private static Map<String, String> inScopeNamespaces(Element element) {
+        Map<String, String> namespaces = new LinkedHashMap<>();
+        List<Element> ancestors = new ArrayList<>();
+        for (Node node = element; node instanceof Element each; node = node.getParentNode()) {
+            ancestors.add(0, each);
+        }
+        for (Element ancestor : ancestors) {
+            NamedNodeMap attributes = ancestor.getAttributes();
+            for (int i = 0; i < attributes.getLength(); i++) {
+                Attr attribute = (Attr) attributes.item(i);
+                if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                    String prefix = XMLConstants.XMLNS_ATTRIBUTE.equals(attribute.getName()) ? "" :
+                            attribute.getLocalName();
+                    namespaces.put(prefix, attribute.getValue());
+                }
+            }
+        }
+        namespaces.values().removeIf(XSL_NAMESPACE::equals);
+        namespaces.values().removeIf(String::isEmpty);
+        return namespaces;
+    }
+
+    private static Select compileSelect(Element instruction, boolean inForEach) {
+        String select = instruction.getAttribute("select").strip();
+        if (select.length() >= 2 && (select.charAt(0) == '\'' || select.charAt(0) == '"')) {
+            char quote = select.charAt(0);
+            if (select.charAt(select.length() - 1) != quote || select.indexOf(quote, 1) != select.length() - 1) {
+                throw new UnsupportedStyleSheetException();
+            }
+            return new Literal(select.substring(1, select.length() - 1));
+        }
+        Base base = inForEach ? new ContextItem() : new Input();
+        if (select.equals(".")) {
+            return new Path(base, List.of());
+        }
+        int index = 0;
+        if (select.startsWith("$")) {
+            index = select.indexOf('/');
+            if (index < 0) {
+                index = select.length();
+            }
+            String name = select.substring(1, index);
+            if (!PARAMETER_NAME.matcher(name).matches()) {
+                throw new UnsupportedStyleSheetException();
+            }
+            base = new Parameter(name);
+        } else if (select.startsWith("/")) {
+            // Inside a loop the root is the root of the tree the context item belongs to
+            if (inForEach) {
+                throw new UnsupportedStyleSheetException();
+            }
+        } else {
+            // A relative path starts with a child step
+            select = "/" + select;
+        }
+        List<Step> steps = new ArrayList<>();
+        while (index < select.length()) {
+            if (select.charAt(index) != '/') {
+                throw new UnsupportedStyleSheetException();
+            }
+            // Descendants may be nested in each other, so the steps that follow would select nodes more than once
+            // or out of document order
+            if (!steps.isEmpty() && steps.get(steps.size() - 1).descendant()) {
+                throw new UnsupportedStyleSheetException();
+            }
+            boolean descendant = select.startsWith("//", index);
+            index += descendant ? 2 : 1;
+            int end = index;
+            while (end < select.length() && select.charAt(end) != '/') {
+                end++;
+            }
+            String nameTest = select.substring(index, end);
+            if (!NAME_TEST.matcher(nameTest).matches()) {
+                throw new UnsupportedStyleSheetException();
+            }
+            steps.add(new Step(descendant, expandedName(instruction, nameTest)));
+            index = end;
+        }
+        if (steps.isEmpty() && !(base instanceof Parameter)) {
+            throw new UnsupportedStyleSheetException();
+        }
+        return new Path(base, steps);
+    }
+
+    // Unprefixed names in paths are in no namespace
+    private static String expandedName(Element instruction, String nameTest) {
+        int colon = nameTest.indexOf(':');
+        if (colon < 0) {
+            return nameTest;
+        }
+        String namespace = instruction.lookupNamespaceURI(nameTest.substring(0, colon));
+        if (namespace == null) {
+            throw new UnsupportedStyleSheetException();
+        }
+        return "{" + namespace + "}" + nameTest.substring(colon + 1);
+    }
+
+    private static boolean isInstruction(Element element, String localName) {
+        return XSL_NAMESPACE.equals(element.getNamespaceURI()) && localName.equals(element.getLocalName());
+    }
+
+    private static void checkAttributes(Element element, String... allowed) {
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                continue;
+            }
+            if (attribute.getNamespaceURI() != null || !List.of(allowed).contains(attribute.getName())) {
+                throw new UnsupportedStyleSheetException();
+            }
+        }
+    }
+
+    private static void checkEmpty(Element element) {
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.TEXT_NODE -> checkWhitespace(child);
+                case Node.COMMENT_NODE, Node.PROCESSING_INSTRUCTION_NODE -> {
+                    // Comments and processing instructions don't affect the result
+                }
+                default -> throw new UnsupportedStyleSheetException();
+            }
+        }
+    }
+
+    private static void checkWhitespace(Node text) {
+        if (!text.getNodeValue().isBlank()) {
+            throw new UnsupportedStyleSheetException();
+        }
+    }
+
+    private static DocumentBuilder documentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        if (builder == null) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            builder = factory.newDocumentBuilder();
+            // Stylesheets are compiled on a best effort basis, so parse errors must not be printed
+            builder.setErrorHandler(new DefaultHandler());
+            DOCUMENT_BUILDER.set(builder);
+        }
+        return builder;
+    }
+
+    private static final class UnsupportedStyleSheetException extends RuntimeException {
+
+        UnsupportedStyleSheetException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.xslt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stylesheet split into the tags recognised by {@link AnalysisResult#analyse} and the text between them.
+ * <p>
+ * Each tag keeps its own analysis, so the analysis of the whole stylesheet is assembled from the tags instead of
+ * scanning the stylesheet again. Edits only mark the segments they touch, which are split into tags again the next
+ * time the stylesheet is analysed.
+ */
+public final class XsltDocument {
+
+    // A usage runs up to the next step of its path, so it can hold more than one reference, e.g. "$a = $b"
+    private static final Pattern PARAMETER_REFERENCE = Pattern.compile("\\$([A-Za-z_][\\w.-]*)");
+
+    private final List<Segment> segments = new ArrayList<>();
+    private String content;
+
+    XsltDocument(String content) {
+        segments.add(Segment.dirty(content));
+        this.content = content;
+    }
+
+    /**
+     * @param content stylesheet
+     * @return names of the parameters and variables the XPath expressions of the stylesheet refer to
+     */
+    public static Set<String> referencedParameters(String content) {
+        return referencedNames(AnalysisResult.analyse(content).parameterUsage());
+    }
+
+    /**
+     * @param xPath XPath expression
+     * @return names of the parameters and variables the expression refers to
+     */
+    public static Set<String> referencedParametersOfXPath(String xPath) {
+        return referencedNames(AnalysisResult.parameterUsages(xPath));
+    }
+
+    private static Set<String> referencedNames(Collection<AnalysisResult.Chunk> usages) {
+        Set<String> names = new LinkedHashSet<>();
+        for (AnalysisResult.Chunk usage : usages) {
+            Matcher matcher = PARAMETER_REFERENCE.matcher(usage.value());
+            while (matcher.find()) {
+                names.add(matcher.group(1));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return the current content of the stylesheet
+     */
+    public String content() {
+        if (content == null) {
+            StringBuilder sb = new StringBuilder();
+            for (Segment segment : segments) {
+                sb.append(segment.text());
+            }
+            content = sb.toString();
+        }
+        return content;
+    }
+
+    /**
+     * Replaces the content between {@code start} (inclusive) and {@code end} (exclusive) with {@code replacement}.
+     */
+    public void replace(int start, int end, String replacement) {
+        int length = length();
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for length " + length);
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.dirty(replacement));
+            content = null;
+            return;
+        }
+        int first = 0;
+        int firstOffset = 0;
+        while (first < segments.size() - 1 && firstOffset + segments.get(first).text().length() <= start) {
+            firstOffset += segments.get(first).text().length();
+            first++;
+        }
+        int last = first;
+        int lastOffset = firstOffset;
+        while (lastOffset + segments.get(last).text().length() < end) {
+            lastOffset += segments.get(last).text().length();
+            last++;
+        }
+        String text = segments.get(first).text().substring(0, start - firstOffset) + replacement +
+                segments.get(last).text().substring(end - lastOffset);
+        segments.subList(first, last + 1).clear();
+        segments.add(first, Segment.dirty(text));
+        content = null;
+    }
+
+    /**
+     * Replaces the whole content of the stylesheet.
+     */
+    public void replaceAll(String replacement) {
+        segments.clear();
+        segments.add(Segment.dirty(replacement));
+        content = replacement;
+    }
+
+    /**
+     * Analyses the stylesheet, splitting the segments edited since the last analysis into tags again.
+     *
+     * @return the analysis of the stylesheet, or {@link Optional#empty()} if the stylesheet can't be split into tags
+     *         that are analysed the same way as {@link AnalysisResult#analyse} does
+     */
+    Optional<AnalysisResult> analyse() {
+        if (!splitDirtySegments()) {
+            // An edited segment can't always be split on its own, e.g. if the edit opened a tag that is closed by the
+            // following segment
+            Optional<List<Segment>> split = segments.size() > 1 ? split(content()) : Optional.empty();
+            if (split.isEmpty()) {
+                return Optional.empty();
+            }
+            segments.clear();
+            segments.addAll(split.get());
+        }
+        List<AnalysisResult.Chunk> parameters = new ArrayList<>();
+        List<AnalysisResult.Chunk> paths = new ArrayList<>();
+        List<AnalysisResult.Chunk> parameterUsages = new ArrayList<>();
+        int offset = 0;
+        for (Segment segment : segments) {
+            AnalysisResult analysis = segment.analysis().orElseThrow();
+            for (AnalysisResult.Chunk chunk : analysis.parameters()) {
+                parameters.add(chunk.shift(offset));
+            }
+            for (AnalysisResult.Chunk chunk : analysis.paths()) {
+                paths.add(chunk.shift(offset));
+            }
+            for (AnalysisResult.Chunk chunk : analysis.parameterUsage()) {
+                parameterUsages.add(chunk.shift(offset));
+            }
+            offset += segment.text().length();
+        }
+        return Optional.of(new AnalysisResult(parameters, paths, parameterUsages));
+    }
+
+    /**
+     * Applies the chunk level rewrites of {@code transform} to each tag. Must be called on an analysed document.
+     */
+    void rewriteChunks(TransformContext cx, Transform transform) {
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            AnalysisResult analysis = segment.analysis().orElseThrow();
+            if (analysis.isEmpty()) {
+                continue;
+            }
+            String text = TransformPipeline.rewriteChunks(cx, segment.text(), analysis, transform);
+            if (!text.equals(segment.text())) {
+                segments.set(i, Segment.dirty(text));
+                content = null;
+            }
+        }
+    }
+
+    private int length() {
+        return content != null ? content.length() : segments.stream().mapToInt(each -> each.text().length()).sum();
+    }
+
+    private boolean splitDirtySegments() {
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.analysis().isPresent()) {
+                continue;
+            }
+            Optional<List<Segment>> split = split(segment.text());
+            if (split.isEmpty()) {
+                return false;
+            }
+            segments.remove(i);
+            segments.addAll(i, split.get());
+            i += split.get().size() - 1;
+        }
+        return true;
+    }
+
+    /**
+     * Splits the content into tags and text the same way {@link AnalysisResult#analyse} does. Returns
+     * {@link Optional#empty()} if the content relies on a part of that scan that does not hold once the content is
+     * split, i.e. text containing {@code <} or {@code />}, an unterminated tag or a trailing {@code /}.
+     */
+    private static Optional<List<Segment>> split(String content) {
+        List<Segment> result = new ArrayList<>();
+        int index = 0;
+        int textStart = 0;
+        int tagStart = -1;
+        boolean inTag = false;
+        while (index < content.length()) {
+            char c = content.charAt(index);
+            index++;
+            boolean tagEnd = false;
+            if (c == '<') {
+                inTag = true;
+                tagStart = index - 1;
+            } else if (c == '/') {
+                if (index == content.length()) {
+                    return Optional.empty();
+                }
+                if (content.charAt(index) == '>') {
+                    if (!inTag) {
+                        return Optional.empty();
+                    }
+                    index++;
+                    tagEnd = true;
+                }
+            } else if (c == '>' && inTag) {
+                tagEnd = true;
+            }
+            if (!tagEnd) {
+                continue;
+            }
+            inTag = false;
+            if (content.lastIndexOf('<', tagStart - 1) >= textStart) {
+                return Optional.empty();
+            }
+            if (tagStart > textStart) {
+                result.add(Segment.text(content.substring(textStart, tagStart)));
+            }
+            String tag = content.substring(tagStart, index);
+            Optional<AnalysisResult> analysis = AnalysisResult.analyseTag(tag);
+            if (analysis.isEmpty()) {
+                return Optional.empty();
+            }
+            result.add(new Segment(tag, analysis));
+            textStart = index;
+        }
+        if (inTag) {
+            return Optional.empty();
+        }
+        if (textStart < content.length()) {
+            result.add(Segment.text(content.substring(textStart)));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * @param text     content of the segment
+     * @param analysis analysis of the segment with positions relative to its start, empty if the segment was edited
+     *                 since it was last analysed
+     */
+    private record Segment(String text, Optional<AnalysisResult> analysis) {
+
+        static Segment text(String text) {
+            return new Segment(text, Optional.of(AnalysisResult.EMPTY));
+        }
+
+        static Segment dirty(String text) {
+            return new Segment(text, Optional.empty());
+        }
+    }
+}
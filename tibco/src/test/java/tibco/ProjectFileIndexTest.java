@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import tibco.ProjectFileIndex.ArtifactKind;
+import tibco.ProjectFileIndex.FileEntry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ProjectFileIndexTest {
+
+    @Test(groups = {"tibco"})
+    public void testFilesAreBucketedByArtifactKind() throws IOException {
+        Path projectDir = Files.createTempDirectory("tibco-file-index-test");
+        try {
+            Path process = writeFile(projectDir.resolve("Processes/main.bwp"), "<process/>");
+            Path legacyProcess = writeFile(projectDir.resolve("Processes/legacy.process"), "<process/>");
+            Path schema = writeFile(projectDir.resolve("Schemas/order.xsd"), "<schema/>");
+            Path jdbc = writeFile(projectDir.resolve("Resources/db.jdbcResource"), "<jdbc/>");
+            Path sharedHttp = writeFile(projectDir.resolve("Resources/http.sharedhttp"), "<http/>");
+            writeFile(projectDir.resolve("META-INF/MANIFEST.MF"), "Manifest-Version: 1.0");
+            writeFile(projectDir.resolve("README"), "");
+
+            ProjectFileIndex index = ProjectFileIndex.build(projectDir.toString());
+
+            Assert.assertEquals(index.root(), projectDir);
+            Assert.assertEquals(index.size(), 7);
+            Assert.assertEquals(index.paths(ArtifactKind.PROCESS), List.of(process.toString(),
+                    legacyProcess.toString()));
+            Assert.assertEquals(index.paths(ArtifactKind.SCHEMA), List.of(schema.toString()));
+            Assert.assertEquals(index.paths(ArtifactKind.JDBC_RESOURCE), List.of(jdbc.toString()));
+            Assert.assertEquals(index.paths(ArtifactKind.HTTP_SHARED_RESOURCE), List.of(sharedHttp.toString()));
+            Assert.assertEquals(index.paths(ArtifactKind.SHARED_JDBC_RESOURCE), List.of());
+            Assert.assertEquals(index.filesWithExtension("MF").size(), 1);
+            Assert.assertEquals(index.filesWithExtension("").size(), 1);
+
+            FileEntry entry = index.entry(schema).orElseThrow();
+            Assert.assertEquals(entry.size(), Files.size(schema));
+            Assert.assertEquals(entry.lastModified(), Files.getLastModifiedTime(schema));
+            Assert.assertTrue(index.entry(projectDir.resolve("Schemas/missing.xsd")).isEmpty());
+        } finally {
+            deleteDirectory(projectDir);
+        }
+    }
+
+    @Test(groups = {"tibco"})
+    public void testFilesKeepVisitOrder() throws IOException {
+        Path projectDir = Files.createTempDirectory("tibco-file-index-test");
+        try {
+            for (String name : List.of("c", "a", "b")) {
+                writeFile(projectDir.resolve("Processes/" + name + ".bwp"), "<process/>");
+                writeFile(projectDir.resolve(name + "/" + name + ".process"), "<process/>");
+                writeFile(projectDir.resolve("Schemas/" + name + ".xsd"), "<schema/>");
+            }
+
+            ProjectFileIndex index = ProjectFileIndex.build(projectDir.toString());
+
+            // Within an extension files are listed in walk order; the extensions of a kind follow its declaration
+            List<String> walkOrder;
+            try (Stream<Path> paths = Files.walk(projectDir)) {
+                walkOrder = paths.filter(Files::isRegularFile).map(Path::toString).toList();
+            }
+            List<String> expectedProcesses = Stream.concat(
+                    walkOrder.stream().filter(path -> path.endsWith(".bwp")),
+                    walkOrder.stream().filter(path -> path.endsWith(".process"))).toList();
+            Assert.assertEquals(index.paths(ArtifactKind.PROCESS), expectedProcesses);
+            Assert.assertEquals(index.paths(ArtifactKind.SCHEMA),
+                    walkOrder.stream().filter(path -> path.endsWith(".xsd")).toList());
+            Assert.assertEquals(ProjectFileIndex.build(projectDir.toString()).paths(ArtifactKind.PROCESS),
+                    index.paths(ArtifactKind.PROCESS));
+        } finally {
+            deleteDirectory(projectDir);
+        }
+    }
+
+    @Test(groups = {"tibco"})
+    public void testSymbolicLinksToFilesAreIndexed() throws IOException {
+        Path projectDir = Files.createTempDirectory("tibco-file-index-test");
+        Path sharedDir = Files.createTempDirectory("tibco-file-index-shared");
+        try {
+            Path sharedSchema = writeFile(sharedDir.resolve("common.xsd"), "<schema>common</schema>");
+            writeFile(sharedDir.resolve("nested/other.xsd"), "<schema/>");
+            Path linkedSchema = Files.createDirectories(projectDir.resolve("Schemas")).resolve("common.xsd");
+            Files.createSymbolicLink(linkedSchema, sharedSchema);
+            Files.createSymbolicLink(projectDir.resolve("Schemas/missing.xsd"), sharedDir.resolve("missing.xsd"));
+            Files.createSymbolicLink(projectDir.resolve("Shared"), sharedDir.resolve("nested"));
+
+            ProjectFileIndex index = ProjectFileIndex.build(projectDir.toString());
+
+            // Links to regular files are indexed under the link path, with the attributes of the target. Dangling
+            // links and links to directories are skipped
+            Assert.assertEquals(index.paths(ArtifactKind.SCHEMA), List.of(linkedSchema.toString()));
+            FileEntry entry = index.entry(linkedSchema).orElseThrow();
+            Assert.assertEquals(entry.size(), Files.size(sharedSchema));
+            Assert.assertEquals(index.size(), 1);
+        } finally {
+            deleteDirectory(projectDir);
+            deleteDirectory(sharedDir);
+        }
+    }
+
+    @Test(groups = {"tibco"})
+    public void testRetainFilesNarrowsOnlyTheGivenKind() throws IOException {
+        Path projectDir = Files.createTempDirectory("tibco-file-index-test");
+        try {
+            Path changed = writeFile(projectDir.resolve("Processes/changed.bwp"), "<process/>");
+            Path unchanged = writeFile(projectDir.resolve("Processes/unchanged.bwp"), "<process/>");
+            Path legacy = writeFile(projectDir.resolve("Processes/legacy.process"), "<process/>");
+            Path schema = writeFile(projectDir.resolve("Schemas/order.xsd"), "<schema/>");
+            ProjectFileIndex index = ProjectFileIndex.build(projectDir.toString());
+
+            ProjectFileIndex retained = index.retainFiles(ArtifactKind.PROCESS,
+                    path -> !path.equals(unchanged));
+
+            Assert.assertEquals(retained.paths(ArtifactKind.PROCESS), List.of(changed.toString(),
+                    legacy.toString()));
+            Assert.assertEquals(retained.paths(ArtifactKind.SCHEMA), List.of(schema.toString()));
+            Assert.assertEquals(retained.filesWithExtension("bwp").size(), 1);
+            Assert.assertTrue(retained.entry(unchanged).isEmpty());
+            Assert.assertEquals(retained.size(), 3);
+            Assert.assertEquals(retained.root(), index.root());
+
+            // The original index is left untouched, and a filter that keeps everything returns it as is
+            Assert.assertEquals(index.paths(ArtifactKind.PROCESS).size(), 3);
+            Assert.assertTrue(index.entry(unchanged).isPresent());
+            Assert.assertSame(index.retainFiles(ArtifactKind.PROCESS, path -> true), index);
+            Assert.assertEquals(index.retainFiles(ArtifactKind.SCHEMA, path -> false).paths(ArtifactKind.PROCESS),
+                    index.paths(ArtifactKind.PROCESS));
+        } finally {
+            deleteDirectory(projectDir);
+        }
+    }
+
+    private static Path writeFile(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
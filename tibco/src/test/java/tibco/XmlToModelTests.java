@@ -117,7 +117,7 @@ public class XmlToModelTests {
         Element element = stringToElement(activityXml);
         InlineActivity actual = XmlToTibcoModelConverter.parseInlineActivity(new XmlToTibcoModelConverter.ParseContext(),
                 element);
-        InlineActivity.MapperActivity expected = new InlineActivity.MapperActivity(element, "Failed tests count",
+        InlineActivity.MapperActivity expected = new InlineActivity.MapperActivity(TibcoModel.SourceElement.of(element), "Failed tests count",
                 new TibcoModel.Scope.Flow.Activity.InputBinding.CompleteBinding(
                         new TibcoModel.Scope.Flow.Activity.Expression.XSLT("""
                                 <?xml version="1.0" encoding="UTF-8"?>
@@ -157,7 +157,7 @@ public class XmlToModelTests {
         Element element = stringToElement(activityXml);
         InlineActivity actual = XmlToTibcoModelConverter.parseInlineActivity(new XmlToTibcoModelConverter.ParseContext(),
                 element);
-        InlineActivity.WriteLog expected = new InlineActivity.WriteLog(element, "Log",
+        InlineActivity.WriteLog expected = new InlineActivity.WriteLog(TibcoModel.SourceElement.of(element), "Log",
                 new TibcoModel.Scope.Flow.Activity.InputBinding.CompleteBinding(
                         new TibcoModel.Scope.Flow.Activity.Expression.XSLT("""
                                 <?xml version="1.0" encoding="UTF-8"?>
@@ -198,7 +198,7 @@ public class XmlToModelTests {
         Element element = stringToElement(activityXml);
         InlineActivity actual = XmlToTibcoModelConverter.parseInlineActivity(new XmlToTibcoModelConverter.ParseContext(),
                 element);
-        InlineActivity.AssignActivity expected = new InlineActivity.AssignActivity(element, "Assign", "Error",
+        InlineActivity.AssignActivity expected = new InlineActivity.AssignActivity(TibcoModel.SourceElement.of(element), "Assign", "Error",
                 new TibcoModel.Scope.Flow.Activity.InputBinding.CompleteBinding(
                         new TibcoModel.Scope.Flow.Activity.Expression.XSLT("""
                                 <?xml version="1.0" encoding="UTF-8"?>
@@ -18,18 +18,54 @@
 
 package tibco.converter;
 
+import common.BallerinaModel;
+import common.CodeGenerator;
+import fixtures.tibco.TibcoProjectGenerator;
+import fixtures.tibco.TibcoProjectSpec;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import tibco.TibcoModel;
+import tibco.TibcoModel.Scope.Flow.Activity.Expression.XPath;
+import tibco.TibcoToBalConverter;
+import tibco.TibcoToBalConverter.ConversionOption;
+import tibco.XmlToTibcoModelConverter;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
 
 public class TibcoProjectConversionTest {
 
+    private static final Pattern HOISTED_STYLE_SHEET =
+            Pattern.compile("final xml & readonly (\\w+) = (xml ?`.*?`)(?:\\.cloneReadOnly\\(\\))?;", Pattern.DOTALL);
+    private static final Pattern XSLT_REPORT_COUNTS = Pattern.compile("<td>(\\d+) of (\\d+) \\(\\d+%\\)</td>\\s*" +
+            "</tr>\\s*<tr>\\s*<td>XSLT transformations left to the XSLT module</td>\\s*<td>(\\d+)</td>");
+
     @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
     public void testProjectConversion(Path tibcoProject, Path expectedBallerinaProject) throws IOException {
         // Create a temporary directory for the output
@@ -46,6 +82,689 @@ public class TibcoProjectConversionTest {
         }
     }
 
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testConcurrentAnalysisProjectConversion(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-concurrent-analysis-test");
+        try {
+            // Concurrent analysis must allocate the same names as the sequential analysis
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    EnumSet.of(ConversionOption.PARALLEL_ANALYSIS));
+            compareDirectories(tempDir, expectedBallerinaProject);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testStreamingParserProjectConversion(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-streaming-parser-test");
+        try {
+            // The streaming parser must build the same model as the DOM parser
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    EnumSet.of(ConversionOption.STREAMING_PARSING));
+            compareDirectories(tempDir, expectedBallerinaProject);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testReleaseDocumentsProjectConversion(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-release-documents-test");
+        try {
+            // Model records must carry everything the converter needs once their elements are detached
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    EnumSet.of(ConversionOption.RELEASE_DOCUMENTS));
+            compareDirectories(tempDir, expectedBallerinaProject);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "optionTestCaseProvider")
+    public void testOptionProjectConversion(Path tibcoProject, Path expectedBallerinaProject,
+                                            Set<ConversionOption> options, int emitParallelism)
+            throws IOException {
+        // Options that only change how the conversion runs must give the same output as the default conversion
+        Path tempDir = Files.createTempDirectory("tibco-option-conversion-test");
+        try {
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    options, emitParallelism);
+            compareDirectories(tempDir, expectedBallerinaProject);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testStreamingOutputProjectConversion(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        Path bufferedDir = Files.createTempDirectory("tibco-buffered-output-test");
+        Path streamingDir = Files.createTempDirectory("tibco-streaming-output-test");
+        try {
+            // Process documents written during the conversion must match the ones written after it
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), bufferedDir.toString(), true, true, false);
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), streamingDir.toString(), true, true, false,
+                    EnumSet.of(ConversionOption.STREAMING_OUTPUT));
+            compareDirectories(streamingDir, bufferedDir);
+        } finally {
+            deleteDirectory(bufferedDir);
+            deleteDirectory(streamingDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testCachedParallelTypeConversion(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-cached-type-conversion-test");
+        try {
+            Set<ConversionOption> options =
+                    EnumSet.of(ConversionOption.PARALLEL_TYPE_CONVERSION, ConversionOption.CACHE_TYPES);
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    options);
+            compareDirectories(tempDir, expectedBallerinaProject);
+            List<Path> cachedTypes = listTypeCache(tempDir);
+
+            // The second run reads the types back from the cache instead of adding new entries
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    options);
+            compareDirectories(tempDir, expectedBallerinaProject);
+            Assert.assertEquals(listTypeCache(tempDir), cachedTypes);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testTypeConversionOptionsDefineSameRecords(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        List<Set<ConversionOption>> optionSets = List.of(
+                EnumSet.of(ConversionOption.PARALLEL_TYPE_CONVERSION),
+                EnumSet.of(ConversionOption.CACHE_TYPES),
+                EnumSet.of(ConversionOption.PARALLEL_TYPE_CONVERSION, ConversionOption.CACHE_TYPES));
+        Path defaultDir = Files.createTempDirectory("tibco-default-types-test");
+        try {
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), defaultDir.toString(), false, true, false);
+            Set<String> expectedRecords = definedTypes(defaultDir);
+            for (Set<ConversionOption> options : optionSets) {
+                Path tempDir = Files.createTempDirectory("tibco-option-types-test");
+                try {
+                    // The second run reads the cached groups back when the cache is enabled
+                    for (int run = 0; run < 2; run++) {
+                        TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false,
+                                true, false, options);
+                        Assert.assertEquals(definedTypes(tempDir), expectedRecords,
+                                "Types differ for " + options + " in run " + (run + 1));
+                    }
+                } finally {
+                    deleteDirectory(tempDir);
+                }
+            }
+        } finally {
+            deleteDirectory(defaultDir);
+        }
+    }
+
+    private static Set<String> definedTypes(Path targetDir) throws IOException {
+        try (Stream<Path> files = Files.walk(targetDir)) {
+            List<Path> typeFiles = files.filter(path -> path.getFileName().toString().equals("types.bal")).toList();
+            Set<String> names = new TreeSet<>();
+            for (Path typeFile : typeFiles) {
+                names.addAll(ModuleMembers.definedNames(Files.readString(typeFile)));
+            }
+            return names;
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testClashingSchemaGroupsConversion() throws Exception {
+        // Both schemas define Order in namespaces of their own, so their groups clash and are converted together
+        List<TibcoModel.Type.Schema> schemas = List.of(orderSchema("urn:orders:a"), orderSchema("urn:orders:b"));
+        Set<String> expectedRecords = ModuleMembers.definedNames(
+                new SchemaConversionEngine(1, Optional.empty()).convert(schemas).toSourceCode());
+        Assert.assertFalse(expectedRecords.isEmpty());
+
+        Path cacheDir = Files.createTempDirectory("tibco-clashing-types-test");
+        try {
+            Path staleEntry = Files.writeString(cacheDir.resolve("stale.types"), "type Stale record {};");
+            for (SchemaConversionEngine engine : List.of(new SchemaConversionEngine(2, Optional.empty()),
+                    new SchemaConversionEngine(2, Optional.of(cacheDir)),
+                    new SchemaConversionEngine(2, Optional.of(cacheDir)))) {
+                Assert.assertEquals(ModuleMembers.definedNames(engine.convert(schemas).toSourceCode()),
+                        expectedRecords);
+            }
+            // Entries the run did not use are removed
+            Assert.assertFalse(Files.exists(staleEntry));
+        } finally {
+            deleteDirectory(cacheDir);
+        }
+    }
+
+    private static TibcoModel.Type.Schema orderSchema(String targetNamespace) throws Exception {
+        String schema = """
+                <xs:schema xmlns:xs="http://www.w3.org/2001/XMLSchema" xmlns:tns="%s" targetNamespace="%s"
+                           elementFormDefault="qualified">
+                    <xs:complexType name="Order">
+                        <xs:sequence>
+                            <xs:element name="id" type="xs:string"/>
+                        </xs:sequence>
+                    </xs:complexType>
+                    <xs:element name="Order" type="tns:Order"/>
+                </xs:schema>
+                """.formatted(targetNamespace, targetNamespace);
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Element element = factory.newDocumentBuilder()
+                .parse(new InputSource(new StringReader(schema))).getDocumentElement();
+        return new TibcoModel.Type.Schema(element);
+    }
+
+    private static List<Path> listTypeCache(Path targetDir) throws IOException {
+        Path cacheDir = targetDir.resolve(".type-cache");
+        if (!Files.isDirectory(cacheDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testConcurrentBranchesProjectConversion(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        // Activities of these projects form chains, so there is nothing to run concurrently
+        Path tempDir = Files.createTempDirectory("tibco-concurrent-branches-test");
+        try {
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    EnumSet.of(ConversionOption.CONCURRENT_BRANCHES));
+            compareDirectories(tempDir, expectedBallerinaProject);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testConcurrentBranchesWithIndependentActivities() throws IOException {
+        // Foo of this project calls Bar right after receiving the request, while the request is being logged
+        Path projectDir = fixture("tibco.fixtures", "ConcurrentBranches");
+        Path expectedDir = fixture("tibco.fixtures.converted", "ConcurrentBranches");
+        Path tempDir = Files.createTempDirectory("tibco-concurrent-branches-test");
+        try {
+            String source = convertToSource(projectDir, tempDir.resolve("concurrent"),
+                    EnumSet.of(ConversionOption.CONCURRENT_BRANCHES));
+            Assert.assertEquals(source.split("fork \\{", -1).length - 1, 1, source);
+            String runner = functionSource(source, "scope0_2ActivityRunner");
+            assertSameStatements(runner, Files.readString(expectedDir.resolve("scope0_2ActivityRunner.bal")));
+
+            // Log1 ends the sequential runner, although its branch is shorter than the one of Call Bar
+            String sequentialRunner = functionSource(convertToSource(projectDir, tempDir.resolve("sequential"),
+                    EnumSet.noneOf(ConversionOption.class)), "scope0_2ActivityRunner");
+            Assert.assertEquals(returnedActivity(runner), returnedActivity(sequentialRunner));
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testParallelLoopConversion() throws IOException {
+        Path expectedDir = fixture("tibco.fixtures.converted", "ParallelLoops");
+        Path tempDir = Files.createTempDirectory("tibco-parallel-loop-test");
+        try {
+            // The loop of this project only logs the index and the element of each iteration
+            Path projectDir = copyProject("RestHelloWorld", tempDir);
+            String source = convertToSource(projectDir, tempDir.resolve("parallel"),
+                    EnumSet.of(ConversionOption.PARALLEL_LOOPS));
+            // Iterations run in batches on copies of the context, and the one of the last iteration is written back
+            assertSameStatements(functionSource(source, "Loop"), Files.readString(expectedDir.resolve("Loop.bal")));
+
+            // Iterations that read the output accumulated by the previous ones must run one after the other
+            Path process = projectDir.resolve("other.process");
+            String content = Files.readString(process);
+            Assert.assertTrue(content.contains("<pd:activityOutputName/>"));
+            Files.writeString(process, content
+                    .replace("<pd:activityOutputName/>", "<pd:activityOutputName>LoopOutput</pd:activityOutputName>")
+                    .replace("<pd:accumulateOutput>false", "<pd:accumulateOutput>true")
+                    .replace("select=\"$index\"", "select=\"$LoopOutput\""));
+            source = convertToSource(projectDir, tempDir.resolve("sequential"),
+                    EnumSet.of(ConversionOption.PARALLEL_LOOPS));
+            Assert.assertTrue(source.contains("foreach xml each in"), source);
+            Assert.assertFalse(source.contains("= start scope1ScopeFn("), source);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testParallelLoopOutputReferences() throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-parallel-loop-references-test");
+        try {
+            Path projectDir = copyProject("RestHelloWorld", tempDir);
+            Path process = projectDir.resolve("other.process");
+            String content = Files.readString(process)
+                    .replace("<pd:activityOutputName/>", "<pd:activityOutputName>LoopOutput</pd:activityOutputName>")
+                    .replace("<pd:accumulateOutput>false", "<pd:accumulateOutput>true");
+
+            // Only XPath expressions of the input bindings read the output, not text that looks like a reference
+            Files.writeString(process, content.replace("<xsl:value-of select=\"$index\"/>",
+                    "Read $LoopOutput <xsl:value-of select=\"$index\"/>"));
+            String source = convertToSource(projectDir, tempDir.resolve("text"),
+                    EnumSet.of(ConversionOption.PARALLEL_LOOPS));
+            Assert.assertTrue(source.contains("= start scope1ScopeFn("), source);
+
+            // A path into the output read by a nested expression still makes the iterations depend on each other
+            Files.writeString(process, content.replace("select=\"$index\"",
+                    "select=\"concat($index, count($LoopOutput/item))\""));
+            source = convertToSource(projectDir, tempDir.resolve("path"),
+                    EnumSet.of(ConversionOption.PARALLEL_LOOPS));
+            Assert.assertTrue(source.contains("foreach xml each in"), source);
+            Assert.assertFalse(source.contains("= start scope1ScopeFn("), source);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testCompileXsltConversion() throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-compile-xslt-test");
+        try {
+            Path projectDir = copyProject("RestHelloWorld", tempDir);
+            Path outputDir = tempDir.resolve("compiled");
+            String source = convertToSource(projectDir, outputDir, EnumSet.of(ConversionOption.COMPILE_XSLT));
+            Assert.assertTrue(source.contains("<message>${xsltValueOf(xsltDocument(context[\"element\"]))}</message>"),
+                    source);
+            Assert.assertTrue(source.contains(
+                    "<jsonString>${xsltValueOf(xsltChildren(xsltDocument(context[\"Parse-JSON\"]), \"root\", " +
+                            "\"{http://www.tibco.com/namespaces/tnt/plugins/json}ActivityOutputClass\", \"Foo\"))}" +
+                            "</jsonString>"), source);
+            // Stylesheets using XPath functions are still run by the XSLT module, as all of them are by default
+            int fallback = source.split("xslt:transform\\(", -1).length - 1;
+            String interpreted = convertToSource(projectDir, tempDir.resolve("interpreted"),
+                    EnumSet.noneOf(ConversionOption.class));
+            int total = interpreted.split("xslt:transform\\(", -1).length - 1;
+            Assert.assertTrue(fallback > 0 && fallback < total, source);
+
+            // The report counts the stylesheets of the output that were translated and those that were not
+            Matcher counts = XSLT_REPORT_COUNTS.matcher(Files.readString(outputDir.resolve("report.html")));
+            Assert.assertTrue(counts.find());
+            Assert.assertEquals(Integer.parseInt(counts.group(1)), total - fallback);
+            Assert.assertEquals(Integer.parseInt(counts.group(2)), total);
+            Assert.assertEquals(Integer.parseInt(counts.group(3)), fallback);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testHoistConstantsConversion() throws IOException, SAXException, ParserConfigurationException {
+        Path tempDir = Files.createTempDirectory("tibco-hoist-constants-test");
+        try {
+            Path projectDir = copyProject("RestHelloWorld", tempDir);
+            String source = convertToSource(projectDir, tempDir.resolve("hoisted"),
+                    EnumSet.of(ConversionOption.HOIST_CONSTANTS));
+            Matcher declarations = HOISTED_STYLE_SHEET.matcher(source);
+            Map<String, String> styleSheets = new HashMap<>();
+            while (declarations.find()) {
+                Assert.assertNull(styleSheets.put(declarations.group(2), declarations.group(1)),
+                        "Stylesheet declared more than once: " + declarations.group(2));
+            }
+            Assert.assertFalse(styleSheets.isEmpty(), source);
+            Matcher transforms = Pattern.compile("xslt:transform\\(\\w+, (\\w+)").matcher(source);
+            int transformCount = 0;
+            while (transforms.find()) {
+                Assert.assertTrue(styleSheets.containsValue(transforms.group(1)), transforms.group());
+                transformCount++;
+            }
+            Assert.assertEquals(transformCount, source.split("xslt:transform\\(", -1).length - 1, source);
+
+            // The query of the loop group is hoisted as well
+            Matcher xPathDeclarations = Pattern.compile(
+                    "final xmldata:XPathRawTemplate & readonly (\\w+) = (`[^`]*`);").matcher(source);
+            Map<String, String> xPaths = new HashMap<>();
+            while (xPathDeclarations.find()) {
+                Assert.assertNull(xPaths.put(xPathDeclarations.group(2), xPathDeclarations.group(1)),
+                        "XPath query declared more than once: " + xPathDeclarations.group(2));
+            }
+            Assert.assertTrue(xPaths.containsKey("`foo/bar`"), source);
+            Matcher queries = Pattern.compile("xmldata:transform\\(\\w+, (\\w+)\\)").matcher(source);
+            int queryCount = 0;
+            while (queries.find()) {
+                Assert.assertTrue(xPaths.containsValue(queries.group(1)), queries.group());
+                queryCount++;
+            }
+            Assert.assertEquals(queryCount, source.split("xmldata:transform\\(", -1).length - 1, source);
+
+            // Transition predicates are hoisted unless they refer to variables, which are read on each evaluation
+            ProcessContext cx = new ProjectContext(new TibcoToBalConverter.ProjectConversionContext(false, false,
+                    EnumSet.of(ConversionOption.HOIST_CONSTANTS)), Map.of())
+                    .getProcessContext(XmlToTibcoModelConverter.parseProcess(
+                            TibcoToBalConverter.parseXmlFile(projectDir.resolve("proc.process").toString())));
+            BallerinaModel.Expression.VariableReference input =
+                    new BallerinaModel.Expression.VariableReference("input");
+            BallerinaModel.Expression.VariableReference context =
+                    new BallerinaModel.Expression.VariableReference("cx");
+            String predicate = ConversionUtils.xPath(cx, input, context, new XPath("foo/bar = 'baz'")).toString();
+            Assert.assertEquals(ConversionUtils.xPath(cx, input, context, new XPath("foo/bar = 'baz'")).toString(),
+                    predicate);
+            Assert.assertEquals(ConversionUtils.xPath(cx, input, context, new XPath("$Start/foo = 'baz'")).toString(),
+                    "xmldata:transform(input, `${cx.get(\"Start\")}/foo = 'baz'`)");
+            List<BallerinaModel.ModuleVar> moduleVars = cx.serialize(List.of(), List.of()).moduleVars();
+            Assert.assertEquals(moduleVars.size(), 1, moduleVars.toString());
+            Matcher hoisted = Pattern.compile("final xmldata:XPathRawTemplate & readonly (\\w+) = `foo/bar = 'baz'`;\n")
+                    .matcher(moduleVars.get(0).toString());
+            Assert.assertTrue(hoisted.matches(), moduleVars.get(0).toString());
+            Assert.assertEquals(predicate, "xmldata:transform(input, " + hoisted.group(1) + ")");
+
+            // Stylesheets interpolating configurable variables are copied into read-only values
+            BallerinaModel.Expression.VariableReference port = cx.hoistStyleSheet("<port>${httpPort}</port>");
+            String declaration = "final xml & readonly " + port + " = xml`<port>${httpPort}</port>`.cloneReadOnly();\n";
+            Assert.assertTrue(cx.serialize(List.of(), List.of()).moduleVars().stream().map(Object::toString)
+                    .anyMatch(declaration::equals), declaration);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testHoistedConstantsMatchGolden() throws IOException {
+        Path expectedDir = fixture("tibco.fixtures.converted", "HoistConstants");
+        Path tempDir = Files.createTempDirectory("tibco-hoisted-constants-golden-test");
+        try {
+            String source = convertToSource(copyProject("CRUD", tempDir), tempDir.resolve("hoisted"),
+                    EnumSet.of(ConversionOption.HOIST_CONSTANTS));
+            // Stylesheets are numbered in the order the activities are converted, so they are renamed in the order
+            // of their first use in the output
+            Matcher uses = Pattern.compile("xslt:transform\\(\\w+, (\\w+)").matcher(source);
+            Map<String, String> names = new LinkedHashMap<>();
+            while (uses.find()) {
+                names.putIfAbsent(uses.group(1), "Processes_Main_process_styleSheet" + names.size());
+            }
+            String renamed = Pattern.compile("\\w+_styleSheet\\d+").matcher(source)
+                    .replaceAll(name -> names.getOrDefault(name.group(), name.group()));
+
+            assertSameStatements(functionSource(renamed, "Log"), Files.readString(expectedDir.resolve("Log.bal")));
+            Matcher declarations = HOISTED_STYLE_SHEET.matcher(renamed);
+            List<String> styleSheets = new ArrayList<>();
+            while (declarations.find()) {
+                styleSheets.add(declarations.group());
+            }
+            Collections.sort(styleSheets);
+            assertSameStatements(String.join("\n", styleSheets),
+                    Files.readString(expectedDir.resolve("styleSheets.bal")));
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    private static Path copyProject(String name, Path targetDir) throws IOException {
+        Path tibcoProject = Path.of("src", "test", "resources", "tibco.projects", name);
+        Path projectDir = targetDir.resolve(name);
+        try (Stream<Path> paths = Files.walk(tibcoProject)) {
+            for (Path path : paths.toList()) {
+                Path target = projectDir.resolve(tibcoProject.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(path, target);
+                }
+            }
+        }
+        return projectDir;
+    }
+
+    private static Path fixture(String directory, String name) {
+        return Path.of("src", "test", "resources", directory, name);
+    }
+
+    // Source of a top level function, which ends at the first closing brace at the start of a line
+    private static String functionSource(String source, String functionName) {
+        int start = source.indexOf("function " + functionName + "(");
+        Assert.assertTrue(start >= 0, "Missing function " + functionName + " in:\n" + source);
+        int end = source.indexOf("\n}", start);
+        return source.substring(start, end + 2);
+    }
+
+    // Compares sources line by line, ignoring the indentation and blank lines chosen by the formatter
+    private static void assertSameStatements(String actual, String expected) {
+        Assert.assertEquals(statements(actual), statements(expected), actual);
+    }
+
+    private static List<String> statements(String source) {
+        return source.lines().map(String::strip).filter(line -> !line.isEmpty()).toList();
+    }
+
+    // Activity function whose result an activity runner returns, looking through the worker that ran it if any
+    private static String returnedActivity(String runner) {
+        Matcher returned = Pattern.compile("return (\\w+);").matcher(runner);
+        String result = null;
+        while (returned.find()) {
+            result = returned.group(1);
+        }
+        Assert.assertNotNull(result, runner);
+        int worker = runner.indexOf("worker " + result + "Worker");
+        Matcher call = worker >= 0 ? Pattern.compile("check (\\w+)\\(cx\\)").matcher(runner.substring(worker)) :
+                Pattern.compile("xml " + result + " = check (\\w+)\\(cx\\);").matcher(runner);
+        Assert.assertTrue(call.find(), runner);
+        return call.group(1);
+    }
+
+    private static String convertToSource(Path projectDir, Path outputDir, Set<ConversionOption> options)
+            throws IOException {
+        TibcoConverter.migrateTibcoProject(projectDir.toString(), outputDir.toString(), false, true, false, options);
+        StringBuilder sources = new StringBuilder();
+        try (Stream<Path> balFiles = Files.walk(outputDir)) {
+            for (Path balFile : balFiles.filter(path -> path.toString().endsWith(".bal")).toList()) {
+                sources.append(Files.readString(balFile));
+            }
+        }
+        return sources.toString();
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testIncrementalProjectConversion(Path tibcoProject, Path expectedBallerinaProject)
+            throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-incremental-conversion-test");
+        try {
+            Set<ConversionOption> options = EnumSet.of(ConversionOption.INCREMENTAL);
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    options);
+            Assert.assertTrue(Files.exists(tempDir.resolve(IncrementalConversionCache.CACHE_FILE_NAME)));
+
+            // Running again without changes must leave the output intact
+            TibcoConverter.migrateTibcoProject(tibcoProject.toString(), tempDir.toString(), false, true, false,
+                    options);
+            compareDirectories(tempDir, expectedBallerinaProject);
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testIncrementalProcessReuse() throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-incremental-process-test");
+        try {
+            // Main calls Foo, which calls Bar
+            Path projectDir = copyProject("SimpleServiceChain", tempDir);
+            Path outputDir = tempDir.resolve("output");
+            List<String> log = migrateIncrementally(projectDir, outputDir);
+            Assert.assertTrue(log.contains("Converting process: Processes/Bar.process"), log.toString());
+            String barSource = Files.readString(outputDir.resolve("Processes_Bar_process.bal"));
+
+            Path foo = projectDir.resolve("Processes").resolve("Foo.process");
+            Files.writeString(foo, Files.readString(foo) + "\n<!-- Changed -->\n");
+            log = migrateIncrementally(projectDir, outputDir);
+            Assert.assertTrue(log.contains("Converting process: Processes/Foo.process"), log.toString());
+            Assert.assertTrue(log.contains("Converting process: Processes/Main.process"), log.toString());
+            Assert.assertTrue(log.contains("Reusing unchanged process: Processes/Bar.process"), log.toString());
+            Assert.assertFalse(log.contains("Converting process: Processes/Bar.process"), log.toString());
+            Assert.assertEquals(Files.readString(outputDir.resolve("Processes_Bar_process.bal")), barSource);
+            assertUniqueProcessDeclarations(outputDir);
+
+            // The report of the partial run covers the reused process as well
+            Path fullOutputDir = tempDir.resolve("full-output");
+            migrateIncrementally(projectDir, fullOutputDir);
+            Assert.assertEquals(Files.readString(outputDir.resolve("report.html")),
+                    Files.readString(fullOutputDir.resolve("report.html")));
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testIncrementalProcessRemoval() throws IOException {
+        Path tempDir = Files.createTempDirectory("tibco-incremental-process-test");
+        try {
+            // Baz is a copy of Bar that no other process calls
+            Path projectDir = copyProject("SimpleServiceChain", tempDir);
+            Path processesDir = projectDir.resolve("Processes");
+            Path baz = processesDir.resolve("Baz.process");
+            Files.writeString(baz, Files.readString(processesDir.resolve("Bar.process"))
+                    .replace("<pd:name>Processes/Bar.process</pd:name>", "<pd:name>Processes/Baz.process</pd:name>"));
+            Path outputDir = tempDir.resolve("output");
+            migrateIncrementally(projectDir, outputDir);
+            Assert.assertTrue(Files.exists(outputDir.resolve("Processes_Baz_process.bal")));
+
+            Files.delete(baz);
+            List<String> log = migrateIncrementally(projectDir, outputDir);
+            Assert.assertFalse(Files.exists(outputDir.resolve("Processes_Baz_process.bal")));
+            for (String process : List.of("Main", "Foo", "Bar")) {
+                Assert.assertTrue(log.contains("Reusing unchanged process: Processes/" + process + ".process"),
+                        log.toString());
+                Assert.assertTrue(Files.exists(outputDir.resolve("Processes_" + process + "_process.bal")));
+            }
+        } finally {
+            deleteDirectory(tempDir);
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testProjectFileMergeKeepsReferencedDeclarations() {
+        String previousUtils = """
+                import ballerina/http;
+                import ballerina/log;
+
+                function used() returns int {
+                    return helper();
+                }
+
+                function helper() returns int {
+                    log:printInfo("helper");
+                    return 1;
+                }
+
+                function stale() returns http:Client|error {
+                    return new ("http://localhost:8080");
+                }
+                """;
+        String previousTypes = """
+                type Used record {|
+                    Nested nested;
+                |};
+
+                type Nested record {|
+                    string name;
+                |};
+
+                type Stale record {|
+                    int id;
+                |};
+                """;
+        String currentUtils = """
+                function current() returns int {
+                    return 0;
+                }
+                """;
+        String process = """
+                function process(Used input) returns int {
+                    return used() + current();
+                }
+                """;
+        Map<String, String> merged = ModuleMembers.merge(Map.of("utils.bal", currentUtils, "types.bal", ""),
+                Map.of("utils.bal", previousUtils, "types.bal", previousTypes), List.of(process));
+        String utils = merged.get("utils.bal");
+        Assert.assertEquals(ModuleMembers.definedNames(utils), Set.of("current", "used", "helper"));
+        Assert.assertEquals(ModuleMembers.definedNames(merged.get("types.bal")), Set.of("Used", "Nested"));
+        Assert.assertTrue(utils.contains("import ballerina/log;"), utils);
+        Assert.assertFalse(utils.contains("import ballerina/http;"), utils);
+    }
+
+    private static List<String> migrateIncrementally(Path projectDir, Path outputDir) {
+        List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger("migrate-tibco");
+        logger.addHandler(handler);
+        try {
+            TibcoConverter.migrateTibcoProject(projectDir.toString(), outputDir.toString(), true, true, false,
+                    EnumSet.of(ConversionOption.INCREMENTAL));
+        } finally {
+            logger.removeHandler(handler);
+        }
+        return List.copyOf(messages);
+    }
+
+    // Documents of converted processes must not define the names defined by the reused ones
+    private static void assertUniqueProcessDeclarations(Path outputDir) throws IOException {
+        Map<String, Path> definitions = new HashMap<>();
+        try (Stream<Path> files = Files.list(outputDir)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().startsWith("Processes_")).toList()) {
+                for (String name : ModuleMembers.definedNames(Files.readString(file))) {
+                    Path previous = definitions.put(name, file);
+                    Assert.assertNull(previous, name + " is defined in both " + previous + " and " + file);
+                }
+            }
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"}, dataProvider = "projectTestCaseProvider")
+    public void testNodeFactoryCodeGeneration(Path tibcoProject, Path expectedBallerinaProject) {
+        ConversionResult result = TibcoToBalConverter.convertProject(
+                new TibcoToBalConverter.ProjectConversionContext(false, false), tibcoProject.toString());
+        BallerinaModel.DefaultPackage defaultPackage = new BallerinaModel.DefaultPackage("tibco", "sample", "0.1");
+        for (BallerinaModel.TextDocument textDocument : result.module().textDocuments()) {
+            BallerinaModel model = new BallerinaModel(defaultPackage,
+                    List.of(new BallerinaModel.Module(result.module().name(), List.of(textDocument))));
+            // Both backends must give the same source once formatted
+            Assert.assertEquals(
+                    new CodeGenerator(model, CodeGenerator.Backend.NODE_FACTORY).generateBalCode().toSourceCode(),
+                    new CodeGenerator(model).generateBalCode().toSourceCode(),
+                    "Generated source differs for " + textDocument.documentName());
+        }
+    }
+
+    @Test(groups = {"tibco", "converter"})
+    public void testGeneratedProjectConversion() throws IOException {
+        TibcoProjectSpec spec = new TibcoProjectSpec(6, 8, 3, 4, 3, 2, 2, 1);
+        Path projectDir = Files.createTempDirectory("tibco-generated-project");
+        try {
+            new TibcoProjectGenerator(spec).generate(projectDir);
+            ConversionResult result = TibcoToBalConverter.convertProject(
+                    new TibcoToBalConverter.ProjectConversionContext(false, false), projectDir.toString());
+            BallerinaModel.Module module = result.module();
+            Assert.assertNotNull(module);
+            Assert.assertTrue(module.textDocuments().size() >= spec.processCount(),
+                    "Expected a document per process but got " + module.textDocuments().size());
+            int minActivityCount = spec.processCount() * spec.activitiesPerProcess();
+            Assert.assertTrue(result.report().totalActivityCount() >= minActivityCount);
+        } finally {
+            deleteDirectory(projectDir);
+        }
+    }
+
     private void compareDirectories(Path actual, Path expected) throws IOException {
         // First check if both directories exist
         Assert.assertTrue(Files.isDirectory(actual), "Actual path is not a directory: " + actual);
@@ -134,4 +853,21 @@ public class TibcoProjectConversionTest {
                 })
                 .toArray(Object[][]::new);
     }
+
+    @DataProvider
+    public Object[][] optionTestCaseProvider() throws IOException {
+        Object[][] optionCases = {
+                {EnumSet.of(ConversionOption.PARALLEL_PARSING), 1},
+                {EnumSet.noneOf(ConversionOption.class), 4},
+                {EnumSet.of(ConversionOption.PARALLEL_PARSING, ConversionOption.PARALLEL_ANALYSIS,
+                        ConversionOption.STREAMING_PARSING, ConversionOption.RELEASE_DOCUMENTS), 4}
+        };
+        List<Object[]> testCases = new ArrayList<>();
+        for (Object[] projectCase : projectTestCaseProvider()) {
+            for (Object[] optionCase : optionCases) {
+                testCases.add(new Object[]{projectCase[0], projectCase[1], optionCase[0], optionCase[1]});
+            }
+        }
+        return testCases.toArray(Object[][]::new);
+    }
 }
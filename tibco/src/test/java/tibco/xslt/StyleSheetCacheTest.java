@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.xslt;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import tibco.xslt.XsltCompiler.TemplateNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class StyleSheetCacheTest {
+
+    private static final String STYLE_SHEET = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="2.0">
+                <xsl:template match="/">
+                    <port><xsl:value-of select="bw:getModuleProperty('http.port')"/></port>
+                    <id><xsl:value-of select="$input/id"/></id>
+                </xsl:template>
+            </xsl:stylesheet>""";
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testIdenticalStyleSheetsAreRewrittenOnce() {
+        StyleSheetCache cache = new StyleSheetCache(createPipeline());
+        List<String> lookups = new ArrayList<>();
+        Function<String, String> configVarNames = propertyName -> {
+            lookups.add(propertyName);
+            return "httpPort";
+        };
+        String first = cache.apply(configVarNames, STYLE_SHEET);
+        String second = cache.apply(configVarNames, STYLE_SHEET);
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(first, createPipeline().apply(configVarNames, STYLE_SHEET));
+        Assert.assertEquals(cache.hits(), 1);
+        Assert.assertEquals(cache.misses(), 1);
+        // The cached entry is validated against the variables of the activity it is reused for
+        Assert.assertEquals(lookups, List.of("http.port", "http.port", "http.port"));
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testDifferentConfigVariablesAreNotReused() {
+        StyleSheetCache cache = new StyleSheetCache(createPipeline());
+        String first = cache.apply(Map.of("http.port", "port")::get, STYLE_SHEET);
+        String second = cache.apply(Map.of("http.port", "serverPort")::get, STYLE_SHEET);
+        Assert.assertNotEquals(second, first);
+        Assert.assertTrue(second.contains("${serverPort}"), second);
+        Assert.assertEquals(cache.hits(), 0);
+        Assert.assertEquals(cache.misses(), 2);
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testLeastRecentlyUsedStyleSheetIsEvicted() {
+        StyleSheetCache cache = new StyleSheetCache(createPipeline(), 2);
+        Function<String, String> configVarNames = propertyName -> "httpPort";
+        String other = STYLE_SHEET.replace("<id>", "<key>").replace("</id>", "</key>");
+        String third = STYLE_SHEET.replace("<port>", "<serverPort>").replace("</port>", "</serverPort>");
+        cache.apply(configVarNames, STYLE_SHEET);
+        cache.apply(configVarNames, other);
+        cache.apply(configVarNames, STYLE_SHEET);
+        cache.apply(configVarNames, third);
+        Assert.assertEquals(cache.misses(), 3);
+
+        cache.apply(configVarNames, STYLE_SHEET);
+        Assert.assertEquals(cache.hits(), 2);
+        cache.apply(configVarNames, other);
+        Assert.assertEquals(cache.misses(), 4);
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testIdenticalStyleSheetsAreCompiledOnce() {
+        StyleSheetCache cache = new StyleSheetCache(createPipeline());
+        String styleSheet = cache.apply(propertyName -> "httpPort",
+                STYLE_SHEET.lines().filter(line -> !line.contains("<port>")).collect(Collectors.joining("\n")));
+        Optional<List<TemplateNode>> first = cache.compile(styleSheet);
+        Assert.assertEquals(first, XsltCompiler.compile(styleSheet));
+        Assert.assertTrue(first.isPresent(), styleSheet);
+        Assert.assertSame(cache.compile(styleSheet), first);
+    }
+
+    private static TransformPipeline createPipeline() {
+        TransformPipeline pipeline = new TransformPipeline();
+        pipeline.append(new AddMissingParameters());
+        pipeline.append(new ReplaceVariableReference());
+        pipeline.append(new ReplaceDotAccessWithXPath());
+        pipeline.append(new IgnoreRootWrapper());
+        return pipeline;
+    }
+}
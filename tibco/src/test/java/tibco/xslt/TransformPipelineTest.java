@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.xslt;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+public class TransformPipelineTest {
+
+    private static final Function<String, String> CONFIG_VAR_NAMES = propertyName -> propertyName.replace('.', '_');
+    private static final String HEADER = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="2.0">
+            """;
+
+    @Test(groups = {"tibco", "xslt"}, dataProvider = "styleSheetProvider")
+    public void testFusedPipeline(String styleSheet) {
+        Assert.assertEquals(createPipeline(true).apply(CONFIG_VAR_NAMES, styleSheet),
+                createPipeline(false).apply(CONFIG_VAR_NAMES, styleSheet));
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testMissingParametersAreDeclared() {
+        String styleSheet = HEADER + """
+                    <xsl:template match="/">
+                        <xsl:value-of select="$post.id"/>
+                    </xsl:template>
+                </xsl:stylesheet>""";
+        String result = createPipeline(true).apply(CONFIG_VAR_NAMES, styleSheet);
+        Assert.assertTrue(result.contains("<xsl:param name=\"post\"/>"), result);
+        Assert.assertTrue(result.contains("select=\"$post/root/id\""), result);
+    }
+
+    @DataProvider
+    public Object[][] styleSheetProvider() {
+        return new Object[][]{
+                {HEADER + """
+                            <xsl:template name="Transform0" match="/">
+                                <ActivityInput>
+                                    <message><xsl:value-of select="$post//UserId"/></message>
+                                </ActivityInput>
+                            </xsl:template>
+                        </xsl:stylesheet>"""},
+                {HEADER + """
+                        <xsl:param name="Start.output"/>
+                            <xsl:template match="/">
+                                <xsl:for-each select="$Start.output/items/item">
+                                    <xsl:if test="string-length(/root/name) &gt; 0 and $Start.output/flag = 'true'">
+                                        <name><xsl:value-of select="concat(/name, ' ', count(/items/item))"/></name>
+                                    </xsl:if>
+                                </xsl:for-each>
+                            </xsl:template>
+                        </xsl:stylesheet>"""},
+                // '>' in an attribute value ends the tag early
+                {HEADER + """
+                            <xsl:template match="/">
+                                <xsl:if test="$count > 1"><xsl:copy-of select="/data"/></xsl:if>
+                                <xsl:value-of select="bw:getModuleProperty('http.port')"/>
+                            </xsl:template>
+                        </xsl:stylesheet>"""},
+                // '/>' in text can't be split into tags, so the stylesheet is rewritten as a whole
+                {HEADER + """
+                            <xsl:template match="/">
+                                <text>a/></text><xsl:value-of select="$input.value"/>
+                            </xsl:template>
+                        </xsl:stylesheet>"""},
+                {""}
+        };
+    }
+
+    private static TransformPipeline createPipeline(boolean fused) {
+        TransformPipeline pipeline = new TransformPipeline(fused);
+        pipeline.append(new AddMissingParameters());
+        pipeline.append(new ReplaceVariableReference());
+        pipeline.append(new ReplaceDotAccessWithXPath());
+        // Rewrites the whole stylesheet through the default document transform
+        pipeline.append(new Transform() {
+            @Override
+            public String transform(TransformContext cx, String content) {
+                return content.replace("<name>", "<label>").replace("</name>", "</label>");
+            }
+        });
+        pipeline.append(new IgnoreRootWrapper());
+        return pipeline;
+    }
+}
@@ -0,0 +1,484 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package tibco.xslt;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import tibco.xslt.XsltCompiler.Base;
+import tibco.xslt.XsltCompiler.ContextItem;
+import tibco.xslt.XsltCompiler.CopyOf;
+import tibco.xslt.XsltCompiler.ForEach;
+import tibco.xslt.XsltCompiler.Input;
+import tibco.xslt.XsltCompiler.Literal;
+import tibco.xslt.XsltCompiler.LiteralElement;
+import tibco.xslt.XsltCompiler.Parameter;
+import tibco.xslt.XsltCompiler.Path;
+import tibco.xslt.XsltCompiler.Select;
+import tibco.xslt.XsltCompiler.Step;
+import tibco.xslt.XsltCompiler.TemplateNode;
+import tibco.xslt.XsltCompiler.Text;
+import tibco.xslt.XsltCompiler.ValueOf;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+
+public class XsltCompilerTest {
+
+    private static final String STYLE_SHEET = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" \
+            xmlns:tns="http://xmlns.example.com" version="2.0"><xsl:param name="post"/>
+                <xsl:template name="Transform0" match="/">
+                    %s
+                </xsl:template>
+            </xsl:stylesheet>""";
+    private static final Pattern TRANSFORM_CALL = Pattern.compile("xslt:transform\\(\\w+, xml `(.*?)`, ",
+            Pattern.DOTALL);
+    private static final Pattern PARAMETER_DECLARATION = Pattern.compile("<xsl:param name=\"([^\"]+)\"/>");
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testCompileMapping() {
+        Optional<List<TemplateNode>> template = XsltCompiler.compile(STYLE_SHEET.formatted("""
+                <ns:ActivityInput xmlns:ns="http://www.tibco.com/pe/EngineTypes">
+                    <message>
+                        Received
+                        <xsl:value-of select="$post/root/ns:item/id"/>
+                    </message>
+                    <fileName><xsl:value-of select="&quot;output.txt&quot;"/></fileName>
+                    <error><xsl:value-of select="Error"/></error>
+                    <xsl:copy-of select="$post"/>
+                </ns:ActivityInput>"""));
+        Assert.assertTrue(template.isPresent());
+        Assert.assertEquals(template.get(), List.of(new LiteralElement("ns:ActivityInput",
+                Map.of("xmlns:tns", "http://xmlns.example.com", "xmlns:ns", "http://www.tibco.com/pe/EngineTypes"),
+                List.of(new LiteralElement("message", Map.of(), List.of(
+                                new Text("\n        Received\n        "),
+                                new ValueOf(new Path(new Parameter("post"), List.of(new Step(false, "root"),
+                                        new Step(false, "{http://www.tibco.com/pe/EngineTypes}item"),
+                                        new Step(false, "id"))), false))),
+                        new LiteralElement("fileName", Map.of(),
+                                List.of(new ValueOf(new Literal("output.txt"), false))),
+                        new LiteralElement("error", Map.of(), List.of(
+                                new ValueOf(new Path(new Input(), List.of(new Step(false, "Error"))), false))),
+                        new CopyOf(new Path(new Parameter("post"), List.of()))))));
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testCompileForEach() {
+        Optional<List<TemplateNode>> template = XsltCompiler.compile(STYLE_SHEET.formatted("""
+                <items>
+                    <xsl:for-each select="$post//item">
+                        <id><xsl:value-of select="."/></id>
+                        <name><xsl:value-of select="info/name"/></name>
+                    </xsl:for-each>
+                </items>"""));
+        Assert.assertTrue(template.isPresent());
+        // Namespaces declared by the enclosing literal result element are declared again inside the loop
+        Assert.assertEquals(template.get(), List.of(new LiteralElement("items",
+                Map.of("xmlns:tns", "http://xmlns.example.com"),
+                List.of(new ForEach(new Path(new Parameter("post"), List.of(new Step(true, "item"))), List.of(
+                        new LiteralElement("id", Map.of("xmlns:tns", "http://xmlns.example.com"),
+                                List.of(new ValueOf(new Path(new ContextItem(), List.of()), false))),
+                        new LiteralElement("name", Map.of("xmlns:tns", "http://xmlns.example.com"),
+                                List.of(new ValueOf(new Path(new ContextItem(),
+                                        List.of(new Step(false, "info"), new Step(false, "name"))), false)))))))));
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testCompileVersionOneValueOf() {
+        Optional<List<TemplateNode>> template = XsltCompiler.compile(STYLE_SHEET
+                .replace("version=\"2.0\"", "version=\"1.0\"")
+                .formatted("<id><xsl:value-of select=\"$post/root/id\"/></id>"));
+        Assert.assertTrue(template.isPresent());
+        // XSLT 1.0 outputs the value of the first selected node only
+        Assert.assertEquals(template.get(), List.of(new LiteralElement("id",
+                Map.of("xmlns:tns", "http://xmlns.example.com"), List.of(new ValueOf(
+                        new Path(new Parameter("post"), List.of(new Step(false, "root"), new Step(false, "id"))),
+                        true)))));
+    }
+
+    @DataProvider(name = "unsupportedTemplateProvider")
+    public Object[][] unsupportedTemplateProvider() {
+        return new Object[][]{
+                {"<count><xsl:value-of select=\"count($post/root/item)\"/></count>"},
+                {"<flag><xsl:value-of select=\"true()\"/></flag>"},
+                {"<id><xsl:value-of select=\"$post/root/item[1]/id\"/></id>"},
+                {"<id><xsl:value-of select=\"$post/root/@id\"/></id>"},
+                {"<id key=\"{$post/root/id}\"/>"},
+                {"<xsl:if test=\"$post/root/id\"><id/></xsl:if>"},
+                {"<xsl:for-each select=\"$post\"><id/></xsl:for-each>"},
+                {"<id><xsl:value-of select=\"$post/root/id\" disable-output-escaping=\"yes\"/></id>"},
+                {"<id><xsl:value-of select=\"$post/root/undeclared:id\"/></id>"},
+                {"<id><xsl:value-of select=\"$post//item//id\"/></id>"},
+                {"<id><xsl:value-of select=\"$post//item/id\"/></id>"},
+        };
+    }
+
+    @Test(groups = {"tibco", "xslt"}, dataProvider = "unsupportedTemplateProvider")
+    public void testUnsupportedTemplatesAreNotCompiled(String template) {
+        Assert.assertTrue(XsltCompiler.compile(STYLE_SHEET.formatted(template)).isEmpty());
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testUnsupportedStyleSheetsAreNotCompiled() {
+        String withVariable = STYLE_SHEET.formatted("<id/>")
+                .replace("<xsl:param name=\"post\"/>", "<xsl:variable name=\"post\" select=\"1\"/>");
+        Assert.assertTrue(XsltCompiler.compile(withVariable).isEmpty());
+        String withOtherTemplate = STYLE_SHEET.formatted("<id/>")
+                .replace("</xsl:stylesheet>", "<xsl:template match=\"item\"/></xsl:stylesheet>");
+        Assert.assertTrue(XsltCompiler.compile(withOtherTemplate).isEmpty());
+        Assert.assertTrue(XsltCompiler.compile("<xsl:stylesheet").isEmpty());
+        String withOtherVersion = STYLE_SHEET.formatted("<id/>").replace("version=\"2.0\"", "version=\"1.1\"");
+        Assert.assertTrue(XsltCompiler.compile(withOtherVersion).isEmpty());
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testCompiledTemplatesMatchTransform() throws IOException, TransformerException {
+        String source = Files.readString(Paths.get("src", "test", "resources", "tibco.projects.converted",
+                "RestHelloWorld", "functions.bal"));
+        Matcher matcher = TRANSFORM_CALL.matcher(source);
+        int compiled = 0;
+        while (matcher.find()) {
+            // The XSLT processor of the JDK implements XSLT 1.0
+            String styleSheet = matcher.group(1).replace("version=\"2.0\"", "version=\"1.0\"");
+            Optional<List<TemplateNode>> template = XsltCompiler.compile(styleSheet);
+            if (template.isEmpty()) {
+                continue;
+            }
+            compiled++;
+            Map<Base, Document> documents = sampleDocuments(template.get());
+            Node expected = transform(styleSheet, documents);
+            Node actual = evaluate(template.get(), documents);
+            expected.normalize();
+            actual.normalize();
+            Assert.assertEquals(describe(actual), describe(expected), styleSheet);
+        }
+        Assert.assertEquals(compiled, 14);
+    }
+
+    @Test(groups = {"tibco", "xslt"})
+    public void testNestedDescendantsMatchTransform() throws TransformerException {
+        Map<Base, Document> documents = Map.of(new Input(), parse("<root/>"), new Parameter("post"),
+                parse("<root><a><a><b>1</b></a><b>2</b></a><b>3</b></root>"));
+        String template = "<values><xsl:for-each select=\"%s\"><value><xsl:value-of select=\".\"/></value>" +
+                "</xsl:for-each></values>";
+        String styleSheet = STYLE_SHEET.replace("version=\"2.0\"", "version=\"1.0\"");
+
+        String descendants = styleSheet.formatted(template.formatted("$post//b"));
+        Optional<List<TemplateNode>> compiled = XsltCompiler.compile(descendants);
+        Assert.assertTrue(compiled.isPresent());
+        Assert.assertEquals(describe(evaluate(compiled.get(), documents)),
+                describe(transform(descendants, documents)));
+
+        // Applying the steps in turn to nested descendants selects the same elements more than once or out of
+        // document order, unlike the processor, so these paths are not compiled
+        for (Step step : List.of(new Step(true, "b"), new Step(false, "b"))) {
+            String select = "$post//a" + (step.descendant() ? "//b" : "/b");
+            String nested = styleSheet.formatted(template.formatted(select));
+            Assert.assertTrue(XsltCompiler.compile(nested).isEmpty(), select);
+            List<TemplateNode> stepwise = List.of(new LiteralElement("values", Map.of(), List.of(new ForEach(
+                    new Path(new Parameter("post"), List.of(new Step(true, "a"), step)),
+                    List.of(new LiteralElement("value", Map.of(), List.of(
+                            new ValueOf(new Path(new ContextItem(), List.of()), true))))))));
+            Assert.assertNotEquals(describe(evaluate(stepwise, documents)), describe(transform(nested, documents)),
+                    select);
+        }
+    }
+
+    // Documents in which every path of the template selects several elements, each with a value of its own
+    private static Map<Base, Document> sampleDocuments(List<TemplateNode> template) {
+        List<Path> paths = new ArrayList<>();
+        collectPaths(template, null, paths);
+        Map<Base, Document> documents = new LinkedHashMap<>();
+        documents.put(new Input(), newDocument());
+        for (Path path : paths) {
+            Document document = documents.computeIfAbsent(path.base(), base -> newDocument());
+            List<Node> nodes = List.of(document);
+            for (Step step : path.steps()) {
+                List<Node> selected = new ArrayList<>();
+                for (Node node : nodes) {
+                    selected.addAll(sampleElements(document, node, step));
+                }
+                nodes = selected;
+            }
+        }
+        int count = 0;
+        for (Document document : documents.values()) {
+            if (document.getDocumentElement() == null) {
+                document.appendChild(document.createElementNS(null, "root"));
+            }
+            for (Element element : descendants(document, null)) {
+                if (descendants(element, null).isEmpty()) {
+                    element.setTextContent("value" + count++);
+                }
+            }
+        }
+        return documents;
+    }
+
+    // Paths in loops are made absolute
+    private static void collectPaths(List<TemplateNode> nodes, Path item, List<Path> paths) {
+        for (TemplateNode node : nodes) {
+            switch (node) {
+                case LiteralElement element -> collectPaths(element.children(), item, paths);
+                case ValueOf valueOf -> collectPath(valueOf.select(), item, paths);
+                case CopyOf copyOf -> collectPath(copyOf.select(), item, paths);
+                case ForEach forEach -> {
+                    Path select = absolutePath(forEach.select(), item);
+                    paths.add(select);
+                    collectPaths(forEach.children(), select, paths);
+                }
+                case Text ignored -> {
+                    // Text doesn't select anything
+                }
+            }
+        }
+    }
+
+    private static void collectPath(Select select, Path item, List<Path> paths) {
+        if (select instanceof Path path) {
+            paths.add(absolutePath(path, item));
+        }
+    }
+
+    private static Path absolutePath(Path path, Path item) {
+        if (!(path.base() instanceof ContextItem)) {
+            return path;
+        }
+        List<Step> steps = new ArrayList<>(item.steps());
+        steps.addAll(path.steps());
+        return new Path(item.base(), steps);
+    }
+
+    // A document gets a single element, and any other node two, the second one nested for the descendant axis
+    private static List<Element> sampleElements(Document document, Node parent, Step step) {
+        List<Element> selected = step.descendant() ? descendants(parent, step.name()) : children(parent, step.name());
+        int count = parent instanceof Document ? 1 : 2;
+        while (selected.size() < count) {
+            Node container = parent;
+            if (parent instanceof Document && document.getDocumentElement() != null) {
+                container = document.getDocumentElement();
+            } else if (step.descendant() && !selected.isEmpty()) {
+                container = parent.appendChild(document.createElementNS(null, "nested"));
+            }
+            int end = step.name().indexOf('}');
+            Element element = end < 0 ? document.createElementNS(null, step.name()) :
+                    document.createElementNS(step.name().substring(1, end), step.name().substring(end + 1));
+            container.appendChild(element);
+            selected.add(element);
+        }
+        return selected;
+    }
+
+    // The processor of the JDK doesn't take documents as parameters, so they are loaded with document() instead
+    private static Node transform(String styleSheet, Map<Base, Document> documents) throws TransformerException {
+        String withDocuments = PARAMETER_DECLARATION.matcher(styleSheet).replaceAll(parameter ->
+                Matcher.quoteReplacement("<xsl:variable name=\"" + parameter.group(1) + "\" select=\"document('" +
+                        parameter.group(1) + "')\"/>"));
+        TransformerFactory factory = TransformerFactory.newInstance();
+        factory.setURIResolver((href, base) -> new DOMSource(documents.get(new Parameter(href))));
+        Transformer transformer = factory.newTransformer(new StreamSource(new StringReader(withDocuments)));
+        DOMResult result = new DOMResult(newDocument().createDocumentFragment());
+        transformer.transform(new DOMSource(documents.get(new Input())), result);
+        return result.getNode();
+    }
+
+    // Evaluates the template the way the XML template generated for it does
+    private static Node evaluate(List<TemplateNode> template, Map<Base, Document> documents) {
+        Node result = newDocument().createDocumentFragment();
+        evaluate(template, documents, null, Map.of(), result);
+        return result;
+    }
+
+    private static void evaluate(List<TemplateNode> nodes, Map<Base, Document> documents, Node item,
+                                 Map<String, String> namespaces, Node parent) {
+        Document owner = parent.getOwnerDocument();
+        for (TemplateNode node : nodes) {
+            switch (node) {
+                case LiteralElement element -> {
+                    Map<String, String> inScope = new HashMap<>(namespaces);
+                    element.attributes().forEach((name, value) -> {
+                        if (name.equals(XMLConstants.XMLNS_ATTRIBUTE)) {
+                            inScope.put("", value);
+                        } else if (name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":")) {
+                            inScope.put(name.substring(name.indexOf(':') + 1), value);
+                        }
+                    });
+                    int colon = element.name().indexOf(':');
+                    String prefix = colon < 0 ? "" : element.name().substring(0, colon);
+                    Element result = owner.createElementNS(inScope.get(prefix), element.name());
+                    element.attributes().forEach((name, value) -> {
+                        if (name.equals(XMLConstants.XMLNS_ATTRIBUTE) ||
+                                name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":")) {
+                            result.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, value);
+                        } else {
+                            result.setAttribute(name, value);
+                        }
+                    });
+                    parent.appendChild(result);
+                    evaluate(element.children(), documents, item, inScope, result);
+                }
+                case Text text -> parent.appendChild(owner.createTextNode(text.value()));
+                case ValueOf valueOf -> {
+                    if (valueOf.select() instanceof Literal literal) {
+                        parent.appendChild(owner.createTextNode(literal.value()));
+                        continue;
+                    }
+                    List<String> values = select((Path) valueOf.select(), documents, item).stream()
+                            .map(XsltCompilerTest::stringValue).toList();
+                    String value = valueOf.firstNode() ? values.stream().findFirst().orElse("") :
+                            String.join(" ", values);
+                    parent.appendChild(owner.createTextNode(value));
+                }
+                case CopyOf copyOf -> {
+                    if (copyOf.select() instanceof Literal literal) {
+                        parent.appendChild(owner.createTextNode(literal.value()));
+                        continue;
+                    }
+                    for (Node selected : select((Path) copyOf.select(), documents, item)) {
+                        // Copying a document copies its content
+                        Node copied = selected instanceof Document document ? document.getDocumentElement() :
+                                selected;
+                        parent.appendChild(owner.importNode(copied, true));
+                    }
+                }
+                case ForEach forEach -> {
+                    for (Node each : select(forEach.select(), documents, item)) {
+                        evaluate(forEach.children(), documents, each, Map.of(), parent);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<? extends Node> select(Path path, Map<Base, Document> documents, Node item) {
+        List<? extends Node> nodes = List.of(path.base() instanceof ContextItem ? item : documents.get(path.base()));
+        for (Step step : path.steps()) {
+            List<Element> selected = new ArrayList<>();
+            for (Node node : nodes) {
+                selected.addAll(step.descendant() ? descendants(node, step.name()) : children(node, step.name()));
+            }
+            nodes = selected;
+        }
+        return nodes;
+    }
+
+    private static String stringValue(Node node) {
+        return node instanceof Document document ? document.getDocumentElement().getTextContent() :
+                node.getTextContent();
+    }
+
+    // A null name selects all elements
+    private static List<Element> children(Node parent, String name) {
+        List<Element> children = new ArrayList<>();
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element && (name == null || name.equals(expandedName(element)))) {
+                children.add(element);
+            }
+        }
+        return children;
+    }
+
+    private static List<Element> descendants(Node parent, String name) {
+        List<Element> descendants = new ArrayList<>();
+        for (Element child : children(parent, null)) {
+            if (name == null || name.equals(expandedName(child))) {
+                descendants.add(child);
+            }
+            descendants.addAll(descendants(child, name));
+        }
+        return descendants;
+    }
+
+    private static String expandedName(Node node) {
+        return node.getNamespaceURI() == null ? node.getLocalName() :
+                "{" + node.getNamespaceURI() + "}" + node.getLocalName();
+    }
+
+    // Describes the content of a node regardless of where namespaces are declared
+    private static String describe(Node node) {
+        StringBuilder sb = new StringBuilder();
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (!(child instanceof Element element)) {
+                sb.append("'").append(child.getNodeValue()).append("'");
+                continue;
+            }
+            Map<String, String> attributes = new TreeMap<>();
+            NamedNodeMap attributeNodes = element.getAttributes();
+            for (int i = 0; i < attributeNodes.getLength(); i++) {
+                Attr attribute = (Attr) attributeNodes.item(i);
+                if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                    attributes.put(expandedName(attribute), attribute.getValue());
+                }
+            }
+            sb.append("<").append(expandedName(element)).append(attributes).append(">").append(describe(element))
+                    .append("</>");
+        }
+        return sb.toString();
+    }
+
+    private static Document parse(String content) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().parse(new InputSource(new StringReader(content)));
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Document newDocument() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+function scope0_2ActivityRunner(map<xml> cx) returns xml|error {
+    xml result0 = check Foo_Receiver(cx);
+    fork {
+        worker result1Worker returns xml|error {
+            xml result = check Call_Bar(cx);
+            return result;
+        }
+        worker result2Worker returns xml|error {
+            xml result = check Log1_8(cx);
+            return result;
+        }
+    }
+    xml result1 = check wait result1Worker;
+    xml result2 = check wait result2Worker;
+    xml result3 = check BarMapper(cx);
+    xml result4 = check HTTP_Response_11(cx);
+    return result2;
+}
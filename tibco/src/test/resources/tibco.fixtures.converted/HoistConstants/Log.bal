@@ -0,0 +1,8 @@
+function Log(map<xml> context) returns xml|error {
+    xml var0 = xml `<root></root>`;
+    xml var1 = check xslt:transform(var0, Processes_Main_process_styleSheet1, context);
+    xml var2 = var1/**/<message>/*;
+    log:printInfo(var2.toString());
+    addToContext(context, "Log", var2);
+    return var2;
+}
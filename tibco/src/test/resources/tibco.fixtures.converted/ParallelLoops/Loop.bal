@@ -0,0 +1,37 @@
+function Loop(map<xml> context) returns xml|error {
+    xml var0 = xml `<root></root>`;
+    xml var1 = xml `<root></root>`;
+    xml var2 = context.get("Mapper");
+    var2 = check xmldata:transform(var2, `foo/bar`);
+    addToContext(context, "element", xml `<root></root>`);
+    xml[] var3 = from xml item in var2 select item;
+    xml[] var4 = [];
+    int var5 = 0;
+    map<xml> var6 = context;
+    while var5 < var3.length() {
+        future<xml>[] var7 = [];
+        foreach int var8 in var5 ..< int:min(var5 + 8, var3.length()) {
+            map<xml> var9 = {...context};
+            addToContext(var9, "index", xml `<root>${var8}</root>`);
+            addToContext(var9, "element", var3[var8]);
+            if var8 == var3.length() - 1 {
+                var6 = var9;
+            }
+            future<xml> var10 = start scope1ScopeFn(var9);
+            var7.push(var10);
+        }
+        foreach future<xml> var11 in var7 {
+            xml|error var12 = wait var11;
+            var4.push(check var12);
+        }
+        var5 += 8;
+    }
+    foreach [string, xml] [var13, var14] in var6.entries() {
+        context[var13] = var14;
+    }
+    if var4.length() > 0 {
+        var1 = var4[var4.length() - 1];
+    }
+    addToContext(context, "Loop", var1);
+    return var1;
+}